@@ -0,0 +1,129 @@
+/**
+ * @file        AttributesCodecBenchmark.java
+ * @summary     Source file for the AttributesCodecBenchmark class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// JSON
+import org.json.JSONObject;
+
+// JMH
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * @summary Benchmarks for the AttributesCodec, over saved override
+ *          maps of increasing size; one operation is a pass over the
+ *          whole map, as when the overrides are loaded or exported.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AttributesCodecBenchmark {
+
+    // ====================================================================
+    // STATE
+
+    @Param({"10", "1000", "50000"})
+    public int domains;
+
+    private Attributes[] m_attributes;
+    private String[] m_encodedAttributes;
+    private String m_encodedOverrides;
+    private DomainTrie<ImmutableAttributes> m_rules;
+    private String[] m_subdomains;
+
+    /**
+     * @summary Method to build a map of overrides, with a mix of
+     *          iterations, truncation and special characters settings.
+     */
+    @Setup
+    public void setup() throws Exception {
+        m_attributes = new Attributes[domains];
+        m_encodedAttributes = new String[domains];
+        m_rules = new DomainTrie<ImmutableAttributes>();
+        m_subdomains = new String[domains];
+        JSONObject overrides = new JSONObject();
+        for (int i = 0; i < domains; ++i) {
+            Attributes attributes = new Attributes();
+            attributes.setDomain("site" + i + ".example.com");
+            if (0 == (i % 2)) {
+                attributes.setIterations(1000 * (1 + (i % 50)));
+            }
+            if (0 == (i % 3)) {
+                attributes.setTruncation(8 + (i % 24));
+            }
+            if (0 == (i % 5)) {
+                attributes.setSpecialCharsFlag(0);
+            }
+            m_attributes[i] = attributes;
+            m_encodedAttributes[i] = AttributesCodec.encode(attributes);
+            overrides.put(attributes.domain(), m_encodedAttributes[i]);
+            m_rules.put(attributes.domain(),
+                        ImmutableAttributes.of(attributes));
+            m_subdomains[i] = "www." + attributes.domain();
+        }
+        m_encodedOverrides = overrides.toString();
+    }
+
+    // ====================================================================
+    // BENCHMARKS
+
+    @Benchmark
+    public void encode(final Blackhole blackhole) {
+        for (Attributes attributes : m_attributes) {
+            blackhole.consume(AttributesCodec.encode(attributes));
+        }
+    }
+
+    @Benchmark
+    public void decode(final Blackhole blackhole) {
+        for (String encodedAttributes : m_encodedAttributes) {
+            blackhole.consume(AttributesCodec.decode(encodedAttributes));
+        }
+    }
+
+    @Benchmark
+    public JSONObject getEncodedOverridesMap() {
+        return AttributesCodec.getEncodedOverridesMap(m_encodedOverrides);
+    }
+
+    @Benchmark
+    public Map<String, Attributes> decodeOverrides() {
+        return AttributesCodec.decodeOverrides(m_encodedOverrides);
+    }
+
+    @Benchmark
+    public void getDomainOverrides(final Blackhole blackhole) {
+        // Each resolves to its parent domain's overrides
+        for (String subdomain : m_subdomains) {
+            blackhole.consume(
+                AttributesCodec.getDomainOverrides(subdomain, m_rules));
+        }
+    }
+
+}
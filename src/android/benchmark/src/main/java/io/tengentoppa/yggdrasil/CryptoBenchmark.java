@@ -0,0 +1,175 @@
+/**
+ * @file        CryptoBenchmark.java
+ * @summary     Source file for the CryptoBenchmark class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.util.concurrent.TimeUnit;
+
+// JMH
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * @summary Benchmarks for the Crypto derivation path, one stage at a
+ *          time: seed hashing, salt and hash stretching, and the final
+ *          encoding and truncation.
+ *          Each stage has its own state, so that it is parameterized
+ *          only over the inputs it depends on.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CryptoBenchmark {
+
+    // ====================================================================
+    // STATES
+
+    /**
+     * @summary The inputs to the key-stretching stages.
+     */
+    @State(Scope.Thread)
+    public static class Derivation {
+
+        @Param({"1000", "10000", "100000"})
+        public int iterations;
+
+        @Param({"1", "0"})
+        public int specialCharsFlag;
+
+        public byte[] seedSHA;
+        public byte[] salt;
+
+        @Setup
+        public void setup() throws Exception {
+            seedSHA = Crypto.getSeedSHA(SEED);
+            salt = Crypto.generateSalt(DOMAIN, SALT_KEY, iterations);
+        }
+
+    }
+
+    /**
+     * @summary The inputs to the encoding stage.
+     */
+    @State(Scope.Thread)
+    public static class Encoding {
+
+        @Param({"1", "0"})
+        public int specialCharsFlag;
+
+        @Param({"-1", "16"})
+        public int truncation;
+
+        public String encodedHash;
+        public byte[] hash;
+        public char[] password;
+
+        @Setup
+        public void setup() throws Exception {
+            byte[] seedSHA = Crypto.getSeedSHA(SEED);
+            byte[] salt = Crypto.generateSalt(DOMAIN,
+                                              SALT_KEY,
+                                              Attributes.DEFAULT_ITERATIONS);
+            hash = new byte[Pbkdf2Sha256.DIGEST_LENGTH];
+            Crypto.getEngine().derive(seedSHA,
+                                      salt,
+                                      Attributes.DEFAULT_ITERATIONS,
+                                      hash,
+                                      null);
+            encodedHash = HashEncoder.encode(hash, specialCharsFlag);
+            password = new char[HashEncoder.encodedLength(hash.length,
+                                                          specialCharsFlag)];
+        }
+
+    }
+
+    // ====================================================================
+    // BENCHMARKS
+
+    @Benchmark
+    public byte[] getSeedSHA() throws Exception {
+        return Crypto.getSeedSHA(SEED);
+    }
+
+    /**
+     * @summary A salt derivation that misses the salt cache.
+     */
+    @Benchmark
+    public byte[] generateSalt(final Derivation derivation)
+        throws Exception {
+        Crypto.invalidateSaltCache();
+        return Crypto.generateSalt(DOMAIN,
+                                   SALT_KEY,
+                                   derivation.iterations);
+    }
+
+    /**
+     * @summary A salt lookup that hits the salt cache.
+     */
+    @Benchmark
+    public byte[] generateSaltCached(final Derivation derivation)
+        throws Exception {
+        return Crypto.generateSalt(DOMAIN,
+                                   SALT_KEY,
+                                   derivation.iterations);
+    }
+
+    @Benchmark
+    public String generateHash(final Derivation derivation)
+        throws Exception {
+        return Crypto.generateHash(derivation.seedSHA,
+                                   derivation.salt,
+                                   derivation.iterations,
+                                   derivation.specialCharsFlag);
+    }
+
+    @Benchmark
+    public String getPasswdStr(final Encoding encoding) {
+        return Crypto.getPasswdStr(encoding.encodedHash,
+                                   encoding.truncation,
+                                   encoding.specialCharsFlag);
+    }
+
+    /**
+     * @summary The single-pass equivalent of encoding the hash and
+     *          then calling getPasswdStr.
+     */
+    @Benchmark
+    public int encodePassword(final Encoding encoding) {
+        return HashEncoder.encodePassword(encoding.hash,
+                                          encoding.truncation,
+                                          encoding.specialCharsFlag,
+                                          encoding.password);
+    }
+
+    // ====================================================================
+    // PRIVATE MEMBERS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    private static final String SEED        = "The quick brown fox";
+    private static final String SALT_KEY    =
+        "Y4QOrnlvXSxKQw4DuI/OxcM4ucbv3kSjXeOw+BswqIKLwm6Q0w3FhKpTPo1ygbpm";
+    private static final String DOMAIN      = "google.com";
+
+}
@@ -0,0 +1,262 @@
+/**
+ * @file        PublicSuffixCompiler.java
+ * @summary     Source file for the PublicSuffixCompiler class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.IDN;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * @summary The build-time compiler of the Public Suffix List, from its
+ *          text format (https://publicsuffix.org/list/) into the binary
+ *          trie which PublicSuffixList maps and reads in place:
+ *          a header (magic, version, node count, offset of the labels),
+ *          then the nodes, each as (label offset, label length, flags,
+ *          child count, index of the first child), with the children
+ *          of a node contiguous and sorted by label, and the root first;
+ *          then the labels, in ASCII.
+ *          The rules of the private section of the list, i.e., of
+ *          hosting platforms, such as "github.io", are flagged as such.
+ *          Internationalized rules are converted to punycode, as hosts
+ *          appear in URLs.
+ *
+ *          $ java io.tengentoppa.yggdrasil.PublicSuffixCompiler \
+ *                  public_suffix_list.dat public_suffix_list.bin
+ */
+public final class PublicSuffixCompiler {
+
+    // ====================================================================
+    // PUBLIC METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    // The format, as PublicSuffixList reads it
+    public static final int     MAGIC           = 0x5950534c; // "YPSL"
+    public static final int     VERSION         = 1;
+    public static final int     HEADER_LENGTH   = 16;
+    public static final int     NODE_LENGTH     = 12;
+
+    public static final int     FLAG_RULE       = 0x01;
+    public static final int     FLAG_WILDCARD   = 0x02;
+    public static final int     FLAG_EXCEPTION  = 0x04;
+    public static final int     FLAG_PRIVATE    = 0x08;
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to compile the list in the first file into the
+     *          second.
+     * @return  Does not return a value.
+     */
+    public static void main(final String[] args) throws IOException {
+        if (2 != args.length) {
+            System.err.println("Usage: PublicSuffixCompiler <list> <trie>");
+            System.exit(1);
+        }
+        compile(new File(args[0]), new File(args[1]));
+    }
+
+    /**
+     * @summary Method to compile the list in a file into another.
+     * @return  Does not return a value.
+     */
+    public static void compile(final File list, final File trie)
+        throws IOException {
+        Reader reader =
+            new InputStreamReader(new FileInputStream(list), UTF8);
+        OutputStream output = null;
+        try {
+            File parent = trie.getParentFile();
+            if ((null != parent) && !parent.isDirectory() &&
+                !parent.mkdirs()) {
+                throw new IOException("Cannot create " + parent);
+            }
+            output = new FileOutputStream(trie);
+            compile(reader, output);
+        } finally {
+            reader.close();
+            if (null != output) {
+                output.close();
+            }
+        }
+    }
+
+    /**
+     * @summary Method to compile the list read into the trie written.
+     * @return  Does not return a value.
+     */
+    public static void compile(final Reader list, final OutputStream trie)
+        throws IOException {
+        Node root = new Node("");
+        BufferedReader reader = new BufferedReader(list);
+        boolean isPrivate = false;
+        String line;
+        while (null != (line = reader.readLine())) {
+            line = line.trim();
+            if (line.startsWith(BEGIN_PRIVATE)) {
+                isPrivate = true;
+            } else if (line.startsWith(END_PRIVATE)) {
+                isPrivate = false;
+            }
+            if (line.isEmpty() || line.startsWith("//")) {
+                continue;
+            }
+            // Only the first word of a line is the rule
+            final int space = indexOfWhitespace(line);
+            add(root,
+                (space < 0) ? line : line.substring(0, space),
+                isPrivate);
+        }
+        write(root, trie);
+    }
+
+    // ====================================================================
+    // PRIVATE METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    private static final Charset UTF8   = Charset.forName("UTF-8");
+    private static final Charset ASCII  = Charset.forName("US-ASCII");
+
+    // The markers of the private section of the list
+    private static final String BEGIN_PRIVATE =
+        "// ===BEGIN PRIVATE DOMAINS===";
+    private static final String END_PRIVATE =
+        "// ===END PRIVATE DOMAINS===";
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to add a rule to the tree.
+     * @return  Does not return a value.
+     */
+    private static void add(final Node root,
+                            String rule,
+                            final boolean isPrivate) {
+        int flag = FLAG_RULE;
+        if (rule.startsWith("!")) {
+            flag = FLAG_EXCEPTION;
+            rule = rule.substring(1);
+        } else if (rule.startsWith("*.")) {
+            flag = FLAG_WILDCARD;
+            rule = rule.substring(2);
+        }
+
+        final String[] labels;
+        try {
+            labels = IDN.toASCII(rule, IDN.ALLOW_UNASSIGNED)
+                        .toLowerCase().split("\\.");
+        } catch (IllegalArgumentException e) {
+            System.err.println("Skipping rule '" + rule + "': " + e);
+            return;
+        }
+
+        Node node = root;
+        for (int i = labels.length - 1; i >= 0; --i) {
+            Node child = node.m_children.get(labels[i]);
+            if (null == child) {
+                child = new Node(labels[i]);
+                node.m_children.put(labels[i], child);
+            }
+            node = child;
+        }
+        node.m_flags |= flag;
+        if (isPrivate) {
+            node.m_flags |= FLAG_PRIVATE;
+        }
+    }
+
+    /**
+     * @summary Method to lay out and write the tree, breadth first.
+     * @return  Does not return a value.
+     */
+    private static void write(final Node root, final OutputStream trie)
+        throws IOException {
+        List<Node> nodes = new ArrayList<Node>();
+        nodes.add(root);
+        ByteArrayOutputStream labels = new ByteArrayOutputStream();
+        for (int i = 0; i < nodes.size(); ++i) {
+            Node node = nodes.get(i);
+            node.m_firstChild = nodes.size();
+            nodes.addAll(node.m_children.values());
+
+            byte[] label = node.m_label.getBytes(ASCII);
+            if (label.length > 0xff) {
+                throw new IOException("Label too long: " + node.m_label);
+            }
+            node.m_labelOffset = labels.size();
+            labels.write(label);
+        }
+
+        DataOutputStream output = new DataOutputStream(trie);
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeInt(nodes.size());
+        output.writeInt(HEADER_LENGTH + (NODE_LENGTH * nodes.size()));
+        for (Node node : nodes) {
+            output.writeInt(node.m_labelOffset);
+            output.writeByte(node.m_label.length());
+            output.writeByte(node.m_flags);
+            output.writeShort(node.m_children.size());
+            output.writeInt(node.m_firstChild);
+        }
+        labels.writeTo(output);
+        output.flush();
+    }
+
+    private static int indexOfWhitespace(final String line) {
+        for (int i = 0; i < line.length(); ++i) {
+            if (Character.isWhitespace(line.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // --------------------------------------------------------------------
+    // CLASSES
+
+    /**
+     * @summary A node of the tree being compiled; its children are
+     *          sorted by label, as ASCII, as the lookups expect.
+     */
+    private static final class Node {
+
+        Node(final String label) {
+            m_label = label;
+            m_children = new TreeMap<String, Node>();
+        }
+
+        final String                    m_label;
+        final TreeMap<String, Node>     m_children;
+        int                             m_flags;
+        int                             m_labelOffset;
+        int                             m_firstChild;
+    }
+}
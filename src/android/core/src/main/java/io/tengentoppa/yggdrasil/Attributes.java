@@ -11,12 +11,6 @@
 
 package io.tengentoppa.yggdrasil;
 
-// Android
-import android.util.Log;
-
-// Standard Java
-import java.util.Objects;
-
 /**
  * @summary The Attributes class.
  */
@@ -125,7 +119,7 @@ public class Attributes {
     public void setTruncation(Integer truncation) {
         // Sanity check
         if (null == truncation) {
-            Log.e(LOG_CATEGORY, "ERROR: " +
+            Logger.e(LOG_CATEGORY, "ERROR: " +
                   "Thwarted attempt to set truncation to null!");
             return;
         }
@@ -139,7 +133,7 @@ public class Attributes {
     public void setSpecialCharsFlag(Integer specialCharsFlag) {
         // Sanity check
         if (null == specialCharsFlag) {
-            Log.e(LOG_CATEGORY, "ERROR: " +
+            Logger.e(LOG_CATEGORY, "ERROR: " +
                   "Thwarted attempt to set truncation to null!");
             return;
         }
@@ -164,27 +158,32 @@ public class Attributes {
         }
 
         Attributes rhs = (Attributes)object;
-        return ((null == rhs.domain() ?
-                 null == this.domain() :
-                 rhs.domain().equals(this.domain())) &&
-                (null == rhs.iterations() ?
-                 null == this.iterations() :
-                 rhs.iterations().equals(this.iterations())) &&
-                rhs.truncation().equals(this.truncation()) &&
-                rhs.specialCharsFlag().equals(this.specialCharsFlag()));
+        return ((null == rhs.m_domain ?
+                 null == m_domain :
+                 rhs.m_domain.equals(m_domain)) &&
+                (null == rhs.m_iterations ?
+                 null == m_iterations :
+                 ((null != m_iterations) &&
+                  (rhs.m_iterations.intValue() ==
+                   m_iterations.intValue()))) &&
+                (rhs.m_truncation.intValue() == m_truncation.intValue()) &&
+                (rhs.m_specialCharsFlag.intValue() ==
+                 m_specialCharsFlag.intValue()));
     }
 
     /**
      * @summary Method to provide a custom hashCode() operator in line with
-     *          the custom "equals" operator.
+     *          the custom "equals" operator; computed in place, without
+     *          the varargs array of Objects.hash().
      * @return  {int} The computed hashCode.
      */
     @Override
     public int hashCode() {
-        return Objects.hash(this.domain(),
-                            this.iterations(),
-                            this.truncation(),
-                            this.specialCharsFlag());
+        int hash = 31 + ((null != m_domain) ? m_domain.hashCode() : 0);
+        hash = (31 * hash) +
+               ((null != m_iterations) ? m_iterations.intValue() : 0);
+        hash = (31 * hash) + m_truncation.intValue();
+        return (31 * hash) + m_specialCharsFlag.intValue();
     }
 
     // --------------------------------------------------------------------
@@ -0,0 +1,549 @@
+/**
+ * @file        AttributesCodec.java
+ * @summary     Source file for the AttributesCodec class.
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Sep 27, 2016
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2016
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// JSON
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * @summary The AttributesCodec class.
+ *          This class encapsulates methods for encoding/decoding
+ *          objects of the Attributes class.
+ */
+public class AttributesCodec {
+
+    // ====================================================================
+    // PUBLIC METHODS
+
+    /**
+     * @summary 
+     * @return  
+     */
+    public static String encode(Attributes attributes) {
+        if (!attributes.attributesExist()) {
+            return "";
+        }
+
+        return
+            (((null != attributes.domain()) ?
+              attributes.domain() : "") +
+             AttributesCodec.DELIMITER +
+             ((null != attributes.iterations()) ?
+              attributes.iterations().toString() : "") +
+             AttributesCodec.DELIMITER +
+             ((Attributes.NO_TRUNCATION != attributes.truncation()) ?
+              attributes.truncation().toString() : "") +
+             AttributesCodec.DELIMITER +
+             ((1 != attributes.specialCharsFlag()) ?
+              "0" : ""));
+    }
+
+    /**
+     * @summary Method to decoded an encoded Attributes string.
+     * @return  {Attributes} The decoded object; default constructed
+     *          on an error condition.
+     */
+    public static Attributes decode(CharSequence encodedAttributes) {
+        // Sanity checks
+        // ("short-circuit")
+        if (null == encodedAttributes) {
+            return new Attributes();
+        }
+        return decode(encodedAttributes, 0, encodedAttributes.length());
+    }
+
+    /**
+     * @summary Method to decode the encoded Attributes between two
+     *          offsets of a larger buffer, in a single pass: the fields
+     *          are delimited in place, and the integers parsed from the
+     *          characters themselves, so that only the domain is copied.
+     * @param   {int} start - The offset of the first character.
+     * @param   {int} end - The offset past the last character.
+     * @return  {Attributes} The decoded object; default constructed
+     *          on an error condition.
+     */
+    public static Attributes decode(final CharSequence encodedAttributes,
+                                    final int start,
+                                    final int end) {
+        // Create a default-initialized Attributes object
+        Attributes attributes = new Attributes();
+        if (start >= end) {
+            return attributes;
+        }
+
+        // Locate the delimiters; there must be exactly three
+        final int iterationsStart = indexOfDelimiter(encodedAttributes,
+                                                     start,
+                                                     end) + 1;
+        final int truncationStart = indexOfDelimiter(encodedAttributes,
+                                                     iterationsStart,
+                                                     end) + 1;
+        final int flagStart = indexOfDelimiter(encodedAttributes,
+                                               truncationStart,
+                                               end) + 1;
+        if ((0 == iterationsStart) ||
+            (0 == truncationStart) ||
+            (0 == flagStart) ||
+            (indexOfDelimiter(encodedAttributes, flagStart, end) >= 0)) {
+            Logger.e(LOG_CATEGORY, "ERROR: Malformed Attributes! Expected " +
+                  "<domain|iterations|truncation|noSpecialChars>");
+            return attributes;
+        }
+
+        if (iterationsStart - 1 > start) {
+            attributes.setDomain(
+                encodedAttributes.subSequence(start,
+                                              iterationsStart - 1)
+                                 .toString());
+        }
+        if (truncationStart - 1 > iterationsStart) {
+            final long iterations = parseInt(encodedAttributes,
+                                             iterationsStart,
+                                             truncationStart - 1);
+            attributes.setIterations((NOT_AN_INT != iterations) ?
+                                     (int)iterations :
+                                     Attributes.DEFAULT_ITERATIONS);
+        }
+        if (flagStart - 1 > truncationStart) {
+            final long truncation = parseInt(encodedAttributes,
+                                             truncationStart,
+                                             flagStart - 1);
+            attributes.setTruncation((NOT_AN_INT != truncation) ?
+                                     (int)truncation :
+                                     Attributes.NO_TRUNCATION);
+        }
+        if (end > flagStart) {
+            attributes.setSpecialCharsFlag(0);
+        }
+
+        return attributes;
+    }
+
+    /**
+     * @summary Method to decode a whole saved JSON string of custom
+     *          website attributes in a single scan, without building a
+     *          JSONObject: each value is decoded in place, unless it
+     *          contains escapes.
+     * @return  {Map<String, Attributes>} The decoded attributes, by
+     *          domain, in the order saved; null if the string is not a
+     *          flat JSON object of strings.
+     */
+    public static Map<String, Attributes>
+    decodeOverrides(final CharSequence encodedOverrides) {
+        Map<String, Attributes> overrides =
+            new LinkedHashMap<String, Attributes>();
+        if ((null == encodedOverrides) || (0 == encodedOverrides.length())) {
+            return overrides;
+        }
+
+        final int end = encodedOverrides.length();
+        StringBuilder unescaped = new StringBuilder();
+        int i = skipWhitespace(encodedOverrides, 0, end);
+        if ((i >= end) || ('{' != encodedOverrides.charAt(i))) {
+            return malformedOverrides(i);
+        }
+        i = skipWhitespace(encodedOverrides, i + 1, end);
+        if ((i < end) && ('}' == encodedOverrides.charAt(i))) {
+            return ((skipWhitespace(encodedOverrides, i + 1, end) == end) ?
+                    overrides : malformedOverrides(i));
+        }
+
+        while (true) {
+            // The key
+            final int keyEnd = scanString(encodedOverrides, i, end);
+            if (keyEnd < 0) {
+                return malformedOverrides(i);
+            }
+            final String domain =
+                (unescape(encodedOverrides, i + 1, keyEnd - 1, unescaped) ?
+                 unescaped.toString() :
+                 encodedOverrides.subSequence(i + 1, keyEnd - 1)
+                                 .toString());
+
+            i = skipWhitespace(encodedOverrides, keyEnd, end);
+            if ((i >= end) || (':' != encodedOverrides.charAt(i))) {
+                return malformedOverrides(i);
+            }
+            i = skipWhitespace(encodedOverrides, i + 1, end);
+
+            // The value, decoded where it lies if it has no escapes
+            final int valueEnd = scanString(encodedOverrides, i, end);
+            if (valueEnd < 0) {
+                return malformedOverrides(i);
+            }
+            overrides.put(domain,
+                          unescape(encodedOverrides,
+                                   i + 1,
+                                   valueEnd - 1,
+                                   unescaped) ?
+                          decode(unescaped, 0, unescaped.length()) :
+                          decode(encodedOverrides, i + 1, valueEnd - 1));
+
+            i = skipWhitespace(encodedOverrides, valueEnd, end);
+            if (i >= end) {
+                return malformedOverrides(i);
+            }
+            final char c = encodedOverrides.charAt(i);
+            if ('}' == c) {
+                break;
+            }
+            if (',' != c) {
+                return malformedOverrides(i);
+            }
+            i = skipWhitespace(encodedOverrides, i + 1, end);
+        }
+
+        if (skipWhitespace(encodedOverrides, i + 1, end) != end) {
+            return malformedOverrides(i);
+        }
+        return overrides;
+    }
+
+    /**
+     * @summary Function to read the saved JSON string of custom
+     *          website attributes into a JSON object.
+     * @return  The decoded JSONObject if the encodedOverrides
+     *          was a valid JSON string, else null
+     */
+    public static JSONObject
+    getEncodedOverridesMap(final String encodedOverrides) {
+        Logger.i(LOG_CATEGORY, "Decoding saved attributes list...");
+
+        JSONObject encodedOverridesMap = null;
+
+        // Sanity check - short-circuit evaluation
+        if (null != encodedOverrides &&
+            !encodedOverrides.isEmpty()) {
+            try {
+                encodedOverridesMap = new JSONObject(encodedOverrides);
+                Logger.d(LOG_CATEGORY, "encodedOverridesMap=" +
+                      encodedOverridesMap.toString());
+            } catch (JSONException e) {
+                Logger.e(LOG_CATEGORY, "ERROR: Caught " + e);
+                e.printStackTrace();
+            }
+        }
+
+        return encodedOverridesMap;
+    }
+
+    /**
+     * @summary Method to retrieve the saved overrides which apply to a
+     *          domain: its own, or else those of the closest wildcard
+     *          for it, e.g., "*.x.com", as per DomainTrie.
+     * @return  {Attributes} A copy of the overrides, (default constructed
+     *          if no saved attributes apply)
+     */
+    public static Attributes
+    getDomainOverrides(final String domain,
+                       final DomainTrie<ImmutableAttributes> customOverrides) {
+        final ImmutableAttributes overrides =
+            ((null != customOverrides) ?
+             customOverrides.lookup(domain) : null);
+        return ((null != overrides) ?
+                overrides.toAttributes() : new Attributes());
+    }
+
+    /**
+     * @summary Method to retrieve the saved overrides for a domain
+     * @return  {Attributes} The retrieved object, (default constructed
+     *          if no saved attributes exist)
+     */
+    public static Attributes
+    getDomainOverrides(String domain,
+                       JSONObject customOverrides) {
+        Logger.i(LOG_CATEGORY, "Fetching saved attributes...");
+
+        String encodedOverrides = null;
+
+        if (null != customOverrides) {
+            try {
+                if (customOverrides.has(domain)) {
+                    encodedOverrides = customOverrides.getString(domain);
+                }
+            } catch (JSONException e) {
+                Logger.e(LOG_CATEGORY, "ERROR: Caught " + e);
+                e.printStackTrace();
+            }
+        }
+
+        Attributes decodedOverrides = decode(encodedOverrides);
+        return decodedOverrides;
+    }
+
+    /**
+     * @summary 
+     * @return  A valid Attributes object,
+     *          which can be default initialized
+     */
+    public static Attributes
+    getOverridesToSave(final Attributes attributes,
+                       final Attributes savedOverrides,
+                       final Attributes proposedAttributes) {
+        Attributes overrides = new Attributes();
+
+        // If proposedAttributes is the same as attributes,
+        // there's nothing to save.
+        if (proposedAttributes.equals(attributes)) {
+            return overrides;
+        }
+
+        if (savedOverrides.attributesExist()) {
+            overrides.setDomain(
+                !attributes.domain().equals(
+                        proposedAttributes.domain()) ?
+                attributes.domain() :
+                savedOverrides.domain());
+            overrides.setIterations(
+                !attributes.iterations().equals(
+                        proposedAttributes.iterations()) ?
+                attributes.iterations() :
+                savedOverrides.iterations());
+            overrides.setTruncation(
+                !attributes.truncation().equals(
+                        proposedAttributes.truncation()) ?
+                attributes.truncation() :
+                savedOverrides.truncation());
+            overrides.setSpecialCharsFlag(
+                !attributes.specialCharsFlag().equals(
+                        proposedAttributes.specialCharsFlag()) ?
+                attributes.specialCharsFlag() :
+                savedOverrides.specialCharsFlag());
+        } else {
+            overrides.setDomain(
+                !attributes.domain().equals(
+                        proposedAttributes.domain()) ?
+                attributes.domain() : null);
+            overrides.setIterations(
+                !attributes.iterations().equals(
+                        proposedAttributes.iterations()) ?
+                attributes.iterations() : null);
+            overrides.setTruncation(
+                !attributes.truncation().equals(
+                        proposedAttributes.truncation()) ?
+                attributes.truncation() : Attributes.NO_TRUNCATION);
+            overrides.setSpecialCharsFlag(
+                !attributes.specialCharsFlag().equals(
+                        proposedAttributes.specialCharsFlag()) ?
+                attributes.specialCharsFlag() : 1);
+        }
+
+        return overrides;
+    }
+
+    /**
+     * @summary Method to get the overrides to save, as above, for
+     *          immutable attributes; no intermediate Attributes are built.
+     * @return  {ImmutableAttributes} The overrides, which can be the
+     *          default attributes.
+     */
+    public static ImmutableAttributes
+    getOverridesToSave(final ImmutableAttributes attributes,
+                       final ImmutableAttributes savedOverrides,
+                       final ImmutableAttributes proposedAttributes) {
+        // If proposedAttributes is the same as attributes,
+        // there's nothing to save.
+        if (proposedAttributes.equals(attributes)) {
+            return ImmutableAttributes.DEFAULT;
+        }
+
+        // Unchanged attributes fall back to the saved overrides, if any,
+        // else to the defaults.
+        final ImmutableAttributes fallback =
+            (savedOverrides.attributesExist() ?
+             savedOverrides : ImmutableAttributes.DEFAULT);
+        return new ImmutableAttributes.Builder()
+            .setDomain(
+                !attributes.domain().equals(proposedAttributes.domain()) ?
+                attributes.domain() :
+                fallback.domain())
+            .setIterations(
+                (attributes.iterations() !=
+                 proposedAttributes.iterations()) ?
+                attributes.iterations() :
+                fallback.iterations())
+            .setTruncation(
+                (attributes.truncation() !=
+                 proposedAttributes.truncation()) ?
+                attributes.truncation() :
+                fallback.truncation())
+            .setSpecialCharsFlag(
+                (attributes.specialCharsFlag() !=
+                 proposedAttributes.specialCharsFlag()) ?
+                attributes.specialCharsFlag() :
+                fallback.specialCharsFlag())
+            .build();
+    }
+
+    // ====================================================================
+    // PRIVATE METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    private static final String LOG_CATEGORY    = "YGGDRASIL.CODEC";
+    private static final String DELIMITER       = "|";
+    private static final char   DELIMITER_CHAR  = '|';
+
+    // The result of parseInt() for anything but a 32-bit integer
+    private static final long   NOT_AN_INT      = Long.MIN_VALUE;
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    private static int indexOfDelimiter(final CharSequence sequence,
+                                        final int start,
+                                        final int end) {
+        for (int i = start; i < end; ++i) {
+            if (DELIMITER_CHAR == sequence.charAt(i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @summary Method to parse a decimal integer, with an optional sign,
+     *          from the characters between two offsets.
+     * @return  {long} The integer; NOT_AN_INT if malformed or beyond
+     *          32 bits.
+     */
+    private static long parseInt(final CharSequence sequence,
+                                 final int start,
+                                 final int end) {
+        int i = start;
+        final boolean negative = ('-' == sequence.charAt(i));
+        if (negative || ('+' == sequence.charAt(i))) {
+            ++i;
+        }
+        if (i >= end) {
+            return NOT_AN_INT;
+        }
+
+        long value = 0;
+        for (; i < end; ++i) {
+            final int digit = sequence.charAt(i) - '0';
+            if ((digit < 0) || (digit > 9)) {
+                return NOT_AN_INT;
+            }
+            value = (10 * value) + digit;
+            if (value > (1L << 31)) {
+                return NOT_AN_INT;
+            }
+        }
+        value = (negative ? -value : value);
+        return ((value > Integer.MAX_VALUE) ? NOT_AN_INT : value);
+    }
+
+    private static int skipWhitespace(final CharSequence sequence,
+                                      final int start,
+                                      final int end) {
+        int i = start;
+        while ((i < end) && Character.isWhitespace(sequence.charAt(i))) {
+            ++i;
+        }
+        return i;
+    }
+
+    /**
+     * @summary Method to find the end of the JSON string starting at an
+     *          offset, i.e., the offset past its closing quote.
+     * @return  {int} The offset; -1 if there is no string there.
+     */
+    private static int scanString(final CharSequence sequence,
+                                  final int start,
+                                  final int end) {
+        if ((start >= end) || ('"' != sequence.charAt(start))) {
+            return -1;
+        }
+        for (int i = start + 1; i < end; ++i) {
+            final char c = sequence.charAt(i);
+            if ('\\' == c) {
+                ++i;
+            } else if ('"' == c) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @summary Method to unescape the contents of a JSON string into
+     *          a scratch builder, if it has any escapes.
+     * @return  {boolean} True if unescaped into the scratch builder;
+     *          False if there is nothing to unescape, and the contents
+     *          can be used where they lie.
+     */
+    private static boolean unescape(final CharSequence sequence,
+                                    final int start,
+                                    final int end,
+                                    final StringBuilder scratch) {
+        int i = start;
+        while ((i < end) && ('\\' != sequence.charAt(i))) {
+            ++i;
+        }
+        if (i == end) {
+            return false;
+        }
+
+        scratch.setLength(0);
+        scratch.append(sequence, start, i);
+        while (i < end) {
+            char c = sequence.charAt(i++);
+            if (('\\' == c) && (i < end)) {
+                c = sequence.charAt(i++);
+                switch (c) {
+                    case 'b': c = '\b'; break;
+                    case 'f': c = '\f'; break;
+                    case 'n': c = '\n'; break;
+                    case 'r': c = '\r'; break;
+                    case 't': c = '\t'; break;
+                    case 'u':
+                        int code = 0;
+                        int digits = 0;
+                        for (; (digits < 4) && (i + digits < end);
+                             ++digits) {
+                            final int digit =
+                                Character.digit(sequence.charAt(i + digits),
+                                                16);
+                            if (digit < 0) {
+                                break;
+                            }
+                            code = (code << 4) | digit;
+                        }
+                        if (4 == digits) {
+                            c = (char)code;
+                            i += 4;
+                        }
+                        break;
+                    default:
+                        // '"', '\\' and '/' stand for themselves
+                        break;
+                }
+            }
+            scratch.append(c);
+        }
+        return true;
+    }
+
+    private static Map<String, Attributes> malformedOverrides(
+                                                    final int offset) {
+        Logger.e(LOG_CATEGORY, "ERROR: Malformed overrides at " + offset);
+        return null;
+    }
+
+}   // end class AttributesCodec
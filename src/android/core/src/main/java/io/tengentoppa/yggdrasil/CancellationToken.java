@@ -0,0 +1,150 @@
+/**
+ * @file        CancellationToken.java
+ * @summary     Source file for the CancellationToken class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.util.concurrent.CancellationException;
+
+/**
+ * @summary A token through which a derivation can be abandoned, and
+ *          which carries its progress back to the requester.
+ *          The PBKDF2 loops advance the token every CHECK_INTERVAL
+ *          iterations; the advance throws a CancellationException once
+ *          the token has been cancelled, from any thread.
+ *          Progress is published as a fraction of the total iterations
+ *          the requester expects, at most once per percent.
+ */
+public final class CancellationToken {
+
+    // ====================================================================
+    // PUBLIC METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    // Iterations between checks; a power of two
+    public static final int     CHECK_INTERVAL      = 1024;
+
+    // --------------------------------------------------------------------
+    // CONSTRUCTORS
+
+    /**
+     * @summary The constructor.
+     * @param   {long} totalIterations - The number of iterations the
+     *          whole derivation will advance by.
+     * @param   {ProgressListener} listener - Notified of the progress,
+     *          on the deriving thread; may be null.
+     * @return  Does not even.
+     */
+    public CancellationToken(final long totalIterations,
+                             final ProgressListener listener) {
+        m_totalIterations = Math.max(1, totalIterations);
+        m_listener = listener;
+        m_completedIterations = 0;
+        m_publishedPercent = -1;
+        m_cancelled = false;
+    }
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to request that the derivation be abandoned.
+     * @return  Does not return a value.
+     */
+    public void cancel() {
+        m_cancelled = true;
+    }
+
+    /**
+     * @summary Method to check if cancellation has been requested.
+     * @return  {boolean} True or False.
+     */
+    public boolean isCancelled() {
+        return m_cancelled;
+    }
+
+    /**
+     * @summary Method to throw if cancellation has been requested.
+     * @return  Does not return a value.
+     * @throws  CancellationException if cancelled.
+     */
+    public void throwIfCancelled() {
+        if (m_cancelled) {
+            throw new CancellationException("Derivation.Cancelled");
+        }
+    }
+
+    /**
+     * @summary Method to record completed iterations, publish the
+     *          progress, and check for cancellation; called by the
+     *          deriving thread only.
+     * @return  Does not return a value.
+     * @throws  CancellationException if cancelled.
+     */
+    public void advance(final int iterations) {
+        throwIfCancelled();
+
+        m_completedIterations += iterations;
+        final int percent =
+            (int)Math.min(100,
+                          (100 * m_completedIterations) / m_totalIterations);
+        if ((null != m_listener) && (percent != m_publishedPercent)) {
+            m_publishedPercent = percent;
+            m_listener.onProgress(percent / 100.0f);
+        }
+    }
+
+    // --------------------------------------------------------------------
+    // INTERFACES
+
+    /**
+     * @summary The interface for receiving the progress of a derivation.
+     */
+    public interface ProgressListener {
+
+        /**
+         * @summary Called with the completed fraction, from 0 to 1,
+         *          on the deriving thread.
+         * @return  Does not return a value.
+         */
+        void onProgress(float fraction);
+
+    }
+
+    // ====================================================================
+    // PRIVATE METHODS
+
+    // --------------------------------------------------------------------
+    // DATA MEMBERS
+
+    private final long              m_totalIterations;
+                                            /** @brief The expected
+                                              * iterations.
+                                              */
+    private final ProgressListener  m_listener;
+                                            /** @brief The progress
+                                              * listener, if any.
+                                              */
+    private long                    m_completedIterations;
+                                            /** @brief The iterations
+                                              * completed so far.
+                                              */
+    private int                     m_publishedPercent;
+                                            /** @brief The last progress
+                                              * published.
+                                              */
+    private volatile boolean        m_cancelled;
+                                            /** @brief Set once
+                                              * cancelled.
+                                              */
+}
@@ -0,0 +1,940 @@
+/**
+ * @file        Crypto.java
+ * @summary     Source file for the Crypto class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        June 20, 2015
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2015
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.Security;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+// SpongyCastle
+import org.spongycastle.jce.provider.BouncyCastleProvider;
+import org.spongycastle.util.encoders.Base64;
+
+/**
+ * @summary The crypto workhorse, which does all the crypto magic
+ */
+public class Crypto {
+
+    static {
+        Security.addProvider(new BouncyCastleProvider());
+    }
+
+    // ===================================================================
+    // PUBLIC METHODS
+
+    /**
+     * @summary A routine to calculate the SHA256 hash of the user's
+     *          one true password.
+     *          This is the only routine that sees the user's password;
+     *          for security, it is not even passed around.
+     * @return  The SHA256 hash of the user's password
+     */
+    public static byte[] getSeedSHA(final String seed)
+        throws NoSuchAlgorithmException {
+        return getSeedSHA((CharSequence)seed);
+    }
+
+    /**
+     * @summary A routine to calculate the SHA256 hash of the user's
+     *          password, as above, straight from the characters, e.g.,
+     *          of an Editable; no String of the password is created.
+     *          The password is encoded in UTF-8 into a buffer reused by
+     *          the calling thread, and zeroized once digested.
+     * @return  The SHA256 hash of the user's password
+     */
+    public static byte[] getSeedSHA(final CharSequence seed)
+        throws NoSuchAlgorithmException {
+        return SEED_ENCODER.get().digest(CharBuffer.wrap(seed));
+    }
+
+    /**
+     * @summary A routine to calculate the SHA256 hash of the user's
+     *          password, as above, from a char[] the caller can wipe.
+     * @return  The SHA256 hash of the user's password
+     */
+    public static byte[] getSeedSHA(final char[] seed)
+        throws NoSuchAlgorithmException {
+        return SEED_ENCODER.get().digest(CharBuffer.wrap(seed));
+    }
+
+    /**
+     * @summary A routine to calculate the SHA256 hash of the user's
+     *          password, as above, into a SecretBuffer, so that the
+     *          hash never lands on the heap either.
+     * @return  {SecretBuffer} The SHA256 hash of the user's password;
+     *          to be released by the caller.
+     */
+    public static SecretBuffer getSeedSecret(final CharSequence seed)
+        throws NoSuchAlgorithmException {
+        SecretBuffer seedSHA = SecretBuffer.acquire(SEED_SHA_LENGTH);
+        try {
+            SEED_ENCODER.get().digest(CharBuffer.wrap(seed), seedSHA);
+        } catch (NoSuchAlgorithmException | RuntimeException e) {
+            seedSHA.release();
+            throw e;
+        }
+        return seedSHA;
+    }
+
+    /**
+     * @summary Method to generate a new salt key
+     * @return  {String} The newly generated salt key
+     */
+    public static String generateSaltKey()
+        throws UnsupportedEncodingException {
+
+        SecureRandom csprng = new SecureRandom();
+        byte[] saltKeyBytes = new byte[SALT_KEY_LENGTH];
+        csprng.nextBytes(saltKeyBytes);
+        String saltKey = null;
+        try {
+            saltKey = new String(Base64.encode(saltKeyBytes), UTF8);
+        } catch (UnsupportedEncodingException e) {
+            // Throw it to the caller.
+            throw e;
+        }
+        return saltKey;
+    }
+
+    /**
+     * @summary Method to generate a salt using a domain name
+     *          and the salt key.
+     *          Salts are served from the salt cache, or failing that
+     *          from the persistent salt store, when possible,
+     *          since they do not depend on the user's password.
+     * @return  {byte[]} The byte sequence for the generated salt
+     */
+    public static byte[] generateSalt(String domain,
+                                      String saltKey,
+                                      Integer iterations)
+        throws NoSuchAlgorithmException, UnsupportedEncodingException {
+        return generateSalt(domain, saltKey, iterations, null);
+    }
+
+    /**
+     * @summary Method to generate a salt, as above, advancing
+     *          a cancellation token; a salt that need not be derived
+     *          advances it by all its iterations at once.
+     * @return  {byte[]} The byte sequence for the generated salt
+     * @throws  CancellationException if the token is cancelled.
+     */
+    public static byte[] generateSalt(final String domain,
+                                      final String saltKey,
+                                      final Integer iterations,
+                                      final CancellationToken token)
+        throws NoSuchAlgorithmException, UnsupportedEncodingException {
+        byte[] salt = new byte[Pbkdf2Sha256.DIGEST_LENGTH];
+        generateSalt(domain,
+                     saltKey,
+                     iterations,
+                     token,
+                     ByteBuffer.wrap(salt));
+        return salt;
+    }
+
+    /**
+     * @summary Method to generate a salt, as above, into a SecretBuffer.
+     * @return  Does not return a value; the salt is written to salt.
+     * @throws  CancellationException if the token is cancelled.
+     */
+    public static void generateSalt(final String domain,
+                                    final String saltKey,
+                                    final Integer iterations,
+                                    final CancellationToken token,
+                                    final SecretBuffer salt)
+        throws NoSuchAlgorithmException, UnsupportedEncodingException {
+        generateSalt(domain, saltKey, iterations, token, salt.buffer());
+    }
+
+    /**
+     * @summary Method to zeroize and drop all cached salts;
+     *          to be invoked when the salt key or
+     *          the default iterations change.
+     * @return  Does not return a value.
+     */
+    public static void invalidateSaltCache() {
+        SALT_CACHE.clear();
+    }
+
+    /**
+     * @summary Method to install the persistent salt store
+     *          backing generateSalt().
+     * @return  Does not return a value.
+     */
+    public static void setSaltStore(final SaltStore saltStore) {
+        s_saltStore = saltStore;
+    }
+
+    /**
+     * @summary Method to check if a persistent salt store is installed.
+     * @return  {boolean} True or False.
+     */
+    public static boolean hasSaltStore() {
+        return (null != s_saltStore);
+    }
+
+    /**
+     * @summary Method to wipe the persistent salt store, if any;
+     *          to be invoked when the salt key is rotated.
+     * @return  Does not return a value.
+     */
+    public static void wipeSaltStore() {
+        SaltStore saltStore = s_saltStore;
+        if (null != saltStore) {
+            saltStore.wipe();
+        }
+    }
+
+    /**
+     * @summary Method to get the PBKDF2 backend, calibrating on first
+     *          use if none has been selected.
+     * @return  {CryptoEngine} The engine.
+     */
+    public static CryptoEngine getEngine() {
+        CryptoEngine engine = s_engine;
+        if (null == engine) {
+            synchronized (Crypto.class) {
+                engine = s_engine;
+                if (null == engine) {
+                    engine = CryptoEngines.calibrate();
+                    s_engine = engine;
+                }
+            }
+        }
+        return engine;
+    }
+
+    /**
+     * @summary Method to select the PBKDF2 backend, unless one is
+     *          selected already: the named one, e.g., cached from an
+     *          earlier calibration, if it passes the known-answer
+     *          vectors, or else the fastest, by calibrating. Under the
+     *          same lock as getEngine(), so that a derivation meanwhile
+     *          waits for the selection, rather than calibrating itself.
+     *          Not to be called on the UI thread.
+     * @return  {CryptoEngine} The engine selected.
+     */
+    public static CryptoEngine selectEngine(final String name) {
+        synchronized (Crypto.class) {
+            CryptoEngine engine = s_engine;
+            if (null == engine) {
+                engine = CryptoEngines.forName(name);
+                if (null == engine) {
+                    engine = CryptoEngines.calibrate();
+                }
+                s_engine = engine;
+            }
+            return engine;
+        }
+    }
+
+    /**
+     * @summary Method to select the PBKDF2 backend, e.g., the one
+     *          cached from an earlier calibration.
+     * @return  Does not return a value.
+     */
+    public static void setEngine(final CryptoEngine engine) {
+        s_engine = engine;
+    }
+
+    /**
+     * @summary Method to generate a key-stretched password from
+     *          a seed password (hashed) and a salt.
+     * @return  {String} The encoded generated key-stretched password.
+     */
+    public static String generateHash(final byte[] seedSHA,
+                                      final byte[] salt,
+                                      final Integer iterations,
+                                      final Integer specialCharsFlag)
+        throws UnsupportedEncodingException {
+        return generateHash(seedSHA, salt, iterations, specialCharsFlag, null);
+    }
+
+    /**
+     * @summary Method to generate a key-stretched password, as above,
+     *          advancing a cancellation token.
+     * @return  {String} The encoded generated key-stretched password.
+     * @throws  CancellationException if the token is cancelled.
+     */
+    public static String generateHash(final byte[] seedSHA,
+                                      final byte[] salt,
+                                      final Integer iterations,
+                                      final Integer specialCharsFlag,
+                                      final CancellationToken token)
+        throws UnsupportedEncodingException {
+        byte[] hash = new byte[Pbkdf2Sha256.DIGEST_LENGTH];
+        getEngine().derive(seedSHA,
+                           salt,
+                           iterations,
+                           hash,
+                           token);
+
+        final String encodedHash =
+            HashEncoder.encode(hash, specialCharsFlag);
+        Arrays.fill(hash, (byte)0);
+        return encodedHash;
+    }
+
+    /**
+     * @summary Method to generate the final password from a seed
+     *          password (hashed) and a salt: the key-stretched hash,
+     *          encoded, sanitized and truncated in a single pass.
+     *          Equivalent to getPasswdStr(generateHash(...)).
+     * @return  {String} The final password string to use.
+     * @throws  CancellationException if the token is cancelled.
+     */
+    public static String generatePasswd(final byte[] seedSHA,
+                                        final byte[] salt,
+                                        final Integer iterations,
+                                        final Integer truncation,
+                                        final Integer specialCharsFlag,
+                                        final CancellationToken token) {
+        byte[] hash = new byte[Pbkdf2Sha256.DIGEST_LENGTH];
+        getEngine().derive(seedSHA,
+                           salt,
+                           iterations,
+                           hash,
+                           token);
+
+        final String password =
+            encodePasswd(ByteBuffer.wrap(hash), truncation, specialCharsFlag);
+        Arrays.fill(hash, (byte)0);
+        return password;
+    }
+
+    /**
+     * @summary Method to generate the final password, as above, from
+     *          a seed SHA and a salt held in SecretBuffers; the
+     *          key-stretched hash is held in one too.
+     * @return  {String} The final password string to use.
+     * @throws  CancellationException if the token is cancelled.
+     */
+    public static String generatePasswd(final SecretBuffer seedSHA,
+                                        final SecretBuffer salt,
+                                        final Integer iterations,
+                                        final Integer truncation,
+                                        final Integer specialCharsFlag,
+                                        final CancellationToken token) {
+        SecretBuffer hash = SecretBuffer.acquire(Pbkdf2Sha256.DIGEST_LENGTH);
+        try {
+            getEngine().derive(seedSHA.buffer(),
+                               salt.buffer(),
+                               iterations,
+                               hash.buffer(),
+                               token);
+            return encodePasswd(hash.buffer(), truncation, specialCharsFlag);
+        } finally {
+            hash.release();
+        }
+    }
+
+    /**
+     * @summary Method to generate the final password string from
+     *          an encoded key-stretched hash.
+     * @return  {String} The final password string to use.
+     */
+    public static String getPasswdStr(final String encodedHash,
+                                      final Integer truncation,
+                                      final Integer specialCharsFlag) {
+        String password = null;
+        if (1 != specialCharsFlag) {
+            // For the case of base64, which is being used in
+            // the "no special characters" mode, remove the special
+            // characters (+,/,=) to limit the result set to
+            // [a-z][A-Z][0-9].
+            password = encodedHash.replace("=",
+                                           "").replace("+",
+                                                       "-").replace("/",
+                                                                    "_");
+        } else {
+            // For the case of Z85, replace "/" with "_", which is
+            // NOT part of the Z85 alphabet, to make the hash
+            // filename safe.
+            password = encodedHash.replace("/","_");
+        }
+
+        if (truncation > 0) {
+            password = password.substring(0,
+                                          Math.min(password.length(),
+                                                   truncation));
+        }
+
+        return password;
+    }
+
+    /**
+     * @summary Method to generate the proxy passwords for many domains
+     *          from a single seed SHA, e.g., after the user rotates
+     *          their password. The salts and hashes are derived in
+     *          parallel on a work-stealing pool spanning all cores,
+     *          and delivered in input order as soon as each is ready.
+     *          Null iterations are taken to be the default.
+     * @param   {BatchListener} listener - Notified of each password,
+     *          in input order, on the calling thread; may be null.
+     * @return  {List<String>} The passwords, in input order.
+     */
+    public static List<String>
+    generateAll(final byte[] seedSHA,
+                final String saltKey,
+                final Collection<Attributes> attributesList,
+                final BatchListener listener)
+        throws NoSuchAlgorithmException,
+               UnsupportedEncodingException,
+               InterruptedException {
+        final ForkJoinPool pool = getBatchPool();
+        final byte[] saltKeyDigest = getSaltKeyDigest(saltKey);
+
+        // Fork one task per group of Pbkdf2Sha256Lanes.LANES domains,
+        // which the engine may derive together; the pool balances the
+        // groups by stealing.
+        final List<Attributes> inputs =
+            new ArrayList<Attributes>(attributesList);
+        final List<ForkJoinTask<String[]>> tasks =
+            new ArrayList<ForkJoinTask<String[]>>();
+        for (int start = 0;
+             start < inputs.size();
+             start += Pbkdf2Sha256Lanes.LANES) {
+            final List<Attributes> group =
+                inputs.subList(start,
+                               Math.min(inputs.size(),
+                                        start + Pbkdf2Sha256Lanes.LANES));
+            tasks.add(pool.submit(new Callable<String[]>() {
+                @Override
+                public String[] call() throws Exception {
+                    return generatePasswords(seedSHA, saltKeyDigest, group);
+                }
+            }));
+        }
+
+        // Join in input order, streaming each result as it lands.
+        final List<String> passwords = new ArrayList<String>(inputs.size());
+        try {
+            for (ForkJoinTask<String[]> task : tasks) {
+                for (String password : task.get()) {
+                    final int index = passwords.size();
+                    passwords.add(password);
+                    if (null != listener) {
+                        listener.onGenerated(index,
+                                             inputs.get(index),
+                                             password);
+                    }
+                }
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof NoSuchAlgorithmException) {
+                throw (NoSuchAlgorithmException)cause;
+            } else if (cause instanceof UnsupportedEncodingException) {
+                throw (UnsupportedEncodingException)cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException)cause;
+            }
+            throw new RuntimeException(cause);
+        } finally {
+            // Abandon whatever is left on an error or an interrupt
+            for (ForkJoinTask<String[]> task : tasks) {
+                task.cancel(false);
+            }
+        }
+
+        return passwords;
+    }
+
+    // --------------------------------------------------------------------
+    // INTERFACES
+
+    /**
+     * @summary The interface for receiving the results of generateAll()
+     *          as they become available.
+     */
+    public interface BatchListener {
+
+        /**
+         * @summary Called with each generated password, in input order.
+         * @return  Does not return a value.
+         */
+        void onGenerated(int index, Attributes attributes, String password);
+
+    }
+
+    // ===================================================================
+    // PACKAGE METHODS
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to hash a salt key as the salt cache and store
+     *          key it, and as the derivation of a salt salts it.
+     * @return  {byte[]} The SHA-256 of the salt key.
+     */
+    static byte[] digestSaltKey(final String saltKey)
+        throws NoSuchAlgorithmException {
+        return MessageDigest.getInstance(SHA256).digest(saltKey.getBytes());
+    }
+
+    /**
+     * @summary Method to generate a salt into the remaining bytes
+     *          of a buffer, given the digest of the salt key, serving
+     *          it from the salt cache or store when possible.
+     * @return  Does not return a value; the salt is written to salt.
+     * @throws  CancellationException if the token is cancelled.
+     */
+    static void generateSalt(final String domain,
+                             final byte[] saltKeyDigest,
+                             final Integer iterations,
+                             final CancellationToken token,
+                             final ByteBuffer salt)
+        throws NoSuchAlgorithmException, UnsupportedEncodingException {
+        if (lookupSalt(domain, saltKeyDigest, iterations, salt)) {
+            if (null != token) {
+                token.advance(iterations);
+            }
+            return;
+        }
+
+        MessageDigest hash = MessageDigest.getInstance(SHA256);
+        getEngine().derive(ByteBuffer.wrap(hash.digest(domain.getBytes(UTF8))),
+                           ByteBuffer.wrap(saltKeyDigest),
+                           iterations,
+                           salt,
+                           token);
+        storeSalt(domain, saltKeyDigest, iterations, salt);
+    }
+
+    /**
+     * @summary Method to encode a key-stretched hash as the final
+     *          password, without the intermediate strings; the
+     *          scratch characters are zeroized.
+     * @return  {String} The final password string.
+     */
+    static String encodePasswd(final ByteBuffer hash,
+                               final Integer truncation,
+                               final Integer specialCharsFlag) {
+        char[] chars =
+            new char[HashEncoder.encodedLength(hash.remaining(),
+                                               specialCharsFlag)];
+        final int length = HashEncoder.encodePassword(hash,
+                                                      truncation,
+                                                      specialCharsFlag,
+                                                      chars);
+        final String password = new String(chars, 0, length);
+        Arrays.fill(chars, (char)0);
+        return password;
+    }
+
+    // ===================================================================
+    // PRIVATE METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    private static final int    SALT_KEY_LENGTH     = 512;
+    private static final String SHA256              = "SHA-256";
+    private static final String UTF8                = "UTF-8";
+
+    // The salt cache
+    private static final int    SALT_CACHE_CAPACITY = 256;
+    private static final int    SALT_CACHE_STRIPES  = 8;
+    private static final SaltCache SALT_CACHE       =
+        new SaltCache(SALT_CACHE_CAPACITY, SALT_CACHE_STRIPES);
+
+    // The encoders of seed passwords, one per thread
+    private static final int    SEED_BUFFER_LENGTH  = 256;
+    private static final int    SEED_SHA_LENGTH     = 32;
+    private static final ThreadLocal<SeedEncoder> SEED_ENCODER =
+        new SeedEncoderThreadLocal();
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to generate a salt into the remaining bytes
+     *          of a buffer, serving it from the salt cache or store
+     *          when possible.
+     * @return  Does not return a value; the salt is written to salt.
+     * @throws  CancellationException if the token is cancelled.
+     */
+    private static void generateSalt(final String domain,
+                                     final String saltKey,
+                                     final Integer iterations,
+                                     final CancellationToken token,
+                                     final ByteBuffer salt)
+        throws NoSuchAlgorithmException, UnsupportedEncodingException {
+        generateSalt(domain,
+                     getSaltKeyDigest(saltKey),
+                     iterations,
+                     token,
+                     salt);
+    }
+
+    /**
+     * @summary Method to get the digest of a salt key, from a cache of
+     *          the last one digested, since the salt key seldom changes.
+     *          The digest is shared, and must not be modified.
+     * @return  {byte[]} The SHA-256 of the salt key.
+     */
+    private static byte[] getSaltKeyDigest(final String saltKey)
+        throws NoSuchAlgorithmException {
+        SaltKeyDigest cached = s_saltKeyDigest;
+        if ((null == cached) || !cached.m_saltKey.equals(saltKey)) {
+            cached = new SaltKeyDigest(saltKey, digestSaltKey(saltKey));
+            s_saltKeyDigest = cached;
+        }
+        return cached.m_digest;
+    }
+
+    /**
+     * @summary Method to look up a salt in the salt cache, and failing
+     *          that in the persistent salt store.
+     * @return  {boolean} True if found, and copied into the remaining
+     *          bytes of salt; False if it must be derived.
+     */
+    private static boolean lookupSalt(final String domain,
+                                      final byte[] saltKeyDigest,
+                                      final Integer iterations,
+                                      final ByteBuffer salt)
+        throws UnsupportedEncodingException {
+        if (SALT_CACHE.get(domain, saltKeyDigest, iterations, salt)) {
+            return true;
+        }
+
+        boolean found = false;
+        SaltStore saltStore = s_saltStore;
+        if (null != saltStore) {
+            // Hold the store while reading from its mapping,
+            // so that the slot cannot be recycled underneath.
+            synchronized (saltStore) {
+                ByteBuffer storedSalt = saltStore.get(domain,
+                                                      iterations,
+                                                      saltKeyDigest);
+                if (null != storedSalt) {
+                    salt.duplicate().put(storedSalt);
+                    found = true;
+                }
+            }
+        }
+        if (found) {
+            SALT_CACHE.put(domain, saltKeyDigest, iterations, salt);
+        }
+
+        return found;
+    }
+
+    /**
+     * @summary Method to save a freshly derived salt to the salt cache,
+     *          and to the persistent salt store if installed.
+     * @return  Does not return a value.
+     */
+    private static void storeSalt(final String domain,
+                                  final byte[] saltKeyDigest,
+                                  final Integer iterations,
+                                  final ByteBuffer salt)
+        throws UnsupportedEncodingException {
+        SaltStore saltStore = s_saltStore;
+        if (null != saltStore) {
+            saltStore.put(domain, iterations, saltKeyDigest, salt);
+        }
+        SALT_CACHE.put(domain, saltKeyDigest, iterations, salt);
+    }
+
+    /**
+     * @summary Method to generate the proxy passwords for a group of
+     *          at most Pbkdf2Sha256Lanes.LANES domains, deriving the
+     *          missing salts, and then the hashes, as a batch.
+     * @return  {String[]} The passwords, in input order.
+     */
+    private static String[] generatePasswords(final byte[] seedSHA,
+                                              final byte[] saltKeyDigest,
+                                              final List<Attributes> group)
+        throws NoSuchAlgorithmException, UnsupportedEncodingException {
+        final int count = group.size();
+        final MessageDigest hash = MessageDigest.getInstance(SHA256);
+        final CryptoEngine engine = getEngine();
+
+        final int[] iterations = new int[count];
+        final byte[][] salts = new byte[count][];
+        for (int i = 0; i < count; ++i) {
+            final Integer groupIterations = group.get(i).iterations();
+            iterations[i] = ((null == groupIterations) ?
+                             Attributes.DEFAULT_ITERATIONS :
+                             groupIterations);
+            salts[i] = new byte[Pbkdf2Sha256.DIGEST_LENGTH];
+            if (!lookupSalt(group.get(i).domain(),
+                            saltKeyDigest,
+                            iterations[i],
+                            ByteBuffer.wrap(salts[i]))) {
+                salts[i] = null;
+            }
+        }
+
+        // Salts: the domain hash keyed with the salt key digest,
+        // for the misses only.
+        final byte[][] passwords = new byte[count][];
+        final byte[][] saltKeys = new byte[count][];
+        final byte[][] derived = new byte[count][];
+        final int[] missIterations = new int[count];
+        final int[] missIndices = new int[count];
+        int misses = 0;
+        for (int i = 0; i < count; ++i) {
+            if (null == salts[i]) {
+                salts[i] = new byte[Pbkdf2Sha256.DIGEST_LENGTH];
+                passwords[misses] =
+                    hash.digest(group.get(i).domain().getBytes(UTF8));
+                saltKeys[misses] = saltKeyDigest;
+                derived[misses] = salts[i];
+                missIterations[misses] = iterations[i];
+                missIndices[misses] = i;
+                ++misses;
+            }
+        }
+        if (misses > 0) {
+            engine.deriveAll(passwords,
+                             saltKeys,
+                             missIterations,
+                             derived,
+                             misses);
+            for (int m = 0; m < misses; ++m) {
+                final int i = missIndices[m];
+                storeSalt(group.get(i).domain(),
+                          saltKeyDigest,
+                          iterations[i],
+                          ByteBuffer.wrap(salts[i]));
+            }
+        }
+
+        // Hashes: the seed SHA keyed with each salt
+        final byte[][] hashes = new byte[count][];
+        for (int i = 0; i < count; ++i) {
+            passwords[i] = seedSHA;
+            hashes[i] = new byte[Pbkdf2Sha256.DIGEST_LENGTH];
+        }
+        engine.deriveAll(passwords, salts, iterations, hashes, count);
+
+        final String[] results = new String[count];
+        for (int i = 0; i < count; ++i) {
+            final Attributes attributes = group.get(i);
+            results[i] = encodePasswd(ByteBuffer.wrap(hashes[i]),
+                                      attributes.truncation(),
+                                      attributes.specialCharsFlag());
+            Arrays.fill(hashes[i], (byte)0);
+        }
+
+        return results;
+    }
+
+    /**
+     * @summary Method to lazily create the pool for batch derivations;
+     *          one worker per core, at the priority of background work,
+     *          so that an interactive derivation always comes first.
+     * @return  {ForkJoinPool} The pool.
+     */
+    private static ForkJoinPool getBatchPool() {
+        ForkJoinPool pool = s_batchPool;
+        if (null == pool) {
+            synchronized (Crypto.class) {
+                pool = s_batchPool;
+                if (null == pool) {
+                    pool = new ForkJoinPool(
+                            Runtime.getRuntime().availableProcessors(),
+                            new BackgroundThreadFactory(),
+                            null,
+                            false);
+                    s_batchPool = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    // --------------------------------------------------------------------
+    // CLASSES
+
+    /**
+     * @summary The UTF-8 encoder of a thread's seed passwords, with
+     *          the digest and the byte buffer it reuses.
+     */
+    private static final class SeedEncoder {
+
+        SeedEncoder() {
+            m_encoder = Charset.forName(UTF8).newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            m_bytes = ByteBuffer.allocate(SEED_BUFFER_LENGTH);
+        }
+
+        /**
+         * @summary Method to encode and digest a password,
+         *          zeroizing the encoded bytes afterwards.
+         * @return  {byte[]} The SHA256 hash of the password.
+         */
+        byte[] digest(final CharBuffer seed)
+            throws NoSuchAlgorithmException {
+            update(seed);
+            return m_digest.digest();
+        }
+
+        /**
+         * @summary Method to encode and digest a password, as above,
+         *          into a SecretBuffer, through a scratch array that is
+         *          zeroized as well.
+         * @return  Does not return a value.
+         */
+        void digest(final CharBuffer seed, final SecretBuffer out)
+            throws NoSuchAlgorithmException {
+            update(seed);
+            try {
+                m_digest.digest(m_scratch, 0, SEED_SHA_LENGTH);
+                out.buffer().put(m_scratch);
+            } catch (DigestException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                Arrays.fill(m_scratch, (byte)0);
+            }
+        }
+
+        /**
+         * @summary Method to feed the UTF-8 encoding of a password to
+         *          the digest, zeroizing the encoded bytes afterwards.
+         * @return  Does not return a value.
+         */
+        private void update(final CharBuffer seed)
+            throws NoSuchAlgorithmException {
+            if (null == m_digest) {
+                m_digest = MessageDigest.getInstance(SHA256);
+            }
+            // Room for the worst case, so that encoding never overflows
+            final int capacity = (int)Math.ceil(m_encoder.maxBytesPerChar() *
+                                                seed.remaining());
+            if (capacity > m_bytes.capacity()) {
+                m_bytes = ByteBuffer.allocate(capacity);
+            }
+
+            try {
+                m_encoder.reset();
+                m_bytes.clear();
+                CoderResult result = m_encoder.encode(seed, m_bytes, true);
+                if (!result.isUnderflow()) {
+                    throw new IllegalStateException("Seed.Encoding.Failure");
+                }
+                m_encoder.flush(m_bytes);
+                m_bytes.flip();
+                m_digest.update(m_bytes);
+            } finally {
+                Arrays.fill(m_bytes.array(), (byte)0);
+            }
+        }
+
+        private final CharsetEncoder m_encoder;  /** @brief The UTF-8
+                                                   * encoder; replaces
+                                                   * lone surrogates,
+                                                   * as String.getBytes.
+                                                   */
+        private ByteBuffer           m_bytes;    /** @brief The encoded
+                                                   * password; zeroed
+                                                   * between uses.
+                                                   */
+        private MessageDigest        m_digest;   /** @brief The SHA256
+                                                   * digest.
+                                                   */
+        private final byte[]         m_scratch   =
+            new byte[SEED_SHA_LENGTH];           /** @brief The digest,
+                                                   * on its way to a
+                                                   * SecretBuffer.
+                                                   */
+    }
+
+    private static final class SeedEncoderThreadLocal
+        extends ThreadLocal<SeedEncoder> {
+        @Override
+        protected SeedEncoder initialValue() {
+            return new SeedEncoder();
+        }
+    }
+
+    /**
+     * @summary A salt key, with its digest; immutable, so that it may be
+     *          swapped in and out of the cache without a lock.
+     */
+    private static final class SaltKeyDigest {
+
+        SaltKeyDigest(final String saltKey, final byte[] digest) {
+            m_saltKey = saltKey;
+            m_digest = digest;
+        }
+
+        private final String m_saltKey;
+        private final byte[] m_digest;
+    }
+
+    /**
+     * @summary The factory of the batch workers.
+     */
+    private static final class BackgroundThreadFactory
+        implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+
+        @Override
+        public ForkJoinWorkerThread newThread(final ForkJoinPool pool) {
+            ForkJoinWorkerThread thread =
+                ForkJoinPool.defaultForkJoinWorkerThreadFactory
+                            .newThread(pool);
+            thread.setPriority(
+                    DerivationExecutor.BACKGROUND_THREAD_PRIORITY);
+            return thread;
+        }
+
+    }
+
+    // --------------------------------------------------------------------
+    // DATA MEMBERS
+
+    private static volatile SaltStore s_saltStore   = null; /** @brief The
+                                                              * persistent
+                                                              * salt store,
+                                                              * if installed.
+                                                              */
+    private static volatile ForkJoinPool s_batchPool = null; /** @brief
+                                                              * The pool for
+                                                              * generateAll().
+                                                              */
+    private static volatile CryptoEngine s_engine = null;   /** @brief
+                                                              * The selected
+                                                              * PBKDF2
+                                                              * backend.
+                                                              */
+    private static volatile SaltKeyDigest s_saltKeyDigest = null;
+                                                            /** @brief
+                                                              * The last
+                                                              * salt key
+                                                              * digested.
+                                                              */
+
+}
@@ -0,0 +1,106 @@
+/**
+ * @file        CryptoEngine.java
+ * @summary     Source file for the CryptoEngine interface
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.nio.ByteBuffer;
+
+/**
+ * @summary The interface of a PBKDF2-HMAC-SHA256 backend.
+ *          Implementations must be thread-safe; Crypto shares the
+ *          selected engine between the UI and the batch workers.
+ */
+public interface CryptoEngine {
+
+    /**
+     * @summary The stable name of the engine, as cached in preferences.
+     * @return  {String} The name.
+     */
+    String name();
+
+    /**
+     * @summary Method to derive a key of out.length bytes.
+     * @param   {CancellationToken} token - Advanced every
+     *          CancellationToken.CHECK_INTERVAL iterations; may be null.
+     * @return  Does not return a value; the key is written to out.
+     * @throws  CancellationException if the token is cancelled.
+     */
+    void derive(byte[] password,
+                byte[] salt,
+                int iterations,
+                byte[] out,
+                CancellationToken token);
+
+    /**
+     * @summary Method to derive a key, as above, from the remaining
+     *          bytes of password and salt into the remaining bytes of
+     *          out, e.g., views of SecretBuffers; the positions of all
+     *          three are left unchanged. Engines should avoid copying
+     *          them to the heap, and must wipe any copy they make.
+     * @return  Does not return a value; the key is written to out.
+     * @throws  CancellationException if the token is cancelled.
+     */
+    void derive(ByteBuffer password,
+                ByteBuffer salt,
+                int iterations,
+                ByteBuffer out,
+                CancellationToken token);
+
+    /**
+     * @summary Method to precompute whatever depends on the password
+     *          alone, e.g., the HMAC key schedule, for many derivations
+     *          with the same password. The password is not retained;
+     *          the engine may keep a copy until the key is wiped.
+     * @return  {PreparedKey} The prepared key; to be wiped by the caller.
+     */
+    PreparedKey prepare(ByteBuffer password);
+
+    /**
+     * @summary Method to derive several independent keys of
+     *          Pbkdf2Sha256.DIGEST_LENGTH bytes, as batched derivations
+     *          do; engines may derive them together.
+     * @return  Does not return a value; the keys are written to outs.
+     */
+    void deriveAll(byte[][] passwords,
+                   byte[][] salts,
+                   int[] iterations,
+                   byte[][] outs,
+                   int count);
+
+    // --------------------------------------------------------------------
+    // INTERFACES
+
+    /**
+     * @summary A password prepared for many derivations; thread-safe.
+     */
+    interface PreparedKey {
+
+        /**
+         * @summary Method to derive a key with the prepared password,
+         *          as CryptoEngine.derive() does.
+         * @return  Does not return a value; the key is written to out.
+         * @throws  CancellationException if the token is cancelled.
+         */
+        void derive(ByteBuffer salt,
+                    int iterations,
+                    ByteBuffer out,
+                    CancellationToken token);
+
+        /**
+         * @summary Method to zeroize the prepared password.
+         * @return  Does not return a value.
+         */
+        void wipe();
+
+    }
+
+}
@@ -0,0 +1,314 @@
+/**
+ * @file        CryptoEngines.java
+ * @summary     Source file for the CryptoEngines class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.nio.ByteBuffer;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// SpongyCastle
+import org.spongycastle.util.encoders.Hex;
+
+/**
+ * @summary The registry of CryptoEngine backends, and the calibration
+ *          that picks the fastest correct one for this device.
+ *          An engine is only ever selected after it reproduces the
+ *          known-answer vectors, through both derive() and deriveAll().
+ */
+public final class CryptoEngines {
+
+    // ====================================================================
+    // PUBLIC METHODS
+
+    /**
+     * @summary Method to instantiate every engine this runtime supports.
+     * @return  {List<CryptoEngine>} The engines.
+     */
+    public static List<CryptoEngine> available() {
+        List<CryptoEngine> engines = new ArrayList<CryptoEngine>();
+        engines.add(new Pbkdf2Sha256CryptoEngine());
+        engines.add(new SpongycastleCryptoEngine());
+        try {
+            engines.add(new JcaCryptoEngine());
+        } catch (NoSuchAlgorithmException e) {
+            // Not on this platform
+        }
+        return engines;
+    }
+
+    /**
+     * @summary Method to look up an engine by name, e.g., the one cached
+     *          in preferences.
+     * @return  {CryptoEngine} The engine; null if it is unknown,
+     *          unsupported, or fails the known-answer vectors.
+     */
+    public static CryptoEngine forName(final String name) {
+        for (CryptoEngine engine : available()) {
+            if (engine.name().equals(name)) {
+                return (passesKnownAnswers(engine) ? engine : null);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @summary Method to time every correct engine over a short
+     *          derivation, and pick the fastest.
+     * @return  {CryptoEngine} The fastest correct engine.
+     */
+    public static CryptoEngine calibrate() {
+        CryptoEngine fastest = null;
+        long fastestTime = Long.MAX_VALUE;
+        final byte[] password = new byte[Pbkdf2Sha256.DIGEST_LENGTH];
+        final byte[] salt = new byte[Pbkdf2Sha256.DIGEST_LENGTH];
+        final byte[] out = new byte[Pbkdf2Sha256.DIGEST_LENGTH];
+
+        for (CryptoEngine engine : available()) {
+            // This doubles as the warm-up
+            if (!passesKnownAnswers(engine)) {
+                continue;
+            }
+
+            long time = Long.MAX_VALUE;
+            for (int round = 0; round < CALIBRATION_ROUNDS; ++round) {
+                final long start = System.nanoTime();
+                engine.derive(password,
+                              salt,
+                              CALIBRATION_ITERATIONS,
+                              out,
+                              null);
+                time = Math.min(time, System.nanoTime() - start);
+            }
+            if (time < fastestTime) {
+                fastest = engine;
+                fastestTime = time;
+            }
+        }
+
+        // The in-house engine is always correct; this is only a
+        // safeguard against a broken build.
+        if (null == fastest) {
+            throw new IllegalStateException("CryptoEngine.None.Correct");
+        }
+        return fastest;
+    }
+
+    /**
+     * @summary Method to check an engine against the known-answer
+     *          vectors.
+     * @return  {boolean} True or False.
+     */
+    public static boolean passesKnownAnswers(final CryptoEngine engine) {
+        final int count = KNOWN_ANSWERS.length;
+        final byte[][] passwords = new byte[count][];
+        final byte[][] salts = new byte[count][];
+        final int[] iterations = new int[count];
+        final byte[][] expected = new byte[count][];
+        final byte[][] outs = new byte[count][];
+        for (int i = 0; i < count; ++i) {
+            passwords[i] = Hex.decode(KNOWN_ANSWERS[i][0]);
+            salts[i] = Hex.decode(KNOWN_ANSWERS[i][1]);
+            iterations[i] = Integer.parseInt(KNOWN_ANSWERS[i][2]);
+            expected[i] = Hex.decode(KNOWN_ANSWERS[i][3]);
+            outs[i] = new byte[Pbkdf2Sha256.DIGEST_LENGTH];
+        }
+
+        try {
+            final byte[] out = new byte[Pbkdf2Sha256.DIGEST_LENGTH];
+            for (int i = 0; i < count; ++i) {
+                engine.derive(passwords[i],
+                              salts[i],
+                              iterations[i],
+                              out,
+                              null);
+                if (!Arrays.equals(expected[i], out)) {
+                    return false;
+                }
+
+                // Again, off the heap
+                final ByteBuffer outBuffer =
+                    ByteBuffer.allocateDirect(Pbkdf2Sha256.DIGEST_LENGTH);
+                engine.derive(direct(passwords[i]),
+                              direct(salts[i]),
+                              iterations[i],
+                              outBuffer,
+                              null);
+                if (!outBuffer.equals(ByteBuffer.wrap(expected[i]))) {
+                    return false;
+                }
+
+                // And again, prepared
+                final CryptoEngine.PreparedKey key =
+                    engine.prepare(direct(passwords[i]));
+                try {
+                    outBuffer.clear();
+                    key.derive(direct(salts[i]),
+                               iterations[i],
+                               outBuffer,
+                               null);
+                } finally {
+                    key.wipe();
+                }
+                if (!outBuffer.equals(ByteBuffer.wrap(expected[i]))) {
+                    return false;
+                }
+            }
+
+            engine.deriveAll(passwords, salts, iterations, outs, count);
+            for (int i = 0; i < count; ++i) {
+                if (!Arrays.equals(expected[i], outs[i])) {
+                    return false;
+                }
+            }
+        } catch (RuntimeException e) {
+            return false;
+        }
+
+        return true;
+    }
+
+    // ====================================================================
+    // PACKAGE METHODS
+
+    /**
+     * @summary Method to run an engine's byte[] derivation over
+     *          ByteBuffers, for engines whose primitives only take
+     *          arrays; the copies are wiped.
+     * @return  Does not return a value; the key is written to out.
+     * @throws  CancellationException if the token is cancelled.
+     */
+    static void deriveThroughArrays(final CryptoEngine engine,
+                                    final ByteBuffer password,
+                                    final ByteBuffer salt,
+                                    final int iterations,
+                                    final ByteBuffer out,
+                                    final CancellationToken token) {
+        final byte[] passwordBytes = new byte[password.remaining()];
+        final byte[] saltBytes = new byte[salt.remaining()];
+        final byte[] outBytes = new byte[out.remaining()];
+        try {
+            password.duplicate().get(passwordBytes);
+            salt.duplicate().get(saltBytes);
+            engine.derive(passwordBytes, saltBytes, iterations, outBytes,
+                          token);
+            out.duplicate().put(outBytes);
+        } finally {
+            Arrays.fill(passwordBytes, (byte)0);
+            Arrays.fill(saltBytes, (byte)0);
+            Arrays.fill(outBytes, (byte)0);
+        }
+    }
+
+    /**
+     * @summary Method to prepare a password for engines with nothing
+     *          to precompute: a copy of it is kept off the heap.
+     * @return  {CryptoEngine.PreparedKey} The prepared key.
+     */
+    static CryptoEngine.PreparedKey prepareByCopy(
+                                            final CryptoEngine engine,
+                                            final ByteBuffer password) {
+        return new CopiedKey(engine, password);
+    }
+
+    // ====================================================================
+    // PRIVATE METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    private static final int    CALIBRATION_ITERATIONS  = 4096;
+    private static final int    CALIBRATION_ROUNDS      = 3;
+
+    // { password, salt, iterations, 32-byte key }, in hex
+    private static final String[][] KNOWN_ANSWERS       = {
+        // RFC 7914, section 11 ("passwd", "salt")
+        { "706173737764",
+          "73616c74",
+          "1",
+          "55ac046e56e3089fec1691c22544b605" +
+          "f94185216dde0465e68b9d57c20dacbc" },
+        // A binary (digest-like) password, as Crypto uses
+        { "808182838485868788898a8b8c8d8e8f" +
+          "909192939495969798999a9b9c9d9e9f",
+          "79676764726173696c",
+          "1000",
+          "e62fac4a8376d5c4cf4f09503d14640a" +
+          "46ad9c96a8101275aa0fbd49fa0df6ce" },
+        // A password longer than the SHA-256 block
+        { "5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a" +
+          "5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a" +
+          "5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a" +
+          "5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a5a",
+          "808182838485868788898a8b8c8d8e8f" +
+          "909192939495969798999a9b9c9d9e9f",
+          "2",
+          "dac2d54829bd456072df0c53b5db4e40" +
+          "97092753350e01f1fb37bb1bfc9b06cc" }
+    };
+
+    // --------------------------------------------------------------------
+    // CONSTRUCTORS
+
+    private CryptoEngines() {
+    }
+
+    // --------------------------------------------------------------------
+    // CLASSES
+
+    /**
+     * @summary A password prepared as a plain copy.
+     */
+    private static final class CopiedKey
+        implements CryptoEngine.PreparedKey {
+
+        CopiedKey(final CryptoEngine engine, final ByteBuffer password) {
+            m_engine = engine;
+            m_password = SecretBuffer.acquire(password.remaining());
+            m_password.buffer().put(password.duplicate());
+        }
+
+        @Override
+        public void derive(final ByteBuffer salt,
+                           final int iterations,
+                           final ByteBuffer out,
+                           final CancellationToken token) {
+            m_engine.derive(m_password.buffer(), salt, iterations, out,
+                            token);
+        }
+
+        @Override
+        public synchronized void wipe() {
+            if (!m_wiped) {
+                m_password.release();
+                m_wiped = true;
+            }
+        }
+
+        private final CryptoEngine  m_engine;
+        private final SecretBuffer  m_password;
+        private boolean             m_wiped;
+    }
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    private static ByteBuffer direct(final byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes);
+        buffer.flip();
+        return buffer;
+    }
+
+}
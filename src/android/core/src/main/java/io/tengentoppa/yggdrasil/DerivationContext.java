@@ -0,0 +1,294 @@
+/**
+ * @file        DerivationContext.java
+ * @summary     Source file for the DerivationContext class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.io.Closeable;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * @summary The state shared by every derivation with one unlocked seed
+ *          and salt key, e.g., for the lifetime of a dialog: the seed SHA
+ *          prepared by the engine, i.e., its HMAC key schedule, and the
+ *          digest of the salt key. Each password then costs its
+ *          iterations alone, rather than re-keying the HMAC and
+ *          re-hashing the salt key every time.
+ *          The seed SHA is prepared upon the first derivation, on the
+ *          thread running it, rather than by the constructor, since the
+ *          engine may still be calibrating; the context may thus be
+ *          created on the UI thread.
+ *          The context is reference counted: closing it releases the
+ *          owner's reference, and whatever the last reference releases
+ *          is wiped. Derivations in flight hold references of their own.
+ */
+public final class DerivationContext implements Closeable {
+
+    // ====================================================================
+    // PUBLIC METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTRUCTORS
+
+    /**
+     * @summary The constructor, which keeps a copy of the seed SHA, off
+     *          the heap, until it is prepared; the caller remains
+     *          responsible for releasing its own.
+     * @return  Does not even.
+     */
+    public DerivationContext(final SecretBuffer seedSHA,
+                             final String saltKey)
+        throws NoSuchAlgorithmException {
+        m_saltKey = saltKey;
+        m_saltKeyDigest = Crypto.digestSaltKey(saltKey);
+
+        MessageDigest digest = MessageDigest.getInstance(SHA256);
+        digest.update(seedSHA.buffer());
+        digest.update(saltKey.getBytes());
+        m_fingerprint = digest.digest();
+
+        m_seed = SecretBuffer.acquire(seedSHA.length());
+        m_seed.copyFrom(seedSHA);
+        m_seedKey = null;
+        m_prepareLock = new Object();
+        m_references = 1;
+        m_closed = false;
+    }
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to get the salt key.
+     * @return  {String} The salt key.
+     */
+    public String saltKey() {
+        return m_saltKey;
+    }
+
+    /**
+     * @summary Method to generate a salt, as Crypto.generateSalt() does,
+     *          without hashing the salt key again.
+     * @return  Does not return a value; the salt is written to salt.
+     * @throws  CancellationException if the token is cancelled.
+     */
+    public void generateSalt(final String domain,
+                             final Integer iterations,
+                             final CancellationToken token,
+                             final SecretBuffer salt)
+        throws NoSuchAlgorithmException, UnsupportedEncodingException {
+        checkNotWiped();
+        Crypto.generateSalt(domain,
+                            m_saltKeyDigest,
+                            iterations,
+                            token,
+                            salt.buffer());
+    }
+
+    /**
+     * @summary Method to generate the final password, as
+     *          Crypto.generatePasswd() does, with the prepared seed.
+     * @return  {String} The final password string to use.
+     * @throws  CancellationException if the token is cancelled.
+     */
+    public String generatePasswd(final SecretBuffer salt,
+                                 final Integer iterations,
+                                 final Integer truncation,
+                                 final Integer specialCharsFlag,
+                                 final CancellationToken token) {
+        checkNotWiped();
+        SecretBuffer hash = SecretBuffer.acquire(Pbkdf2Sha256.DIGEST_LENGTH);
+        try {
+            seedKey().derive(salt.buffer(),
+                             iterations,
+                             hash.buffer(),
+                             token);
+            return Crypto.encodePasswd(hash.buffer(),
+                                       truncation,
+                                       specialCharsFlag);
+        } finally {
+            hash.release();
+        }
+    }
+
+    /**
+     * @summary Method to generate the salt, and then the final password,
+     *          for a set of attributes.
+     * @return  {String} The final password string to use.
+     * @throws  CancellationException if the token is cancelled.
+     */
+    public String generatePasswd(final Attributes attributes,
+                                 final CancellationToken token)
+        throws NoSuchAlgorithmException, UnsupportedEncodingException {
+        return generatePasswd(ImmutableAttributes.of(attributes), token);
+    }
+
+    /**
+     * @summary Method to generate the salt, and then the final password,
+     *          for a set of immutable attributes.
+     * @return  {String} The final password string to use.
+     * @throws  CancellationException if the token is cancelled.
+     */
+    public String generatePasswd(final ImmutableAttributes attributes,
+                                 final CancellationToken token)
+        throws NoSuchAlgorithmException, UnsupportedEncodingException {
+        SecretBuffer salt = SecretBuffer.acquire(Pbkdf2Sha256.DIGEST_LENGTH);
+        try {
+            generateSalt(attributes.domain(),
+                         attributes.iterations(),
+                         token,
+                         salt);
+            return generatePasswd(salt,
+                                  attributes.iterations(),
+                                  attributes.truncation(),
+                                  attributes.specialCharsFlag(),
+                                  token);
+        } finally {
+            salt.release();
+        }
+    }
+
+    /**
+     * @summary Method to release the owner's reference; the context is
+     *          wiped once no derivation holds one either. Closing it
+     *          again has no effect.
+     * @return  Does not return a value.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (m_closed) {
+                return;
+            }
+            m_closed = true;
+        }
+        release();
+    }
+
+    // ====================================================================
+    // PACKAGE METHODS
+
+    /**
+     * @summary Method to get a digest of the seed SHA and the salt key,
+     *          which identifies the context without revealing either.
+     * @return  {byte[]} The digest; not to be modified.
+     * @throws  IllegalStateException if the context is wiped.
+     */
+    byte[] fingerprint() {
+        checkNotWiped();
+        return m_fingerprint;
+    }
+
+    /**
+     * @summary Method to take a reference, e.g., for a derivation
+     *          that may outlive the owner's.
+     * @return  Does not return a value.
+     * @throws  IllegalStateException if the context is wiped.
+     */
+    synchronized void retain() {
+        checkNotWiped();
+        ++m_references;
+    }
+
+    /**
+     * @summary Method to drop a reference; the last one wipes the
+     *          prepared seed and the digests.
+     * @return  Does not return a value.
+     */
+    synchronized void release() {
+        checkNotWiped();
+        if (0 != --m_references) {
+            return;
+        }
+        synchronized (m_prepareLock) {
+            if (null != m_seedKey) {
+                m_seedKey.wipe();
+            }
+            if (null != m_seed) {
+                m_seed.release();
+                m_seed = null;
+            }
+        }
+        Arrays.fill(m_saltKeyDigest, (byte)0);
+        Arrays.fill(m_fingerprint, (byte)0);
+    }
+
+    // ====================================================================
+    // PRIVATE METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    private static final String SHA256          = "SHA-256";
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to get the prepared seed SHA, preparing it upon
+     *          first use; under a lock of its own, rather than the
+     *          context's, which close() takes on the UI thread, as
+     *          getting the engine may wait for its calibration.
+     * @return  {PreparedKey} The prepared seed SHA.
+     */
+    private CryptoEngine.PreparedKey seedKey() {
+        synchronized (m_prepareLock) {
+            if (null == m_seedKey) {
+                m_seedKey = Crypto.getEngine().prepare(m_seed.buffer());
+                m_seed.release();
+                m_seed = null;
+            }
+            return m_seedKey;
+        }
+    }
+
+    private synchronized void checkNotWiped() {
+        if (0 == m_references) {
+            throw new IllegalStateException("DerivationContext.Closed");
+        }
+    }
+
+    // --------------------------------------------------------------------
+    // DATA MEMBERS
+
+    private final String        m_saltKey;        /** @brief The salt key.
+                                                    */
+    private final byte[]        m_saltKeyDigest;  /** @brief The SHA-256
+                                                    * of the salt key.
+                                                    */
+    private final byte[]        m_fingerprint;    /** @brief The SHA-256
+                                                    * of the seed SHA and
+                                                    * the salt key.
+                                                    */
+    private SecretBuffer        m_seed;           /** @brief The seed SHA,
+                                                    * until prepared;
+                                                    * guarded by
+                                                    * m_prepareLock.
+                                                    */
+    private CryptoEngine.PreparedKey m_seedKey;   /** @brief The prepared
+                                                    * seed SHA; null until
+                                                    * first used; guarded
+                                                    * by m_prepareLock.
+                                                    */
+    private final Object        m_prepareLock;    /** @brief The lock of
+                                                    * the seed SHA.
+                                                    */
+    private int                 m_references;     /** @brief The number of
+                                                    * references; wiped
+                                                    * at 0.
+                                                    */
+    private boolean             m_closed;         /** @brief Whether the
+                                                    * owner has closed it.
+                                                    */
+}
@@ -0,0 +1,820 @@
+/**
+ * @file        DerivationExecutor.java
+ * @summary     Source file for the DerivationExecutor class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @summary The app-wide executor for password derivations.
+ *          There are two lanes, each a bounded pool of its own:
+ *          INTERACTIVE, for the password the user is waiting on, and
+ *          BACKGROUND, whose threads run at the lowest priority, so that
+ *          the scheduler always favors interactive work over it.
+ *          Requests with identical inputs (domain, iterations,
+ *          truncation, special characters, seed and salt key) that are
+ *          in flight at the same time share a single derivation; an
+ *          interactive request joining a queued background derivation
+ *          promotes it to the interactive lane.
+ *          A shared derivation is only cancelled once every request
+ *          sharing it has been cancelled.
+ *          The requests of a session can share a DerivationContext, so
+ *          that the seed is prepared once for all of them.
+ *          Salts, which need neither the password nor the user, can be
+ *          derived speculatively on the background lane; a derivation
+ *          that needs a salt still being speculated adopts that work
+ *          rather than repeating it.
+ */
+public final class DerivationExecutor {
+
+    // ====================================================================
+    // PUBLIC METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    /**
+     * @summary The lanes.
+     */
+    public enum Priority {
+        INTERACTIVE,
+        BACKGROUND
+    }
+
+    // The thread priority of background work, on any pool
+    public static final int     BACKGROUND_THREAD_PRIORITY
+                                                    = Thread.MIN_PRIORITY;
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to get the app-wide executor.
+     * @return  {DerivationExecutor} The executor.
+     */
+    public static DerivationExecutor getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * @summary Method to request a proxy password.
+     * @return  {Request} The request, as below.
+     */
+    public Request submit(final byte[] seedSHA,
+                          final String saltKey,
+                          final Attributes attributes,
+                          final Priority priority,
+                          final Listener listener)
+        throws NoSuchAlgorithmException {
+        SecretBuffer seed = SecretBuffer.copyOf(seedSHA);
+        try {
+            return submit(seed, saltKey, attributes, priority, listener);
+        } finally {
+            seed.release();
+        }
+    }
+
+    /**
+     * @summary Method to request a proxy password, through a context of
+     *          its own, which is prepared for this request alone; the
+     *          caller may release its seed SHA as soon as this returns.
+     * @return  {Request} The request, as below.
+     */
+    public Request submit(final SecretBuffer seedSHA,
+                          final String saltKey,
+                          final Attributes attributes,
+                          final Priority priority,
+                          final Listener listener)
+        throws NoSuchAlgorithmException {
+        DerivationContext context = new DerivationContext(seedSHA, saltKey);
+        try {
+            return submit(context, attributes, priority, listener);
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * @summary Method to request a proxy password. The derivation takes
+     *          its own reference to the context, which it releases once
+     *          done, so the caller may close its own as soon as this
+     *          returns.
+     * @param   {Listener} listener - Notified of the progress and the
+     *          outcome, on a worker thread; may be null.
+     * @return  {Request} The request, through which it can be cancelled,
+     *          or its result awaited.
+     * @throws  IllegalStateException if the context is closed.
+     */
+    public Request submit(final DerivationContext context,
+                          final Attributes attributes,
+                          final Priority priority,
+                          final Listener listener) {
+        // A snapshot; the caller may go on modifying its attributes
+        final ImmutableAttributes snapshot =
+            ImmutableAttributes.of(attributes);
+        final Key key = new Key(context.fingerprint(), snapshot);
+
+        Derivation derivation = null;
+        Request request = null;
+        while (null == request) {
+            derivation = m_inFlight.get(key);
+            if (null == derivation) {
+                context.retain();
+                Derivation created =
+                    new Derivation(key, context, snapshot);
+                derivation = m_inFlight.putIfAbsent(key, created);
+                if (null == derivation) {
+                    derivation = created;
+                } else {
+                    // Lost the race; this one will never run
+                    created.releaseContext();
+                }
+            }
+            // Null if it completed or was abandoned in the meantime
+            request = derivation.join(listener);
+            if (null == request) {
+                m_inFlight.remove(key, derivation);
+            }
+        }
+
+        // Queue (or promote) the derivation; FutureTask.run() only ever
+        // runs once, so whichever lane gets to it first runs it.
+        if (Priority.INTERACTIVE == priority) {
+            if (derivation.claimLane(Priority.INTERACTIVE)) {
+                m_interactive.execute(derivation);
+            }
+        } else if (derivation.claimLane(Priority.BACKGROUND)) {
+            m_background.execute(derivation);
+        }
+
+        return request;
+    }
+
+    /**
+     * @summary Method to start deriving a salt on the background lane,
+     *          ahead of the request that will need it. The salt lands in
+     *          the salt cache (and store), where the request finds it.
+     * @return  {Speculation} The speculation, through which it can be
+     *          cancelled, e.g., when the inputs change.
+     */
+    public Speculation speculateSalt(final String domain,
+                                     final String saltKey,
+                                     final Integer iterations) {
+        final SaltKey key = new SaltKey(domain, saltKey, iterations);
+        SaltDerivation derivation = m_salts.get(key);
+        while ((null == derivation) || derivation.isDone()) {
+            // Only the caller whose derivation is installed runs it; any
+            // other joins the winner's
+            final SaltDerivation created = new SaltDerivation(key);
+            final boolean installed =
+                ((null == derivation) ?
+                    (null == m_salts.putIfAbsent(key, created)) :
+                    m_salts.replace(key, derivation, created));
+            if (installed) {
+                m_background.execute(created);
+                derivation = created;
+            } else {
+                derivation = m_salts.get(key);
+            }
+        }
+        return new Speculation(derivation);
+    }
+
+    /**
+     * @summary Method to get the number of distinct derivations in flight.
+     * @return  {int} The number.
+     */
+    public int getInFlightCount() {
+        return m_inFlight.size();
+    }
+
+    // --------------------------------------------------------------------
+    // INTERFACES
+
+    /**
+     * @summary The interface for receiving the progress and the outcome
+     *          of a request, on a worker thread.
+     */
+    public interface Listener {
+
+        /**
+         * @summary Called with the completed fraction, from 0 to 1.
+         * @return  Does not return a value.
+         */
+        void onProgress(float fraction);
+
+        /**
+         * @summary Called with the password.
+         * @return  Does not return a value.
+         */
+        void onSuccess(String password);
+
+        /**
+         * @summary Called with the cause of a failure.
+         * @return  Does not return a value.
+         */
+        void onFailure(Exception e);
+
+    }
+
+    // --------------------------------------------------------------------
+    // CLASSES
+
+    /**
+     * @summary A request for a password, sharing a derivation with any
+     *          identical requests.
+     */
+    public static final class Request {
+
+        /**
+         * @summary Method to withdraw this request; its listener is not
+         *          notified further.
+         * @return  Does not return a value.
+         */
+        public void cancel() {
+            m_derivation.leave(this);
+        }
+
+        /**
+         * @summary Method to wait for the password.
+         * @return  {String} The password.
+         */
+        public String get()
+            throws InterruptedException, ExecutionException {
+            return m_derivation.get();
+        }
+
+        private Request(final Derivation derivation,
+                        final Listener listener) {
+            m_derivation = derivation;
+            m_listener = listener;
+        }
+
+        private final Derivation    m_derivation;
+        private final Listener      m_listener;
+    }
+
+    /**
+     * @summary A speculative salt derivation.
+     */
+    public static final class Speculation {
+
+        /**
+         * @summary Method to abandon the speculation, unless a request
+         *          is already waiting on it.
+         * @return  Does not return a value.
+         */
+        public void cancel() {
+            m_derivation.abandon();
+        }
+
+        private Speculation(final SaltDerivation derivation) {
+            m_derivation = derivation;
+        }
+
+        private final SaltDerivation m_derivation;
+    }
+
+    // ====================================================================
+    // PRIVATE METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    private static final long   KEEP_ALIVE_SECONDS      = 30;
+    private static final long   ADOPTION_POLL_MILLIS    = 50;
+
+    // --------------------------------------------------------------------
+    // CONSTRUCTORS
+
+    /**
+     * @summary The constructor; the lanes are sized to the cores.
+     * @return  Does not even.
+     */
+    DerivationExecutor() {
+        final int cores = Runtime.getRuntime().availableProcessors();
+        m_inFlight = new ConcurrentHashMap<Key, Derivation>();
+        m_salts = new ConcurrentHashMap<SaltKey, SaltDerivation>();
+        m_interactive = createPool("derive-interactive",
+                                   Math.min(2, cores),
+                                   Thread.NORM_PRIORITY);
+        m_background = createPool("derive-background",
+                                  Math.max(1, cores - 1),
+                                  BACKGROUND_THREAD_PRIORITY);
+    }
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to create the pool of a lane; its threads are
+     *          started on demand, and retired when idle.
+     * @return  {ThreadPoolExecutor} The pool.
+     */
+    private static ThreadPoolExecutor createPool(final String name,
+                                                 final int threads,
+                                                 final int priority) {
+        ThreadPoolExecutor pool =
+            new ThreadPoolExecutor(threads,
+                                   threads,
+                                   KEEP_ALIVE_SECONDS,
+                                   TimeUnit.SECONDS,
+                                   new LinkedBlockingQueue<Runnable>(),
+                                   new LaneThreadFactory(name, priority));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * @summary Method to take over the speculative derivation of a salt,
+     *          if there is one: run it here if it has not started yet,
+     *          else wait for it. Either way, the salt is then in the
+     *          salt cache, unless the speculation was cancelled or failed.
+     * @return  Does not return a value.
+     * @throws  CancellationException if the token is cancelled.
+     */
+    private void adoptSpeculativeSalt(final String domain,
+                                      final String saltKey,
+                                      final Integer iterations,
+                                      final CancellationToken token)
+        throws InterruptedException {
+        SaltDerivation derivation =
+            m_salts.get(new SaltKey(domain, saltKey, iterations));
+        if ((null == derivation) || !derivation.adopt()) {
+            return;
+        }
+
+        // A no-op if it is already running, or done
+        derivation.run();
+        while (true) {
+            token.throwIfCancelled();
+            try {
+                derivation.get(ADOPTION_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                return;
+            } catch (TimeoutException e) {
+                // Poll the token again
+            } catch (CancellationException | ExecutionException e) {
+                return;
+            }
+        }
+    }
+
+    // --------------------------------------------------------------------
+    // CLASSES
+
+    /**
+     * @summary The lazily created singleton.
+     */
+    private static final class Holder {
+        static final DerivationExecutor INSTANCE = new DerivationExecutor();
+    }
+
+    /**
+     * @summary The thread factory of a lane: named daemon threads
+     *          at the lane's priority.
+     */
+    private static final class LaneThreadFactory implements ThreadFactory {
+
+        LaneThreadFactory(final String name, final int priority) {
+            m_name = name;
+            m_priority = priority;
+        }
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            Thread thread =
+                new Thread(runnable,
+                           m_name + "-" + m_count.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(m_priority);
+            return thread;
+        }
+
+        private final String        m_name;
+        private final int           m_priority;
+        private final AtomicInteger m_count = new AtomicInteger();
+    }
+
+    /**
+     * @summary The identity of a derivation. The seed and the salt key
+     *          are only held as a digest, the context's fingerprint.
+     */
+    private static final class Key {
+
+        Key(final byte[] secretsDigest,
+            final ImmutableAttributes attributes) {
+            m_secretsDigest = secretsDigest.clone();
+            m_attributes = attributes;
+            m_hash = (31 * Arrays.hashCode(m_secretsDigest)) +
+                     attributes.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (!(object instanceof Key)) {
+                return false;
+            }
+            Key key = (Key)object;
+            return ((m_hash == key.m_hash) &&
+                    m_attributes.equals(key.m_attributes) &&
+                    Arrays.equals(m_secretsDigest, key.m_secretsDigest));
+        }
+
+        @Override
+        public int hashCode() {
+            return m_hash;
+        }
+
+        private final byte[]                m_secretsDigest;
+        private final ImmutableAttributes   m_attributes;
+        private final int                   m_hash;
+    }
+
+    /**
+     * @summary A derivation shared by one or more requests.
+     *          It holds a reference to the context, released when it
+     *          finishes running, or when it is cancelled before it
+     *          ever runs.
+     */
+    private final class Derivation extends FutureTask<String> {
+
+        Derivation(final Key key,
+                   final DerivationContext context,
+                   final ImmutableAttributes attributes) {
+            this(key,
+                 new ContextLease(context),
+                 attributes,
+                 new Progress());
+        }
+
+        private Derivation(final Key key,
+                           final ContextLease lease,
+                           final ImmutableAttributes attributes,
+                           final Progress progress) {
+            super(new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+                    final DerivationContext context = lease.begin();
+                    if (null == context) {
+                        throw new CancellationException();
+                    }
+                    try {
+                        final CancellationToken token = progress.token();
+                        token.throwIfCancelled();
+                        adoptSpeculativeSalt(attributes.domain(),
+                                             context.saltKey(),
+                                             attributes.iterations(),
+                                             token);
+                        return context.generatePasswd(attributes, token);
+                    } finally {
+                        lease.end();
+                    }
+                }
+            });
+            m_key = key;
+            m_lease = lease;
+            m_progress = progress;
+            m_progress.setToken(
+                new CancellationToken(2L * attributes.iterations(),
+                                      progress));
+            m_requests = progress.requests();
+        }
+
+        /**
+         * @summary Method to add a request to this derivation.
+         * @return  {Request} The request; null if this derivation
+         *          can no longer be joined.
+         */
+        synchronized Request join(final Listener listener) {
+            if (isDone() || m_abandoned) {
+                return null;
+            }
+            Request request = new Request(this, listener);
+            m_requests.add(request);
+            return request;
+        }
+
+        /**
+         * @summary Method to withdraw a request; the last one out
+         *          cancels the derivation.
+         * @return  Does not return a value.
+         */
+        synchronized void leave(final Request request) {
+            if (!m_requests.remove(request) || !m_requests.isEmpty()) {
+                return;
+            }
+            m_abandoned = true;
+            m_progress.token().cancel();
+            cancel(false);
+        }
+
+        /**
+         * @summary Method to claim a lane for this derivation.
+         * @return  {boolean} True if it must be queued on that lane.
+         */
+        synchronized boolean claimLane(final Priority priority) {
+            if (null == m_lane) {
+                m_lane = priority;
+                return true;
+            }
+            if ((Priority.BACKGROUND == m_lane) &&
+                (Priority.INTERACTIVE == priority)) {
+                // Promote; the background run will be a no-op
+                // if this one gets to it first.
+                m_lane = priority;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * @summary Method to release the context, unless the
+         *          derivation is running, which releases it on its own.
+         * @return  Does not return a value.
+         */
+        void releaseContext() {
+            m_lease.abandon();
+        }
+
+        /**
+         * @summary Called once the derivation completes, fails or
+         *          is cancelled; notifies the requests still waiting.
+         * @return  Does not return a value.
+         */
+        @Override
+        protected void done() {
+            releaseContext();
+            m_inFlight.remove(m_key, this);
+            if (isCancelled()) {
+                return;
+            }
+
+            String password = null;
+            Exception failure = null;
+            try {
+                password = get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof CancellationException) {
+                    return;
+                }
+                failure = ((cause instanceof Exception) ?
+                           (Exception)cause : e);
+            } catch (InterruptedException | CancellationException e) {
+                return;
+            }
+
+            for (Request request : m_requests) {
+                if (null == request.m_listener) {
+                    continue;
+                }
+                if (null == failure) {
+                    request.m_listener.onSuccess(password);
+                } else {
+                    request.m_listener.onFailure(failure);
+                }
+            }
+        }
+
+        private final Key           m_key;
+        private final ContextLease  m_lease;
+        private final Progress      m_progress;
+        private final List<Request> m_requests;
+        private Priority            m_lane;
+        private boolean             m_abandoned;
+    }
+
+    /**
+     * @summary The reference of a derivation to its context, and who
+     *          releases it: the derivation itself once it has started
+     *          running, else whoever abandons it.
+     */
+    private static final class ContextLease {
+
+        ContextLease(final DerivationContext context) {
+            m_context = context;
+        }
+
+        /**
+         * @summary Method to start using the context.
+         * @return  {DerivationContext} The context; null if already
+         *          released.
+         */
+        synchronized DerivationContext begin() {
+            if (null != m_context) {
+                m_inUse = true;
+            }
+            return m_context;
+        }
+
+        /**
+         * @summary Method to stop using, and release, the context.
+         * @return  Does not return a value.
+         */
+        synchronized void end() {
+            m_inUse = false;
+            release();
+        }
+
+        /**
+         * @summary Method to release the context, unless in use.
+         * @return  Does not return a value.
+         */
+        synchronized void abandon() {
+            if (!m_inUse) {
+                release();
+            }
+        }
+
+        private void release() {
+            if (null != m_context) {
+                m_context.release();
+                m_context = null;
+            }
+        }
+
+        private DerivationContext   m_context;
+        private boolean             m_inUse;
+    }
+
+    /**
+     * @summary The identity of a salt.
+     */
+    private static final class SaltKey {
+
+        SaltKey(final String domain,
+                final String saltKey,
+                final Integer iterations) {
+            m_domain = domain;
+            m_saltKey = saltKey;
+            m_iterations = iterations;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (!(object instanceof SaltKey)) {
+                return false;
+            }
+            SaltKey key = (SaltKey)object;
+            return (m_domain.equals(key.m_domain) &&
+                    m_saltKey.equals(key.m_saltKey) &&
+                    m_iterations.equals(key.m_iterations));
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(new Object[] { m_domain,
+                                                  m_saltKey,
+                                                  m_iterations });
+        }
+
+        private final String    m_domain;
+        private final String    m_saltKey;
+        private final Integer   m_iterations;
+    }
+
+    /**
+     * @summary A speculative salt derivation, which leaves the salt in
+     *          the salt cache; it can be abandoned until a request
+     *          adopts it.
+     */
+    private final class SaltDerivation extends FutureTask<Void> {
+
+        SaltDerivation(final SaltKey key) {
+            this(key, new CancellationToken(key.m_iterations, null));
+        }
+
+        private SaltDerivation(final SaltKey key,
+                               final CancellationToken token) {
+            super(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    final SecretBuffer salt =
+                        SecretBuffer.acquire(Pbkdf2Sha256.DIGEST_LENGTH);
+                    try {
+                        Crypto.generateSalt(key.m_domain,
+                                            key.m_saltKey,
+                                            key.m_iterations,
+                                            token,
+                                            salt);
+                    } finally {
+                        salt.release();
+                    }
+                    return null;
+                }
+            });
+            m_key = key;
+            m_token = token;
+        }
+
+        /**
+         * @summary Method to mark the derivation as needed.
+         * @return  {boolean} True if it was not abandoned first.
+         */
+        synchronized boolean adopt() {
+            if (m_token.isCancelled()) {
+                return false;
+            }
+            m_adopted = true;
+            return true;
+        }
+
+        /**
+         * @summary Method to abandon the derivation, unless adopted.
+         * @return  Does not return a value.
+         */
+        synchronized void abandon() {
+            if (m_adopted) {
+                return;
+            }
+            m_token.cancel();
+            cancel(false);
+        }
+
+        @Override
+        protected void done() {
+            m_salts.remove(m_key, this);
+        }
+
+        private final SaltKey           m_key;
+        private final CancellationToken m_token;
+        private boolean                 m_adopted;
+    }
+
+    /**
+     * @summary The progress of a derivation, fanned out to the
+     *          listeners of the requests sharing it.
+     */
+    private static final class Progress
+        implements CancellationToken.ProgressListener {
+
+        @Override
+        public void onProgress(final float fraction) {
+            for (Request request : m_requests) {
+                if (null != request.m_listener) {
+                    request.m_listener.onProgress(fraction);
+                }
+            }
+        }
+
+        CancellationToken token() {
+            return m_token;
+        }
+
+        void setToken(final CancellationToken token) {
+            m_token = token;
+        }
+
+        List<Request> requests() {
+            return m_requests;
+        }
+
+        private volatile CancellationToken m_token;
+        private final List<Request> m_requests =
+            new CopyOnWriteArrayList<Request>();
+    }
+
+    // --------------------------------------------------------------------
+    // DATA MEMBERS
+
+    private final ConcurrentHashMap<Key, Derivation> m_inFlight;
+                                            /** @brief The derivations
+                                              * in flight, by identity.
+                                              */
+    private final ConcurrentHashMap<SaltKey, SaltDerivation> m_salts;
+                                            /** @brief The speculative
+                                              * salt derivations
+                                              * in flight.
+                                              */
+    private final ThreadPoolExecutor m_interactive;
+                                            /** @brief The interactive
+                                              * lane.
+                                              */
+    private final ThreadPoolExecutor m_background;
+                                            /** @brief The background
+                                              * lane.
+                                              */
+}
@@ -0,0 +1,429 @@
+/**
+ * @file        DomainTrie.java
+ * @summary     Source file for the DomainTrie class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @summary A compressed trie of domain rules, keyed on the labels of the
+ *          domains from the top-level one down, e.g., "com", "x", "mail"
+ *          for "mail.x.com"; a run of labels without rules of their own
+ *          is held on a single edge. A rule is either an exact domain,
+ *          e.g., "x.com", which applies to that domain only, as the
+ *          overrides saved for a domain always have, or a wildcard,
+ *          e.g., "*.x.com", which applies to its subdomains, at any
+ *          depth, but not to "x.com" itself. Looking up a domain picks,
+ *          in order of precedence:
+ *          1. The exact rule for the domain itself,
+ *          2. The wildcard rule of its closest parent domain.
+ *          Lookups take time linear in the number of labels (and the
+ *          length) of the domain, and do not split it or allocate.
+ *          Updates are either in place, with put(), or copy-on-write,
+ *          with with(), which copies only the nodes on the path to the
+ *          rule, so that the previous trie can still be read
+ *          concurrently; a trie is otherwise not thread safe.
+ */
+public final class DomainTrie<V> {
+
+    // ====================================================================
+    // PUBLIC METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    // The prefix of a wildcard rule
+    public static final String WILDCARD         = "*.";
+
+    // --------------------------------------------------------------------
+    // CONSTRUCTORS
+
+    /**
+     * @summary The constructor, for an empty trie.
+     * @return  Does not even.
+     */
+    public DomainTrie() {
+        m_root = new Node<V>("", null);
+        m_size = 0;
+    }
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to build a trie of the rules in a map.
+     * @return  {DomainTrie<V>} The trie.
+     */
+    public static <V> DomainTrie<V> of(final Map<String, V> rules) {
+        DomainTrie<V> trie = new DomainTrie<V>();
+        for (Map.Entry<String, V> entry : rules.entrySet()) {
+            trie.put(entry.getKey(), entry.getValue());
+        }
+        return trie;
+    }
+
+    /**
+     * @summary Method to add or replace a rule, in place; meant for
+     *          building a trie, as any copies made with with() share
+     *          its nodes.
+     * @return  Does not return a value.
+     */
+    public void put(final String rule, final V value) {
+        m_root = insert(m_root, rule, value, false);
+    }
+
+    /**
+     * @summary Method to add or replace a rule, leaving this trie alone.
+     * @return  {DomainTrie<V>} The updated copy.
+     */
+    public DomainTrie<V> with(final String rule, final V value) {
+        DomainTrie<V> copy = new DomainTrie<V>(m_root, m_size);
+        copy.m_root = copy.insert(m_root, rule, value, true);
+        return copy;
+    }
+
+    /**
+     * @summary Method to get the value of the rule which applies to a
+     *          domain, as per the order of precedence.
+     * @return  {V} The value; null if no rule applies.
+     */
+    public V lookup(final String domain) {
+        if (null == domain) {
+            return null;
+        }
+
+        V parentValue = null;
+        Node<V> node = m_root;
+        // The domain is matched from the end; [0, end) remains
+        int end = domain.length();
+        while (true) {
+            if (0 == end) {
+                return ((null != node.m_exact) ? node.m_exact : parentValue);
+            }
+            if (null != node.m_wildcard) {
+                parentValue = node.m_wildcard;
+            }
+
+            // The next label, nearest the end
+            final int start = domain.lastIndexOf('.', end - 1) + 1;
+            final Node<V> child = node.find(domain, start, end);
+            if (null == child) {
+                return parentValue;
+            }
+
+            // The whole edge must match, up to a label boundary
+            final int length = child.m_edge.length();
+            final int edgeStart = end - length;
+            if ((edgeStart < 0) ||
+                ((edgeStart > 0) && ('.' != domain.charAt(edgeStart - 1))) ||
+                !domain.regionMatches(edgeStart, child.m_edge, 0, length)) {
+                return parentValue;
+            }
+            end = ((edgeStart > 0) ? (edgeStart - 1) : 0);
+            node = child;
+        }
+    }
+
+    /**
+     * @summary Method to get the number of rules.
+     * @return  {int} The number.
+     */
+    public int size() {
+        return m_size;
+    }
+
+    // ====================================================================
+    // PRIVATE METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    private static final int INITIAL_CAPACITY   = 4;
+
+    // --------------------------------------------------------------------
+    // CONSTRUCTORS
+
+    private DomainTrie(final Node<V> root, final int size) {
+        m_root = root;
+        m_size = size;
+    }
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to insert a rule under a root; when copying, every
+     *          node on the path is replaced by a copy, including the root.
+     * @return  {Node<V>} The root.
+     */
+    private Node<V> insert(final Node<V> root,
+                           final String rule,
+                           final V value,
+                           final boolean copy) {
+        if (null == value) {
+            throw new IllegalArgumentException("DomainTrie.Null.Value");
+        }
+        final boolean wildcard = rule.startsWith(WILDCARD);
+        final List<String> labels =
+            reverseLabels(wildcard ? rule.substring(WILDCARD.length())
+                                   : rule);
+        if (labels.isEmpty()) {
+            throw new IllegalArgumentException("DomainTrie.Empty.Rule");
+        }
+
+        final Node<V> newRoot = (copy ? root.copy() : root);
+        Node<V> node = newRoot;
+        int i = 0;
+        while (i < labels.size()) {
+            Node<V> child = node.find(labels.get(i));
+            if (null == child) {
+                child = new Node<V>(labels, i);
+                node.add(child);
+                node = child;
+                break;
+            }
+
+            // The number of labels the edge and the rule share
+            final String[] edgeLabels = child.m_labels;
+            int shared = 1;
+            while ((shared < edgeLabels.length) &&
+                   (i + shared < labels.size()) &&
+                   edgeLabels[shared].equals(labels.get(i + shared))) {
+                ++shared;
+            }
+
+            if (shared < edgeLabels.length) {
+                // Split the edge, at a node which takes the child's place
+                Node<V> split = new Node<V>(edgeLabels, 0, shared);
+                split.add(new Node<V>(child, shared));
+                node.replace(split);
+                child = split;
+            } else if (copy) {
+                child = child.copy();
+                node.replace(child);
+            }
+            node = child;
+            i += shared;
+        }
+
+        final V previous = (wildcard ? node.m_wildcard : node.m_exact);
+        if (wildcard) {
+            node.m_wildcard = value;
+        } else {
+            node.m_exact = value;
+        }
+        if (null == previous) {
+            ++m_size;
+        }
+        return newRoot;
+    }
+
+    /**
+     * @summary Method to split a domain into its labels, top-level first.
+     * @return  {List<String>} The labels.
+     */
+    private static List<String> reverseLabels(final String domain) {
+        List<String> labels = new ArrayList<String>();
+        int end = domain.length();
+        while (end > 0) {
+            final int start = domain.lastIndexOf('.', end - 1) + 1;
+            labels.add(domain.substring(start, end));
+            end = start - 1;
+        }
+        return labels;
+    }
+
+    /**
+     * @summary Method to hash a region of a string as String.hashCode()
+     *          would hash its substring.
+     * @return  {int} The hash.
+     */
+    private static int hash(final String s, final int start, final int end) {
+        int hash = 0;
+        for (int i = start; i < end; ++i) {
+            hash = (31 * hash) + s.charAt(i);
+        }
+        return hash;
+    }
+
+    // --------------------------------------------------------------------
+    // CLASSES
+
+    /**
+     * @summary A node of the trie, reached by an edge of one or more
+     *          labels; its children are kept in an open-addressed table,
+     *          keyed on the first label of their edge.
+     */
+    private static final class Node<V> {
+
+        /**
+         * @summary The constructor, for an edge of the given labels.
+         */
+        Node(final String[] labels, final int from, final int to) {
+            m_labels = new String[to - from];
+            System.arraycopy(labels, from, m_labels, 0, to - from);
+            m_edge = join(m_labels);
+            m_children = null;
+            m_childCount = 0;
+        }
+
+        /**
+         * @summary The constructor, for an edge of the remaining labels.
+         */
+        Node(final List<String> labels, final int from) {
+            this(labels.subList(from, labels.size())
+                       .toArray(new String[0]),
+                 0,
+                 labels.size() - from);
+        }
+
+        /**
+         * @summary The constructor, for the root.
+         */
+        Node(final String edge, final String[] labels) {
+            m_labels = ((null != labels) ? labels : new String[0]);
+            m_edge = edge;
+            m_children = null;
+            m_childCount = 0;
+        }
+
+        /**
+         * @summary The constructor, for the tail of a split node's edge,
+         *          which takes over its rules and children.
+         */
+        Node(final Node<V> node, final int from) {
+            this(node.m_labels, from, node.m_labels.length);
+            m_exact = node.m_exact;
+            m_wildcard = node.m_wildcard;
+            m_children = node.m_children;
+            m_childCount = node.m_childCount;
+        }
+
+        /**
+         * @summary Method to make a copy, with a copy of the table.
+         */
+        Node<V> copy() {
+            Node<V> copy = new Node<V>(m_edge, m_labels);
+            copy.m_exact = m_exact;
+            copy.m_wildcard = m_wildcard;
+            copy.m_children =
+                ((null != m_children) ? m_children.clone() : null);
+            copy.m_childCount = m_childCount;
+            return copy;
+        }
+
+        /**
+         * @summary Method to find the child for the label at
+         *          [start, end) of the given domain.
+         */
+        Node<V> find(final String domain, final int start, final int end) {
+            if (null == m_children) {
+                return null;
+            }
+            final int length = end - start;
+            final int mask = m_children.length - 1;
+            for (int i = hash(domain, start, end) & mask; ;
+                 i = (i + 1) & mask) {
+                final Node<V> child = m_children[i];
+                if (null == child) {
+                    return null;
+                }
+                final String key = child.m_labels[0];
+                if ((key.length() == length) &&
+                    domain.regionMatches(start, key, 0, length)) {
+                    return child;
+                }
+            }
+        }
+
+        Node<V> find(final String label) {
+            return find(label, 0, label.length());
+        }
+
+        /**
+         * @summary Method to add a child, with a new first label.
+         */
+        void add(final Node<V> child) {
+            if (null == m_children) {
+                m_children = newTable(INITIAL_CAPACITY);
+            } else if (4 * (m_childCount + 1) > 3 * m_children.length) {
+                Node<V>[] children = m_children;
+                m_children = newTable(2 * children.length);
+                for (Node<V> node : children) {
+                    if (null != node) {
+                        m_children[slot(node.m_labels[0])] = node;
+                    }
+                }
+            }
+            m_children[slot(child.m_labels[0])] = child;
+            ++m_childCount;
+        }
+
+        /**
+         * @summary Method to replace the child with the same first label.
+         */
+        void replace(final Node<V> child) {
+            m_children[slot(child.m_labels[0])] = child;
+        }
+
+        /**
+         * @summary Method to find the slot of, or for, a first label.
+         */
+        private int slot(final String key) {
+            final int mask = m_children.length - 1;
+            int i = key.hashCode() & mask;
+            while ((null != m_children[i]) &&
+                   !m_children[i].m_labels[0].equals(key)) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <V> Node<V>[] newTable(final int capacity) {
+            return (Node<V>[])new Node<?>[capacity];
+        }
+
+        /**
+         * @summary Method to join labels, top-level first, into a domain.
+         */
+        private static String join(final String[] labels) {
+            StringBuilder edge = new StringBuilder();
+            for (int i = labels.length - 1; i >= 0; --i) {
+                edge.append(labels[i]);
+                if (i > 0) {
+                    edge.append('.');
+                }
+            }
+            return edge.toString();
+        }
+
+        final String[]  m_labels;   // The labels of the edge, top first
+        final String    m_edge;     // The same, as a domain
+        V               m_exact;    // The exact rule's value, if any
+        V               m_wildcard; // The wildcard rule's value, if any
+        Node<V>[]       m_children; // The table of children
+        int             m_childCount;
+    }
+
+    // --------------------------------------------------------------------
+    // DATA MEMBERS
+
+    private Node<V>     m_root;                 /** @brief The root, with
+                                                  * an empty edge.
+                                                  */
+    private int         m_size;                 /** @brief The number of
+                                                  * rules.
+                                                  */
+}
@@ -0,0 +1,227 @@
+/**
+ * @file        HashEncoder.java
+ * @summary     Source file for the HashEncoder class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.nio.ByteBuffer;
+
+/**
+ * @summary Encoders of key-stretched hashes: Z85 when special characters
+ *          are allowed, else base64.
+ *          A password is encoded in a single pass into a caller-supplied
+ *          char[], with the filename-safe substitutions applied through
+ *          the alphabet, the base64 padding never written, and the input
+ *          consumed only as far as the truncation requires; this yields
+ *          exactly what Crypto.getPasswdStr yields from the full encoding,
+ *          without the intermediate strings.
+ */
+public final class HashEncoder {
+
+    // ====================================================================
+    // PUBLIC METHODS
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to get the length of the full encoding,
+     *          with any padding.
+     * @return  {int} The number of characters.
+     */
+    public static int encodedLength(final int length,
+                                    final int specialCharsFlag) {
+        if (1 == specialCharsFlag) {
+            return ((length / Z85_GROUP_BYTES) * Z85_GROUP_CHARS);
+        }
+        return (((length + BASE64_GROUP_BYTES - 1) / BASE64_GROUP_BYTES) *
+                BASE64_GROUP_CHARS);
+    }
+
+    /**
+     * @summary Method to encode a hash as is, i.e., in standard Z85
+     *          or padded base64.
+     * @return  {String} The encoded hash.
+     */
+    public static String encode(final byte[] hash,
+                                final int specialCharsFlag) {
+        char[] chars = new char[encodedLength(hash.length,
+                                              specialCharsFlag)];
+        int count = encode(ByteBuffer.wrap(hash),
+                           specialCharsFlag,
+                           false,
+                           chars.length,
+                           chars);
+        return new String(chars, 0, count);
+    }
+
+    /**
+     * @summary Method to encode a hash as the final password:
+     *          Z85 with "/" replaced by "_", or base64 with "+" and "/"
+     *          replaced by "-" and "_" and without padding, truncated.
+     * @param   {int} truncation - The maximum length; none if not positive.
+     * @param   {char[]} out - Receives the password; at least as long as
+     *          the truncation, or the full encoding if shorter.
+     * @return  {int} The length of the password.
+     */
+    public static int encodePassword(final byte[] hash,
+                                     final int truncation,
+                                     final int specialCharsFlag,
+                                     final char[] out) {
+        return encodePassword(ByteBuffer.wrap(hash),
+                              truncation,
+                              specialCharsFlag,
+                              out);
+    }
+
+    /**
+     * @summary Method to encode the remaining bytes of a buffer, e.g.,
+     *          a view of a SecretBuffer, as the final password, as above;
+     *          the position of the buffer is left unchanged.
+     * @return  {int} The length of the password.
+     */
+    public static int encodePassword(final ByteBuffer hash,
+                                     final int truncation,
+                                     final int specialCharsFlag,
+                                     final char[] out) {
+        int limit = encodedLength(hash.remaining(), specialCharsFlag);
+        if ((truncation > 0) && (truncation < limit)) {
+            limit = truncation;
+        }
+        return encode(hash, specialCharsFlag, true, limit, out);
+    }
+
+    // ====================================================================
+    // PRIVATE METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    private static final int    Z85_GROUP_BYTES     = 4;
+    private static final int    Z85_GROUP_CHARS     = 5;
+    private static final int    BASE64_GROUP_BYTES  = 3;
+    private static final int    BASE64_GROUP_CHARS  = 4;
+    private static final char   BASE64_PAD          = '=';
+
+    private static final char[] Z85_ALPHABET        =
+        ("0123456789abcdefghijklmnopqrstuvwxyz" +
+         "ABCDEFGHIJKLMNOPQRSTUVWXYZ.-:+=^!/*?&<>()[]{}@%$#").toCharArray();
+    // "/" is not filename safe
+    private static final char[] Z85_SAFE_ALPHABET   =
+        ("0123456789abcdefghijklmnopqrstuvwxyz" +
+         "ABCDEFGHIJKLMNOPQRSTUVWXYZ.-:+=^!_*?&<>()[]{}@%$#").toCharArray();
+    private static final char[] BASE64_ALPHABET     =
+        ("ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz" +
+         "0123456789+/").toCharArray();
+    private static final char[] BASE64_SAFE_ALPHABET =
+        ("ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz" +
+         "0123456789-_").toCharArray();
+
+    // The place values of the Z85 digits, least significant first
+    private static final long[] Z85_PLACES          =
+        { 1L, 85L, 85L * 85, 85L * 85 * 85, 85L * 85 * 85 * 85 };
+
+    // --------------------------------------------------------------------
+    // CONSTRUCTORS
+
+    private HashEncoder() {
+    }
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to encode up to a given number of characters,
+     *          stopping as soon as they are written.
+     * @param   {boolean} safe - Whether to use the filename-safe
+     *          alphabets and omit the base64 padding.
+     * @return  {int} The number of characters written.
+     */
+    private static int encode(final ByteBuffer data,
+                              final int specialCharsFlag,
+                              final boolean safe,
+                              final int limit,
+                              final char[] out) {
+        if (1 == specialCharsFlag) {
+            return encodeZ85(data,
+                             safe ? Z85_SAFE_ALPHABET : Z85_ALPHABET,
+                             limit,
+                             out);
+        }
+        return encodeBase64(data,
+                            safe ? BASE64_SAFE_ALPHABET : BASE64_ALPHABET,
+                            !safe,
+                            limit,
+                            out);
+    }
+
+    private static int encodeZ85(final ByteBuffer data,
+                                 final char[] alphabet,
+                                 final int limit,
+                                 final char[] out) {
+        final int start = data.position();
+        final int end = data.limit();
+        if (0 != ((end - start) % Z85_GROUP_BYTES)) {
+            throw new IllegalArgumentException("Z85.Length.Invalid");
+        }
+
+        int count = 0;
+        for (int i = start; (i < end) && (count < limit);
+             i += Z85_GROUP_BYTES) {
+            final long value = (((data.get(i) & 0xffL) << 24) |
+                                ((data.get(i + 1) & 0xffL) << 16) |
+                                ((data.get(i + 2) & 0xffL) << 8) |
+                                (data.get(i + 3) & 0xffL));
+            for (int place = Z85_GROUP_CHARS - 1;
+                 (place >= 0) && (count < limit);
+                 --place) {
+                out[count++] =
+                    alphabet[(int)((value / Z85_PLACES[place]) % 85)];
+            }
+        }
+        return count;
+    }
+
+    private static int encodeBase64(final ByteBuffer data,
+                                    final char[] alphabet,
+                                    final boolean pad,
+                                    final int limit,
+                                    final char[] out) {
+        final int end = data.limit();
+        int count = 0;
+        for (int i = data.position(); (i < end) && (count < limit);
+             i += BASE64_GROUP_BYTES) {
+            final int remaining = end - i;
+            int group = ((data.get(i) & 0xff) << 16);
+            if (remaining > 1) {
+                group |= ((data.get(i + 1) & 0xff) << 8);
+            }
+            if (remaining > 2) {
+                group |= (data.get(i + 2) & 0xff);
+            }
+
+            // A partial group of n bytes encodes to n + 1 characters
+            final int chars = Math.min(remaining, BASE64_GROUP_BYTES) + 1;
+            for (int c = 0; (c < chars) && (count < limit); ++c) {
+                out[count++] = alphabet[(group >>> (18 - (6 * c))) & 0x3f];
+            }
+            if (pad) {
+                for (int c = chars;
+                     (c < BASE64_GROUP_CHARS) && (count < limit);
+                     ++c) {
+                    out[count++] = BASE64_PAD;
+                }
+            }
+        }
+        return count;
+    }
+
+}
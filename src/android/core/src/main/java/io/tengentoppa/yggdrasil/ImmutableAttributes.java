@@ -0,0 +1,270 @@
+/**
+ * @file        ImmutableAttributes.java
+ * @summary     Source file for the ImmutableAttributes class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+/**
+ * @summary An immutable counterpart of Attributes, with primitive fields
+ *          and sentinel values in place of nulls, and its hash computed
+ *          once; it can be shared across threads, and used as a key
+ *          without allocating. Built with a Builder, or bridged from and
+ *          to Attributes.
+ */
+public final class ImmutableAttributes {
+
+    // ====================================================================
+    // PUBLIC METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    // The sentinel for unspecified iterations, i.e., a null in Attributes
+    public static final int NO_ITERATIONS       = 0;
+    public static final int NO_TRUNCATION       = Attributes.NO_TRUNCATION;
+
+    // The attributes of a default constructed Attributes
+    public static final ImmutableAttributes DEFAULT = new Builder().build();
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to take an immutable snapshot of some Attributes.
+     * @return  {ImmutableAttributes} The snapshot.
+     */
+    public static ImmutableAttributes of(final Attributes attributes) {
+        final Integer iterations = attributes.iterations();
+        return new ImmutableAttributes(attributes.domain(),
+                                       ((null != iterations) ?
+                                        iterations : NO_ITERATIONS),
+                                       attributes.truncation(),
+                                       attributes.specialCharsFlag());
+    }
+
+    /**
+     * @summary Method to convert back to mutable Attributes,
+     *          e.g., for AttributesCodec.
+     * @return  {Attributes} A new, equivalent Attributes object.
+     */
+    public Attributes toAttributes() {
+        return new Attributes(m_domain,
+                              (hasIterations() ? m_iterations : null),
+                              m_truncation,
+                              m_specialCharsFlag);
+    }
+
+    /**
+     * @summary Domain accessor
+     * @return  {String} The domain; null if unspecified.
+     */
+    public String domain() {
+        return m_domain;
+    }
+
+    /**
+     * @summary Iterations accessor
+     * @return  {int} The iterations; NO_ITERATIONS if unspecified.
+     */
+    public int iterations() {
+        return m_iterations;
+    }
+
+    /**
+     * @summary Method to check whether the iterations are specified.
+     * @return  {boolean} True or False.
+     */
+    public boolean hasIterations() {
+        return (NO_ITERATIONS != m_iterations);
+    }
+
+    /**
+     * @summary Truncation accessor
+     * @return  {int} The truncation; NO_TRUNCATION if none.
+     */
+    public int truncation() {
+        return m_truncation;
+    }
+
+    /**
+     * @summary Special Characters Flag accessor
+     * @return  {int} 1 if special characters are allowed, else 0.
+     */
+    public int specialCharsFlag() {
+        return m_specialCharsFlag;
+    }
+
+    /**
+     * @summary Method to check if these are not the default attributes,
+     *          as Attributes.attributesExist() does.
+     * @return  {boolean} True or False.
+     */
+    public boolean attributesExist() {
+        return ((null != m_domain) ||
+                hasIterations() ||
+                (NO_TRUNCATION != m_truncation) ||
+                (1 != m_specialCharsFlag));
+    }
+
+    /**
+     * @summary Method to get a builder initialized with these attributes.
+     * @return  {Builder} The builder.
+     */
+    public Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        if (object == this) {
+            return true;
+        }
+        if (!(object instanceof ImmutableAttributes)) {
+            return false;
+        }
+
+        ImmutableAttributes rhs = (ImmutableAttributes)object;
+        return ((m_hash == rhs.m_hash) &&
+                (m_iterations == rhs.m_iterations) &&
+                (m_truncation == rhs.m_truncation) &&
+                (m_specialCharsFlag == rhs.m_specialCharsFlag) &&
+                ((null == m_domain) ?
+                 (null == rhs.m_domain) :
+                 m_domain.equals(rhs.m_domain)));
+    }
+
+    @Override
+    public int hashCode() {
+        return m_hash;
+    }
+
+    // --------------------------------------------------------------------
+    // CLASSES
+
+    /**
+     * @summary The builder, which starts from the default attributes.
+     */
+    public static final class Builder {
+
+        /**
+         * @summary The constructor, for the default attributes.
+         * @return  Does not even.
+         */
+        public Builder() {
+            m_domain = null;
+            m_iterations = NO_ITERATIONS;
+            m_truncation = NO_TRUNCATION;
+            m_specialCharsFlag = 1;
+        }
+
+        private Builder(final ImmutableAttributes attributes) {
+            m_domain = attributes.m_domain;
+            m_iterations = attributes.m_iterations;
+            m_truncation = attributes.m_truncation;
+            m_specialCharsFlag = attributes.m_specialCharsFlag;
+        }
+
+        /**
+         * @summary Domain modifier; null for unspecified.
+         * @return  {Builder} This builder.
+         */
+        public Builder setDomain(final String domain) {
+            m_domain = domain;
+            return this;
+        }
+
+        /**
+         * @summary Iterations modifier; NO_ITERATIONS for unspecified.
+         * @return  {Builder} This builder.
+         */
+        public Builder setIterations(final int iterations) {
+            if (iterations < NO_ITERATIONS) {
+                throw new IllegalArgumentException("Iterations.Negative");
+            }
+            m_iterations = iterations;
+            return this;
+        }
+
+        /**
+         * @summary Truncation modifier; NO_TRUNCATION for none.
+         * @return  {Builder} This builder.
+         */
+        public Builder setTruncation(final int truncation) {
+            m_truncation = truncation;
+            return this;
+        }
+
+        /**
+         * @summary Special Characters Flag modifier, as {0, 1}.
+         * @return  {Builder} This builder.
+         */
+        public Builder setSpecialCharsFlag(final int specialCharsFlag) {
+            m_specialCharsFlag = specialCharsFlag;
+            return this;
+        }
+
+        /**
+         * @summary Method to build the attributes.
+         * @return  {ImmutableAttributes} The attributes.
+         */
+        public ImmutableAttributes build() {
+            return new ImmutableAttributes(m_domain,
+                                           m_iterations,
+                                           m_truncation,
+                                           m_specialCharsFlag);
+        }
+
+        private String  m_domain;
+        private int     m_iterations;
+        private int     m_truncation;
+        private int     m_specialCharsFlag;
+    }
+
+    // ====================================================================
+    // PRIVATE METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTRUCTORS
+
+    private ImmutableAttributes(final String domain,
+                                final int iterations,
+                                final int truncation,
+                                final int specialCharsFlag) {
+        m_domain = domain;
+        m_iterations = iterations;
+        m_truncation = truncation;
+        m_specialCharsFlag = specialCharsFlag;
+
+        int hash = ((null != domain) ? domain.hashCode() : 0);
+        hash = (31 * hash) + iterations;
+        hash = (31 * hash) + truncation;
+        m_hash = (31 * hash) + specialCharsFlag;
+    }
+
+    // --------------------------------------------------------------------
+    // DATA MEMBERS
+
+    private final String    m_domain;           /** @brief The website
+                                                  * domain-subdomain.
+                                                  */
+    private final int       m_iterations;       /** @brief The number of
+                                                  * PBKDF2 iterations.
+                                                  */
+    private final int       m_truncation;       /** @brief The truncation
+                                                  * size for the generated
+                                                  * password.
+                                                  */
+    private final int       m_specialCharsFlag; /** @brief Whether special
+                                                  * characters are allowed,
+                                                  * as {0, 1}.
+                                                  */
+    private final int       m_hash;             /** @brief The hash code.
+                                                  */
+}
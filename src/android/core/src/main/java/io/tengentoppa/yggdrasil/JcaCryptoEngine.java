@@ -0,0 +1,183 @@
+/**
+ * @file        JcaCryptoEngine.java
+ * @summary     Source file for the JcaCryptoEngine class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * @summary The platform (JCA) backend: PBKDF2 over the platform's
+ *          HmacSHA256, which benefits from SHA intrinsics where the
+ *          runtime has them.
+ *          The JCA PBKDF2WithHmacSHA256 SecretKeyFactory is not used,
+ *          since it takes the password as a char[] and encodes it as
+ *          UTF-8, so it cannot express the binary passwords (digests)
+ *          that Crypto derives from.
+ */
+public final class JcaCryptoEngine implements CryptoEngine {
+
+    // ====================================================================
+    // PUBLIC METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    public static final String NAME             = "jca";
+
+    // --------------------------------------------------------------------
+    // CONSTRUCTORS
+
+    /**
+     * @summary The constructor.
+     * @return  Does not even.
+     * @throws  NoSuchAlgorithmException if the platform has no
+     *          HmacSHA256.
+     */
+    public JcaCryptoEngine() throws NoSuchAlgorithmException {
+        // Fail now, rather than on first use
+        Mac.getInstance(HMAC_SHA256);
+    }
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void derive(final byte[] password,
+                       final byte[] salt,
+                       final int iterations,
+                       final byte[] out,
+                       final CancellationToken token) {
+        final Mac mac = m_mac.get();
+        final byte[] u = new byte[Pbkdf2Sha256.DIGEST_LENGTH];
+        final byte[] t = new byte[Pbkdf2Sha256.DIGEST_LENGTH];
+        try {
+            mac.init(new SecretKeySpec(password, HMAC_SHA256));
+
+            int blockIndex = 1;
+            for (int pos = 0; pos < out.length; pos += u.length) {
+                // U_1 = HMAC(P, S || INT(i))
+                if (null != token) {
+                    token.advance(1);
+                }
+                mac.update(salt);
+                mac.update((byte)(blockIndex >>> 24));
+                mac.update((byte)(blockIndex >>> 16));
+                mac.update((byte)(blockIndex >>> 8));
+                mac.update((byte)blockIndex);
+                mac.doFinal(u, 0);
+                System.arraycopy(u, 0, t, 0, u.length);
+
+                // U_j = HMAC(P, U_{j-1}), in place
+                for (int j = 1; j < iterations; ++j) {
+                    mac.update(u);
+                    mac.doFinal(u, 0);
+                    for (int i = 0; i < u.length; ++i) {
+                        t[i] ^= u[i];
+                    }
+                    if ((null != token) &&
+                        (0 == (j & (CancellationToken.CHECK_INTERVAL - 1)))) {
+                        token.advance(CancellationToken.CHECK_INTERVAL);
+                    }
+                }
+                if (null != token) {
+                    token.advance((iterations - 1) %
+                                  CancellationToken.CHECK_INTERVAL);
+                }
+
+                System.arraycopy(t, 0, out, pos,
+                                 Math.min(t.length, out.length - pos));
+                ++blockIndex;
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException(e);
+        } finally {
+            Arrays.fill(u, (byte)0);
+            Arrays.fill(t, (byte)0);
+        }
+    }
+
+    @Override
+    public void derive(final ByteBuffer password,
+                       final ByteBuffer salt,
+                       final int iterations,
+                       final ByteBuffer out,
+                       final CancellationToken token) {
+        // A SecretKeySpec can only be made from a byte[]
+        CryptoEngines.deriveThroughArrays(this,
+                                          password,
+                                          salt,
+                                          iterations,
+                                          out,
+                                          token);
+    }
+
+    @Override
+    public PreparedKey prepare(final ByteBuffer password) {
+        // A Mac cannot be shared between threads; each derivation keys its own
+        return CryptoEngines.prepareByCopy(this, password);
+    }
+
+    @Override
+    public void deriveAll(final byte[][] passwords,
+                          final byte[][] salts,
+                          final int[] iterations,
+                          final byte[][] outs,
+                          final int count) {
+        for (int i = 0; i < count; ++i) {
+            derive(passwords[i], salts[i], iterations[i], outs[i], null);
+        }
+    }
+
+    // ====================================================================
+    // PRIVATE METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    private static final String HMAC_SHA256     = "HmacSHA256";
+
+    // --------------------------------------------------------------------
+    // CLASSES
+
+    /**
+     * @summary The source of the per-thread Mac instances.
+     */
+    private static final class MacThreadLocal extends ThreadLocal<Mac> {
+        @Override
+        protected Mac initialValue() {
+            try {
+                return Mac.getInstance(HMAC_SHA256);
+            } catch (NoSuchAlgorithmException e) {
+                // Checked by the constructor
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    // --------------------------------------------------------------------
+    // DATA MEMBERS
+
+    private final ThreadLocal<Mac> m_mac        = new MacThreadLocal();
+                                                /** @brief A Mac per
+                                                  * thread.
+                                                  */
+}
@@ -0,0 +1,119 @@
+/**
+ * @file        Logger.java
+ * @summary     Source file for the Logger class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+/**
+ * @summary The logging facade of the core, which runs on the JVM as
+ *          well as on android: messages go to a Sink, which the
+ *          application sets to android.util.Log, and tools may set to
+ *          STDERR; until then, they are dropped.
+ *          The calls mirror those of android.util.Log.
+ */
+public final class Logger {
+
+    // ====================================================================
+    // PUBLIC METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    // The priorities, as in android.util.Log
+    public static final int     DEBUG       = 3;
+    public static final int     INFO        = 4;
+    public static final int     WARN        = 5;
+    public static final int     ERROR       = 6;
+
+    /**
+     * @summary The sink which drops the messages; the default.
+     */
+    public static final Sink    NONE        = new Sink() {
+        @Override
+        public void log(final int priority,
+                        final String category,
+                        final String message) {
+        }
+    };
+
+    /**
+     * @summary The sink which prints the messages to the standard error,
+     *          e.g., for tools on the JVM.
+     */
+    public static final Sink    STDERR      = new Sink() {
+        @Override
+        public void log(final int priority,
+                        final String category,
+                        final String message) {
+            System.err.println("DIWE".charAt(priority - DEBUG) + "/" +
+                               category + ": " + message);
+        }
+    };
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to set the sink of all messages.
+     * @return  Does not return a value.
+     */
+    public static void setSink(final Sink sink) {
+        s_sink = ((null != sink) ? sink : NONE);
+    }
+
+    public static void d(final String category, final String message) {
+        s_sink.log(DEBUG, category, message);
+    }
+
+    public static void i(final String category, final String message) {
+        s_sink.log(INFO, category, message);
+    }
+
+    public static void w(final String category, final String message) {
+        s_sink.log(WARN, category, message);
+    }
+
+    public static void e(final String category, final String message) {
+        s_sink.log(ERROR, category, message);
+    }
+
+    // --------------------------------------------------------------------
+    // INTERFACES
+
+    /**
+     * @summary The interface for receiving the messages, on the thread
+     *          logging them.
+     */
+    public interface Sink {
+
+        /**
+         * @summary Called with a message, and its priority and category.
+         * @return  Does not return a value.
+         */
+        void log(int priority, String category, String message);
+
+    }
+
+    // ====================================================================
+    // PRIVATE METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTRUCTORS
+
+    private Logger() {
+    }
+
+    // --------------------------------------------------------------------
+    // DATA MEMBERS
+
+    private static volatile Sink    s_sink = NONE;  /** @brief Where the
+                                                      * messages go.
+                                                      */
+}
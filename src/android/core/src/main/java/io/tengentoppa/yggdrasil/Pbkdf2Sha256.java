@@ -0,0 +1,565 @@
+/**
+ * @file        Pbkdf2Sha256.java
+ * @summary     Source file for the Pbkdf2Sha256 class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * @summary An in-house PBKDF2-HMAC-SHA256 engine (RFC 2898).
+ *          The HMAC inner and outer pad states are computed once per key
+ *          (the "midstates"); every iteration thereafter costs exactly
+ *          two SHA-256 compressions over preallocated scratch space,
+ *          since both HMAC messages are a single 32-byte digest with
+ *          constant padding.
+ *          Keys, salts and outputs may also be ByteBuffers, e.g.,
+ *          views of SecretBuffers, which are read and written in place.
+ *          An instance is NOT thread-safe; use one per thread.
+ */
+public final class Pbkdf2Sha256 {
+
+    // ====================================================================
+    // PUBLIC METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    public static final int DIGEST_LENGTH       = 32;
+
+    // --------------------------------------------------------------------
+    // CONSTRUCTORS
+
+    /**
+     * @summary The no-argument constructor.
+     *          init() must be called before deriving.
+     * @return  Does not even.
+     */
+    public Pbkdf2Sha256() {
+        m_keyed = false;
+    }
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to key the engine with a password,
+     *          precomputing the HMAC inner and outer pad states.
+     *          Keys longer than the SHA-256 block are hashed first,
+     *          as mandated by RFC 2104.
+     * @return  Does not return a value.
+     */
+    public void init(final byte[] password) {
+        init(ByteBuffer.wrap(password));
+    }
+
+    /**
+     * @summary Method to key the engine, as above, with the remaining
+     *          bytes of a buffer; its position is left unchanged.
+     * @return  Does not return a value.
+     */
+    public void init(final ByteBuffer password) {
+        Arrays.fill(m_block, (byte)0);
+        final int start = password.position();
+        final int length = password.remaining();
+        if (length > BLOCK_LENGTH) {
+            sha256(password, m_block);
+        } else {
+            for (int i = 0; i < length; ++i) {
+                m_block[i] = password.get(start + i);
+            }
+        }
+
+        padState(m_block, IPAD, m_innerState);
+        padState(m_block, OPAD, m_outerState);
+        Arrays.fill(m_block, (byte)0);
+
+        m_keyed = true;
+    }
+
+    /**
+     * @summary Method to derive a key of out.length bytes from a salt,
+     *          using the password the engine was keyed with.
+     * @return  Does not return a value; the key is written to out.
+     */
+    public void derive(final byte[] salt,
+                       final int iterations,
+                       final byte[] out) {
+        derive(salt, iterations, out, 0, out.length, null);
+    }
+
+    /**
+     * @summary Method to derive a key of out.length bytes from a salt,
+     *          advancing a cancellation token as it goes.
+     * @return  Does not return a value; the key is written to out.
+     * @throws  CancellationException if the token is cancelled.
+     */
+    public void derive(final byte[] salt,
+                       final int iterations,
+                       final byte[] out,
+                       final CancellationToken token) {
+        derive(salt, iterations, out, 0, out.length, token);
+    }
+
+    /**
+     * @summary Method to derive a key of the given length from a salt
+     *          into out, starting at offset.
+     * @param   {CancellationToken} token - Advanced every
+     *          CancellationToken.CHECK_INTERVAL iterations; may be null.
+     * @return  Does not return a value; the key is written to out.
+     * @throws  CancellationException if the token is cancelled.
+     */
+    public void derive(final byte[] salt,
+                       final int iterations,
+                       final byte[] out,
+                       final int offset,
+                       final int length,
+                       final CancellationToken token) {
+        derive(ByteBuffer.wrap(salt),
+               iterations,
+               ByteBuffer.wrap(out, offset, length),
+               token);
+    }
+
+    /**
+     * @summary Method to derive a key filling the remaining bytes of
+     *          out from the remaining bytes of salt; the positions of
+     *          both are left unchanged.
+     * @param   {CancellationToken} token - Advanced every
+     *          CancellationToken.CHECK_INTERVAL iterations; may be null.
+     * @return  Does not return a value; the key is written to out.
+     * @throws  CancellationException if the token is cancelled.
+     */
+    public void derive(final ByteBuffer salt,
+                       final int iterations,
+                       final ByteBuffer out,
+                       final CancellationToken token) {
+        // Sanity checks
+        if (!m_keyed) {
+            throw new IllegalStateException("Pbkdf2Sha256.Not.Keyed");
+        }
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Iterations.Not.Positive");
+        }
+
+        final int offset = out.position();
+        final int length = out.remaining();
+        try {
+            int blockIndex = 1;
+            for (int pos = 0; pos < length; pos += DIGEST_LENGTH) {
+                deriveBlock(salt, blockIndex++, iterations, token);
+                int count = Math.min(DIGEST_LENGTH, length - pos);
+                for (int i = 0; i < count; ++i) {
+                    out.put(offset + pos + i,
+                            (byte)(m_t[i >>> 2] >>> (24 - ((i & 3) << 3))));
+                }
+            }
+        } finally {
+            Arrays.fill(m_t, 0);
+            Arrays.fill(m_u, 0);
+        }
+    }
+
+    /**
+     * @summary Method to wipe all key material from the engine.
+     * @return  Does not return a value.
+     */
+    public void reset() {
+        Arrays.fill(m_innerState, 0);
+        Arrays.fill(m_outerState, 0);
+        Arrays.fill(m_state, 0);
+        Arrays.fill(m_w, 0);
+        m_keyed = false;
+    }
+
+    // ====================================================================
+    // PACKAGE METHODS
+
+    /**
+     * @summary Method to export the keyed midstates, from which
+     *          importMidstates() re-keys an engine without the key.
+     * @return  Does not return a value.
+     */
+    void exportMidstates(final int[] innerState, final int[] outerState) {
+        if (!m_keyed) {
+            throw new IllegalStateException("Pbkdf2Sha256.Not.Keyed");
+        }
+        System.arraycopy(m_innerState, 0, innerState, 0, 8);
+        System.arraycopy(m_outerState, 0, outerState, 0, 8);
+    }
+
+    /**
+     * @summary Method to key the engine from exported midstates,
+     *          skipping the two pad-block compressions of init().
+     * @return  Does not return a value.
+     */
+    void importMidstates(final int[] innerState, final int[] outerState) {
+        System.arraycopy(innerState, 0, m_innerState, 0, 8);
+        System.arraycopy(outerState, 0, m_outerState, 0, 8);
+        m_keyed = true;
+    }
+
+    /**
+     * @summary Method to export the keyed midstates, and U_1 of the
+     *          first block, for engines that run the remaining
+     *          iterations themselves.
+     * @return  Does not return a value.
+     */
+    void exportFirstIteration(final byte[] salt,
+                              final int[] innerState,
+                              final int[] outerState,
+                              final int[] u) {
+        if (!m_keyed) {
+            throw new IllegalStateException("Pbkdf2Sha256.Not.Keyed");
+        }
+        hmacFirst(ByteBuffer.wrap(salt), 1);
+        System.arraycopy(m_innerState, 0, innerState, 0, 8);
+        System.arraycopy(m_outerState, 0, outerState, 0, 8);
+        System.arraycopy(m_u, 0, u, 0, 8);
+        Arrays.fill(m_u, 0);
+    }
+
+    // ====================================================================
+    // PRIVATE METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    private static final int    BLOCK_LENGTH        = 64;
+    private static final byte   IPAD                = (byte)0x36;
+    private static final byte   OPAD                = (byte)0x5c;
+
+    // The length, in bits, of an HMAC message over a single digest,
+    // i.e., one pad block followed by 32 bytes.
+    private static final int    PADDED_DIGEST_BITS  =
+        (BLOCK_LENGTH + DIGEST_LENGTH) * 8;
+
+    private static final int[]  IV                  = {
+        0x6a09e667, 0xbb67ae85, 0x3c6ef372, 0xa54ff53a,
+        0x510e527f, 0x9b05688c, 0x1f83d9ab, 0x5be0cd19
+    };
+
+    static final int[]          K                   = {
+        0x428a2f98, 0x71374491, 0xb5c0fbcf, 0xe9b5dba5,
+        0x3956c25b, 0x59f111f1, 0x923f82a4, 0xab1c5ed5,
+        0xd807aa98, 0x12835b01, 0x243185be, 0x550c7dc3,
+        0x72be5d74, 0x80deb1fe, 0x9bdc06a7, 0xc19bf174,
+        0xe49b69c1, 0xefbe4786, 0x0fc19dc6, 0x240ca1cc,
+        0x2de92c6f, 0x4a7484aa, 0x5cb0a9dc, 0x76f988da,
+        0x983e5152, 0xa831c66d, 0xb00327c8, 0xbf597fc7,
+        0xc6e00bf3, 0xd5a79147, 0x06ca6351, 0x14292967,
+        0x27b70a85, 0x2e1b2138, 0x4d2c6dfc, 0x53380d13,
+        0x650a7354, 0x766a0abb, 0x81c2c92e, 0x92722c85,
+        0xa2bfe8a1, 0xa81a664b, 0xc24b8b70, 0xc76c51a3,
+        0xd192e819, 0xd6990624, 0xf40e3585, 0x106aa070,
+        0x19a4c116, 0x1e376c08, 0x2748774c, 0x34b0bcb5,
+        0x391c0cb3, 0x4ed8aa4a, 0x5b9cca4f, 0x682e6ff3,
+        0x748f82ee, 0x78a5636f, 0x84c87814, 0x8cc70208,
+        0x90befffa, 0xa4506ceb, 0xbef9a3f7, 0xc67178f2
+    };
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to compute one PBKDF2 block,
+     *          T_i = U_1 ^ U_2 ^ ... ^ U_c, into m_t.
+     * @return  Does not return a value.
+     */
+    private void deriveBlock(final ByteBuffer salt,
+                             final int blockIndex,
+                             final int iterations,
+                             final CancellationToken token) {
+        // U_1 = HMAC(P, S || INT(i)); this is the only iteration
+        // with a variable-length message.
+        if (null != token) {
+            token.advance(1);
+        }
+        hmacFirst(salt, blockIndex);
+        System.arraycopy(m_u, 0, m_t, 0, 8);
+
+        // U_j = HMAC(P, U_{j-1}); clone the midstates, no allocation.
+        // Without a token, this is a single run.
+        int j = 1;
+        while (j < iterations) {
+            final int end =
+                ((null == token) ?
+                 iterations :
+                 Math.min(iterations, j + CancellationToken.CHECK_INTERVAL));
+            final int start = j;
+            for (; j < end; ++j) {
+                hmacDigest();
+                m_t[0] ^= m_u[0];
+                m_t[1] ^= m_u[1];
+                m_t[2] ^= m_u[2];
+                m_t[3] ^= m_u[3];
+                m_t[4] ^= m_u[4];
+                m_t[5] ^= m_u[5];
+                m_t[6] ^= m_u[6];
+                m_t[7] ^= m_u[7];
+            }
+            if (null != token) {
+                token.advance(end - start);
+            }
+        }
+    }
+
+    /**
+     * @summary Method to compute m_u = HMAC(P, m_u) for a 32-byte m_u,
+     *          which is two compressions starting from the midstates.
+     * @return  Does not return a value.
+     */
+    private void hmacDigest() {
+        // Inner hash: H(K ^ ipad || U)
+        System.arraycopy(m_innerState, 0, m_state, 0, 8);
+        loadDigestBlock(m_u);
+        compress(m_state, m_w);
+
+        // Outer hash: H(K ^ opad || inner)
+        System.arraycopy(m_outerState, 0, m_u, 0, 8);
+        loadDigestBlock(m_state);
+        compress(m_u, m_w);
+    }
+
+    /**
+     * @summary Method to compute m_u = HMAC(P, salt || INT(blockIndex)).
+     * @return  Does not return a value.
+     */
+    private void hmacFirst(final ByteBuffer salt, final int blockIndex) {
+        // Inner hash over the salt and the big-endian block index,
+        // continuing from the inner midstate.
+        System.arraycopy(m_innerState, 0, m_state, 0, 8);
+        final int start = salt.position();
+        final int saltLength = salt.remaining();
+        final long messageLength = BLOCK_LENGTH + saltLength + 4;
+        int fill = 0;
+        for (int i = 0; i < saltLength; ++i) {
+            m_block[fill++] = salt.get(start + i);
+            if (BLOCK_LENGTH == fill) {
+                compressBytes(m_state, m_block);
+                fill = 0;
+            }
+        }
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            m_block[fill++] = (byte)(blockIndex >>> shift);
+            if (BLOCK_LENGTH == fill) {
+                compressBytes(m_state, m_block);
+                fill = 0;
+            }
+        }
+        finish(m_state, m_block, fill, messageLength);
+
+        // Outer hash
+        System.arraycopy(m_outerState, 0, m_u, 0, 8);
+        loadDigestBlock(m_state);
+        compress(m_u, m_w);
+    }
+
+    /**
+     * @summary Method to load a 32-byte digest, followed by the constant
+     *          SHA-256 padding for a pad-block-prefixed message,
+     *          into the message schedule.
+     * @return  Does not return a value.
+     */
+    private void loadDigestBlock(final int[] digest) {
+        final int[] w = m_w;
+        w[0] = digest[0];
+        w[1] = digest[1];
+        w[2] = digest[2];
+        w[3] = digest[3];
+        w[4] = digest[4];
+        w[5] = digest[5];
+        w[6] = digest[6];
+        w[7] = digest[7];
+        w[8] = 0x80000000;
+        w[9] = 0;
+        w[10] = 0;
+        w[11] = 0;
+        w[12] = 0;
+        w[13] = 0;
+        w[14] = 0;
+        w[15] = PADDED_DIGEST_BITS;
+    }
+
+    /**
+     * @summary Method to compute the state after absorbing a single
+     *          block of key ^ pad.
+     * @return  Does not return a value.
+     */
+    private void padState(final byte[] key,
+                          final byte pad,
+                          final int[] state) {
+        System.arraycopy(IV, 0, state, 0, 8);
+        for (int i = 0; i < 16; ++i) {
+            m_w[i] = (((key[4 * i] ^ pad) & 0xff) << 24) |
+                     (((key[4 * i + 1] ^ pad) & 0xff) << 16) |
+                     (((key[4 * i + 2] ^ pad) & 0xff) << 8) |
+                     ((key[4 * i + 3] ^ pad) & 0xff);
+        }
+        compress(state, m_w);
+    }
+
+    /**
+     * @summary Method to hash the remaining bytes of a buffer with
+     *          SHA-256, used only for over-long HMAC keys.
+     * @return  Does not return a value; the digest is written to out.
+     */
+    private void sha256(final ByteBuffer input, final byte[] out) {
+        System.arraycopy(IV, 0, m_state, 0, 8);
+        final int offset = input.position();
+        final int length = input.remaining();
+        int fill = 0;
+        for (int i = 0; i < length; ++i) {
+            m_block[fill++] = input.get(offset + i);
+            if (BLOCK_LENGTH == fill) {
+                compressBytes(m_state, m_block);
+                fill = 0;
+            }
+        }
+        finish(m_state, m_block, fill, length);
+        for (int i = 0; i < DIGEST_LENGTH; ++i) {
+            out[i] = (byte)(m_state[i >>> 2] >>> (24 - ((i & 3) << 3)));
+        }
+    }
+
+    /**
+     * @summary Method to apply the SHA-256 padding to a partially filled
+     *          block and compress the remainder of a message.
+     * @param   {long} messageLength - The total message length in bytes.
+     * @return  Does not return a value.
+     */
+    private void finish(final int[] state,
+                        final byte[] block,
+                        int fill,
+                        final long messageLength) {
+        block[fill++] = (byte)0x80;
+        if (fill > BLOCK_LENGTH - 8) {
+            Arrays.fill(block, fill, BLOCK_LENGTH, (byte)0);
+            compressBytes(state, block);
+            fill = 0;
+        }
+        Arrays.fill(block, fill, BLOCK_LENGTH - 8, (byte)0);
+        final long bits = messageLength << 3;
+        for (int i = 0; i < 8; ++i) {
+            block[BLOCK_LENGTH - 1 - i] = (byte)(bits >>> (8 * i));
+        }
+        compressBytes(state, block);
+        Arrays.fill(block, (byte)0);
+    }
+
+    /**
+     * @summary Method to compress a 64-byte block into the state.
+     * @return  Does not return a value.
+     */
+    private void compressBytes(final int[] state, final byte[] block) {
+        for (int i = 0; i < 16; ++i) {
+            m_w[i] = ((block[4 * i] & 0xff) << 24) |
+                     ((block[4 * i + 1] & 0xff) << 16) |
+                     ((block[4 * i + 2] & 0xff) << 8) |
+                     (block[4 * i + 3] & 0xff);
+        }
+        compress(state, m_w);
+    }
+
+    /**
+     * @summary The SHA-256 compression function (FIPS 180-4),
+     *          over a message schedule whose first 16 words are loaded.
+     * @return  Does not return a value; state is updated in place.
+     */
+    static void compress(final int[] state, final int[] w) {
+        for (int t = 16; t < 64; ++t) {
+            final int w2 = w[t - 2];
+            final int w15 = w[t - 15];
+            w[t] = ((w2 >>> 17 | w2 << 15) ^
+                    (w2 >>> 19 | w2 << 13) ^
+                    (w2 >>> 10)) +
+                   w[t - 7] +
+                   ((w15 >>> 7 | w15 << 25) ^
+                    (w15 >>> 18 | w15 << 14) ^
+                    (w15 >>> 3)) +
+                   w[t - 16];
+        }
+
+        int a = state[0];
+        int b = state[1];
+        int c = state[2];
+        int d = state[3];
+        int e = state[4];
+        int f = state[5];
+        int g = state[6];
+        int h = state[7];
+
+        for (int t = 0; t < 64; ++t) {
+            final int t1 = h +
+                           ((e >>> 6 | e << 26) ^
+                            (e >>> 11 | e << 21) ^
+                            (e >>> 25 | e << 7)) +
+                           ((e & f) ^ (~e & g)) +
+                           K[t] + w[t];
+            final int t2 = ((a >>> 2 | a << 30) ^
+                            (a >>> 13 | a << 19) ^
+                            (a >>> 22 | a << 10)) +
+                           ((a & b) ^ (a & c) ^ (b & c));
+            h = g;
+            g = f;
+            f = e;
+            e = d + t1;
+            d = c;
+            c = b;
+            b = a;
+            a = t1 + t2;
+        }
+
+        state[0] += a;
+        state[1] += b;
+        state[2] += c;
+        state[3] += d;
+        state[4] += e;
+        state[5] += f;
+        state[6] += g;
+        state[7] += h;
+    }
+
+    // --------------------------------------------------------------------
+    // DATA MEMBERS
+
+    private final int[]  m_innerState = new int[8];  /** @brief The
+                                                       * midstate after
+                                                       * absorbing
+                                                       * key ^ ipad.
+                                                       */
+    private final int[]  m_outerState = new int[8];  /** @brief The
+                                                       * midstate after
+                                                       * absorbing
+                                                       * key ^ opad.
+                                                       */
+    private final int[]  m_state      = new int[8];  /** @brief Scratch
+                                                       * inner hash state.
+                                                       */
+    private final int[]  m_u          = new int[8];  /** @brief The current
+                                                       * U_j, as words.
+                                                       */
+    private final int[]  m_t          = new int[8];  /** @brief The running
+                                                       * XOR of the U_j.
+                                                       */
+    private final int[]  m_w          = new int[64]; /** @brief The message
+                                                       * schedule.
+                                                       */
+    private final byte[] m_block      =
+        new byte[BLOCK_LENGTH];                      /** @brief Scratch
+                                                       * byte block.
+                                                       */
+    private boolean      m_keyed;                    /** @brief Whether
+                                                       * init() has been
+                                                       * called.
+                                                       */
+}
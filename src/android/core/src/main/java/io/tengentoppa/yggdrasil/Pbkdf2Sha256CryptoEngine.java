@@ -0,0 +1,148 @@
+/**
+ * @file        Pbkdf2Sha256CryptoEngine.java
+ * @summary     Source file for the Pbkdf2Sha256CryptoEngine class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * @summary The in-house backend: Pbkdf2Sha256 for single derivations,
+ *          and Pbkdf2Sha256Lanes for batches.
+ */
+public final class Pbkdf2Sha256CryptoEngine implements CryptoEngine {
+
+    // ====================================================================
+    // PUBLIC METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    public static final String NAME             = "pbkdf2sha256";
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void derive(final byte[] password,
+                       final byte[] salt,
+                       final int iterations,
+                       final byte[] out,
+                       final CancellationToken token) {
+        Pbkdf2Sha256 generator = new Pbkdf2Sha256();
+        try {
+            generator.init(password);
+            generator.derive(salt, iterations, out, token);
+        } finally {
+            generator.reset();
+        }
+    }
+
+    @Override
+    public void derive(final ByteBuffer password,
+                       final ByteBuffer salt,
+                       final int iterations,
+                       final ByteBuffer out,
+                       final CancellationToken token) {
+        // Keyed and run straight from the buffers
+        Pbkdf2Sha256 generator = new Pbkdf2Sha256();
+        try {
+            generator.init(password);
+            generator.derive(salt, iterations, out, token);
+        } finally {
+            generator.reset();
+        }
+    }
+
+    @Override
+    public PreparedKey prepare(final ByteBuffer password) {
+        return new MidstateKey(password);
+    }
+
+    @Override
+    public void deriveAll(final byte[][] passwords,
+                          final byte[][] salts,
+                          final int[] iterations,
+                          final byte[][] outs,
+                          final int count) {
+        Pbkdf2Sha256Lanes generator = new Pbkdf2Sha256Lanes();
+        final byte[][] lanePasswords = new byte[Pbkdf2Sha256Lanes.LANES][];
+        final byte[][] laneSalts = new byte[Pbkdf2Sha256Lanes.LANES][];
+        final int[] laneIterations = new int[Pbkdf2Sha256Lanes.LANES];
+        final byte[][] laneOuts = new byte[Pbkdf2Sha256Lanes.LANES][];
+        for (int start = 0; start < count; start += Pbkdf2Sha256Lanes.LANES) {
+            final int lanes = Math.min(Pbkdf2Sha256Lanes.LANES,
+                                       count - start);
+            System.arraycopy(passwords, start, lanePasswords, 0, lanes);
+            System.arraycopy(salts, start, laneSalts, 0, lanes);
+            System.arraycopy(iterations, start, laneIterations, 0, lanes);
+            System.arraycopy(outs, start, laneOuts, 0, lanes);
+            generator.derive(lanePasswords,
+                             laneSalts,
+                             laneIterations,
+                             laneOuts,
+                             lanes);
+        }
+    }
+
+    // ====================================================================
+    // PRIVATE METHODS
+
+    // --------------------------------------------------------------------
+    // CLASSES
+
+    /**
+     * @summary A password prepared as its HMAC midstates, so that each
+     *          derivation skips keying altogether.
+     */
+    private static final class MidstateKey implements PreparedKey {
+
+        MidstateKey(final ByteBuffer password) {
+            Pbkdf2Sha256 generator = new Pbkdf2Sha256();
+            try {
+                generator.init(password);
+                generator.exportMidstates(m_innerState, m_outerState);
+            } finally {
+                generator.reset();
+            }
+        }
+
+        @Override
+        public void derive(final ByteBuffer salt,
+                           final int iterations,
+                           final ByteBuffer out,
+                           final CancellationToken token) {
+            Pbkdf2Sha256 generator = new Pbkdf2Sha256();
+            try {
+                generator.importMidstates(m_innerState, m_outerState);
+                generator.derive(salt, iterations, out, token);
+            } finally {
+                generator.reset();
+            }
+        }
+
+        @Override
+        public void wipe() {
+            Arrays.fill(m_innerState, 0);
+            Arrays.fill(m_outerState, 0);
+        }
+
+        private final int[] m_innerState = new int[8];
+        private final int[] m_outerState = new int[8];
+    }
+
+}
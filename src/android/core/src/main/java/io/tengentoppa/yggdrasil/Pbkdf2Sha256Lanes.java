@@ -0,0 +1,388 @@
+/**
+ * @file        Pbkdf2Sha256Lanes.java
+ * @summary     Source file for the Pbkdf2Sha256Lanes class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.util.Arrays;
+
+/**
+ * @summary A multi-buffer PBKDF2-HMAC-SHA256 engine, which advances
+ *          LANES independent chains (each with its own password, salt
+ *          and iteration count) in lockstep.
+ *          The lanes are kept in primitive int[] arrays laid out
+ *          word-major (index = word * LANES + lane), and the SHA-256
+ *          compression is hand-interleaved across the lanes, so that
+ *          the independent dependency chains overlap in the pipeline.
+ *          (The JDK Vector API is not available on Android, so this
+ *          scalar-unrolled form is the only implementation.)
+ *          Every lane produces exactly what Pbkdf2Sha256 would produce
+ *          for a 32-byte key. An instance is NOT thread-safe.
+ */
+public final class Pbkdf2Sha256Lanes {
+
+    // ====================================================================
+    // PUBLIC METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    public static final int LANES               = 4;
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to derive up to LANES 32-byte keys at once.
+     * @param   {byte[][]} passwords - The per-lane passwords.
+     * @param   {byte[][]} salts - The per-lane salts.
+     * @param   {int[]} iterations - The per-lane iteration counts.
+     * @param   {byte[][]} outs - The per-lane outputs, of at least
+     *          DIGEST_LENGTH bytes each.
+     * @param   {int} count - The number of lanes in use, 1 to LANES.
+     * @return  Does not return a value; the keys are written to outs.
+     */
+    public void derive(final byte[][] passwords,
+                       final byte[][] salts,
+                       final int[] iterations,
+                       final byte[][] outs,
+                       final int count) {
+        // Sanity checks
+        if ((count < 1) || (count > LANES)) {
+            throw new IllegalArgumentException("Lane.Count.OutOfRange");
+        }
+
+        // Key each lane and run its first iteration,
+        // the only one with a variable-length message, on the
+        // scalar engine; idle lanes are left at zero.
+        Arrays.fill(m_iterations, 0);
+        int minIterations = Integer.MAX_VALUE;
+        int maxIterations = 0;
+        for (int lane = 0; lane < count; ++lane) {
+            if (iterations[lane] < 1) {
+                throw new IllegalArgumentException("Iterations.Not.Positive");
+            }
+            m_scalar.init(passwords[lane]);
+            m_scalar.exportFirstIteration(salts[lane],
+                                          m_laneInner,
+                                          m_laneOuter,
+                                          m_laneU);
+            for (int word = 0; word < 8; ++word) {
+                final int index = (word * LANES) + lane;
+                m_inner[index] = m_laneInner[word];
+                m_outer[index] = m_laneOuter[word];
+                m_u[index] = m_laneU[word];
+                m_t[index] = m_laneU[word];
+            }
+            m_iterations[lane] = iterations[lane];
+            minIterations = Math.min(minIterations, iterations[lane]);
+            maxIterations = Math.max(maxIterations, iterations[lane]);
+        }
+        m_scalar.reset();
+
+        // The padding words of both HMAC messages are constant,
+        // and the schedule expansion never overwrites them.
+        for (int lane = 0; lane < LANES; ++lane) {
+            m_w[(8 * LANES) + lane] = 0x80000000;
+            for (int word = 9; word < 15; ++word) {
+                m_w[(word * LANES) + lane] = 0;
+            }
+            m_w[(15 * LANES) + lane] = PADDED_DIGEST_BITS;
+        }
+
+        // Iterations shared by every lane
+        for (int j = 1; j < minIterations; ++j) {
+            hmacDigests();
+            for (int i = 0; i < STATE_WORDS; ++i) {
+                m_t[i] ^= m_u[i];
+            }
+        }
+        // The tails of the longer chains
+        for (int j = minIterations; j < maxIterations; ++j) {
+            hmacDigests();
+            for (int lane = 0; lane < count; ++lane) {
+                if (j < m_iterations[lane]) {
+                    for (int word = 0; word < 8; ++word) {
+                        final int index = (word * LANES) + lane;
+                        m_t[index] ^= m_u[index];
+                    }
+                }
+            }
+        }
+
+        for (int lane = 0; lane < count; ++lane) {
+            final byte[] out = outs[lane];
+            for (int i = 0; i < Pbkdf2Sha256.DIGEST_LENGTH; ++i) {
+                out[i] = (byte)(m_t[((i >>> 2) * LANES) + lane] >>>
+                                (24 - ((i & 3) << 3)));
+            }
+        }
+
+        Arrays.fill(m_inner, 0);
+        Arrays.fill(m_outer, 0);
+        Arrays.fill(m_state, 0);
+        Arrays.fill(m_u, 0);
+        Arrays.fill(m_t, 0);
+        Arrays.fill(m_w, 0);
+    }
+
+    // ====================================================================
+    // PRIVATE METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    private static final int    STATE_WORDS         = 8 * LANES;
+    private static final int    PADDED_DIGEST_BITS  = (64 + 32) * 8;
+    private static final int[]  K                   = Pbkdf2Sha256.K;
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to compute m_u = HMAC(P, m_u) in every lane.
+     * @return  Does not return a value.
+     */
+    private void hmacDigests() {
+        // Inner hashes; the digest words load straight into
+        // the schedule, since both are laid out word-major.
+        System.arraycopy(m_inner, 0, m_state, 0, STATE_WORDS);
+        System.arraycopy(m_u, 0, m_w, 0, STATE_WORDS);
+        compress(m_state, m_w);
+
+        // Outer hashes
+        System.arraycopy(m_outer, 0, m_u, 0, STATE_WORDS);
+        System.arraycopy(m_state, 0, m_w, 0, STATE_WORDS);
+        compress(m_u, m_w);
+    }
+
+    /**
+     * @summary The SHA-256 compression function, interleaved across
+     *          the lanes.
+     * @return  Does not return a value; state is updated in place.
+     */
+    private static void compress(final int[] state, final int[] w) {
+        for (int t = 16; t < 64; ++t) {
+            final int base = t << 2;
+            final int w2_0 = w[base - 8 + 0];
+            final int w15_0 = w[base - 60 + 0];
+            final int w2_1 = w[base - 8 + 1];
+            final int w15_1 = w[base - 60 + 1];
+            final int w2_2 = w[base - 8 + 2];
+            final int w15_2 = w[base - 60 + 2];
+            final int w2_3 = w[base - 8 + 3];
+            final int w15_3 = w[base - 60 + 3];
+            w[base + 0] = ((w2_0 >>> 17 | w2_0 << 15) ^
+                            (w2_0 >>> 19 | w2_0 << 13) ^
+                            (w2_0 >>> 10)) +
+                           w[base - 28 + 0] +
+                           ((w15_0 >>> 7 | w15_0 << 25) ^
+                            (w15_0 >>> 18 | w15_0 << 14) ^
+                            (w15_0 >>> 3)) +
+                           w[base - 64 + 0];
+            w[base + 1] = ((w2_1 >>> 17 | w2_1 << 15) ^
+                            (w2_1 >>> 19 | w2_1 << 13) ^
+                            (w2_1 >>> 10)) +
+                           w[base - 28 + 1] +
+                           ((w15_1 >>> 7 | w15_1 << 25) ^
+                            (w15_1 >>> 18 | w15_1 << 14) ^
+                            (w15_1 >>> 3)) +
+                           w[base - 64 + 1];
+            w[base + 2] = ((w2_2 >>> 17 | w2_2 << 15) ^
+                            (w2_2 >>> 19 | w2_2 << 13) ^
+                            (w2_2 >>> 10)) +
+                           w[base - 28 + 2] +
+                           ((w15_2 >>> 7 | w15_2 << 25) ^
+                            (w15_2 >>> 18 | w15_2 << 14) ^
+                            (w15_2 >>> 3)) +
+                           w[base - 64 + 2];
+            w[base + 3] = ((w2_3 >>> 17 | w2_3 << 15) ^
+                            (w2_3 >>> 19 | w2_3 << 13) ^
+                            (w2_3 >>> 10)) +
+                           w[base - 28 + 3] +
+                           ((w15_3 >>> 7 | w15_3 << 25) ^
+                            (w15_3 >>> 18 | w15_3 << 14) ^
+                            (w15_3 >>> 3)) +
+                           w[base - 64 + 3];
+        }
+
+        int a0 = state[0];
+        int a1 = state[1];
+        int a2 = state[2];
+        int a3 = state[3];
+        int b0 = state[4];
+        int b1 = state[5];
+        int b2 = state[6];
+        int b3 = state[7];
+        int c0 = state[8];
+        int c1 = state[9];
+        int c2 = state[10];
+        int c3 = state[11];
+        int d0 = state[12];
+        int d1 = state[13];
+        int d2 = state[14];
+        int d3 = state[15];
+        int e0 = state[16];
+        int e1 = state[17];
+        int e2 = state[18];
+        int e3 = state[19];
+        int f0 = state[20];
+        int f1 = state[21];
+        int f2 = state[22];
+        int f3 = state[23];
+        int g0 = state[24];
+        int g1 = state[25];
+        int g2 = state[26];
+        int g3 = state[27];
+        int h0 = state[28];
+        int h1 = state[29];
+        int h2 = state[30];
+        int h3 = state[31];
+
+        for (int t = 0; t < 64; ++t) {
+            final int k = K[t];
+            final int base = t << 2;
+            final int t1_0 = h0 +
+                            ((e0 >>> 6 | e0 << 26) ^
+                             (e0 >>> 11 | e0 << 21) ^
+                             (e0 >>> 25 | e0 << 7)) +
+                            ((e0 & f0) ^ (~e0 & g0)) +
+                            k + w[base + 0];
+            final int t1_1 = h1 +
+                            ((e1 >>> 6 | e1 << 26) ^
+                             (e1 >>> 11 | e1 << 21) ^
+                             (e1 >>> 25 | e1 << 7)) +
+                            ((e1 & f1) ^ (~e1 & g1)) +
+                            k + w[base + 1];
+            final int t1_2 = h2 +
+                            ((e2 >>> 6 | e2 << 26) ^
+                             (e2 >>> 11 | e2 << 21) ^
+                             (e2 >>> 25 | e2 << 7)) +
+                            ((e2 & f2) ^ (~e2 & g2)) +
+                            k + w[base + 2];
+            final int t1_3 = h3 +
+                            ((e3 >>> 6 | e3 << 26) ^
+                             (e3 >>> 11 | e3 << 21) ^
+                             (e3 >>> 25 | e3 << 7)) +
+                            ((e3 & f3) ^ (~e3 & g3)) +
+                            k + w[base + 3];
+            final int t2_0 = ((a0 >>> 2 | a0 << 30) ^
+                             (a0 >>> 13 | a0 << 19) ^
+                             (a0 >>> 22 | a0 << 10)) +
+                            ((a0 & b0) ^ (a0 & c0) ^ (b0 & c0));
+            final int t2_1 = ((a1 >>> 2 | a1 << 30) ^
+                             (a1 >>> 13 | a1 << 19) ^
+                             (a1 >>> 22 | a1 << 10)) +
+                            ((a1 & b1) ^ (a1 & c1) ^ (b1 & c1));
+            final int t2_2 = ((a2 >>> 2 | a2 << 30) ^
+                             (a2 >>> 13 | a2 << 19) ^
+                             (a2 >>> 22 | a2 << 10)) +
+                            ((a2 & b2) ^ (a2 & c2) ^ (b2 & c2));
+            final int t2_3 = ((a3 >>> 2 | a3 << 30) ^
+                             (a3 >>> 13 | a3 << 19) ^
+                             (a3 >>> 22 | a3 << 10)) +
+                            ((a3 & b3) ^ (a3 & c3) ^ (b3 & c3));
+            h0 = g0;
+            g0 = f0;
+            f0 = e0;
+            e0 = d0 + t1_0;
+            d0 = c0;
+            c0 = b0;
+            b0 = a0;
+            a0 = t1_0 + t2_0;
+            h1 = g1;
+            g1 = f1;
+            f1 = e1;
+            e1 = d1 + t1_1;
+            d1 = c1;
+            c1 = b1;
+            b1 = a1;
+            a1 = t1_1 + t2_1;
+            h2 = g2;
+            g2 = f2;
+            f2 = e2;
+            e2 = d2 + t1_2;
+            d2 = c2;
+            c2 = b2;
+            b2 = a2;
+            a2 = t1_2 + t2_2;
+            h3 = g3;
+            g3 = f3;
+            f3 = e3;
+            e3 = d3 + t1_3;
+            d3 = c3;
+            c3 = b3;
+            b3 = a3;
+            a3 = t1_3 + t2_3;
+        }
+
+        state[0] += a0;
+        state[1] += a1;
+        state[2] += a2;
+        state[3] += a3;
+        state[4] += b0;
+        state[5] += b1;
+        state[6] += b2;
+        state[7] += b3;
+        state[8] += c0;
+        state[9] += c1;
+        state[10] += c2;
+        state[11] += c3;
+        state[12] += d0;
+        state[13] += d1;
+        state[14] += d2;
+        state[15] += d3;
+        state[16] += e0;
+        state[17] += e1;
+        state[18] += e2;
+        state[19] += e3;
+        state[20] += f0;
+        state[21] += f1;
+        state[22] += f2;
+        state[23] += f3;
+        state[24] += g0;
+        state[25] += g1;
+        state[26] += g2;
+        state[27] += g3;
+        state[28] += h0;
+        state[29] += h1;
+        state[30] += h2;
+        state[31] += h3;
+    }
+
+    // --------------------------------------------------------------------
+    // DATA MEMBERS
+
+    private final Pbkdf2Sha256 m_scalar     = new Pbkdf2Sha256();
+                                            /** @brief The engine for
+                                              * keying and
+                                              * first iterations.
+                                              */
+    private final int[] m_laneInner         = new int[8];
+    private final int[] m_laneOuter         = new int[8];
+    private final int[] m_laneU             = new int[8];
+    private final int[] m_iterations        = new int[LANES];
+    private final int[] m_inner             = new int[STATE_WORDS];
+                                            /** @brief The inner
+                                              * midstates.
+                                              */
+    private final int[] m_outer             = new int[STATE_WORDS];
+                                            /** @brief The outer
+                                              * midstates.
+                                              */
+    private final int[] m_state             = new int[STATE_WORDS];
+    private final int[] m_u                 = new int[STATE_WORDS];
+    private final int[] m_t                 = new int[STATE_WORDS];
+    private final int[] m_w                 = new int[64 * LANES];
+                                            /** @brief The interleaved
+                                              * message schedules.
+                                              */
+}
@@ -0,0 +1,260 @@
+/**
+ * @file        SaltCache.java
+ * @summary     Source file for the SaltCache class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @summary A bounded, thread-safe LRU cache of derived salts,
+ *          keyed by (domain, SHA256(saltKey), iterations).
+ *          A salt never depends on the user's password, so it can be
+ *          reused across generations for the same site.
+ *          The cache is split into independently locked stripes,
+ *          each of which is an access-ordered LinkedHashMap;
+ *          evicted or invalidated salts are zeroized.
+ *          Since the salt key digest is part of the key, a stale entry
+ *          can never be served for a different salt key; invalidation
+ *          only serves to dispose of the salts early.
+ */
+public final class SaltCache {
+
+    // ====================================================================
+    // PUBLIC METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTRUCTORS
+
+    /**
+     * @summary The constructor.
+     * @param   {int} capacity - The maximum number of salts held.
+     * @param   {int} stripes - The number of lock stripes;
+     *          rounded up to a power of two.
+     * @return  Does not even.
+     */
+    public SaltCache(final int capacity, final int stripes) {
+        int stripeCount = 1;
+        while (stripeCount < stripes) {
+            stripeCount <<= 1;
+        }
+        m_stripes = new Stripe[stripeCount];
+        final int stripeCapacity =
+            Math.max(1, (capacity + stripeCount - 1) / stripeCount);
+        for (int i = 0; i < stripeCount; ++i) {
+            m_stripes[i] = new Stripe(stripeCapacity);
+        }
+    }
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to look up a cached salt.
+     * @return  {byte[]} A copy of the cached salt, or null on a miss.
+     */
+    public byte[] get(final String domain,
+                      final byte[] saltKeyDigest,
+                      final int iterations) {
+        final Key key = new Key(domain, saltKeyDigest, iterations);
+        final Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            byte[] salt = stripe.get(key);
+            return ((null == salt) ? null : salt.clone());
+        }
+    }
+
+    /**
+     * @summary Method to look up a cached salt, copying it into the
+     *          remaining bytes of out, e.g., a view of a SecretBuffer;
+     *          the position of out is left unchanged.
+     * @return  {boolean} True on a hit; False on a miss.
+     */
+    public boolean get(final String domain,
+                       final byte[] saltKeyDigest,
+                       final int iterations,
+                       final ByteBuffer out) {
+        final Key key = new Key(domain, saltKeyDigest, iterations);
+        final Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            byte[] salt = stripe.get(key);
+            if (null == salt) {
+                return false;
+            }
+            out.duplicate().put(salt);
+            return true;
+        }
+    }
+
+    /**
+     * @summary Method to cache a salt. A private copy is stored,
+     *          so the caller is free to wipe its own.
+     * @return  Does not return a value.
+     */
+    public void put(final String domain,
+                    final byte[] saltKeyDigest,
+                    final int iterations,
+                    final byte[] salt) {
+        final Key key = new Key(domain, saltKeyDigest.clone(), iterations);
+        final Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            byte[] previous = stripe.put(key, salt.clone());
+            if (null != previous) {
+                Arrays.fill(previous, (byte)0);
+            }
+        }
+    }
+
+    /**
+     * @summary Method to cache the remaining bytes of a buffer as a salt,
+     *          as above; the position of the buffer is left unchanged.
+     * @return  Does not return a value.
+     */
+    public void put(final String domain,
+                    final byte[] saltKeyDigest,
+                    final int iterations,
+                    final ByteBuffer salt) {
+        final byte[] copy = new byte[salt.remaining()];
+        salt.duplicate().get(copy);
+        final Key key = new Key(domain, saltKeyDigest.clone(), iterations);
+        final Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            byte[] previous = stripe.put(key, copy);
+            if (null != previous) {
+                Arrays.fill(previous, (byte)0);
+            }
+        }
+    }
+
+    /**
+     * @summary Method to zeroize and drop every cached salt.
+     * @return  Does not return a value.
+     */
+    public void clear() {
+        for (Stripe stripe : m_stripes) {
+            synchronized (stripe) {
+                Iterator<byte[]> salts = stripe.values().iterator();
+                while (salts.hasNext()) {
+                    Arrays.fill(salts.next(), (byte)0);
+                }
+                stripe.clear();
+            }
+        }
+    }
+
+    /**
+     * @summary Method to obtain the number of cached salts.
+     * @return  {int} The number of cached salts.
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : m_stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    // ====================================================================
+    // PRIVATE METHODS
+
+    /**
+     * @summary Method to select the stripe guarding a key.
+     * @return  {Stripe} The stripe.
+     */
+    private Stripe stripeFor(final Key key) {
+        // Spread the high bits, since String hashes of similar
+        // domains tend to differ mostly in the low ones.
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return m_stripes[hash & (m_stripes.length - 1)];
+    }
+
+    // --------------------------------------------------------------------
+    // INNER CLASSES
+
+    /**
+     * @summary The cache key; the hash is computed once.
+     */
+    private static final class Key {
+
+        Key(final String domain,
+            final byte[] saltKeyDigest,
+            final int iterations) {
+            m_domain = domain;
+            m_saltKeyDigest = saltKeyDigest;
+            m_iterations = iterations;
+            m_hash = (31 * (31 * domain.hashCode() +
+                            Arrays.hashCode(saltKeyDigest)) +
+                      iterations);
+        }
+
+        @Override
+        public boolean equals(Object object) {
+            if (object == this) {
+                return true;
+            }
+            if (!(object instanceof Key)) {
+                return false;
+            }
+            Key rhs = (Key)object;
+            return ((m_hash == rhs.m_hash) &&
+                    (m_iterations == rhs.m_iterations) &&
+                    m_domain.equals(rhs.m_domain) &&
+                    Arrays.equals(m_saltKeyDigest, rhs.m_saltKeyDigest));
+        }
+
+        @Override
+        public int hashCode() {
+            return m_hash;
+        }
+
+        private final String m_domain;
+        private final byte[] m_saltKeyDigest;
+        private final int    m_iterations;
+        private final int    m_hash;
+    }
+
+    /**
+     * @summary A single lock stripe; an access-ordered LinkedHashMap
+     *          that zeroizes its eldest entry upon eviction.
+     *          It holds salts, and is never serialized.
+     */
+    @SuppressWarnings("serial")
+    private static final class Stripe extends LinkedHashMap<Key, byte[]> {
+
+        Stripe(final int capacity) {
+            super(16, 0.75f, true);
+            m_capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, byte[]> eldest) {
+            if (size() > m_capacity) {
+                Arrays.fill(eldest.getValue(), (byte)0);
+                return true;
+            }
+            return false;
+        }
+
+        private final int m_capacity;
+    }
+
+    // --------------------------------------------------------------------
+    // DATA MEMBERS
+
+    private final Stripe[] m_stripes;   /** @brief The lock stripes. */
+}
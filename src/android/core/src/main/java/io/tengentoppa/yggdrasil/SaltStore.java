@@ -0,0 +1,355 @@
+/**
+ * @file        SaltStore.java
+ * @summary     Source file for the SaltStore class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * @summary A persistent, memory-mapped store of derived salts,
+ *          so that salts survive the application process being killed.
+ *          The file is a fixed-size, open-addressed hash table:
+ *          a header (magic, version, slot count, salt key fingerprint)
+ *          followed by slots of (truncated SHA256(domain, iterations),
+ *          salt, truncated SHA256(key hash, salt)). Lookups probe the
+ *          mapping in place, and hits are returned as read-only views
+ *          into it.
+ *          A slot is written salt first, then its checksum, and its key
+ *          hash last; whatever a crash, or power loss, leaves of a slot
+ *          being written fails its checksum, and is treated as a miss,
+ *          rather than served as the salt of its key.
+ *          The store is bound to a single salt key; a request with
+ *          a different salt key wipes it.
+ */
+public final class SaltStore {
+
+    // ====================================================================
+    // PUBLIC METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    public static final int DEFAULT_SLOTS       = 1024;
+
+    // --------------------------------------------------------------------
+    // CONSTRUCTORS
+
+    /**
+     * @summary The constructor; opens (or creates) and maps the store.
+     *          An existing file that is not a valid store is reformatted.
+     * @param   {File} file - The backing file.
+     * @param   {int} slots - The number of slots; a power of two.
+     * @return  Does not even.
+     */
+    public SaltStore(final File file, final int slots)
+        throws IOException, NoSuchAlgorithmException {
+        if ((slots <= 0) || (0 != (slots & (slots - 1)))) {
+            throw new IllegalArgumentException("Slots.Not.PowerOfTwo");
+        }
+        m_slots = slots;
+        m_digest = MessageDigest.getInstance(SHA256);
+
+        final long size = HEADER_LENGTH + ((long)slots * SLOT_LENGTH);
+        RandomAccessFile storeFile = new RandomAccessFile(file, "rw");
+        try {
+            if (size != storeFile.length()) {
+                storeFile.setLength(size);
+            }
+            m_map = storeFile.getChannel().map(
+                                        FileChannel.MapMode.READ_WRITE,
+                                        0,
+                                        size);
+        } finally {
+            // The mapping stays valid after the file is closed.
+            storeFile.close();
+        }
+
+        if ((MAGIC != m_map.getInt(MAGIC_OFFSET)) ||
+            (VERSION != m_map.getInt(VERSION_OFFSET)) ||
+            (m_slots != m_map.getInt(SLOTS_OFFSET))) {
+            format();
+        }
+    }
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to look up a stored salt.
+     * @return  {ByteBuffer} A read-only view of the salt in the mapping,
+     *          valid until the store is next modified;
+     *          null on a miss, or if the store is bound to another key.
+     */
+    public synchronized ByteBuffer get(final String domain,
+                                       final int iterations,
+                                       final byte[] saltKeyDigest)
+        throws UnsupportedEncodingException {
+        if (!isBoundTo(saltKeyDigest)) {
+            return null;
+        }
+
+        final byte[] keyHash = keyHash(domain, iterations);
+        final int home = slotIndex(keyHash);
+        for (int probe = 0; probe < MAX_PROBES; ++probe) {
+            final int offset = slotOffset((home + probe) & (m_slots - 1));
+            if (isEmptySlot(offset)) {
+                return null;
+            }
+            if (slotMatches(offset, keyHash)) {
+                ByteBuffer view = m_map.duplicate();
+                view.position(offset + KEY_HASH_LENGTH);
+                view.limit(offset + KEY_HASH_LENGTH + SALT_LENGTH);
+                ByteBuffer salt = view.slice().asReadOnlyBuffer();
+                return (checksumMatches(offset, keyHash, salt) ?
+                        salt : null);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @summary Method to store a salt, binding the store to the
+     *          salt key (and wiping it first) if necessary.
+     *          When the probe window is full, the home slot is recycled.
+     * @return  Does not return a value.
+     */
+    public synchronized void put(final String domain,
+                                 final int iterations,
+                                 final byte[] saltKeyDigest,
+                                 final byte[] salt)
+        throws UnsupportedEncodingException {
+        put(domain, iterations, saltKeyDigest, ByteBuffer.wrap(salt));
+    }
+
+    /**
+     * @summary Method to store the remaining bytes of a buffer as a salt,
+     *          as above; the position of the buffer is left unchanged.
+     * @return  Does not return a value.
+     */
+    public synchronized void put(final String domain,
+                                 final int iterations,
+                                 final byte[] saltKeyDigest,
+                                 final ByteBuffer salt)
+        throws UnsupportedEncodingException {
+        if (!isBoundTo(saltKeyDigest)) {
+            wipe();
+            byte[] fingerprint = fingerprint(saltKeyDigest);
+            for (int i = 0; i < FINGERPRINT_LENGTH; ++i) {
+                m_map.put(FINGERPRINT_OFFSET + i, fingerprint[i]);
+            }
+        }
+
+        final byte[] keyHash = keyHash(domain, iterations);
+        final int home = slotIndex(keyHash);
+        int target = slotOffset(home);
+        for (int probe = 0; probe < MAX_PROBES; ++probe) {
+            final int offset = slotOffset((home + probe) & (m_slots - 1));
+            if (isEmptySlot(offset) || slotMatches(offset, keyHash)) {
+                target = offset;
+                break;
+            }
+        }
+
+        // The key hash is published last, over a consistent slot
+        final int start = salt.position();
+        for (int i = 0; i < SALT_LENGTH; ++i) {
+            m_map.put(target + KEY_HASH_LENGTH + i, salt.get(start + i));
+        }
+        final byte[] checksum = checksum(keyHash, salt.duplicate());
+        for (int i = 0; i < CHECKSUM_LENGTH; ++i) {
+            m_map.put(target + CHECKSUM_OFFSET + i, checksum[i]);
+        }
+        for (int i = 0; i < KEY_HASH_LENGTH; ++i) {
+            m_map.put(target + i, keyHash[i]);
+        }
+    }
+
+    /**
+     * @summary Method to zeroize every slot and the salt key binding,
+     *          and flush the zeroes to storage.
+     * @return  Does not return a value.
+     */
+    public synchronized void wipe() {
+        final int end = HEADER_LENGTH + (m_slots * SLOT_LENGTH);
+        for (int i = FINGERPRINT_OFFSET; i < end; ++i) {
+            m_map.put(i, (byte)0);
+        }
+        m_map.force();
+    }
+
+    // ====================================================================
+    // PRIVATE METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    private static final String SHA256              = "SHA-256";
+    private static final String UTF8                = "UTF-8";
+
+    private static final int    MAGIC               = 0x59475353; // "YGSS"
+    private static final int    VERSION             = 2;
+
+    // Header layout
+    private static final int    MAGIC_OFFSET        = 0;
+    private static final int    VERSION_OFFSET      = 4;
+    private static final int    SLOTS_OFFSET        = 8;
+    private static final int    FINGERPRINT_OFFSET  = 16;
+    private static final int    FINGERPRINT_LENGTH  = 32;
+    private static final int    HEADER_LENGTH       = 64;
+
+    // Slot layout
+    private static final int    KEY_HASH_LENGTH     = 16;
+    private static final int    SALT_LENGTH         =
+        Pbkdf2Sha256.DIGEST_LENGTH;
+    private static final int    CHECKSUM_OFFSET     =
+        KEY_HASH_LENGTH + SALT_LENGTH;
+    private static final int    CHECKSUM_LENGTH     = 16;
+    private static final int    SLOT_LENGTH         =
+        CHECKSUM_OFFSET + CHECKSUM_LENGTH;
+    private static final int    MAX_PROBES          = 8;
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to (re)initialize the header and zero the slots.
+     * @return  Does not return a value.
+     */
+    private void format() {
+        m_map.putInt(MAGIC_OFFSET, MAGIC);
+        m_map.putInt(VERSION_OFFSET, VERSION);
+        m_map.putInt(SLOTS_OFFSET, m_slots);
+        wipe();
+    }
+
+    /**
+     * @summary Method to check if the store is bound to a salt key.
+     * @return  {boolean} True or False.
+     */
+    private boolean isBoundTo(final byte[] saltKeyDigest) {
+        byte[] fingerprint = fingerprint(saltKeyDigest);
+        int diff = 0;
+        for (int i = 0; i < FINGERPRINT_LENGTH; ++i) {
+            diff |= (fingerprint[i] ^ m_map.get(FINGERPRINT_OFFSET + i));
+        }
+        return (0 == diff);
+    }
+
+    /**
+     * @summary Method to compute the salt key fingerprint persisted in
+     *          the header. The salt key digest is itself the PBKDF2 salt
+     *          of every domain salt, so it is hashed once more rather
+     *          than written out.
+     * @return  {byte[]} The fingerprint.
+     */
+    private byte[] fingerprint(final byte[] saltKeyDigest) {
+        m_digest.update((byte)MAGIC);
+        return m_digest.digest(saltKeyDigest);
+    }
+
+    /**
+     * @summary Method to compute the truncated slot key of a domain
+     *          and an iteration count.
+     * @return  {byte[]} The slot key; never all zeroes.
+     */
+    private byte[] keyHash(final String domain, final int iterations)
+        throws UnsupportedEncodingException {
+        m_digest.update(domain.getBytes(UTF8));
+        m_digest.update((byte)0);
+        m_digest.update((byte)(iterations >>> 24));
+        m_digest.update((byte)(iterations >>> 16));
+        m_digest.update((byte)(iterations >>> 8));
+        m_digest.update((byte)iterations);
+        byte[] digest = m_digest.digest();
+
+        byte[] keyHash = new byte[KEY_HASH_LENGTH];
+        System.arraycopy(digest, 0, keyHash, 0, KEY_HASH_LENGTH);
+        // All zeroes marks an empty slot
+        keyHash[0] |= 1;
+        return keyHash;
+    }
+
+    private int slotIndex(final byte[] keyHash) {
+        return ((((keyHash[1] & 0xff) << 16) |
+                 ((keyHash[2] & 0xff) << 8) |
+                 (keyHash[3] & 0xff)) & (m_slots - 1));
+    }
+
+    private int slotOffset(final int slot) {
+        return HEADER_LENGTH + (slot * SLOT_LENGTH);
+    }
+
+    private boolean isEmptySlot(final int offset) {
+        return (0 == m_map.get(offset));
+    }
+
+    private boolean slotMatches(final int offset, final byte[] keyHash) {
+        for (int i = 0; i < KEY_HASH_LENGTH; ++i) {
+            if (keyHash[i] != m_map.get(offset + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @summary Method to compute the checksum of a slot, over its key
+     *          hash and the remaining bytes of its salt; the position of
+     *          the salt is advanced.
+     * @return  {byte[]} The checksum.
+     */
+    private byte[] checksum(final byte[] keyHash, final ByteBuffer salt) {
+        m_digest.update(keyHash);
+        salt.limit(salt.position() + SALT_LENGTH);
+        m_digest.update(salt);
+        byte[] digest = m_digest.digest();
+
+        byte[] checksum = new byte[CHECKSUM_LENGTH];
+        System.arraycopy(digest, 0, checksum, 0, CHECKSUM_LENGTH);
+        return checksum;
+    }
+
+    private boolean checksumMatches(final int offset,
+                                    final byte[] keyHash,
+                                    final ByteBuffer salt) {
+        final byte[] checksum = checksum(keyHash, salt.duplicate());
+        for (int i = 0; i < CHECKSUM_LENGTH; ++i) {
+            if (checksum[i] != m_map.get(offset + CHECKSUM_OFFSET + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // --------------------------------------------------------------------
+    // DATA MEMBERS
+
+    private final int              m_slots;     /** @brief The number
+                                                  * of slots.
+                                                  */
+    private final MappedByteBuffer m_map;       /** @brief The mapping
+                                                  * of the store file.
+                                                  */
+    private final MessageDigest    m_digest;    /** @brief The digest for
+                                                  * keys and fingerprints;
+                                                  * guarded by this.
+                                                  */
+}
@@ -0,0 +1,221 @@
+/**
+ * @file        SecretBuffer.java
+ * @summary     Source file for the SecretBuffer class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+
+/**
+ * @summary A short-lived secret, e.g., a seed SHA, a salt or a derived
+ *          key, held off the heap with an explicit lifetime: it is
+ *          acquired, used through views of its bytes, and released,
+ *          which zeroizes it.
+ *          Secrets of up to SLOT_LENGTH bytes are carved out of a
+ *          single pooled direct buffer, the arena, so that a generation
+ *          allocates no buffers; longer secrets, or secrets acquired
+ *          while the arena is exhausted, get a direct buffer of their
+ *          own. A buffer is owned by one thread at a time.
+ */
+public final class SecretBuffer implements Closeable {
+
+    // ====================================================================
+    // PUBLIC METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    public static final int SLOT_LENGTH     = Pbkdf2Sha256.DIGEST_LENGTH;
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to acquire a zeroed secret of the given length.
+     * @return  {SecretBuffer} The secret; to be released by the caller.
+     */
+    public static SecretBuffer acquire(final int length) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Length.Negative");
+        }
+        if (length <= SLOT_LENGTH) {
+            synchronized (SecretBuffer.class) {
+                if (s_freeCount > 0) {
+                    final int slot = s_free[--s_freeCount];
+                    ByteBuffer view = ARENA.duplicate();
+                    view.position(slot * SLOT_LENGTH);
+                    view.limit((slot * SLOT_LENGTH) + length);
+                    return new SecretBuffer(view.slice(), slot);
+                }
+            }
+        }
+        return new SecretBuffer(ByteBuffer.allocateDirect(length), NO_SLOT);
+    }
+
+    /**
+     * @summary Method to acquire a secret holding a copy of some bytes;
+     *          the caller remains responsible for wiping its own.
+     * @return  {SecretBuffer} The secret; to be released by the caller.
+     */
+    public static SecretBuffer copyOf(final byte[] bytes) {
+        SecretBuffer secret = acquire(bytes.length);
+        secret.m_buffer.put(bytes, 0, bytes.length);
+        secret.m_buffer.clear();
+        return secret;
+    }
+
+    /**
+     * @summary Method to get the number of arena slots not in use.
+     * @return  {int} The number of free slots.
+     */
+    public static int getAvailableSlots() {
+        synchronized (SecretBuffer.class) {
+            return s_freeCount;
+        }
+    }
+
+    /**
+     * @summary Method to get the length of the secret.
+     * @return  {int} The number of bytes.
+     */
+    public int length() {
+        return m_buffer.capacity();
+    }
+
+    /**
+     * @summary Method to get a view of the secret, from its first to
+     *          its last byte, with its own position and limit;
+     *          valid until the secret is released.
+     * @return  {ByteBuffer} The view.
+     */
+    public ByteBuffer buffer() {
+        checkNotReleased();
+        return m_buffer.duplicate();
+    }
+
+    /**
+     * @summary Method to overwrite this secret with another one
+     *          of the same length, off the heap.
+     * @return  Does not return a value.
+     */
+    public void copyFrom(final SecretBuffer source) {
+        checkNotReleased();
+        if (source.length() != length()) {
+            throw new IllegalArgumentException("Length.Mismatch");
+        }
+        ByteBuffer target = m_buffer.duplicate();
+        target.put(source.buffer());
+    }
+
+    /**
+     * @summary Method to zeroize the secret and return it to the arena.
+     *          Any views of it must no longer be used.
+     * @return  Does not return a value.
+     */
+    public void release() {
+        checkNotReleased();
+        zeroize(m_buffer);
+        m_released = true;
+        if (NO_SLOT != m_slot) {
+            synchronized (SecretBuffer.class) {
+                s_free[s_freeCount++] = m_slot;
+            }
+        }
+    }
+
+    /**
+     * @summary Method to release the secret, e.g., at the end of a
+     *          try-with-resources statement.
+     * @return  Does not return a value.
+     */
+    @Override
+    public void close() {
+        release();
+    }
+
+    // ====================================================================
+    // PRIVATE METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    private static final int        ARENA_SLOTS     = 64;
+    private static final int        NO_SLOT         = -1;
+
+    private static final ByteBuffer ARENA           =
+        ByteBuffer.allocateDirect(ARENA_SLOTS * SLOT_LENGTH);
+
+    // --------------------------------------------------------------------
+    // CONSTRUCTORS
+
+    private SecretBuffer(final ByteBuffer buffer, final int slot) {
+        m_buffer = buffer;
+        m_slot = slot;
+        m_released = false;
+    }
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    private void checkNotReleased() {
+        if (m_released) {
+            throw new IllegalStateException("SecretBuffer.Released");
+        }
+    }
+
+    /**
+     * @summary Method to zeroize a buffer, a long at a time.
+     * @return  Does not return a value.
+     */
+    private static void zeroize(final ByteBuffer buffer) {
+        final int length = buffer.capacity();
+        int i = 0;
+        for (; i + 8 <= length; i += 8) {
+            buffer.putLong(i, 0L);
+        }
+        for (; i < length; ++i) {
+            buffer.put(i, (byte)0);
+        }
+    }
+
+    private static int[] freeSlots() {
+        int[] free = new int[ARENA_SLOTS];
+        for (int i = 0; i < ARENA_SLOTS; ++i) {
+            // Hand out the lowest slots first
+            free[i] = ARENA_SLOTS - 1 - i;
+        }
+        return free;
+    }
+
+    // --------------------------------------------------------------------
+    // DATA MEMBERS
+
+    private static final int[] s_free       = freeSlots();
+                                            /** @brief The stack of free
+                                              * arena slots; guarded by
+                                              * the class.
+                                              */
+    private static int         s_freeCount  = ARENA_SLOTS;
+                                            /** @brief The number of free
+                                              * arena slots.
+                                              */
+
+    private final ByteBuffer   m_buffer;    /** @brief The bytes of the
+                                              * secret.
+                                              */
+    private final int          m_slot;      /** @brief The arena slot;
+                                              * NO_SLOT if not pooled.
+                                              */
+    private boolean            m_released;  /** @brief Whether the secret
+                                              * has been released.
+                                              */
+}
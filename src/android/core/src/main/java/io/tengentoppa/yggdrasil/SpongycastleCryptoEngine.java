@@ -0,0 +1,131 @@
+/**
+ * @file        SpongycastleCryptoEngine.java
+ * @summary     Source file for the SpongycastleCryptoEngine class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// SpongyCastle
+import org.spongycastle.crypto.digests.SHA256Digest;
+import org.spongycastle.crypto.macs.HMac;
+import org.spongycastle.crypto.params.KeyParameter;
+
+/**
+ * @summary The Spongycastle backend: PBKDF2 over Spongycastle's HMac,
+ *          as its PKCS5S2ParametersGenerator does, with the iteration
+ *          loop kept here so that it can be cancelled.
+ */
+public final class SpongycastleCryptoEngine implements CryptoEngine {
+
+    // ====================================================================
+    // PUBLIC METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    public static final String NAME             = "spongycastle";
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void derive(final byte[] password,
+                       final byte[] salt,
+                       final int iterations,
+                       final byte[] out,
+                       final CancellationToken token) {
+        final HMac mac = new HMac(new SHA256Digest());
+        final byte[] u = new byte[Pbkdf2Sha256.DIGEST_LENGTH];
+        final byte[] t = new byte[Pbkdf2Sha256.DIGEST_LENGTH];
+        try {
+            mac.init(new KeyParameter(password));
+
+            int blockIndex = 1;
+            for (int pos = 0; pos < out.length; pos += u.length) {
+                // U_1 = HMAC(P, S || INT(i))
+                if (null != token) {
+                    token.advance(1);
+                }
+                mac.update(salt, 0, salt.length);
+                mac.update((byte)(blockIndex >>> 24));
+                mac.update((byte)(blockIndex >>> 16));
+                mac.update((byte)(blockIndex >>> 8));
+                mac.update((byte)blockIndex);
+                mac.doFinal(u, 0);
+                System.arraycopy(u, 0, t, 0, u.length);
+
+                // U_j = HMAC(P, U_{j-1}), in place
+                for (int j = 1; j < iterations; ++j) {
+                    mac.update(u, 0, u.length);
+                    mac.doFinal(u, 0);
+                    for (int i = 0; i < u.length; ++i) {
+                        t[i] ^= u[i];
+                    }
+                    if ((null != token) &&
+                        (0 == (j & (CancellationToken.CHECK_INTERVAL - 1)))) {
+                        token.advance(CancellationToken.CHECK_INTERVAL);
+                    }
+                }
+                if (null != token) {
+                    token.advance((iterations - 1) %
+                                  CancellationToken.CHECK_INTERVAL);
+                }
+
+                System.arraycopy(t, 0, out, pos,
+                                 Math.min(t.length, out.length - pos));
+                ++blockIndex;
+            }
+        } finally {
+            Arrays.fill(u, (byte)0);
+            Arrays.fill(t, (byte)0);
+        }
+    }
+
+    @Override
+    public void derive(final ByteBuffer password,
+                       final ByteBuffer salt,
+                       final int iterations,
+                       final ByteBuffer out,
+                       final CancellationToken token) {
+        // HMac can only be keyed from a byte[]
+        CryptoEngines.deriveThroughArrays(this,
+                                          password,
+                                          salt,
+                                          iterations,
+                                          out,
+                                          token);
+    }
+
+    @Override
+    public PreparedKey prepare(final ByteBuffer password) {
+        // HMac cannot be shared between threads; each derivation keys its own
+        return CryptoEngines.prepareByCopy(this, password);
+    }
+
+    @Override
+    public void deriveAll(final byte[][] passwords,
+                          final byte[][] salts,
+                          final int[] iterations,
+                          final byte[][] outs,
+                          final int count) {
+        for (int i = 0; i < count; ++i) {
+            derive(passwords[i], salts[i], iterations[i], outs[i], null);
+        }
+    }
+
+}
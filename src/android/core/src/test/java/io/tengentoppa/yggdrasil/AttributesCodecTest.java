@@ -0,0 +1,104 @@
+/**
+ * @file        AttributesCodecTest.java
+ * @brief       Source file for the AttributesCodecTest class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.util.Map;
+
+// JUnit Classes
+import org.junit.Test;
+import org.junit.Assert;
+
+/**
+ * @brief   A test class for the methods in the AttributesCodec class.
+ */
+public class AttributesCodecTest {
+
+    // ====================================================================
+    // TESTS
+
+    /**
+     * @brief   Tests that encoded attributes decode to themselves.
+     * @return  Does not even.
+     */
+    @Test
+    public void attributesCodecTest_testRoundTrip_asserts() {
+        Attributes[] samples = { new Attributes("google.com"),
+                                 new Attributes(null, 10003, -1, 0),
+                                 new Attributes("gnu.org", 1000, 12, 1),
+                                 new Attributes("a.b.c", null, 8, 0) };
+        for (Attributes sample : samples) {
+            Assert.assertEquals(
+                sample,
+                AttributesCodec.decode(AttributesCodec.encode(sample)));
+        }
+        Assert.assertFalse(AttributesCodec.decode("").attributesExist());
+        Assert.assertFalse(AttributesCodec.decode(null).attributesExist());
+    }
+
+    /**
+     * @brief   Tests decoding from within a larger buffer.
+     * @return  Does not even.
+     */
+    @Test
+    public void attributesCodecTest_testDecodeInPlace_asserts() {
+        StringBuilder buffer = new StringBuilder("xx|gnu.org|1000|12|0yy");
+        Assert.assertEquals(new Attributes("gnu.org", 1000, 12, 0),
+                            AttributesCodec.decode(buffer, 3, 20));
+    }
+
+    /**
+     * @brief   Tests that malformed attributes decode to the defaults,
+     *          and malformed integers to their defaults.
+     * @return  Does not even.
+     */
+    @Test
+    public void attributesCodecTest_testMalformed_asserts() {
+        Assert.assertFalse(
+            AttributesCodec.decode("gnu.org|1000|12").attributesExist());
+        Assert.assertFalse(
+            AttributesCodec.decode("gnu.org|1000|12|0|").attributesExist());
+        Assert.assertEquals(
+            new Attributes("gnu.org",
+                           Attributes.DEFAULT_ITERATIONS,
+                           Attributes.NO_TRUNCATION,
+                           1),
+            AttributesCodec.decode("gnu.org|1x0|99999999999|"));
+    }
+
+    /**
+     * @brief   Tests the bulk decoding of a saved overrides map, escapes
+     *          and whitespace included, against decoding each value.
+     * @return  Does not even.
+     */
+    @Test
+    public void attributesCodecTest_testDecodeOverrides_asserts() {
+        Map<String, Attributes> overrides = AttributesCodec.decodeOverrides(
+            " { \"google.com\" : \"google.com|10003||0\",\n" +
+            "\"gnu.org\":\"gnu.org|1000|12|\"," +
+            "\"esc\\/aped\":\"esc\\/aped\\u007c|8|\" } ");
+        Assert.assertEquals(3, overrides.size());
+        Assert.assertEquals(AttributesCodec.decode("google.com|10003||0"),
+                            overrides.get("google.com"));
+        Assert.assertEquals(AttributesCodec.decode("gnu.org|1000|12|"),
+                            overrides.get("gnu.org"));
+        Assert.assertEquals(new Attributes("esc/aped", null, 8, 1),
+                            overrides.get("esc/aped"));
+
+        Assert.assertTrue(AttributesCodec.decodeOverrides("{}").isEmpty());
+        Assert.assertTrue(AttributesCodec.decodeOverrides(null).isEmpty());
+        Assert.assertNull(AttributesCodec.decodeOverrides("{\"a\":1}"));
+        Assert.assertNull(AttributesCodec.decodeOverrides("{\"a\":\"b\""));
+        Assert.assertNull(AttributesCodec.decodeOverrides("[]"));
+    }
+
+}
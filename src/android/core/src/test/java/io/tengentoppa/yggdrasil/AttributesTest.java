@@ -164,4 +164,18 @@ public class AttributesTest {
                 overridesToSave);
     }
 
+    /**
+     * @brief   Tests that attributes with iterations on one side only are
+     *          unequal, whichever side.
+     * @return  Does not even.
+     */
+    @Test
+    public void attributesTest_testEqualsAsymmetricIterations_assert() {
+        Attributes withoutIterations = new Attributes("a");
+        Attributes withIterations = new Attributes("a", 5);
+        Assert.assertFalse(withoutIterations.equals(withIterations));
+        Assert.assertFalse(withIterations.equals(withoutIterations));
+        Assert.assertEquals(new Attributes("a"), withoutIterations);
+    }
+
 }
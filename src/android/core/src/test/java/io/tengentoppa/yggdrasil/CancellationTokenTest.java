@@ -0,0 +1,118 @@
+/**
+ * @file        CancellationTokenTest.java
+ * @brief       Source file for the CancellationTokenTest class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+// JUnit Classes
+import org.junit.Test;
+import org.junit.Assert;
+
+/**
+ * @brief   A test class for cancellable, progress-reporting derivations.
+ */
+public class CancellationTokenTest {
+
+    // ====================================================================
+    // TESTS
+
+    /**
+     * @brief   Tests that every engine reports monotonic progress up to
+     *          completion, and derives the same key as without a token.
+     * @return  Does not even.
+     */
+    @Test
+    public void cancellationTokenTest_testProgress_asserts() {
+        for (CryptoEngine engine : CryptoEngines.available()) {
+            final List<Float> fractions = new ArrayList<Float>();
+            CancellationToken token =
+                new CancellationToken(
+                        ITERATIONS,
+                        new CancellationToken.ProgressListener() {
+                            @Override
+                            public void onProgress(float fraction) {
+                                fractions.add(fraction);
+                            }
+                        });
+
+            byte[] expected = new byte[Pbkdf2Sha256.DIGEST_LENGTH];
+            byte[] out = new byte[Pbkdf2Sha256.DIGEST_LENGTH];
+            engine.derive(PASSWORD, SALT, ITERATIONS, expected, null);
+            engine.derive(PASSWORD, SALT, ITERATIONS, out, token);
+
+            Assert.assertArrayEquals(engine.name(), expected, out);
+            Assert.assertTrue(engine.name(), fractions.size() > 2);
+            for (int i = 1; i < fractions.size(); ++i) {
+                Assert.assertTrue(fractions.get(i) > fractions.get(i - 1));
+            }
+            Assert.assertEquals(1.0f,
+                                fractions.get(fractions.size() - 1),
+                                0.0f);
+        }
+    }
+
+    /**
+     * @brief   Tests that every engine abandons a cancelled derivation
+     *          at its next check.
+     * @return  Does not even.
+     */
+    @Test
+    public void cancellationTokenTest_testCancel_asserts() {
+        for (CryptoEngine engine : CryptoEngines.available()) {
+            final CancellationToken[] holder = new CancellationToken[1];
+            final int[] checks = new int[1];
+            holder[0] =
+                new CancellationToken(
+                        ITERATIONS,
+                        new CancellationToken.ProgressListener() {
+                            @Override
+                            public void onProgress(float fraction) {
+                                if (fraction >= 0.5f) {
+                                    holder[0].cancel();
+                                }
+                                ++checks[0];
+                            }
+                        });
+
+            try {
+                engine.derive(PASSWORD,
+                              SALT,
+                              ITERATIONS,
+                              new byte[Pbkdf2Sha256.DIGEST_LENGTH],
+                              holder[0]);
+                Assert.fail(engine.name());
+            } catch (CancellationException e) {
+                Assert.assertTrue(holder[0].isCancelled());
+                // Abandoned soon after the halfway mark
+                Assert.assertTrue(engine.name(),
+                                  checks[0] <=
+                                  1 + (ITERATIONS / 2 /
+                                       CancellationToken.CHECK_INTERVAL) +
+                                  1);
+            }
+        }
+    }
+
+    // ===================================================================
+    // PRIVATE MEMBERS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    private static final int        ITERATIONS              = 10000;
+    private static final byte[]     PASSWORD                = new byte[32];
+    private static final byte[]     SALT                    = new byte[32];
+
+}
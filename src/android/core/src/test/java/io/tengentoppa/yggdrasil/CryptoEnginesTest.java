@@ -0,0 +1,140 @@
+/**
+ * @file        CryptoEnginesTest.java
+ * @brief       Source file for the CryptoEnginesTest class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.util.List;
+import java.util.Random;
+
+// JUnit Classes
+import org.junit.Test;
+import org.junit.Assert;
+
+/**
+ * @brief   A test class for the CryptoEngine backends and their
+ *          selection.
+ */
+public class CryptoEnginesTest {
+
+    // ====================================================================
+    // TESTS
+
+    /**
+     * @brief   Tests that every engine passes the known-answer vectors,
+     *          and can be looked up by its name.
+     * @return  Does not even.
+     */
+    @Test
+    public void cryptoEnginesTest_testKnownAnswers_asserts() {
+        for (CryptoEngine engine : CryptoEngines.available()) {
+            Assert.assertTrue(engine.name(),
+                              CryptoEngines.passesKnownAnswers(engine));
+            Assert.assertEquals(engine.name(),
+                                CryptoEngines.forName(
+                                        engine.name()).name());
+        }
+        Assert.assertNull(CryptoEngines.forName("rot13"));
+    }
+
+    /**
+     * @brief   Tests that every engine agrees with the in-house engine
+     *          on random inputs, singly and in batches.
+     * @return  Does not even.
+     */
+    @Test
+    public void cryptoEnginesTest_testParity_asserts() {
+        Random random = new Random(SEED);
+        CryptoEngine reference = new Pbkdf2Sha256CryptoEngine();
+        List<CryptoEngine> engines = CryptoEngines.available();
+
+        final int count = 6;
+        byte[][] passwords = new byte[count][];
+        byte[][] salts = new byte[count][];
+        int[] iterations = new int[count];
+        byte[][] expected = new byte[count][];
+        for (int i = 0; i < count; ++i) {
+            passwords[i] = new byte[1 + random.nextInt(100)];
+            random.nextBytes(passwords[i]);
+            salts[i] = new byte[random.nextInt(100)];
+            random.nextBytes(salts[i]);
+            iterations[i] = 1 + random.nextInt(50);
+            expected[i] = new byte[Pbkdf2Sha256.DIGEST_LENGTH];
+            reference.derive(passwords[i],
+                             salts[i],
+                             iterations[i],
+                             expected[i],
+                             null);
+        }
+
+        for (CryptoEngine engine : engines) {
+            byte[][] outs = new byte[count][Pbkdf2Sha256.DIGEST_LENGTH];
+            engine.deriveAll(passwords, salts, iterations, outs, count);
+            for (int i = 0; i < count; ++i) {
+                Assert.assertArrayEquals(engine.name(), expected[i], outs[i]);
+
+                byte[] out = new byte[Pbkdf2Sha256.DIGEST_LENGTH];
+                engine.derive(passwords[i],
+                              salts[i],
+                              iterations[i],
+                              out,
+                              null);
+                Assert.assertArrayEquals(engine.name(), expected[i], out);
+            }
+        }
+    }
+
+    /**
+     * @brief   Tests that calibration selects a correct engine.
+     * @return  Does not even.
+     */
+    @Test
+    public void cryptoEnginesTest_testCalibrate_asserts() {
+        CryptoEngine engine = CryptoEngines.calibrate();
+        Assert.assertNotNull(engine);
+        Assert.assertTrue(CryptoEngines.passesKnownAnswers(engine));
+    }
+
+    /**
+     * @brief   Tests that selection keeps an engine already selected,
+     *          and otherwise prefers the named one, if correct.
+     * @return  Does not even.
+     */
+    @Test
+    public void cryptoEnginesTest_testSelect_asserts() {
+        CryptoEngine defaultEngine = Crypto.getEngine();
+        try {
+            CryptoEngine engine = new SpongycastleCryptoEngine();
+            Crypto.setEngine(null);
+            Assert.assertEquals(engine.name(),
+                                Crypto.selectEngine(engine.name()).name());
+            Assert.assertEquals(engine.name(),
+                                Crypto.getEngine().name());
+            Assert.assertEquals(engine.name(),
+                                Crypto.selectEngine("Unknown").name());
+
+            Crypto.setEngine(null);
+            Assert.assertTrue(CryptoEngines.passesKnownAnswers(
+                                  Crypto.selectEngine("Unknown")));
+        } finally {
+            Crypto.setEngine(defaultEngine);
+        }
+    }
+
+    // ===================================================================
+    // PRIVATE MEMBERS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    private static final long       SEED                    = 20150620L;
+
+}
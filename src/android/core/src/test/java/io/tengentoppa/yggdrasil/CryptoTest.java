@@ -13,8 +13,12 @@ package io.tengentoppa.yggdrasil;
 
 // Standard Java
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.Security;
+import java.util.ArrayList;
+import java.util.List;
 
 // JUnit Classes
 import org.junit.Test;
@@ -49,6 +53,57 @@ public class CryptoTest {
             "2c26b46b68ffc68ff99b453c1d30413413422d706483bfa0f98a5e886266e7ae");
     }
 
+    /**
+     * @brief   Tests that the SHA256 hash of a seed is the same from a
+     *          String, a CharSequence and a char[], and is that of its
+     *          UTF-8 encoding, for non-ASCII seeds and seeds longer than
+     *          the reused buffer.
+     * @return  Does not even.
+     */
+    @Test
+    public void cryptoTest_testSeedOverloads_asserts() throws Exception {
+        StringBuilder longSeed = new StringBuilder();
+        for (int i = 0; i < 200; ++i) {
+            longSeed.append("\u00e9\u4e16");
+        }
+        String[] seeds = { SEED, "", "p\u00e4ssw\u00f6rd \ud83d\udd11",
+                           longSeed.toString() };
+        for (String seed : seeds) {
+            byte[] expected = MessageDigest.getInstance("SHA-256")
+                                           .digest(seed.getBytes(UTF8));
+            Assert.assertArrayEquals(expected, Crypto.getSeedSHA(seed));
+            Assert.assertArrayEquals(
+                expected,
+                Crypto.getSeedSHA(new StringBuilder(seed)));
+            Assert.assertArrayEquals(expected,
+                                     Crypto.getSeedSHA(seed.toCharArray()));
+        }
+    }
+
+    /**
+     * @brief   Tests that the proxy password derived from SecretBuffers
+     *          matches the known one.
+     * @return  Does not even.
+     */
+    @Test
+    public void cryptoTest_testSecretBufferPassword_asserts()
+        throws Exception {
+        SecretBuffer seedSHA = Crypto.getSeedSecret(SEED);
+        SecretBuffer salt = SecretBuffer.acquire(Pbkdf2Sha256.DIGEST_LENGTH);
+        try {
+            Assert.assertEquals(ByteBuffer.wrap(Crypto.getSeedSHA(SEED)),
+                                seedSHA.buffer());
+            Crypto.generateSalt(DOMAIN, SALTKEY, ITERATIONS, null, salt);
+            Assert.assertEquals(
+                "k3vnIY9Yxf{aBHkb",
+                Crypto.generatePasswd(seedSHA, salt, ITERATIONS,
+                                      TRUNCATION, 1, null));
+        } finally {
+            seedSHA.release();
+            salt.release();
+        }
+    }
+
     /**
      * @brief   Tests if the salt from a known saltKey and domain matches
      *          the expected hash.
@@ -61,6 +116,26 @@ public class CryptoTest {
             "zOVGQE+x32Xys9/l/JWETPuzZaOIr1e1iDyxXM+WRS4=");
     }
 
+    /**
+     * @brief   Tests that salts follow the salt key as it changes back and
+     *          forth, though its digest is cached.
+     * @return  Does not even.
+     */
+    @Test
+    public void cryptoTest_testSaltKeyChange_asserts() throws Exception {
+        final byte[] salt = Crypto.generateSalt(DOMAIN, SALTKEY, ITERATIONS);
+        Crypto.invalidateSaltCache();
+        final byte[] otherSalt =
+            Crypto.generateSalt(DOMAIN, SALTKEY + "x", ITERATIONS);
+        Assert.assertFalse(MessageDigest.isEqual(salt, otherSalt));
+        Crypto.invalidateSaltCache();
+        Assert.assertArrayEquals(
+            salt,
+            Crypto.generateSalt(DOMAIN, new String(SALTKEY), ITERATIONS));
+        Assert.assertEquals(getSaltB64(),
+                            "zOVGQE+x32Xys9/l/JWETPuzZaOIr1e1iDyxXM+WRS4=");
+    }
+
     /**
      * @brief   Tests if the base64-encoded hash from a known saltKey,
      *          domain and seed matches the expected value.
@@ -215,6 +290,59 @@ public class CryptoTest {
         }
     }
 
+    /**
+     * @brief   Tests if batch generation matches one-at-a-time
+     *          generation, and delivers the results in input order.
+     * @return  Does not even.
+     */
+    @Test
+    public void cryptoTest_testGenerateAll_asserts() throws Exception {
+        final List<Attributes> batch = new ArrayList<Attributes>();
+        batch.add(new Attributes(DOMAIN, ITERATIONS, -1, 0));
+        batch.add(new Attributes(DOMAIN, ITERATIONS, TRUNCATION, 1));
+        batch.add(new Attributes("gnu.org", null, -1, 1));
+        batch.add(new Attributes("gnu.org", 1000, 12, 0));
+
+        final List<Integer> order = new ArrayList<Integer>();
+        List<String> passwords =
+            Crypto.generateAll(Crypto.getSeedSHA(SEED),
+                               SALTKEY,
+                               batch,
+                               new Crypto.BatchListener() {
+                @Override
+                public void onGenerated(int index,
+                                        Attributes attributes,
+                                        String password) {
+                    Assert.assertSame(batch.get(index), attributes);
+                    order.add(index);
+                }
+            });
+
+        Assert.assertEquals(batch.size(), passwords.size());
+        Assert.assertEquals(passwords.get(0),
+                            "PlntUbsKGDH2Lsp5JMvHljS074mkCFxUgJ3wxBoDg1I");
+        Assert.assertEquals(passwords.get(1), "k3vnIY9Yxf{aBHkb");
+        for (int i = 2; i < batch.size(); ++i) {
+            Attributes attributes = batch.get(i);
+            Integer iterations = ((null == attributes.iterations()) ?
+                                  Attributes.DEFAULT_ITERATIONS :
+                                  attributes.iterations());
+            Assert.assertEquals(
+                Crypto.getPasswdStr(
+                    Crypto.generateHash(Crypto.getSeedSHA(SEED),
+                                        Crypto.generateSalt(
+                                            attributes.domain(),
+                                            SALTKEY,
+                                            iterations),
+                                        iterations,
+                                        attributes.specialCharsFlag()),
+                    attributes.truncation(),
+                    attributes.specialCharsFlag()),
+                passwords.get(i));
+            Assert.assertEquals(i, order.get(i).intValue());
+        }
+    }
+
     // ===================================================================
     // PRIVATE MEMBERS
 
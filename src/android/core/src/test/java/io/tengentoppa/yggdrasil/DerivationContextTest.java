@@ -0,0 +1,190 @@
+/**
+ * @file        DerivationContextTest.java
+ * @brief       Source file for the DerivationContextTest class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.util.concurrent.CountDownLatch;
+
+// JUnit Classes
+import org.junit.Test;
+import org.junit.Assert;
+
+/**
+ * @brief   A test class for the methods in the DerivationContext class.
+ */
+public class DerivationContextTest {
+
+    // ====================================================================
+    // TESTS
+
+    /**
+     * @brief   Tests that a context, reused across domains, derives the
+     *          same passwords as Crypto does from scratch, with every
+     *          engine.
+     * @return  Does not even.
+     */
+    @Test
+    public void derivationContextTest_testPasswordParity_asserts()
+        throws Exception {
+        CryptoEngine defaultEngine = Crypto.getEngine();
+        CryptoEngine[] engines = { new Pbkdf2Sha256CryptoEngine(),
+                                   new SpongycastleCryptoEngine() };
+        try {
+            for (CryptoEngine engine : engines) {
+                Crypto.setEngine(engine);
+                assertParity();
+            }
+        } finally {
+            Crypto.setEngine(defaultEngine);
+        }
+    }
+
+    /**
+     * @brief   Tests that a context outlives its owner while referenced,
+     *          and cannot be used once wiped.
+     * @return  Does not even.
+     */
+    @Test
+    public void derivationContextTest_testLifetime_asserts()
+        throws Exception {
+        SecretBuffer seedSHA = Crypto.getSeedSecret(SEED);
+        DerivationContext context = new DerivationContext(seedSHA, SALT_KEY);
+        seedSHA.release();
+        Attributes attributes = new Attributes(DOMAINS[0], ITERATIONS);
+
+        context.retain();
+        context.close();
+        // Closing again releases nothing more
+        context.close();
+        String password = context.generatePasswd(attributes, null);
+        Assert.assertFalse(password.isEmpty());
+
+        context.release();
+        try {
+            context.generatePasswd(attributes, null);
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+        try {
+            context.retain();
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+    }
+
+    /**
+     * @brief   Tests that a context is created without waiting for the
+     *          engine, e.g., while it calibrates under the Crypto lock,
+     *          and prepares the seed upon its first derivation.
+     * @return  Does not even.
+     */
+    @Test
+    public void derivationContextTest_testLazyPreparation_asserts()
+        throws Exception {
+        final CryptoEngine defaultEngine = Crypto.getEngine();
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch unlock = new CountDownLatch(1);
+        Thread calibration = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                synchronized (Crypto.class) {
+                    locked.countDown();
+                    try {
+                        unlock.await();
+                    } catch (InterruptedException e) {
+                        // Unlock
+                    }
+                    Crypto.setEngine(defaultEngine);
+                }
+            }
+        });
+
+        Crypto.setEngine(null);
+        calibration.start();
+        locked.await();
+        DerivationContext context = null;
+        SecretBuffer seedSHA = Crypto.getSeedSecret(SEED);
+        try {
+            context = new DerivationContext(seedSHA, SALT_KEY);
+        } finally {
+            seedSHA.release();
+            unlock.countDown();
+            calibration.join();
+        }
+
+        Attributes attributes = new Attributes(DOMAINS[0],
+                                               ITERATIONS,
+                                               Attributes.NO_TRUNCATION,
+                                               1);
+        Assert.assertEquals(
+            Crypto.generatePasswd(Crypto.getSeedSHA(SEED),
+                                  Crypto.generateSalt(DOMAINS[0],
+                                                      SALT_KEY,
+                                                      ITERATIONS),
+                                  ITERATIONS,
+                                  Attributes.NO_TRUNCATION,
+                                  1,
+                                  null),
+            context.generatePasswd(attributes, null));
+        context.close();
+    }
+
+    // ===================================================================
+    // PRIVATE MEMBERS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    private static final String     SEED                    = "password";
+    private static final String     SALT_KEY                = "saltKey";
+    private static final int        ITERATIONS              = 1000;
+    private static final String[]   DOMAINS                 =
+        { "google.com", "github.com", "example.org" };
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    private static void assertParity() throws Exception {
+        Crypto.invalidateSaltCache();
+        SecretBuffer seedSHA = Crypto.getSeedSecret(SEED);
+        try (DerivationContext context =
+                 new DerivationContext(seedSHA, SALT_KEY)) {
+            for (String domain : DOMAINS) {
+                for (int flag = 0; flag <= 1; ++flag) {
+                    Attributes attributes =
+                        new Attributes(domain,
+                                       ITERATIONS,
+                                       Attributes.NO_TRUNCATION,
+                                       flag);
+                    String expected =
+                        Crypto.generatePasswd(
+                            Crypto.getSeedSHA(SEED),
+                            Crypto.generateSalt(domain,
+                                                SALT_KEY,
+                                                ITERATIONS),
+                            ITERATIONS,
+                            Attributes.NO_TRUNCATION,
+                            flag,
+                            null);
+                    Assert.assertEquals(
+                        expected,
+                        context.generatePasswd(attributes, null));
+                }
+            }
+        } finally {
+            seedSHA.release();
+        }
+    }
+
+}
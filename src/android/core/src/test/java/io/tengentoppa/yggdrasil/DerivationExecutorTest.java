@@ -0,0 +1,198 @@
+/**
+ * @file        DerivationExecutorTest.java
+ * @brief       Source file for the DerivationExecutorTest class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+// JUnit Classes
+import org.junit.Test;
+import org.junit.Assert;
+
+/**
+ * @brief   A test class for the methods in the DerivationExecutor class.
+ */
+public class DerivationExecutorTest {
+
+    // ====================================================================
+    // TESTS
+
+    /**
+     * @brief   Tests that identical requests in flight share a single
+     *          derivation, which yields the same password as Crypto.
+     * @return  Does not even.
+     */
+    @Test
+    public void derivationExecutorTest_testCoalescing_asserts()
+        throws Exception {
+        DerivationExecutor executor = new DerivationExecutor();
+        byte[] seedSHA = Crypto.getSeedSHA(SEED);
+        Attributes attributes = new Attributes("coalesce.com",
+                                               SLOW_ITERATIONS);
+
+        DerivationExecutor.Request first =
+            executor.submit(seedSHA, SALT_KEY, attributes,
+                            DerivationExecutor.Priority.BACKGROUND, null);
+        DerivationExecutor.Request second =
+            executor.submit(seedSHA, SALT_KEY, attributes,
+                            DerivationExecutor.Priority.INTERACTIVE, null);
+        Assert.assertEquals(1, executor.getInFlightCount());
+
+        String password = first.get();
+        Assert.assertEquals(password, second.get());
+        Assert.assertEquals(
+            Crypto.getPasswdStr(
+                Crypto.generateHash(seedSHA,
+                                    Crypto.generateSalt("coalesce.com",
+                                                        SALT_KEY,
+                                                        SLOW_ITERATIONS),
+                                    SLOW_ITERATIONS,
+                                    1),
+                Attributes.NO_TRUNCATION,
+                1),
+            password);
+    }
+
+    /**
+     * @brief   Tests that a shared derivation survives one of its
+     *          requests being cancelled, and notifies the other.
+     * @return  Does not even.
+     */
+    @Test
+    public void derivationExecutorTest_testPartialCancel_asserts()
+        throws Exception {
+        DerivationExecutor executor = new DerivationExecutor();
+        byte[] seedSHA = Crypto.getSeedSHA(SEED);
+        Attributes attributes = new Attributes("partial.com",
+                                               SLOW_ITERATIONS);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicReference<String> result = new AtomicReference<String>();
+
+        DerivationExecutor.Request first =
+            executor.submit(seedSHA, SALT_KEY, attributes,
+                            DerivationExecutor.Priority.INTERACTIVE,
+                            null);
+        executor.submit(seedSHA, SALT_KEY, attributes,
+                        DerivationExecutor.Priority.INTERACTIVE,
+                        new Recorder(result, latch));
+        first.cancel();
+
+        Assert.assertTrue(latch.await(60, TimeUnit.SECONDS));
+        Assert.assertNotNull(result.get());
+    }
+
+    /**
+     * @brief   Tests that a derivation is abandoned once all of its
+     *          requests are cancelled.
+     * @return  Does not even.
+     */
+    @Test
+    public void derivationExecutorTest_testCancel_asserts()
+        throws Exception {
+        DerivationExecutor executor = new DerivationExecutor();
+        byte[] seedSHA = Crypto.getSeedSHA(SEED);
+        DerivationExecutor.Request request =
+            executor.submit(seedSHA,
+                            SALT_KEY,
+                            new Attributes("cancel.com", 50000000),
+                            DerivationExecutor.Priority.INTERACTIVE,
+                            null);
+        request.cancel();
+
+        try {
+            request.get();
+            Assert.fail();
+        } catch (CancellationException e) {
+            Assert.assertEquals(0, executor.getInFlightCount());
+        }
+    }
+
+    /**
+     * @brief   Tests that a request adopts a salt speculation in flight,
+     *          and that it cannot then be abandoned under the request.
+     * @return  Does not even.
+     */
+    @Test
+    public void derivationExecutorTest_testSpeculativeSalt_asserts()
+        throws Exception {
+        DerivationExecutor executor = new DerivationExecutor();
+        byte[] seedSHA = Crypto.getSeedSHA(SEED);
+        Attributes attributes = new Attributes("speculate.com",
+                                               SLOW_ITERATIONS);
+
+        DerivationExecutor.Speculation speculation =
+            executor.speculateSalt("speculate.com",
+                                   SALT_KEY,
+                                   SLOW_ITERATIONS);
+        DerivationExecutor.Request request =
+            executor.submit(seedSHA, SALT_KEY, attributes,
+                            DerivationExecutor.Priority.INTERACTIVE, null);
+        speculation.cancel();
+
+        Assert.assertEquals(
+            Crypto.getPasswdStr(
+                Crypto.generateHash(seedSHA,
+                                    Crypto.generateSalt("speculate.com",
+                                                        SALT_KEY,
+                                                        SLOW_ITERATIONS),
+                                    SLOW_ITERATIONS,
+                                    1),
+                Attributes.NO_TRUNCATION,
+                1),
+            request.get());
+    }
+
+    // ===================================================================
+    // PRIVATE MEMBERS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    private static final String     SEED                    = "password";
+    private static final String     SALT_KEY                = "saltKey";
+    private static final int        SLOW_ITERATIONS         = 200000;
+
+    // --------------------------------------------------------------------
+    // CLASSES
+
+    private static final class Recorder
+        implements DerivationExecutor.Listener {
+
+        Recorder(final AtomicReference<String> result,
+                 final CountDownLatch latch) {
+            m_result = result;
+            m_latch = latch;
+        }
+
+        @Override
+        public void onProgress(final float fraction) {
+        }
+
+        @Override
+        public void onSuccess(final String password) {
+            m_result.set(password);
+            m_latch.countDown();
+        }
+
+        @Override
+        public void onFailure(final Exception e) {
+            m_latch.countDown();
+        }
+
+        private final AtomicReference<String> m_result;
+        private final CountDownLatch m_latch;
+    }
+
+}
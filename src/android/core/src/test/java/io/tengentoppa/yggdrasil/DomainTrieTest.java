@@ -0,0 +1,156 @@
+/**
+ * @file        DomainTrieTest.java
+ * @brief       Source file for the DomainTrieTest class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// JUnit Classes
+import org.junit.Test;
+import org.junit.Assert;
+
+/**
+ * @brief   A test class for the methods in the DomainTrie class.
+ */
+public class DomainTrieTest {
+
+    // ====================================================================
+    // TESTS
+
+    /**
+     * @brief   Tests the order of precedence among exact and wildcard
+     *          rules, and that exact rules stay exact.
+     * @return  Does not even.
+     */
+    @Test
+    public void domainTrieTest_testPrecedence_asserts() {
+        DomainTrie<String> trie = new DomainTrie<String>();
+        trie.put("x.com", "x");
+        trie.put("*.x.com", "*x");
+        trie.put("login.x.com", "login");
+        trie.put("a.b.c.y.org", "abc");
+        trie.put("y.org", "y");
+        Assert.assertEquals(5, trie.size());
+
+        // Exact rules win
+        Assert.assertEquals("x", trie.lookup("x.com"));
+        Assert.assertEquals("login", trie.lookup("login.x.com"));
+        // A wildcard applies to subdomains at any depth, and an exact
+        // rule to its own domain only
+        Assert.assertEquals("*x", trie.lookup("mail.x.com"));
+        Assert.assertEquals("*x", trie.lookup("a.mail.x.com"));
+        Assert.assertEquals("*x", trie.lookup("eu.login.x.com"));
+        Assert.assertNull(trie.lookup("d.a.b.c.y.org"));
+        Assert.assertNull(trie.lookup("b.c.y.org"));
+        Assert.assertNull(trie.lookup("www.y.org"));
+
+        // The closest wildcard wins
+        trie.put("*.login.x.com", "*login");
+        Assert.assertEquals("*login", trie.lookup("eu.login.x.com"));
+        Assert.assertEquals("login", trie.lookup("login.x.com"));
+
+        // Labels match whole
+        Assert.assertNull(trie.lookup("ax.com"));
+        Assert.assertNull(trie.lookup("com"));
+        Assert.assertEquals("*x", trie.lookup("ax.x.com"));
+        Assert.assertNull(trie.lookup("x.co"));
+        Assert.assertNull(trie.lookup(""));
+        Assert.assertNull(trie.lookup(null));
+
+        // Without the parent domain's rule, only subdomains match
+        DomainTrie<String> wildcards = new DomainTrie<String>();
+        wildcards.put("*.z.net", "*z");
+        Assert.assertNull(wildcards.lookup("z.net"));
+        Assert.assertEquals("*z", wildcards.lookup("www.z.net"));
+    }
+
+    /**
+     * @brief   Tests that the rules may be added in any order, splitting
+     *          edges as needed, and replaced.
+     * @return  Does not even.
+     */
+    @Test
+    public void domainTrieTest_testSplit_asserts() {
+        DomainTrie<String> trie = new DomainTrie<String>();
+        trie.put("a.b.c.d", "abcd");
+        trie.put("b.c.d", "bcd");
+        trie.put("x.c.d", "xcd");
+        trie.put("d", "d");
+        trie.put("b.c.d", "bcd2");
+        Assert.assertEquals(4, trie.size());
+        Assert.assertEquals("abcd", trie.lookup("a.b.c.d"));
+        Assert.assertEquals("bcd2", trie.lookup("b.c.d"));
+        Assert.assertEquals("xcd", trie.lookup("x.c.d"));
+        Assert.assertEquals("d", trie.lookup("d"));
+        Assert.assertNull(trie.lookup("c.d"));
+
+        // Many siblings, to grow the tables
+        for (int i = 0; i < 100; ++i) {
+            trie.put("s" + i + ".c.d", "s" + i);
+        }
+        for (int i = 0; i < 100; ++i) {
+            Assert.assertEquals("s" + i, trie.lookup("s" + i + ".c.d"));
+        }
+        Assert.assertEquals("abcd", trie.lookup("a.b.c.d"));
+    }
+
+    /**
+     * @brief   Tests that copy-on-write updates leave the original alone.
+     * @return  Does not even.
+     */
+    @Test
+    public void domainTrieTest_testWith_asserts() {
+        DomainTrie<String> trie = new DomainTrie<String>();
+        trie.put("mail.x.com", "mail");
+        trie.put("y.com", "y");
+
+        DomainTrie<String> updated = trie.with("x.com", "x")
+                                         .with("mail.x.com", "mail2")
+                                         .with("*.y.com", "*y");
+        Assert.assertEquals(2, trie.size());
+        Assert.assertEquals(4, updated.size());
+        Assert.assertNull(trie.lookup("x.com"));
+        Assert.assertEquals("mail", trie.lookup("mail.x.com"));
+        Assert.assertNull(trie.lookup("www.y.com"));
+        Assert.assertEquals("x", updated.lookup("x.com"));
+        Assert.assertEquals("mail2", updated.lookup("mail.x.com"));
+        Assert.assertEquals("*y", updated.lookup("www.y.com"));
+    }
+
+    /**
+     * @brief   Tests that the saved overrides are looked up as rules, a
+     *          domain's not changing those of its subdomains.
+     * @return  Does not even.
+     */
+    @Test
+    public void domainTrieTest_testDomainOverrides_asserts() {
+        DomainTrie<ImmutableAttributes> trie =
+            new DomainTrie<ImmutableAttributes>();
+        Attributes overrides = new Attributes(null, 10003, -1, 0);
+        trie.put("x.com", ImmutableAttributes.of(overrides));
+        Assert.assertEquals(
+            overrides,
+            AttributesCodec.getDomainOverrides("x.com", trie));
+        Assert.assertFalse(
+            AttributesCodec.getDomainOverrides("mail.x.com", trie)
+                           .attributesExist());
+        trie.put("*.x.com", ImmutableAttributes.of(overrides));
+        Assert.assertEquals(
+            overrides,
+            AttributesCodec.getDomainOverrides("mail.x.com", trie));
+        Assert.assertFalse(
+            AttributesCodec.getDomainOverrides("y.com", trie)
+                           .attributesExist());
+        Assert.assertFalse(
+            AttributesCodec.getDomainOverrides(
+                "x.com", (DomainTrie<ImmutableAttributes>)null)
+                           .attributesExist());
+    }
+
+}
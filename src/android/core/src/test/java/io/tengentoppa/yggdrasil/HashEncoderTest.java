@@ -0,0 +1,112 @@
+/**
+ * @file        HashEncoderTest.java
+ * @brief       Source file for the HashEncoderTest class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.util.Random;
+
+// JUnit Classes
+import org.junit.Test;
+import org.junit.Assert;
+
+// SpongyCastle
+import org.spongycastle.util.encoders.Base64;
+
+/**
+ * @brief   A test class for the methods in the HashEncoder class.
+ */
+public class HashEncoderTest {
+
+    // ====================================================================
+    // TESTS
+
+    /**
+     * @brief   Tests the Z85 encoding against the test vector of the
+     *          Z85 specification (ZeroMQ RFC 32).
+     * @return  Does not even.
+     */
+    @Test
+    public void hashEncoderTest_testZ85Vector_asserts() {
+        byte[] data = { (byte)0x86, (byte)0x4F, (byte)0xD2, (byte)0x6F,
+                        (byte)0xB5, (byte)0x59, (byte)0xF7, (byte)0x5B };
+        Assert.assertEquals("HelloWorld", HashEncoder.encode(data, 1));
+    }
+
+    /**
+     * @brief   Tests the base64 encoding, padding included, against
+     *          the SpongyCastle encoder, for every partial group.
+     * @return  Does not even.
+     */
+    @Test
+    public void hashEncoderTest_testBase64_asserts() throws Exception {
+        Random random = new Random(RANDOM_SEED);
+        for (int length = 0; length <= 40; ++length) {
+            byte[] data = new byte[length];
+            random.nextBytes(data);
+            Assert.assertEquals(new String(Base64.encode(data), "UTF-8"),
+                                HashEncoder.encode(data, 0));
+        }
+    }
+
+    /**
+     * @brief   Tests that the single-pass password encoding matches
+     *          getPasswdStr over the full encoding, for both alphabets
+     *          and every truncation.
+     * @return  Does not even.
+     */
+    @Test
+    public void hashEncoderTest_testPasswordParity_asserts() {
+        Random random = new Random(RANDOM_SEED);
+        byte[] hash = new byte[Pbkdf2Sha256.DIGEST_LENGTH];
+        for (int trial = 0; trial < 64; ++trial) {
+            random.nextBytes(hash);
+            for (int flag = 0; flag <= 1; ++flag) {
+                String encodedHash = HashEncoder.encode(hash, flag);
+                for (int truncation = -1;
+                     truncation <= encodedHash.length() + 1;
+                     ++truncation) {
+                    char[] out = new char[encodedHash.length()];
+                    int length = HashEncoder.encodePassword(hash,
+                                                            truncation,
+                                                            flag,
+                                                            out);
+                    Assert.assertEquals(
+                        Crypto.getPasswdStr(encodedHash, truncation, flag),
+                        new String(out, 0, length));
+                }
+            }
+        }
+    }
+
+    /**
+     * @brief   Tests that a truncated password fits an output sized to
+     *          the truncation alone.
+     * @return  Does not even.
+     */
+    @Test
+    public void hashEncoderTest_testTruncatedOutput_asserts() {
+        byte[] hash = new byte[Pbkdf2Sha256.DIGEST_LENGTH];
+        new Random(RANDOM_SEED).nextBytes(hash);
+        char[] out = new char[7];
+        Assert.assertEquals(7, HashEncoder.encodePassword(hash, 7, 1, out));
+        Assert.assertEquals(7, HashEncoder.encodePassword(hash, 7, 0, out));
+    }
+
+    // ===================================================================
+    // PRIVATE MEMBERS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    private static final long       RANDOM_SEED             = 0x59474453L;
+
+}
@@ -0,0 +1,115 @@
+/**
+ * @file        ImmutableAttributesTest.java
+ * @brief       Source file for the ImmutableAttributesTest class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// JUnit Classes
+import org.junit.Test;
+import org.junit.Assert;
+
+/**
+ * @brief   A test class for the methods in the ImmutableAttributes class.
+ */
+public class ImmutableAttributesTest {
+
+    // ====================================================================
+    // TESTS
+
+    /**
+     * @brief   Tests that the builder starts from the attributes of a
+     *          default constructed Attributes, and that equal attributes
+     *          hash alike.
+     * @return  Does not even.
+     */
+    @Test
+    public void immutableAttributesTest_testBuilder_asserts() {
+        ImmutableAttributes defaults = new ImmutableAttributes.Builder()
+            .build();
+        Assert.assertEquals(ImmutableAttributes.DEFAULT, defaults);
+        Assert.assertEquals(ImmutableAttributes.of(new Attributes()),
+                            defaults);
+        Assert.assertFalse(defaults.attributesExist());
+        Assert.assertFalse(defaults.hasIterations());
+
+        ImmutableAttributes attributes = new ImmutableAttributes.Builder()
+            .setDomain("google.com")
+            .setIterations(10003)
+            .setSpecialCharsFlag(0)
+            .build();
+        ImmutableAttributes rebuilt = defaults.toBuilder()
+            .setSpecialCharsFlag(0)
+            .setIterations(10003)
+            .setDomain("google.com")
+            .build();
+        Assert.assertEquals(attributes, rebuilt);
+        Assert.assertEquals(attributes.hashCode(), rebuilt.hashCode());
+        Assert.assertFalse(attributes.equals(
+                               rebuilt.toBuilder().setTruncation(8).build()));
+        Assert.assertTrue(attributes.attributesExist());
+    }
+
+    /**
+     * @brief   Tests that attributes survive the bridge to and from
+     *          Attributes, nulls included.
+     * @return  Does not even.
+     */
+    @Test
+    public void immutableAttributesTest_testBridge_asserts() {
+        Attributes[] samples = { new Attributes(),
+                                 new Attributes("google.com"),
+                                 new Attributes(null, 10003, -1, 0),
+                                 new Attributes("gnu.org", 1000, 12, 1) };
+        for (Attributes sample : samples) {
+            ImmutableAttributes attributes = ImmutableAttributes.of(sample);
+            Assert.assertEquals(sample, attributes.toAttributes());
+            Assert.assertEquals(sample.attributesExist(),
+                                attributes.attributesExist());
+        }
+    }
+
+    /**
+     * @brief   Tests that the overrides to save match those computed
+     *          for Attributes.
+     * @return  Does not even.
+     */
+    @Test
+    public void immutableAttributesTest_testOverridesToSave_asserts() {
+        Attributes[][] cases = {
+            { new Attributes("google.com", 10000, -1, 1),
+              new Attributes(),
+              new Attributes("google.com", 10000, -1, 1) },
+            { new Attributes("google.com", 10003, -1, 0),
+              new Attributes(null, 10003, -1, 0),
+              new Attributes("google.com", 10003, -1, 0) },
+            { new Attributes("google.com", 10003, -1, 0),
+              new Attributes(),
+              new Attributes("google.com", 10000, -1, 1) },
+            { new Attributes("google.com", 10005, -1, 0),
+              new Attributes(null, 10003, -1, 0),
+              new Attributes("google.com", 10003, -1, 0) },
+            { new Attributes("gnu.org", 10005, 12, 1),
+              new Attributes(null, 10003, -1, 0),
+              new Attributes("google.com", 10003, -1, 0) } };
+        for (Attributes[] arguments : cases) {
+            Attributes expected =
+                AttributesCodec.getOverridesToSave(arguments[0],
+                                                   arguments[1],
+                                                   arguments[2]);
+            ImmutableAttributes overrides =
+                AttributesCodec.getOverridesToSave(
+                    ImmutableAttributes.of(arguments[0]),
+                    ImmutableAttributes.of(arguments[1]),
+                    ImmutableAttributes.of(arguments[2]));
+            Assert.assertEquals(expected, overrides.toAttributes());
+        }
+    }
+
+}
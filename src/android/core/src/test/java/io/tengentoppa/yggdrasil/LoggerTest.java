@@ -0,0 +1,66 @@
+/**
+ * @file        LoggerTest.java
+ * @brief       Source file for the LoggerTest class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.util.ArrayList;
+import java.util.List;
+
+// JUnit Classes
+import org.junit.Test;
+import org.junit.Assert;
+
+/**
+ * @brief   A test class for the methods in the Logger class.
+ */
+public class LoggerTest {
+
+    // ====================================================================
+    // TESTS
+
+    /**
+     * @brief   Tests that the messages, with their priorities, go to the
+     *          sink set, and nowhere once it is unset.
+     * @return  Does not even.
+     */
+    @Test
+    public void loggerTest_testSink_asserts() {
+        final List<String> messages = new ArrayList<String>();
+        Logger.setSink(new Logger.Sink() {
+            @Override
+            public void log(final int priority,
+                            final String category,
+                            final String message) {
+                messages.add(priority + " " + category + " " + message);
+            }
+        });
+        try {
+            Logger.d("TEST", "d");
+            Logger.i("TEST", "i");
+            Logger.w("TEST", "w");
+            Logger.e("TEST", "e");
+            // The core logs through it
+            new Attributes().setTruncation(null);
+        } finally {
+            Logger.setSink(null);
+        }
+        Logger.e("TEST", "dropped");
+
+        Assert.assertEquals(5, messages.size());
+        Assert.assertEquals(Logger.DEBUG + " TEST d", messages.get(0));
+        Assert.assertEquals(Logger.INFO + " TEST i", messages.get(1));
+        Assert.assertEquals(Logger.WARN + " TEST w", messages.get(2));
+        Assert.assertEquals(Logger.ERROR + " TEST e", messages.get(3));
+        Assert.assertTrue(messages.get(4).startsWith(Logger.ERROR + " "));
+    }
+
+}
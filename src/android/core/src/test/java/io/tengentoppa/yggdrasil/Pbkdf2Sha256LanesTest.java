@@ -0,0 +1,76 @@
+/**
+ * @file        Pbkdf2Sha256LanesTest.java
+ * @brief       Source file for the Pbkdf2Sha256LanesTest class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.util.Random;
+
+// JUnit Classes
+import org.junit.Test;
+import org.junit.Assert;
+
+/**
+ * @brief   A test class for the multi-buffer PBKDF2-HMAC-SHA256 engine.
+ */
+public class Pbkdf2Sha256LanesTest {
+
+    // ====================================================================
+    // TESTS
+
+    /**
+     * @brief   Tests every lane against the scalar engine, with
+     *          differing keys, salts and iteration counts per lane,
+     *          and with partially filled lane groups.
+     * @return  Does not even.
+     */
+    @Test
+    public void pbkdf2Sha256LanesTest_testScalarParity_asserts() {
+        Random random = new Random(SEED);
+        Pbkdf2Sha256 scalar = new Pbkdf2Sha256();
+        Pbkdf2Sha256Lanes lanes = new Pbkdf2Sha256Lanes();
+
+        for (int round = 0; round < ROUNDS; ++round) {
+            final int count = 1 + (round % Pbkdf2Sha256Lanes.LANES);
+            byte[][] passwords = new byte[count][];
+            byte[][] salts = new byte[count][];
+            int[] iterations = new int[count];
+            byte[][] outs = new byte[count][];
+            for (int lane = 0; lane < count; ++lane) {
+                passwords[lane] = new byte[random.nextInt(100)];
+                random.nextBytes(passwords[lane]);
+                salts[lane] = new byte[random.nextInt(100)];
+                random.nextBytes(salts[lane]);
+                iterations[lane] = 1 + random.nextInt(64);
+                outs[lane] = new byte[Pbkdf2Sha256.DIGEST_LENGTH];
+            }
+
+            lanes.derive(passwords, salts, iterations, outs, count);
+
+            for (int lane = 0; lane < count; ++lane) {
+                byte[] expected = new byte[Pbkdf2Sha256.DIGEST_LENGTH];
+                scalar.init(passwords[lane]);
+                scalar.derive(salts[lane], iterations[lane], expected);
+                Assert.assertArrayEquals(expected, outs[lane]);
+            }
+        }
+    }
+
+    // ===================================================================
+    // PRIVATE MEMBERS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    private static final long       SEED                    = 20150620L;
+    private static final int        ROUNDS                  = 32;
+
+}
@@ -0,0 +1,107 @@
+/**
+ * @file        Pbkdf2Sha256Test.java
+ * @brief       Source file for the Pbkdf2Sha256Test class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.io.UnsupportedEncodingException;
+import java.util.Random;
+
+// JUnit Classes
+import org.junit.Test;
+import org.junit.Assert;
+
+// Spongycastle (Bouncycastle)
+import org.spongycastle.crypto.digests.SHA256Digest;
+import org.spongycastle.crypto.generators.PKCS5S2ParametersGenerator;
+import org.spongycastle.crypto.params.KeyParameter;
+import org.spongycastle.util.encoders.Hex;
+
+/**
+ * @brief   A test class for the in-house PBKDF2-HMAC-SHA256 engine.
+ */
+public class Pbkdf2Sha256Test {
+
+    // ====================================================================
+    // TESTS
+
+    /**
+     * @brief   Tests the engine against the PBKDF2-HMAC-SHA256
+     *          test vector from RFC 7914, section 11.
+     * @return  Does not even.
+     */
+    @Test
+    public void pbkdf2Sha256Test_testRfc7914_asserts()
+        throws UnsupportedEncodingException {
+        Pbkdf2Sha256 engine = new Pbkdf2Sha256();
+        engine.init("passwd".getBytes(UTF8));
+        byte[] derived = new byte[64];
+        engine.derive("salt".getBytes(UTF8), 1, derived);
+        Assert.assertEquals(
+            new String(Hex.encode(derived), UTF8),
+            "55ac046e56e3089fec1691c22544b605" +
+            "f94185216dde0465e68b9d57c20dacbc" +
+            "49ca9cccf179b645991664b39d77ef31" +
+            "7c71b845b1e30bd509112041d3a19783");
+    }
+
+    /**
+     * @brief   Tests the engine against the Spongycastle generator
+     *          over short, block-sized and over-long keys and salts.
+     * @return  Does not even.
+     */
+    @Test
+    public void pbkdf2Sha256Test_testSpongycastleParity_asserts() {
+        Random random = new Random(SEED);
+        int[] lengths = { 0, 1, 32, 55, 56, 63, 64, 65, 200 };
+        Pbkdf2Sha256 engine = new Pbkdf2Sha256();
+        for (int keyLength : lengths) {
+            for (int saltLength : lengths) {
+                byte[] key = new byte[keyLength];
+                byte[] salt = new byte[saltLength];
+                random.nextBytes(key);
+                random.nextBytes(salt);
+                int iterations = 1 + random.nextInt(50);
+
+                PKCS5S2ParametersGenerator generator =
+                    new PKCS5S2ParametersGenerator(new SHA256Digest());
+                generator.init(key, salt, iterations);
+                byte[] expected = ((KeyParameter)
+                        generator.generateDerivedParameters(40 * 8)).getKey();
+
+                byte[] derived = new byte[40];
+                engine.init(key);
+                engine.derive(salt, iterations, derived);
+                Assert.assertArrayEquals(expected, derived);
+            }
+        }
+    }
+
+    /**
+     * @brief   Tests that deriving before keying is refused.
+     * @return  Does not even.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void pbkdf2Sha256Test_testUnkeyed_throws() {
+        Pbkdf2Sha256 engine = new Pbkdf2Sha256();
+        engine.derive(new byte[8], 1, new byte[32]);
+    }
+
+    // ===================================================================
+    // PRIVATE MEMBERS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    private static final String     UTF8                    = "UTF-8";
+    private static final long       SEED                    = 20150620L;
+
+}
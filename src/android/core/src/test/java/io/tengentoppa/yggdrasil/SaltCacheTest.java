@@ -0,0 +1,119 @@
+/**
+ * @file        SaltCacheTest.java
+ * @brief       Source file for the SaltCacheTest class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.util.Arrays;
+
+// JUnit Classes
+import org.junit.Test;
+import org.junit.Assert;
+
+/**
+ * @brief   A test class for the methods in the SaltCache class.
+ */
+public class SaltCacheTest {
+
+    // ====================================================================
+    // TESTS
+
+    /**
+     * @brief   Tests that a hit returns a private copy of the salt.
+     * @return  Does not even.
+     */
+    @Test
+    public void saltCacheTest_testHitIsCopy_asserts() {
+        SaltCache cache = new SaltCache(4, 2);
+        cache.put(DOMAIN, digest(1), ITERATIONS, salt(7));
+
+        byte[] hit = cache.get(DOMAIN, digest(1), ITERATIONS);
+        Assert.assertArrayEquals(salt(7), hit);
+        hit[0] = 0;
+        Assert.assertArrayEquals(salt(7),
+                                 cache.get(DOMAIN, digest(1), ITERATIONS));
+    }
+
+    /**
+     * @brief   Tests that every component of the key is significant.
+     * @return  Does not even.
+     */
+    @Test
+    public void saltCacheTest_testKeyComponents_asserts() {
+        SaltCache cache = new SaltCache(4, 2);
+        cache.put(DOMAIN, digest(1), ITERATIONS, salt(7));
+
+        Assert.assertNull(cache.get("gnu.org", digest(1), ITERATIONS));
+        Assert.assertNull(cache.get(DOMAIN, digest(2), ITERATIONS));
+        Assert.assertNull(cache.get(DOMAIN, digest(1), ITERATIONS + 1));
+    }
+
+    /**
+     * @brief   Tests that the least recently used salt is evicted.
+     * @return  Does not even.
+     */
+    @Test
+    public void saltCacheTest_testLruEviction_asserts() {
+        SaltCache cache = new SaltCache(2, 1);
+        cache.put("a.com", digest(1), ITERATIONS, salt(1));
+        cache.put("b.com", digest(1), ITERATIONS, salt(2));
+        // Touch "a.com", so that "b.com" becomes the eldest
+        Assert.assertNotNull(cache.get("a.com", digest(1), ITERATIONS));
+        cache.put("c.com", digest(1), ITERATIONS, salt(3));
+
+        Assert.assertEquals(2, cache.size());
+        Assert.assertNull(cache.get("b.com", digest(1), ITERATIONS));
+        Assert.assertArrayEquals(salt(1),
+                                 cache.get("a.com", digest(1), ITERATIONS));
+        Assert.assertArrayEquals(salt(3),
+                                 cache.get("c.com", digest(1), ITERATIONS));
+    }
+
+    /**
+     * @brief   Tests that clearing the cache drops every salt.
+     * @return  Does not even.
+     */
+    @Test
+    public void saltCacheTest_testClear_asserts() {
+        SaltCache cache = new SaltCache(8, 4);
+        cache.put("a.com", digest(1), ITERATIONS, salt(1));
+        cache.put("b.com", digest(1), ITERATIONS, salt(2));
+        cache.clear();
+
+        Assert.assertEquals(0, cache.size());
+        Assert.assertNull(cache.get("a.com", digest(1), ITERATIONS));
+    }
+
+    // ===================================================================
+    // PRIVATE MEMBERS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    private static final String     DOMAIN                  = "google.com";
+    private static final int        ITERATIONS              = 10000;
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    private static byte[] digest(final int fill) {
+        byte[] digest = new byte[32];
+        Arrays.fill(digest, (byte)fill);
+        return digest;
+    }
+
+    private static byte[] salt(final int fill) {
+        byte[] salt = new byte[32];
+        Arrays.fill(salt, (byte)(0x40 | fill));
+        return salt;
+    }
+
+}
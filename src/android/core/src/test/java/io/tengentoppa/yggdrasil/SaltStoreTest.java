@@ -0,0 +1,169 @@
+/**
+ * @file        SaltStoreTest.java
+ * @brief       Source file for the SaltStoreTest class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// JUnit Classes
+import org.junit.Test;
+import org.junit.Assert;
+
+/**
+ * @brief   A test class for the methods in the SaltStore class.
+ */
+public class SaltStoreTest {
+
+    // ====================================================================
+    // TESTS
+
+    /**
+     * @brief   Tests that a stored salt survives reopening the store.
+     * @return  Does not even.
+     */
+    @Test
+    public void saltStoreTest_testPersistence_asserts() throws Exception {
+        File file = File.createTempFile("salts", ".bin");
+        file.deleteOnExit();
+
+        SaltStore store = new SaltStore(file, SLOTS);
+        Assert.assertNull(store.get(DOMAIN, ITERATIONS, fill(1)));
+        store.put(DOMAIN, ITERATIONS, fill(1), fill(7));
+
+        SaltStore reopened = new SaltStore(file, SLOTS);
+        Assert.assertArrayEquals(fill(7),
+                                 read(reopened.get(DOMAIN,
+                                                   ITERATIONS,
+                                                   fill(1))));
+        Assert.assertNull(reopened.get(DOMAIN, ITERATIONS + 1, fill(1)));
+    }
+
+    /**
+     * @brief   Tests that a slot whose salt does not match its checksum,
+     *          as a torn write may leave it, misses.
+     * @return  Does not even.
+     */
+    @Test
+    public void saltStoreTest_testTornSlot_asserts() throws Exception {
+        File file = File.createTempFile("salts", ".bin");
+        file.deleteOnExit();
+
+        SaltStore store = new SaltStore(file, SLOTS);
+        store.put(DOMAIN, ITERATIONS, fill(1), fill(7));
+
+        // Overwrite the first byte of the salt, wherever its slot is
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        byte[] contents = new byte[(int)raf.length()];
+        raf.readFully(contents);
+        int offset = -1;
+        for (int i = 0; (offset < 0) && (i < contents.length); ++i) {
+            if (Arrays.equals(fill(7),
+                              Arrays.copyOfRange(contents,
+                                                 i,
+                                                 i + fill(7).length))) {
+                offset = i;
+            }
+        }
+        Assert.assertTrue(offset > 0);
+        raf.seek(offset);
+        raf.write(8);
+        raf.close();
+
+        SaltStore reopened = new SaltStore(file, SLOTS);
+        Assert.assertNull(reopened.get(DOMAIN, ITERATIONS, fill(1)));
+        reopened.put(DOMAIN, ITERATIONS, fill(1), fill(9));
+        Assert.assertArrayEquals(fill(9),
+                                 read(reopened.get(DOMAIN,
+                                                   ITERATIONS,
+                                                   fill(1))));
+    }
+
+    /**
+     * @brief   Tests that a different salt key misses,
+     *          and that binding to it wipes the store.
+     * @return  Does not even.
+     */
+    @Test
+    public void saltStoreTest_testRebinding_asserts() throws Exception {
+        File file = File.createTempFile("salts", ".bin");
+        file.deleteOnExit();
+
+        SaltStore store = new SaltStore(file, SLOTS);
+        store.put(DOMAIN, ITERATIONS, fill(1), fill(7));
+        Assert.assertNull(store.get(DOMAIN, ITERATIONS, fill(2)));
+
+        store.put("gnu.org", ITERATIONS, fill(2), fill(8));
+        Assert.assertNull(store.get(DOMAIN, ITERATIONS, fill(1)));
+        Assert.assertNull(store.get(DOMAIN, ITERATIONS, fill(2)));
+        Assert.assertArrayEquals(fill(8),
+                                 read(store.get("gnu.org",
+                                                ITERATIONS,
+                                                fill(2))));
+    }
+
+    /**
+     * @brief   Tests that many more salts than slots can be stored,
+     *          recycling slots, without returning a wrong salt.
+     * @return  Does not even.
+     */
+    @Test
+    public void saltStoreTest_testOverflow_asserts() throws Exception {
+        File file = File.createTempFile("salts", ".bin");
+        file.deleteOnExit();
+
+        SaltStore store = new SaltStore(file, SLOTS);
+        for (int i = 0; i < 4 * SLOTS; ++i) {
+            store.put("site" + i + ".com", ITERATIONS, fill(1), fill(i));
+        }
+        for (int i = 0; i < 4 * SLOTS; ++i) {
+            ByteBuffer salt = store.get("site" + i + ".com",
+                                        ITERATIONS,
+                                        fill(1));
+            if (null != salt) {
+                Assert.assertArrayEquals(fill(i), read(salt));
+            }
+        }
+
+        store.wipe();
+        Assert.assertNull(store.get("site0.com", ITERATIONS, fill(1)));
+    }
+
+    // ===================================================================
+    // PRIVATE MEMBERS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    private static final String     DOMAIN                  = "google.com";
+    private static final int        ITERATIONS              = 10000;
+    private static final int        SLOTS                   = 16;
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    private static byte[] fill(final int value) {
+        byte[] bytes = new byte[32];
+        Arrays.fill(bytes, (byte)value);
+        return bytes;
+    }
+
+    private static byte[] read(final ByteBuffer buffer) {
+        Assert.assertNotNull(buffer);
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+}
@@ -0,0 +1,129 @@
+/**
+ * @file        SecretBufferTest.java
+ * @brief       Source file for the SecretBufferTest class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// JUnit Classes
+import org.junit.Test;
+import org.junit.Assert;
+
+/**
+ * @brief   A test class for the methods in the SecretBuffer class.
+ */
+public class SecretBufferTest {
+
+    // ====================================================================
+    // TESTS
+
+    /**
+     * @brief   Tests that a secret holds what is copied into it,
+     *          and is zeroized upon release.
+     * @return  Does not even.
+     */
+    @Test
+    public void secretBufferTest_testZeroizeOnRelease_asserts() {
+        SecretBuffer secret = SecretBuffer.copyOf(fill(7, 32));
+        ByteBuffer view = secret.buffer();
+        Assert.assertTrue(view.isDirect());
+        Assert.assertEquals(32, view.remaining());
+        Assert.assertArrayEquals(fill(7, 32), read(secret.buffer()));
+
+        secret.release();
+        Assert.assertArrayEquals(fill(0, 32), read(view));
+        try {
+            secret.buffer();
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+    }
+
+    /**
+     * @brief   Tests that secrets longer than a slot, and secrets
+     *          acquired while the arena is exhausted, still work.
+     * @return  Does not even.
+     */
+    @Test
+    public void secretBufferTest_testBeyondArena_asserts() {
+        SecretBuffer large = SecretBuffer.copyOf(fill(3, 100));
+        Assert.assertArrayEquals(fill(3, 100), read(large.buffer()));
+        large.release();
+
+        List<SecretBuffer> secrets = new ArrayList<SecretBuffer>();
+        for (int i = 0; i < 200; ++i) {
+            secrets.add(SecretBuffer.copyOf(fill(i, 32)));
+        }
+        for (int i = 0; i < 200; ++i) {
+            Assert.assertArrayEquals(fill(i, 32),
+                                     read(secrets.get(i).buffer()));
+        }
+        for (SecretBuffer secret : secrets) {
+            secret.release();
+        }
+    }
+
+    /**
+     * @brief   Tests that copying between secrets checks the lengths,
+     *          and that a secret cannot be released twice.
+     * @return  Does not even.
+     */
+    @Test
+    public void secretBufferTest_testCopyAndRelease_asserts() {
+        SecretBuffer source = SecretBuffer.copyOf(fill(9, 32));
+        SecretBuffer target = SecretBuffer.acquire(32);
+        Assert.assertArrayEquals(fill(0, 32), read(target.buffer()));
+        target.copyFrom(source);
+        Assert.assertArrayEquals(fill(9, 32), read(target.buffer()));
+
+        SecretBuffer shorter = SecretBuffer.acquire(16);
+        try {
+            shorter.copyFrom(source);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // Expected
+        }
+
+        source.release();
+        target.release();
+        shorter.close();
+        try {
+            shorter.release();
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+    }
+
+    // ===================================================================
+    // PRIVATE MEMBERS
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    private static byte[] fill(final int value, final int length) {
+        byte[] bytes = new byte[length];
+        Arrays.fill(bytes, (byte)value);
+        return bytes;
+    }
+
+    private static byte[] read(final ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
+}
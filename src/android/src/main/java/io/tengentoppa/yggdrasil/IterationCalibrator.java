@@ -0,0 +1,129 @@
+/**
+ * @file        IterationCalibrator.java
+ * @summary     Source file for the IterationCalibrator class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+/**
+ * @summary Measures the PBKDF2 throughput of this device, and turns it
+ *          into an iteration count recommendation for a latency budget.
+ *          A password costs two PBKDF2 chains of the same length
+ *          (the salt, and then the hash), so the recommendation budgets
+ *          for both, as on a salt cache miss.
+ */
+public final class IterationCalibrator {
+
+    // ====================================================================
+    // PUBLIC METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    public static final long    TARGET_LATENCY_MILLIS   = 500;
+    public static final int     MIN_ITERATIONS          = 1000;
+    public static final int     MAX_ITERATIONS          = 1000000;
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to get the PBKDF2 throughput of this device,
+     *          through the selected engine; measured once per process.
+     *          This takes a few hundred milliseconds the first time,
+     *          so call it off the UI thread.
+     * @return  {long} The throughput, in iterations per second.
+     */
+    public static long getIterationsPerSecond() {
+        synchronized (IterationCalibrator.class) {
+            if (0 == s_iterationsPerSecond) {
+                s_iterationsPerSecond = measure(Crypto.getEngine());
+            }
+            return s_iterationsPerSecond;
+        }
+    }
+
+    /**
+     * @summary Method to measure the PBKDF2 throughput of an engine.
+     *          A short warm-up primes the JIT for the hot loop; then the
+     *          iteration count is doubled until a run is long enough to
+     *          time reliably.
+     * @return  {long} The throughput, in iterations per second.
+     */
+    public static long measure(final CryptoEngine engine) {
+        final byte[] password = new byte[Pbkdf2Sha256.DIGEST_LENGTH];
+        final byte[] salt = new byte[Pbkdf2Sha256.DIGEST_LENGTH];
+        final byte[] out = new byte[Pbkdf2Sha256.DIGEST_LENGTH];
+
+        for (int round = 0; round < WARMUP_ROUNDS; ++round) {
+            engine.derive(password, salt, WARMUP_ITERATIONS, out, null);
+        }
+
+        int iterations = WARMUP_ITERATIONS;
+        long elapsed = 0;
+        while (true) {
+            final long start = System.nanoTime();
+            engine.derive(password, salt, iterations, out, null);
+            elapsed = Math.max(1, System.nanoTime() - start);
+            if ((elapsed >= MIN_MEASUREMENT_NANOS) ||
+                (iterations >= MAX_MEASUREMENT_ITERATIONS)) {
+                break;
+            }
+            iterations *= 2;
+        }
+
+        return Math.max(1, (iterations * NANOS_PER_SECOND) / elapsed);
+    }
+
+    /**
+     * @summary Method to recommend an iteration count, such that
+     *          generating a password takes about the given time.
+     * @return  {int} The iteration count; a multiple of MIN_ITERATIONS,
+     *          between MIN_ITERATIONS and MAX_ITERATIONS.
+     */
+    public static int recommend(final long iterationsPerSecond,
+                                final long latencyMillis) {
+        final long affordable =
+            (iterationsPerSecond * latencyMillis) /
+            (CHAINS_PER_PASSWORD * MILLIS_PER_SECOND);
+        final long rounded = (affordable / MIN_ITERATIONS) * MIN_ITERATIONS;
+        return (int)Math.max(MIN_ITERATIONS,
+                             Math.min(MAX_ITERATIONS, rounded));
+    }
+
+    // ====================================================================
+    // PRIVATE METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    private static final int    WARMUP_ROUNDS           = 3;
+    private static final int    WARMUP_ITERATIONS       = 2000;
+    private static final int    MAX_MEASUREMENT_ITERATIONS
+                                                        = 1 << 22;
+    private static final long   MIN_MEASUREMENT_NANOS   = 100000000L;
+    private static final long   NANOS_PER_SECOND        = 1000000000L;
+    private static final long   MILLIS_PER_SECOND       = 1000L;
+    private static final long   CHAINS_PER_PASSWORD     = 2;
+
+    // --------------------------------------------------------------------
+    // CONSTRUCTORS
+
+    private IterationCalibrator() {
+    }
+
+    // --------------------------------------------------------------------
+    // DATA MEMBERS
+
+    private static long s_iterationsPerSecond           = 0;
+                                                /** @brief The measured
+                                                  * throughput; guarded by
+                                                  * the class.
+                                                  */
+}
@@ -0,0 +1,657 @@
+/**
+ * @file        OverridesIndex.java
+ * @summary     Source file for the OverridesIndex class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// JSON
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * @summary The app-wide index of the saved custom overrides, by domain.
+ *          It is opened once from an OverridesLog, into which the
+ *          overrides saved as a JSON string in the preferences are
+ *          imported on first run, i.e., only if there has never been a
+ *          log, which has superseded the preference since; saves then
+ *          go through put(), which appends a single record to the log.
+ *          Thereafter, the preference only changes upon an import, and
+ *          a load of a changed string replaces the log's contents, while
+ *          a load of the same string is a no-op.
+ *          Should the log fail to open, or a write to it fail, the
+ *          index falls back on the preference, which it saves the JSON
+ *          string to instead; a failed log is moved aside, so that the
+ *          next one is imported from the preference. So is a log found
+ *          invalid upon opening, which is kept aside, and reported by
+ *          getRecoveredLog(), for the user to be told.
+ *          Opening, loads and updates are applied on a thread of the
+ *          index's own, in the order requested, and never block the
+ *          caller; lookups read whatever was last applied, without a
+ *          lock.
+ */
+public final class OverridesIndex {
+
+    // ====================================================================
+    // PUBLIC METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    // The name of the log file, in the app's files directory
+    public static final String LOG_FILENAME     = "overrides.log";
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to get the app-wide index.
+     * @return  {OverridesIndex} The index.
+     */
+    public static OverridesIndex getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * @summary Method to open the index from the log, the first time
+     *          around, importing the saved JSON string into the log if
+     *          there was none; later calls are ignored.
+     *          Returns at once; the log is replayed on the index's thread.
+     * @return  Does not return a value.
+     */
+    public void open(final File logFile,
+                     final String encodedOverrides,
+                     final Preference preference) {
+        if (!m_opened.compareAndSet(false, true)) {
+            return;
+        }
+        m_started = true;
+
+        m_executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                m_preference = preference;
+                openLog(logFile, encodedOverrides);
+            }
+        });
+    }
+
+    /**
+     * @summary Method to (re)load the index from the saved JSON string,
+     *          unless it was loaded from, or saved as, that very string,
+     *          e.g., upon a change of the preference; if open, the log is
+     *          replaced with the loaded overrides.
+     *          Returns at once; loads are applied in the order requested.
+     * @return  Does not return a value.
+     */
+    public void load(final String encodedOverrides) {
+        m_started = true;
+
+        m_executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                loadSource(encodedOverrides);
+            }
+        });
+    }
+
+    /**
+     * @summary Method to run a task on the index's thread, once the
+     *          opening, loads and updates requested so far are applied;
+     *          e.g., to wait for the index to open without blocking.
+     * @return  Does not return a value.
+     */
+    public void execute(final Runnable task) {
+        m_executor.execute(task);
+    }
+
+    /**
+     * @summary Method to wait until the opening, loads and updates
+     *          requested so far are applied; not on the UI thread.
+     * @return  Does not return a value.
+     */
+    public void await() throws InterruptedException {
+        final CountDownLatch applied = new CountDownLatch(1);
+        m_executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                applied.countDown();
+            }
+        });
+        applied.await();
+    }
+
+    /**
+     * @summary Method to check whether the index has been loaded.
+     * @return  {boolean} True or False.
+     */
+    public boolean isLoaded() {
+        return (null != m_overrides);
+    }
+
+    /**
+     * @summary Method to get the file found in place of the log upon
+     *          opening, if it was not a valid log, and so was moved
+     *          aside and the overrides restored from the preference.
+     * @return  {File} The file moved aside; null if none, or if not
+     *          opened yet.
+     */
+    public File getRecoveredLog() {
+        return m_recoveredLog;
+    }
+
+    /**
+     * @summary Method to retrieve the saved overrides which apply to a
+     *          domain, its own or a wildcard's, as
+     *          AttributesCodec.getDomainOverrides() does.
+     * @return  {Attributes} A copy of the saved overrides; default
+     *          constructed if none apply, or if not loaded yet.
+     */
+    public Attributes get(final String domain) {
+        return AttributesCodec.getDomainOverrides(domain, m_rules);
+    }
+
+    /**
+     * @summary Method to get the number of domains with overrides.
+     * @return  {int} The number.
+     */
+    public int size() {
+        final Map<String, ImmutableAttributes> overrides = m_overrides;
+        return ((null != overrides) ? overrides.size() : 0);
+    }
+
+    /**
+     * @summary Method to get a read-only view of the overrides, e.g., to
+     *          stream them into an export; it reflects later updates, and
+     *          may be iterated while they happen.
+     * @return  {Map<String, ImmutableAttributes>} The overrides, by
+     *          domain; empty if not loaded.
+     */
+    public Map<String, ImmutableAttributes> getOverrides() {
+        final Map<String, ImmutableAttributes> overrides = m_overrides;
+        if (null == overrides) {
+            return Collections.<String, ImmutableAttributes>emptyMap();
+        }
+        return Collections.unmodifiableMap(overrides);
+    }
+
+    /**
+     * @summary Method to add or update the overrides of a domain, in the
+     *          log, or failing that, in the preference.
+     *          The index must have been opened, or loaded.
+     *          Returns at once; lookups see the update once applied.
+     * @return  Does not return a value.
+     */
+    public void put(final String domain, final Attributes attributes) {
+        if (!m_started) {
+            throw new IllegalStateException("OverridesIndex.NotLoaded");
+        }
+
+        final ImmutableAttributes overrides =
+            ImmutableAttributes.of(attributes);
+        m_executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                update(domain, overrides);
+            }
+        });
+    }
+
+    /**
+     * @summary Method to begin an import, which replaces all the
+     *          overrides once committed. The index must have been opened.
+     * @return  {Import} The import.
+     */
+    public Import beginImport() {
+        return new Import();
+    }
+
+    /**
+     * @summary Method to serialize the overrides, as saved in the
+     *          preference; off the UI thread, e.g., in a task execute()d.
+     * @return  {String} The stringified JSON; empty if not loaded.
+     * @throws  JSONException if the overrides cannot be serialized.
+     */
+    public String encode() throws JSONException {
+        final Map<String, ImmutableAttributes> overrides = m_overrides;
+        if ((null == overrides) || overrides.isEmpty()) {
+            return "";
+        }
+
+        JSONObject encodedOverridesMap = new JSONObject();
+        for (Map.Entry<String, ImmutableAttributes> entry :
+                 overrides.entrySet()) {
+            encodedOverridesMap.put(
+                entry.getKey(),
+                AttributesCodec.encode(entry.getValue().toAttributes()));
+        }
+        return encodedOverridesMap.toString();
+    }
+
+    // --------------------------------------------------------------------
+    // CLASSES
+
+    /**
+     * @summary An import of overrides, fed one domain at a time, e.g., as
+     *          they are read off a file, and staged apart from the index
+     *          until committed, so that a failed import leaves the index
+     *          as it was.
+     */
+    public final class Import {
+
+        /**
+         * @summary Method to stage the overrides of a domain.
+         * @return  Does not return a value.
+         */
+        public void put(final String domain, final Attributes attributes) {
+            m_staged.put(domain, ImmutableAttributes.of(attributes));
+        }
+
+        /**
+         * @summary Method to get the number of domains staged.
+         * @return  {int} The number.
+         */
+        public int size() {
+            return m_staged.size();
+        }
+
+        /**
+         * @summary Method to replace the overrides in the index, and in
+         *          its log or preference, with those staged; nothing may
+         *          be staged afterwards.
+         *          Returns at once, as put() does.
+         * @return  Does not return a value.
+         */
+        public void commit() {
+            m_executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    replace(m_staged);
+                }
+            });
+        }
+
+        private Import() {
+            if (!m_started) {
+                throw new IllegalStateException("OverridesIndex.NotLoaded");
+            }
+            m_staged = new ConcurrentHashMap<String, ImmutableAttributes>();
+        }
+
+        private final ConcurrentHashMap<String, ImmutableAttributes>
+                                    m_staged;   /** @brief The staged
+                                                  * overrides.
+                                                  */
+    }
+
+    // --------------------------------------------------------------------
+    // INTERFACES
+
+    /**
+     * @summary The interface for saving the overrides in the preference,
+     *          as a JSON string, when there is no log to save them in.
+     */
+    public interface Preference {
+
+        /**
+         * @summary Called on the index's thread with the JSON string
+         *          to save.
+         * @return  Does not return a value.
+         */
+        void save(String encodedOverrides);
+
+    }
+
+    // ====================================================================
+    // PACKAGE METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTRUCTORS
+
+    /**
+     * @summary The constructor, for an index not loaded yet.
+     * @return  Does not even.
+     */
+    OverridesIndex() {
+        m_overrides = null;
+        m_rules = null;
+        m_source = null;
+        m_log = null;
+        m_preference = null;
+        m_opened = new AtomicBoolean(false);
+        m_started = false;
+        m_executor =
+            new ThreadPoolExecutor(1,
+                                   1,
+                                   KEEP_ALIVE_SECONDS,
+                                   TimeUnit.SECONDS,
+                                   new LinkedBlockingQueue<Runnable>(),
+                                   new IndexThreadFactory());
+        m_executor.allowCoreThreadTimeOut(true);
+    }
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to wait until the opening, loads and updates
+     *          requested so far are applied, and in the log.
+     * @return  Does not return a value.
+     */
+    void flush() throws InterruptedException {
+        final CountDownLatch flushed = new CountDownLatch(1);
+        m_executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    if (null != m_log) {
+                        syncLog();
+                    }
+                } finally {
+                    flushed.countDown();
+                }
+            }
+        });
+        flushed.await();
+    }
+
+    // ====================================================================
+    // PRIVATE METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    private static final String LOG_CATEGORY    = "YGGDRASIL.OVERRIDES";
+
+    // The index's thread is retired when idle this long
+    private static final long   KEEP_ALIVE_SECONDS  = 30;
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to open the log, replaying it, or importing the
+     *          saved JSON string into it if there was none; on the
+     *          index's thread.
+     * @return  Does not return a value.
+     */
+    private void openLog(final File logFile,
+                         final String encodedOverrides) {
+        try {
+            m_log = new OverridesLog(logFile);
+        } catch (IOException e) {
+            Logger.e(LOG_CATEGORY, "ERROR: Caught " + e + "; " +
+                     "falling back on the preference");
+            e.printStackTrace();
+            loadSource(encodedOverrides);
+            return;
+        }
+
+        if (null != m_log.getMovedAside()) {
+            Logger.e(LOG_CATEGORY, "ERROR: The overrides log was invalid; " +
+                     "restoring the overrides from the preference");
+            m_recoveredLog = m_log.getMovedAside();
+        }
+        if (m_log.isNew()) {
+            Logger.i(LOG_CATEGORY, "Importing the overrides into the log");
+            m_source = null;
+            loadSource(encodedOverrides);
+            return;
+        }
+
+        ConcurrentHashMap<String, ImmutableAttributes> overrides =
+            new ConcurrentHashMap<String, ImmutableAttributes>();
+        for (Map.Entry<String, Attributes> entry :
+                 m_log.getReplayed().entrySet()) {
+            overrides.put(entry.getKey(),
+                          ImmutableAttributes.of(entry.getValue()));
+        }
+        Logger.i(LOG_CATEGORY, "Replayed " + overrides.size() + " overrides");
+        setOverrides(overrides);
+        // The string the log was imported from, or last replaced with
+        m_source = ((null != encodedOverrides) ? encodedOverrides : "");
+    }
+
+    /**
+     * @summary Method to load the index from the saved JSON string,
+     *          unless it was loaded from, or saved as, that very string;
+     *          on the index's thread.
+     * @return  Does not return a value.
+     */
+    private void loadSource(final String encodedOverrides) {
+        final String source =
+            ((null != encodedOverrides) ? encodedOverrides : "");
+        if (source.equals(m_source)) {
+            return;
+        }
+
+        ConcurrentHashMap<String, ImmutableAttributes> overrides =
+            new ConcurrentHashMap<String, ImmutableAttributes>();
+        Map<String, Attributes> decoded =
+            AttributesCodec.decodeOverrides(source);
+        if (null == decoded) {
+            // Not a flat object of strings; let the JSON parser make
+            // what it can of it
+            decoded = new LinkedHashMap<String, Attributes>();
+            JSONObject encodedOverridesMap =
+                AttributesCodec.getEncodedOverridesMap(source);
+            if (null != encodedOverridesMap) {
+                Iterator<String> domains = encodedOverridesMap.keys();
+                while (domains.hasNext()) {
+                    final String domain = domains.next();
+                    decoded.put(domain,
+                                AttributesCodec.getDomainOverrides(
+                                    domain,
+                                    encodedOverridesMap));
+                }
+            }
+        }
+        for (Map.Entry<String, Attributes> entry : decoded.entrySet()) {
+            overrides.put(entry.getKey(),
+                          ImmutableAttributes.of(entry.getValue()));
+        }
+
+        Logger.i(LOG_CATEGORY, "Indexed " + overrides.size() + " overrides");
+        setOverrides(overrides);
+        m_source = source;
+        if (null != m_log) {
+            m_log.replaceAll(overrides);
+            syncLog();
+        }
+    }
+
+    /**
+     * @summary Method to apply an update, and to save it; on the index's
+     *          thread.
+     * @return  Does not return a value.
+     */
+    private void update(final String domain,
+                        final ImmutableAttributes overrides) {
+        if (null == m_overrides) {
+            Logger.e(LOG_CATEGORY, "ERROR: Not loaded; dropping an update");
+            return;
+        }
+
+        if (!domain.isEmpty()) {
+            m_rules = m_rules.with(domain, overrides);
+        }
+        m_overrides.put(domain, overrides);
+        if (null != m_log) {
+            m_log.put(domain, overrides.toAttributes());
+            syncLog();
+        } else {
+            saveSource();
+        }
+    }
+
+    /**
+     * @summary Method to apply an import, and to save it; on the index's
+     *          thread.
+     * @return  Does not return a value.
+     */
+    private void replace(
+            final ConcurrentHashMap<String, ImmutableAttributes> staged) {
+        Logger.i(LOG_CATEGORY, "Imported " + staged.size() + " overrides");
+        setOverrides(staged);
+        if (null != m_log) {
+            m_log.replaceAll(staged);
+            syncLog();
+        } else {
+            saveSource();
+        }
+    }
+
+    /**
+     * @summary Method to wait until the log holds what was queued; on
+     *          the index's thread. Failing a write, the log is discarded,
+     *          and the overrides are saved in the preference instead, for
+     *          the next log to be imported from.
+     * @return  Does not return a value.
+     */
+    private void syncLog() {
+        try {
+            m_log.flush();
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (IOException e) {
+            Logger.e(LOG_CATEGORY, "ERROR: Caught " + e + "; " +
+                     "falling back on the preference");
+        }
+
+        try {
+            m_log.discard();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        m_log = null;
+        saveSource();
+    }
+
+    /**
+     * @summary Method to save the overrides in the preference, failing a
+     *          log; on the index's thread.
+     * @return  Does not return a value.
+     */
+    private void saveSource() {
+        try {
+            m_source = encode();
+        } catch (JSONException e) {
+            Logger.e(LOG_CATEGORY, "ERROR: Caught " + e);
+            return;
+        }
+        if (null != m_preference) {
+            m_preference.save(m_source);
+        }
+    }
+
+    /**
+     * @summary Method to swap in newly loaded overrides, along with the
+     *          rules for looking them up; domains which cannot be rules,
+     *          i.e., empty ones, are only kept for saving.
+     * @return  Does not return a value.
+     */
+    private void setOverrides(
+            final ConcurrentHashMap<String, ImmutableAttributes> overrides) {
+        DomainTrie<ImmutableAttributes> rules =
+            new DomainTrie<ImmutableAttributes>();
+        for (Map.Entry<String, ImmutableAttributes> entry :
+                 overrides.entrySet()) {
+            if (!entry.getKey().isEmpty()) {
+                rules.put(entry.getKey(), entry.getValue());
+            }
+        }
+        m_rules = rules;
+        m_overrides = overrides;
+    }
+
+    // --------------------------------------------------------------------
+    // CLASSES
+
+    /**
+     * @summary The lazily created singleton.
+     */
+    private static final class Holder {
+        static final OverridesIndex INSTANCE = new OverridesIndex();
+    }
+
+    /**
+     * @summary The thread factory of the index: a named daemon thread.
+     */
+    private static final class IndexThreadFactory implements ThreadFactory {
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            Thread thread = new Thread(runnable, "overrides-index");
+            thread.setDaemon(true);
+            return thread;
+        }
+
+    }
+
+    // --------------------------------------------------------------------
+    // DATA MEMBERS
+
+    private volatile ConcurrentHashMap<String, ImmutableAttributes>
+                                m_overrides;    /** @brief The decoded
+                                                  * overrides, by domain;
+                                                  * null until loaded.
+                                                  */
+    private volatile DomainTrie<ImmutableAttributes>
+                                m_rules;        /** @brief The same, as
+                                                  * rules for lookups;
+                                                  * replaced on updates.
+                                                  */
+    private String              m_source;       /** @brief The JSON string
+                                                  * the index reflects;
+                                                  * the index thread's.
+                                                  */
+    private OverridesLog        m_log;          /** @brief The log the
+                                                  * overrides are saved in;
+                                                  * null if not open; the
+                                                  * index thread's.
+                                                  */
+    private Preference          m_preference;   /** @brief Where the
+                                                  * overrides are saved
+                                                  * failing a log; the
+                                                  * index thread's.
+                                                  */
+    private volatile File       m_recoveredLog; /** @brief The invalid
+                                                  * log moved aside upon
+                                                  * opening, if any.
+                                                  */
+    private final AtomicBoolean m_opened;       /** @brief Whether opening
+                                                  * was requested.
+                                                  */
+    private volatile boolean    m_started;      /** @brief Whether opening,
+                                                  * or a load, was
+                                                  * requested.
+                                                  */
+    private final ThreadPoolExecutor
+                                m_executor;     /** @brief The index's
+                                                  * thread, applying
+                                                  * requests in order.
+                                                  */
+}
@@ -0,0 +1,627 @@
+/**
+ * @file        OverridesLog.java
+ * @summary     Source file for the OverridesLog class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.CRC32;
+
+/**
+ * @summary A persistent, append-only log of the saved custom overrides:
+ *          a header (magic, version) followed by one record per upsert
+ *          of a domain, each as (CRC32, domain length, value length,
+ *          type, domain, encoded attributes). Saving a domain thus
+ *          writes one record, rather than the whole map; saving the
+ *          defaults drops the domain upon the next compaction.
+ *          Records are written by a single writer thread, which syncs
+ *          the file once per batch of whatever has been queued, and
+ *          which compacts the log in the background once superseded
+ *          records outnumber the live ones, dropping those and any
+ *          overrides equal to the defaults.
+ *          A torn record at the tail, e.g., after a crash, ends the
+ *          replay, and is truncated away; a file which is not a log at
+ *          all is moved aside, and the log counts as new, so that the
+ *          overrides saved elsewhere are imported in its place.
+ *          Once a write fails, the log takes no more records, and
+ *          flush() and close() throw, so that the caller can fall back
+ *          on another store.
+ *          A log is only ever created whole, by a rename, so that one
+ *          which exists has held the overrides since.
+ */
+public final class OverridesLog {
+
+    // ====================================================================
+    // PUBLIC METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    // The suffix of a file which was moved aside, not being a log
+    public static final String BAD_SUFFIX       = ".bad";
+
+    // --------------------------------------------------------------------
+    // CONSTRUCTORS
+
+    /**
+     * @summary The constructor; opens the log and replays it, and starts
+     *          the writer thread. Failing a log, one is created upon the
+     *          first write. An existing file that is not a valid log is
+     *          moved aside, with BAD_SUFFIX appended to its name, for
+     *          recovery, and the log is then new, as if there were none.
+     * @return  Does not even.
+     */
+    public OverridesLog(final File file) throws IOException {
+        m_file = file;
+        m_live = new LinkedHashMap<String, String>();
+        m_queue = new LinkedBlockingQueue<Record>();
+
+        // An empty file is all an earlier version left of a log it
+        // crashed before writing to
+        boolean isNew = (!file.exists() || (0 == file.length()));
+        File movedAside = null;
+        m_channel = null;
+        if (!isNew) {
+            m_channel = new RandomAccessFile(file, "rw").getChannel();
+            if (!replay()) {
+                m_channel.close();
+                m_channel = null;
+                m_live.clear();
+                movedAside = moveAside();
+                isNew = true;
+            }
+        }
+        m_isNew = isNew;
+        m_movedAside = movedAside;
+
+        m_replayed = new LinkedHashMap<String, Attributes>();
+        for (Map.Entry<String, String> entry : m_live.entrySet()) {
+            m_replayed.put(entry.getKey(),
+                           AttributesCodec.decode(entry.getValue()));
+        }
+
+        m_writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                write();
+            }
+        }, "overrides-log");
+        m_writer.setDaemon(true);
+        m_writer.start();
+    }
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to check whether there was no valid log, e.g.,
+     *          so that the overrides saved elsewhere are imported; a
+     *          valid log that existed has superseded them.
+     * @return  {boolean} True or False.
+     */
+    public boolean isNew() {
+        return m_isNew;
+    }
+
+    /**
+     * @summary Method to get the file that was found in place of the log
+     *          and moved aside, not being a valid log, if any.
+     * @return  {File} The file, now with BAD_SUFFIX; null if none.
+     */
+    public File getMovedAside() {
+        return m_movedAside;
+    }
+
+    /**
+     * @summary Method to get the overrides the log held when opened.
+     * @return  {Map<String, Attributes>} The overrides, by domain.
+     */
+    public Map<String, Attributes> getReplayed() {
+        return m_replayed;
+    }
+
+    /**
+     * @summary Method to queue the upsert of the overrides of a domain.
+     * @return  Does not return a value.
+     */
+    public void put(final String domain, final Attributes attributes) {
+        m_queue.add(new Record(PUT,
+                               domain,
+                               AttributesCodec.encode(attributes)));
+    }
+
+    /**
+     * @summary Method to queue the replacement of the whole log,
+     *          e.g., upon an import.
+     * @return  Does not return a value.
+     */
+    public void replaceAll(
+                    final Map<String, ImmutableAttributes> overrides) {
+        Map<String, String> encoded = new LinkedHashMap<String, String>();
+        for (Map.Entry<String, ImmutableAttributes> entry :
+                 overrides.entrySet()) {
+            encoded.put(entry.getKey(),
+                        AttributesCodec.encode(
+                            entry.getValue().toAttributes()));
+        }
+        m_queue.add(new Record(encoded));
+    }
+
+    /**
+     * @summary Method to wait until everything queued so far is synced.
+     * @return  Does not return a value.
+     * @throws  IOException If a write has failed, now or earlier.
+     */
+    public void flush() throws InterruptedException, IOException {
+        Record flush = new Record(FLUSH, new CountDownLatch(1));
+        m_queue.add(flush);
+        flush.m_done.await();
+        checkFailure();
+    }
+
+    /**
+     * @summary Method to sync everything queued so far, and to stop the
+     *          writer thread and close the file; nothing may be queued
+     *          afterwards, and closing again does nothing more.
+     * @return  Does not return a value.
+     * @throws  IOException If a write has failed, now or earlier.
+     */
+    public void close() throws InterruptedException, IOException {
+        if (!m_closed) {
+            Record close = new Record(CLOSE, new CountDownLatch(1));
+            m_queue.add(close);
+            close.m_done.await();
+            m_closed = true;
+        }
+        checkFailure();
+    }
+
+    /**
+     * @summary Method to close the log, whether or not a write failed,
+     *          and to move the file aside, so that it is not replayed;
+     *          e.g., once the overrides are kept elsewhere instead.
+     * @return  Does not return a value.
+     */
+    public void discard() throws InterruptedException {
+        try {
+            close();
+        } catch (IOException e) {
+            // The failure is why the log is being discarded
+        }
+        final File aside = new File(m_file.getPath() + BAD_SUFFIX);
+        if (m_file.exists() && !m_file.renameTo(aside) && !m_file.delete()) {
+            Logger.e(LOG_CATEGORY, "ERROR: Could not discard the " +
+                     "overrides log");
+        }
+    }
+
+    // ====================================================================
+    // PACKAGE METHODS
+
+    /**
+     * @summary Method to get the number of records in the file,
+     *          as of the last batch written.
+     * @return  {int} The number.
+     */
+    synchronized int getRecordCount() {
+        return m_records;
+    }
+
+    // ====================================================================
+    // PRIVATE METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    private static final String  LOG_CATEGORY    = "YGGDRASIL.OVERRIDES";
+    private static final Charset UTF8            = Charset.forName("UTF-8");
+
+    private static final int     MAGIC           = 0x59474f4c; // "YGOL"
+    private static final int     VERSION         = 1;
+    private static final int     HEADER_LENGTH   = 8;
+
+    // CRC32, domain length, value length, type
+    private static final int     RECORD_HEADER_LENGTH   = 4 + 2 + 2 + 1;
+
+    // Record types; all but the first are only ever queued
+    private static final byte    PUT             = 1;
+    private static final byte    REPLACE         = 2;
+    private static final byte    FLUSH           = 3;
+    private static final byte    CLOSE           = 4;
+
+    // Compact once there are this many records, and twice as many as
+    // there are live ones
+    private static final int     COMPACTION_RECORDS     = 64;
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to replay the file into the live overrides, and to
+     *          truncate any torn tail; the channel is left at the end.
+     * @return  {boolean} False if the file is not a valid log.
+     */
+    private boolean replay() throws IOException {
+        final long size = m_channel.size();
+        if ((size < HEADER_LENGTH) || (size > Integer.MAX_VALUE)) {
+            return false;
+        }
+        ByteBuffer contents = ByteBuffer.allocate((int)size);
+        while (contents.hasRemaining() &&
+               (m_channel.read(contents, contents.position()) >= 0)) {
+            // Keep reading
+        }
+        contents.flip();
+        if ((MAGIC != contents.getInt()) || (VERSION != contents.getInt())) {
+            return false;
+        }
+
+        CRC32 crc = new CRC32();
+        int records = 0;
+        while (contents.remaining() >= RECORD_HEADER_LENGTH) {
+            final int start = contents.position();
+            final int storedCrc = contents.getInt();
+            final int domainLength = contents.getShort() & 0xffff;
+            final int valueLength = contents.getShort() & 0xffff;
+            final byte type = contents.get();
+            if ((PUT != type) ||
+                (contents.remaining() < domainLength + valueLength)) {
+                contents.position(start);
+                break;
+            }
+
+            crc.reset();
+            crc.update(contents.array(),
+                       start + 4,
+                       RECORD_HEADER_LENGTH - 4 + domainLength + valueLength);
+            if ((int)crc.getValue() != storedCrc) {
+                contents.position(start);
+                break;
+            }
+
+            final String domain = new String(contents.array(),
+                                             contents.position(),
+                                             domainLength,
+                                             UTF8);
+            contents.position(contents.position() + domainLength);
+            final String value = new String(contents.array(),
+                                            contents.position(),
+                                            valueLength,
+                                            UTF8);
+            contents.position(contents.position() + valueLength);
+
+            m_live.put(domain, value);
+            ++records;
+        }
+
+        if (contents.position() < size) {
+            Logger.e(LOG_CATEGORY, "ERROR: Truncating a torn overrides log " +
+                     "at " + contents.position() + " of " + size);
+            m_channel.truncate(contents.position());
+            m_channel.force(true);
+        }
+        m_channel.position(contents.position());
+        m_records = records;
+        return true;
+    }
+
+    /**
+     * @summary Method to throw the failure of a write, if any.
+     * @return  Does not return a value.
+     */
+    private void checkFailure() throws IOException {
+        final IOException failure = m_failure;
+        if (null != failure) {
+            throw new IOException("OverridesLog.Write.Failure", failure);
+        }
+    }
+
+    /**
+     * @summary Method to move the file aside, not being a log.
+     * @return  {File} The file, as moved.
+     */
+    private File moveAside() throws IOException {
+        final File aside = new File(m_file.getPath() + BAD_SUFFIX);
+        if (!m_file.renameTo(aside)) {
+            throw new IOException("OverridesLog.Rename.Failure");
+        }
+        Logger.e(LOG_CATEGORY, "ERROR: Moved an invalid overrides log " +
+                 "aside, to " + aside.getName());
+        return aside;
+    }
+
+    /**
+     * @summary Method to write an empty log, i.e., just the header.
+     * @return  Does not return a value.
+     */
+    private static void format(final FileChannel channel)
+        throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+        header.putInt(MAGIC).putInt(VERSION).flip();
+        channel.truncate(0);
+        channel.position(0);
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        channel.force(true);
+    }
+
+    /**
+     * @summary The loop of the writer thread: it writes each batch of
+     *          queued records, syncs once, and then releases whoever
+     *          waits on the batch. A failure is kept, for flush() and
+     *          close() to throw, and the records after it are dropped,
+     *          the file no longer being known to hold what precedes them.
+     * @return  Does not return a value.
+     */
+    private void write() {
+        List<Record> batch = new ArrayList<Record>();
+        boolean closing = false;
+        while (!closing) {
+            try {
+                batch.add(m_queue.take());
+            } catch (InterruptedException e) {
+                // Only the writer thread itself could be interrupted
+                continue;
+            }
+            m_queue.drainTo(batch);
+            for (Record record : batch) {
+                closing |= (CLOSE == record.m_type);
+            }
+
+            try {
+                boolean dirty = false;
+                for (Record record : batch) {
+                    if (null != m_failure) {
+                        break;
+                    } else if (PUT == record.m_type) {
+                        append(record);
+                        dirty = true;
+                    } else if (REPLACE == record.m_type) {
+                        m_live.clear();
+                        m_live.putAll(record.m_overrides);
+                        rewrite();
+                        dirty = false;
+                    }
+                }
+                if (dirty) {
+                    m_channel.force(false);
+                }
+                if ((null == m_failure) && shouldCompact()) {
+                    rewrite();
+                }
+            } catch (IOException e) {
+                Logger.e(LOG_CATEGORY, "ERROR: Caught " + e);
+                m_failure = e;
+            }
+            if (closing && (null != m_channel)) {
+                try {
+                    m_channel.close();
+                } catch (IOException e) {
+                    Logger.e(LOG_CATEGORY, "ERROR: Caught " + e);
+                    if (null == m_failure) {
+                        m_failure = e;
+                    }
+                }
+            }
+
+            for (Record record : batch) {
+                if (null != record.m_done) {
+                    record.m_done.countDown();
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * @summary Method to append a record to the file, and apply it to
+     *          the live overrides; not synced. The first record creates
+     *          the log, whole.
+     * @return  Does not return a value.
+     */
+    private void append(final Record record) throws IOException {
+        if (null == m_channel) {
+            m_live.put(record.m_domain, record.m_value);
+            rewrite();
+            return;
+        }
+
+        ByteBuffer buffer = encode(record.m_type,
+                                   record.m_domain,
+                                   record.m_value);
+        while (buffer.hasRemaining()) {
+            m_channel.write(buffer);
+        }
+        m_live.put(record.m_domain, record.m_value);
+        synchronized (this) {
+            ++m_records;
+        }
+    }
+
+    private synchronized boolean shouldCompact() {
+        return ((m_records >= COMPACTION_RECORDS) &&
+                (m_records >= 2 * m_live.size()));
+    }
+
+    /**
+     * @summary Method to rewrite the log with one record per live
+     *          override, dropping those equal to the defaults, into a
+     *          temporary file that then replaces the log.
+     * @return  Does not return a value.
+     */
+    private void rewrite() throws IOException {
+        File compacted = new File(m_file.getPath() + ".tmp");
+        FileChannel channel =
+            new RandomAccessFile(compacted, "rw").getChannel();
+        int records = 0;
+        try {
+            format(channel);
+            for (Map.Entry<String, String> entry :
+                     new ArrayList<Map.Entry<String, String>>(
+                         m_live.entrySet())) {
+                if (!AttributesCodec.decode(entry.getValue())
+                                    .attributesExist()) {
+                    m_live.remove(entry.getKey());
+                    continue;
+                }
+                ByteBuffer buffer = encode(PUT,
+                                           entry.getKey(),
+                                           entry.getValue());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                ++records;
+            }
+            channel.force(true);
+        } finally {
+            channel.close();
+        }
+
+        if (!compacted.renameTo(m_file)) {
+            throw new IOException("OverridesLog.Rename.Failure");
+        }
+        if (null != m_channel) {
+            m_channel.close();
+        }
+        m_channel = new RandomAccessFile(m_file, "rw").getChannel();
+        m_channel.position(m_channel.size());
+        synchronized (this) {
+            m_records = records;
+        }
+    }
+
+    /**
+     * @summary Method to encode a record.
+     * @return  {ByteBuffer} The record, ready to be written.
+     */
+    private static ByteBuffer encode(final byte type,
+                                     final String domain,
+                                     final String value) {
+        final byte[] domainBytes = domain.getBytes(UTF8);
+        final byte[] valueBytes = value.getBytes(UTF8);
+        if ((domainBytes.length > 0xffff) || (valueBytes.length > 0xffff)) {
+            throw new IllegalArgumentException("Record.Too.Long");
+        }
+
+        ByteBuffer buffer =
+            ByteBuffer.allocate(RECORD_HEADER_LENGTH +
+                                domainBytes.length +
+                                valueBytes.length);
+        buffer.putInt(0)
+              .putShort((short)domainBytes.length)
+              .putShort((short)valueBytes.length)
+              .put(type)
+              .put(domainBytes)
+              .put(valueBytes);
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 4, buffer.capacity() - 4);
+        buffer.putInt(0, (int)crc.getValue());
+        buffer.flip();
+        return buffer;
+    }
+
+    // --------------------------------------------------------------------
+    // CLASSES
+
+    /**
+     * @summary A queued record, or request to the writer thread.
+     */
+    private static final class Record {
+
+        Record(final byte type, final String domain, final String value) {
+            m_type = type;
+            m_domain = domain;
+            m_value = value;
+            m_overrides = null;
+            m_done = null;
+        }
+
+        Record(final Map<String, String> overrides) {
+            m_type = REPLACE;
+            m_domain = null;
+            m_value = null;
+            m_overrides = overrides;
+            m_done = null;
+        }
+
+        Record(final byte type, final CountDownLatch done) {
+            m_type = type;
+            m_domain = null;
+            m_value = null;
+            m_overrides = null;
+            m_done = done;
+        }
+
+        final byte                  m_type;
+        final String                m_domain;
+        final String                m_value;
+        final Map<String, String>   m_overrides;
+        final CountDownLatch        m_done;
+    }
+
+    // --------------------------------------------------------------------
+    // DATA MEMBERS
+
+    private final File          m_file;         /** @brief The log file.
+                                                  */
+    private FileChannel         m_channel;      /** @brief The open log,
+                                                  * positioned at its end;
+                                                  * null until created;
+                                                  * the writer's, once
+                                                  * started.
+                                                  */
+    private final Map<String, String> m_live;   /** @brief The encoded
+                                                  * overrides the log
+                                                  * holds, by domain;
+                                                  * the writer's, once
+                                                  * started.
+                                                  */
+    private int                 m_records;      /** @brief The number of
+                                                  * records in the file.
+                                                  */
+    private final boolean       m_isNew;        /** @brief Whether there
+                                                  * was no valid log.
+                                                  */
+    private final File          m_movedAside;   /** @brief The invalid
+                                                  * file moved aside, if
+                                                  * any.
+                                                  */
+    private final Map<String, Attributes> m_replayed;
+                                                /** @brief The overrides
+                                                  * held when opened.
+                                                  */
+    private final LinkedBlockingQueue<Record> m_queue;
+                                                /** @brief The records
+                                                  * awaiting the writer.
+                                                  */
+    private final Thread        m_writer;       /** @brief The single
+                                                  * writer thread.
+                                                  */
+    private volatile IOException m_failure;     /** @brief The write that
+                                                  * failed, if any.
+                                                  */
+    private volatile boolean    m_closed;       /** @brief Whether the
+                                                  * writer has stopped.
+                                                  */
+}
@@ -18,6 +18,7 @@ import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.support.v4.app.DialogFragment;
 import android.support.v4.app.Fragment;
+import android.support.v4.app.FragmentActivity;
 import android.support.v4.app.FragmentManager;
 import android.support.v4.app.FragmentTransaction;
 import android.support.v7.app.AppCompatActivity;
@@ -35,6 +36,9 @@ import android.view.ViewGroup;
 // Standard Java
 import java.lang.RuntimeException;
 
+// JSON
+import org.json.JSONException;
+
 // ==========================================================================
 
 /**
@@ -134,6 +138,9 @@ public abstract class PrefsFragment extends PreferenceFragmentCompat
 
             Preference saltKeyPref = (Preference)findPreference(key);
             saltKeyPref.setSummary(newSaltKey);
+
+            // Salts derived from the old key are of no further use
+            Crypto.invalidateSaltCache();
         } else if (key.equals(
                     getString(R.string.pref_defaultIterations_key))) {
             Preference defaultIterationsPref = (Preference)findPreference(key);
@@ -144,8 +151,13 @@ public abstract class PrefsFragment extends PreferenceFragmentCompat
             if (!newDefaultIterationsStr.isEmpty()) {
                 Log.i(getLogCategory(), getLogPrefix(FUNC) +
                       "New defaultIterations=" + newDefaultIterationsStr);
-                defaultIterationsPref.setSummary(newDefaultIterationsStr);
+                this.setDefaultIterationsSummary(defaultIterationsPref,
+                                                 newDefaultIterationsStr);
             }
+
+            // Salts derived at the old default are unlikely to be
+            // requested again
+            Crypto.invalidateSaltCache();
         }
     }
 
@@ -319,8 +331,70 @@ public abstract class PrefsFragment extends PreferenceFragmentCompat
             Log.i(getLogCategory(), getLogPrefix(FUNC) +
                   "Found non-empty defaultIterations='" +
                   defaultIterationsStr + "'");
-            defaultIterationsPref.setSummary(defaultIterationsStr);
+            this.setDefaultIterationsSummary(defaultIterationsPref,
+                                             defaultIterationsStr);
+        }
+
+        // Measure this device's throughput in the background,
+        // and add the recommendation to the summary.
+        if (0 == m_iterationsPerSecond) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    final long iterationsPerSecond =
+                        IterationCalibrator.getIterationsPerSecond();
+                    Log.i(getLogCategory(), getLogPrefix(FUNC) +
+                          "Measured " + iterationsPerSecond +
+                          " iterations/s");
+                    final FragmentActivity activity = getActivity();
+                    if (null == activity) {
+                        return;
+                    }
+                    activity.runOnUiThread(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (!isAdded()) {
+                                return;
+                            }
+                            m_iterationsPerSecond = iterationsPerSecond;
+                            Preference pref =
+                                (Preference)findPreference(
+                                    getString(
+                                    R.string.pref_defaultIterations_key));
+                            setDefaultIterationsSummary(
+                                pref,
+                                m_sharedPreferences.getString(
+                                    pref.getKey(),
+                                    String.valueOf(DEFAULT_ITERATIONS)));
+                        }
+                    });
+                }
+            }).start();
+        }
+    }
+
+    /**
+     * @summary Method to set the summary of the defaultIterations
+     *          preference to its value, followed by the measured
+     *          throughput of this device and the recommended
+     *          iterations, once they are known.
+     * @return  Does not return a value
+     */
+    private void setDefaultIterationsSummary(final Preference pref,
+                                             final String value) {
+        if (0 == m_iterationsPerSecond) {
+            pref.setSummary(value);
+            return;
         }
+
+        pref.setSummary(
+            getString(R.string.pref_defaultIterations_calibration,
+                      value,
+                      m_iterationsPerSecond,
+                      IterationCalibrator.recommend(
+                          m_iterationsPerSecond,
+                          IterationCalibrator.TARGET_LATENCY_MILLIS),
+                      IterationCalibrator.TARGET_LATENCY_MILLIS));
     }
 
     /**
@@ -332,14 +406,43 @@ public abstract class PrefsFragment extends PreferenceFragmentCompat
         Log.i(getLogCategory(), getLogPrefix(FUNC) +
               "Setting value...");
 
+        // Set the summary with the value, as saved in the log, once the
+        // index is open; serialized on the index's thread, rather than
+        // on the UI thread
+        final FragmentActivity activity = getActivity();
+        OverridesIndex.getInstance().execute(new Runnable() {
+            @Override
+            public void run() {
+                String customOverrides = "";
+                try {
+                    customOverrides = OverridesIndex.getInstance().encode();
+                } catch (JSONException e) {
+                    Log.e(getLogCategory(), getLogPrefix(FUNC) +
+                          "ERROR: Caught " + e);
+                }
+                final String summary = customOverrides;
+                activity.runOnUiThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (!isAdded()) {
+                            return;
+                        }
+                        setCustomAttributesSummary(summary);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * @summary Method to set the summary of the custom attributes.
+     * @return  Does not return a value
+     */
+    private void setCustomAttributesSummary(final String customOverrides) {
+        final String FUNC = "setCustomAttributesSummary()";
         Preference customOverridesPref =
             (Preference)findPreference(
                     getString(R.string.pref_customOverrides_key));
-
-        // Set the summary with the value
-        String customOverrides =
-            m_sharedPreferences.getString(
-                    getString(R.string.pref_customOverrides_key), "");
         if (customOverrides.isEmpty()) {
             Log.i(getLogCategory(), getLogPrefix(FUNC) +
                   "The list of custom attributes is empty");
@@ -360,4 +463,10 @@ public abstract class PrefsFragment extends PreferenceFragmentCompat
      */
     private SharedPreferences   m_sharedPreferences;
 
+    /**
+     * @brief The measured PBKDF2 throughput of this device,
+     *        in iterations per second; 0 until measured.
+     */
+    private long                m_iterationsPerSecond = 0;
+
 }
@@ -15,6 +15,7 @@ package io.tengentoppa.yggdrasil;
 import android.app.AlertDialog;
 import android.app.Dialog;
 import android.app.DialogFragment;
+import android.app.ProgressDialog;
 import android.content.Context;
 import android.content.DialogInterface;
 import android.content.Intent;
@@ -29,24 +30,26 @@ import android.preference.PreferenceManager;
 import android.support.v4.app.ActivityCompat;
 import android.support.v4.content.ContextCompat;
 import android.support.v7.app.AppCompatActivity;
+import android.util.JsonReader;
 import android.util.Log;
 import android.widget.Toast;
 
 // Standard Java
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileOutputStream;
+import java.io.FileInputStream;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.lang.RuntimeException;
-import java.lang.StringBuilder;
-
-// JSON
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class PrefsHandler implements
         ActivityCompat.OnRequestPermissionsResultCallback {
@@ -64,7 +67,7 @@ public class PrefsHandler implements
     // PUBLIC METHODS
 
     /**
-     * @summary Function to export settings to a JSON file
+     * @summary Function to export settings to a JSON or binary file
      * @return  Does not return a value
      */
     public void exportSettings() {
@@ -87,96 +90,23 @@ public class PrefsHandler implements
             return;
         }
 
-        // Create a JSON object from the SharedPreferences
-        JSONObject outputPrefs = constructSchema();
-        if (null == outputPrefs) {
-            Log.e(getLogCategory(), getLogPrefix(FUNC) +
-                  "ERROR: Schema.Construction.FAILURE");
-            Toast.makeText(m_activity.getApplicationContext(),
-                           EXPORT_SETTINGS_ERROR,
-                           Toast.LENGTH_SHORT).show();
-            return;
-        }
-
-        Log.e(getLogCategory(), getLogPrefix(FUNC) +
-              "outputPrefs='" + outputPrefs.toString() + "'");
-
-        // Obtain a file handle for output in the external storage;
-        // this is necessary since the user must be able to access
-        // the output file
-        String state = Environment.getExternalStorageState();
-        if (!Environment.MEDIA_MOUNTED.equals(state)) {
-            Log.e(getLogCategory(), getLogPrefix(FUNC) +
-                  "ERROR: External.Storage.NOT_MOUNTED");
-            Toast.makeText(m_activity.getApplicationContext(),
-                           EXTERNAL_STORAGE_ERROR,
-                           Toast.LENGTH_SHORT).show();
-            return;
-        }
-
-        // Get the directory for output
-        File outputDir =
-            new File(Environment.getExternalStoragePublicDirectory(
-                        Environment.DIRECTORY_DOCUMENTS),
-                     OUTPUT_DIRECTORY_NAME);
-
-        // Check if it already exists, and if it does, is a directory;
-        // create it if it does not exist
-        if (!outputDir.exists()) {
-            if (!outputDir.mkdirs()) {
-                Log.e(getLogCategory(), getLogPrefix(FUNC) +
-                      "ERROR: Directory.Creation.Failure");
-                Toast.makeText(m_activity.getApplicationContext(),
-                               EXPORT_SETTINGS_ERROR,
-                               Toast.LENGTH_SHORT).show();
-                return;
-            }
-        } else if (!outputDir.isDirectory()) {
-            Log.e(getLogCategory(), getLogPrefix(FUNC) +
-                  "ERROR: File.Exists.InPlaceOf.Directory");
-            Toast.makeText(m_activity.getApplicationContext(),
-                           DOPPELGANGER_FILE_ERROR,
-                           Toast.LENGTH_SHORT).show();
-            return;
-        }
-
-        // Write the JSON object to the file
-        FileOutputStream outputStream = null;
-        try {
-            File outputFile = new File(outputDir,
-                                       OUTPUT_PREFERENCES_FILENAME);
-            outputStream = new FileOutputStream(outputFile);
-            outputStream.write(
-                    outputPrefs.toString(JSON_INDENT_FACTOR).getBytes());
-        } catch (IOException | JSONException e) {
-            // IOException is a superclass of FileNotFoundException,
-            // and will catch that as well.
-            Log.e(getLogCategory(), getLogPrefix(FUNC) +
-                  "ERROR: Caught " + e);
-            Toast.makeText(m_activity.getApplicationContext(),
-                           EXPORT_SETTINGS_ERROR,
-                           Toast.LENGTH_SHORT).show();
-            e.printStackTrace();
-            return;
-        } finally {
-            try {
-                outputStream.close();
-            } catch (IOException e) {
-                Log.e(getLogCategory(), getLogPrefix(FUNC) +
-                      "ERROR: Memory Leak! Could not close FileOutputStream." +
-                      " Caught " + e);
-                e.printStackTrace();
-                // No need to return
-            }
-        }
-
-        Toast.makeText(m_activity.getApplicationContext(),
-                       EXPORT_SETTINGS_MESSAGE,
-                       Toast.LENGTH_SHORT).show();
+        // Offer the formats: the JSON schema, or the compact binary one,
+        // which is quicker with many custom overrides
+        new AlertDialog.Builder(m_activity)
+            .setTitle(EXPORT_FORMAT_TITLE)
+            .setItems(EXPORT_FORMATS,
+                      new DialogInterface.OnClickListener() {
+                          @Override
+                          public void onClick(DialogInterface dialog,
+                                              int which) {
+                              exportSettings(EXPORT_FORMAT_BINARY == which);
+                          }
+                      })
+            .show();
     }
 
     /**
-     * @summary Function to import settings from a JSON file
+     * @summary Function to import settings from a JSON or binary file
      * @return  Does not return a value
      */
     public void importSettings() {
@@ -188,11 +118,14 @@ public class PrefsHandler implements
         Intent intent = new Intent(Intent.ACTION_GET_CONTENT);
         // Filter to only show results that can be "opened"
         intent.addCategory(Intent.CATEGORY_OPENABLE);
-        // Filter to only show json files
+        // Filter to only show json and binary settings files
         // TODO: This filter does not seem to have any effect with
         // the ACTION_GET_CONTENT Intent type as opposed to the
         // ACTION_OPEN_DOCUMENT intent
-        intent.setType("application/json");
+        intent.setType("*/*");
+        intent.putExtra(Intent.EXTRA_MIME_TYPES,
+                        new String[] { "application/json",
+                                       "application/octet-stream" });
 
         // Start the activity
         Log.i(getLogCategory(), getLogPrefix(FUNC) +
@@ -202,7 +135,7 @@ public class PrefsHandler implements
         // since the user may prefer a different one each time.
         Intent fileChooser =
             intent.createChooser(intent,
-                                 "Select the JSON preferences file...");
+                                 "Select the preferences file...");
         // Check if the intent resolves to any activities,
         // and start it if it does.
         if (null != intent.resolveActivity(m_activity.getPackageManager())) {
@@ -278,8 +211,22 @@ public class PrefsHandler implements
         "gobbledygook";
     private static final String OUTPUT_PREFERENCES_FILENAME             =
         "gobbledygook.json";
-    private static final int JSON_INDENT_FACTOR                         =
-        8;
+    private static final String OUTPUT_BINARY_PREFERENCES_FILENAME      =
+        "gobbledygook.ygg";
+    private static final int    MAX_SETTINGS_FILE_LENGTH                =
+        64 << 20;
+
+    // Export formats, as offered
+    private static final String EXPORT_FORMAT_TITLE                     =
+        "Export settings as...";
+    private static final String[] EXPORT_FORMATS                        = {
+        "JSON (readable)",
+        "Binary (compact, for many sites)"
+    };
+    private static final int    EXPORT_FORMAT_BINARY                    =
+        1;
+    private static final int    EXPORT_PROGRESS_THRESHOLD               =
+        SettingsExporter.PROGRESS_INTERVAL * 4;
 
     // Toast messages
     private static final String DOPPELGANGER_FILE_ERROR                 =
@@ -291,6 +238,12 @@ public class PrefsHandler implements
         "Successfully exported settings to file " +
         OUTPUT_PREFERENCES_FILENAME + " in the Documents/" +
         OUTPUT_DIRECTORY_NAME + " folder";
+    private static final String EXPORT_BINARY_SETTINGS_MESSAGE          =
+        "Successfully exported settings to file " +
+        OUTPUT_BINARY_PREFERENCES_FILENAME + " in the Documents/" +
+        OUTPUT_DIRECTORY_NAME + " folder";
+    private static final String EXPORT_SETTINGS_PROGRESS_MESSAGE        =
+        "Exporting settings...";
     private static final String EXPORT_SETTINGS_ERROR                   =
         "ERROR exporting settings to file :(";
     private static final String EXTERNAL_STORAGE_ERROR                  =
@@ -342,223 +295,365 @@ public class PrefsHandler implements
     }
 
     /**
-     * @summary 
-     * @return  
+     * @summary Method to import the settings from the file selected,
+     *          off the UI thread, streaming it; the settings are only
+     *          applied once the whole file has been found valid.
+     * @return  Does not return a value
      */
-    private void onSettingsFileSelection(Uri uri) {
+    private void onSettingsFileSelection(final Uri uri) {
         final String FUNC = "onSettingsFileSelection(): ";
         Log.i(getLogCategory(), getLogPrefix(FUNC) +
-              "Parsing JSON file, uri='" + uri.toString() + "'");
+              "Importing settings, uri='" + uri.toString() + "'");
+
+        s_executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final boolean imported = importSettings(uri);
+                m_activity.runOnUiThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        Toast.makeText(m_activity.getApplicationContext(),
+                                       (imported ?
+                                        IMPORT_SETTINGS_MESSAGE :
+                                        IMPORT_SETTINGS_ERROR),
+                                       Toast.LENGTH_SHORT).show();
+                    }
+                });
+            }
+        });
+    }
 
-        // Read the uri into a string
+    /**
+     * @summary Method to import the settings from a file, with the
+     *          overrides streamed into an import of the overrides index.
+     *          Called off the UI thread.
+     * @return  {boolean} Whether the settings were imported.
+     */
+    private boolean importSettings(final Uri uri) {
+        final String FUNC = "importSettings(): ";
+        final Context context = m_activity.getApplicationContext();
+        SharedPreferences sharedPrefs =
+            PreferenceManager.getDefaultSharedPreferences(context);
+
+        // The import replaces the overrides in the index, which the
+        // activity opens
+        OverridesIndex.Import overrides =
+            OverridesIndex.getInstance().beginImport();
+
+        SettingsCodec.Settings settings = null;
         InputStream inputStream = null;
-        String line = null;
-        BufferedReader bufferedFileReader = null;
-        StringBuilder preferencesFileBuffer = new StringBuilder();
+        JsonReader reader = null;
         try {
-            inputStream =
-                m_activity.getContentResolver().openInputStream(uri);
-            bufferedFileReader =
-                new BufferedReader(new InputStreamReader(inputStream));
-            while (null != (line = bufferedFileReader.readLine())) {
-                preferencesFileBuffer.append(line + "\n");
+            inputStream = context.getContentResolver().openInputStream(uri);
+            if (null == inputStream) {
+                throw new IOException("File.Not.Found");
+            }
+            // Tell the formats apart by the magic number of the binary one
+            BufferedInputStream input = new BufferedInputStream(inputStream);
+            ByteBuffer encodedSettings =
+                readEncodedSettings(inputStream, input);
+            if (null != encodedSettings) {
+                settings = SettingsCodec.decode(encodedSettings, overrides);
+            } else {
+                reader = new JsonReader(
+                             new BufferedReader(
+                                 new InputStreamReader(input, "UTF-8")));
+                settings =
+                    new SettingsImporter(context).read(reader, overrides);
             }
         } catch (IOException e) {
-            Log.i(getLogCategory(), getLogPrefix(FUNC) +
+            // Never the contents, which include the salt key
+            Log.e(getLogCategory(), getLogPrefix(FUNC) +
                   "ERROR: Caught " + e);
-            Toast.makeText(m_activity.getApplicationContext(),
-                           IMPORT_SETTINGS_ERROR,
-                           Toast.LENGTH_SHORT).show();
-            e.printStackTrace();
-            return;
+            return false;
         } finally {
-            if (null != bufferedFileReader) {
+            if (null != reader) {
                 try {
-                    bufferedFileReader.close();
+                    reader.close();
                 } catch (IOException e) {
                     Log.i(getLogCategory(), getLogPrefix(FUNC) +
                           "ERROR: Memory Leak! " +
-                          "Couldn't close BufferedReader; " +
+                          "Couldn't close JsonReader; " +
                           "uri='" + uri.toString() + "', Caught " + e);
-                    e.printStackTrace();
                     // No need to return empty-handed here
                 }
+            } else if (null != inputStream) {
+                try {
+                    inputStream.close();
+                } catch (IOException e) {
+                    Log.i(getLogCategory(), getLogPrefix(FUNC) +
+                          "ERROR: Memory Leak! " +
+                          "Couldn't close InputStream; " +
+                          "uri='" + uri.toString() + "', Caught " + e);
+                }
             }
         }
 
-        // Parse the JSON string and set the preferences
-        try {
-            JSONObject schema =
-                new JSONObject(preferencesFileBuffer.toString());
-            JSONObject inputPrefs =
-                this.validateAndReturnPreferences(schema);
+        // Apply the settings, and replace the overrides, in the log,
+        // or failing that, in the preference
+        SharedPreferences.Editor preferenceEditor = sharedPrefs.edit();
+        preferenceEditor.putString(
+                getString(R.string.pref_saltKey_key),
+                settings.saltKey());
+        preferenceEditor.putString(
+                getString(R.string.pref_defaultIterations_key),
+                settings.defaultIterations());
+        preferenceEditor.apply();
+        overrides.commit();
+
+        Log.i(getLogCategory(), getLogPrefix(FUNC) +
+              "Imported " + overrides.size() + " overrides");
+        return true;
+    }
+
+    /**
+     * @summary Method to read the settings in the binary format, if the
+     *          file is in it: mapped in place if a local file, read in
+     *          otherwise. The buffered stream is left at the start, for
+     *          reading JSON otherwise.
+     * @return  {ByteBuffer} The encoded settings; null if not binary.
+     */
+    private static ByteBuffer readEncodedSettings(
+            final InputStream inputStream,
+            final BufferedInputStream input)
+        throws IOException {
+        FileChannel channel = null;
+        long start = 0;
+        if (inputStream instanceof FileInputStream) {
+            try {
+                channel = ((FileInputStream)inputStream).getChannel();
+                start = channel.position();
+            } catch (IOException e) {
+                // Not a regular file, e.g., a pipe
+                channel = null;
+            }
+        }
+
+        // Peek at the magic number
+        byte[] magic = new byte[4];
+        input.mark(magic.length);
+        int length = 0;
+        while (length < magic.length) {
+            final int read =
+                input.read(magic, length, magic.length - length);
+            if (read <= 0) {
+                break;
+            }
+            length += read;
+        }
+        input.reset();
+        if ((length < magic.length) ||
+            !SettingsCodec.isEncoded(ByteBuffer.wrap(magic))) {
+            return null;
+        }
+
+        if (null != channel) {
+            try {
+                return channel.map(FileChannel.MapMode.READ_ONLY,
+                                   start,
+                                   channel.size() - start);
+            } catch (IOException e) {
+                // Not a regular file, e.g., a pipe; read it in below
+            }
+        }
+        byte[] contents = new byte[8192];
+        length = 0;
+        int read;
+        while ((read = input.read(contents,
+                                  length,
+                                  contents.length - length)) > 0) {
+            length += read;
+            if (length == contents.length) {
+                if (length >= MAX_SETTINGS_FILE_LENGTH) {
+                    throw new IOException("File.Too.Large");
+                }
+                contents = Arrays.copyOf(contents, length * 2);
+            }
+        }
+        return ByteBuffer.wrap(contents, 0, length).slice();
+    }
+
+    /**
+     * @summary Method to export the settings, in the format chosen, to
+     *          a file in the external storage.
+     * @return  Does not return a value
+     */
+    private void exportSettings(final boolean binary) {
+        final String FUNC = "exportSettings(): ";
 
-            if (null == inputPrefs) {
+        // Obtain a file handle for output in the external storage;
+        // this is necessary since the user must be able to access
+        // the output file
+        String state = Environment.getExternalStorageState();
+        if (!Environment.MEDIA_MOUNTED.equals(state)) {
+            Log.e(getLogCategory(), getLogPrefix(FUNC) +
+                  "ERROR: External.Storage.NOT_MOUNTED");
+            Toast.makeText(m_activity.getApplicationContext(),
+                           EXTERNAL_STORAGE_ERROR,
+                           Toast.LENGTH_SHORT).show();
+            return;
+        }
+
+        // Get the directory for output
+        File outputDir =
+            new File(Environment.getExternalStoragePublicDirectory(
+                        Environment.DIRECTORY_DOCUMENTS),
+                     OUTPUT_DIRECTORY_NAME);
+
+        // Check if it already exists, and if it does, is a directory;
+        // create it if it does not exist
+        if (!outputDir.exists()) {
+            if (!outputDir.mkdirs()) {
+                Log.e(getLogCategory(), getLogPrefix(FUNC) +
+                      "ERROR: Directory.Creation.Failure");
                 Toast.makeText(m_activity.getApplicationContext(),
-                               IMPORT_SETTINGS_ERROR,
+                               EXPORT_SETTINGS_ERROR,
                                Toast.LENGTH_SHORT).show();
                 return;
             }
-
-            // Get a handle to the default shared preferences
-            // and the corresponding editor
-            SharedPreferences sharedPrefs =
-                PreferenceManager.getDefaultSharedPreferences(
-                                        m_activity.getApplicationContext());
-            SharedPreferences.Editor preferenceEditor = sharedPrefs.edit();
-
-            preferenceEditor.putString(
-                    getString(R.string.pref_saltKey_key),
-                    inputPrefs.getString(
-                        getString(R.string.pref_saltKey_key)));
-            preferenceEditor.putString(
-                    getString(R.string.pref_defaultIterations_key),
-                    inputPrefs.getString(
-                        getString(R.string.pref_defaultIterations_key)));
-            preferenceEditor.putString(
-                    getString(R.string.pref_customOverrides_key),
-                    inputPrefs.getString(
-                        getString(R.string.pref_customOverrides_key)));
-
-            // Commit the changes
-            preferenceEditor.apply();
-        } catch (JSONException e) {
-            Log.i(getLogCategory(), getLogPrefix(FUNC) +
-                  "ERROR: Malformed JSON! " +
-                  "JSON='" + preferencesFileBuffer.toString() + "', " +
-                  "Caught " + e);
+        } else if (!outputDir.isDirectory()) {
+            Log.e(getLogCategory(), getLogPrefix(FUNC) +
+                  "ERROR: File.Exists.InPlaceOf.Directory");
             Toast.makeText(m_activity.getApplicationContext(),
-                           IMPORT_SETTINGS_ERROR,
+                           DOPPELGANGER_FILE_ERROR,
                            Toast.LENGTH_SHORT).show();
-            e.printStackTrace();
             return;
         }
 
-        Toast.makeText(m_activity.getApplicationContext(),
-                       IMPORT_SETTINGS_MESSAGE,
-                       Toast.LENGTH_SHORT).show();
+        // Write the settings off the UI thread, streaming them into
+        // the file, and report back on it
+        final File outputFile =
+            new File(outputDir,
+                     (binary ?
+                      OUTPUT_BINARY_PREFERENCES_FILENAME :
+                      OUTPUT_PREFERENCES_FILENAME));
+        s_executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final boolean exported =
+                    exportSettings(outputFile, binary);
+                m_activity.runOnUiThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        dismissExportProgress();
+                        Toast.makeText(m_activity.getApplicationContext(),
+                                       (!exported ?
+                                        EXPORT_SETTINGS_ERROR :
+                                        binary ?
+                                        EXPORT_BINARY_SETTINGS_MESSAGE :
+                                        EXPORT_SETTINGS_MESSAGE),
+                                       Toast.LENGTH_SHORT).show();
+                    }
+                });
+            }
+        });
     }
 
     /**
-     * @summary A method to construct a schema object for exporting
-     *          to a file.
-     * @return  {JSONObject} The constructed schema.
+     * @summary Method to export the settings to a file, streaming the
+     *          overrides, with the progress shown for large sets, or
+     *          encoding them in the binary format.
+     *          Called off the UI thread.
+     * @return  {boolean} Whether the settings were exported.
      */
-    private JSONObject constructSchema() {
-        final String FUNC = "constructSchema(): ";
-
-        JSONObject outputSchema = new JSONObject();
-        // Obtain a handle to the Shared Preferences in the system.
+    private boolean exportSettings(final File outputFile,
+                                   final boolean binary) {
+        final String FUNC = "exportSettings(): ";
+        final Context context = m_activity.getApplicationContext();
         SharedPreferences sharedPrefs =
-            PreferenceManager.getDefaultSharedPreferences(
-                                    m_activity.getApplicationContext());
+            PreferenceManager.getDefaultSharedPreferences(context);
 
+        // Custom website attribute list, as saved in the log, or
+        // imported into it, once the activity has opened the index
+        OverridesIndex overridesIndex = OverridesIndex.getInstance();
         try {
-            // Construct the preferences for the profile
-            JSONObject profileSettings = new JSONObject();
-            // Salt key; blank on empty retrieval
-            profileSettings.put(
-                    getString(R.string.pref_saltKey_key),
-                    sharedPrefs.getString(
-                        getString(R.string.pref_saltKey_key),
-                        ""));
-            // Default iterations; the iterations "hint"
-            // (which was the default value) on empty retrieval
-            profileSettings.put(
-                    getString(R.string.pref_defaultIterations_key),
-                    sharedPrefs.getString(
-                        getString(R.string.pref_defaultIterations_key),
-                        getString(R.string.hint_iterations)));
-            // Custom website attribute list; blank on empty retrieval
-            profileSettings.put(
-                    getString(R.string.pref_customOverrides_key),
-                    sharedPrefs.getString(
-                        getString(R.string.pref_customOverrides_key),
-                        ""));
-
-            // Construct the profile itself.
-            JSONObject defaultProfile = new JSONObject();
-            defaultProfile.put(
-                    getString(R.string.schema_profile_name_key),
-                    getString(R.string.schema_default_profile_name));
-            defaultProfile.put(
-                    getString(R.string.schema_profile_settings_key),
-                    profileSettings);
-
-            // Put the profile into an array
-            JSONArray profiles = new JSONArray();
-            profiles.put(defaultProfile);
-
-            // Put the array into the profiles
-            outputSchema.put(
-                    getString(R.string.schema_profiles_key),
-                    profiles);
-
-            return outputSchema;
-        } catch (JSONException e) {
+            overridesIndex.await();
+        } catch (InterruptedException e) {
             Log.e(getLogCategory(), getLogPrefix(FUNC) +
                   "ERROR: Caught " + e);
-            e.printStackTrace();
-            return null;
+            return false;
+        }
+        final Map<String, ImmutableAttributes> overrides =
+            overridesIndex.getOverrides();
+
+        SettingsExporter.Listener listener = null;
+        if (!binary && (overrides.size() >= EXPORT_PROGRESS_THRESHOLD)) {
+            listener = new SettingsExporter.Listener() {
+                @Override
+                public void onProgress(final float fraction) {
+                    m_activity.runOnUiThread(new Runnable() {
+                        @Override
+                        public void run() {
+                            showExportProgress(fraction);
+                        }
+                    });
+                }
+            };
         }
-    }
-
-    /**
-     * @summary A method to validate if an input schema object
-     *          is valid.
-     * @param   {JSONObject} A schema object.
-     * @return  {JSONObject} The preferences section of the schema
-     */
-    private JSONObject validateAndReturnPreferences(final JSONObject schema) {
-        final String FUNC = "validateAndReturnPreferences(): ";
 
+        // Salt key; blank on empty retrieval
+        final String saltKey =
+            sharedPrefs.getString(getString(R.string.pref_saltKey_key), "");
+        // Default iterations; the iterations "hint"
+        // (which was the default value) on empty retrieval
+        final String defaultIterations =
+            sharedPrefs.getString(
+                getString(R.string.pref_defaultIterations_key),
+                getString(R.string.hint_iterations));
         try {
-            JSONArray profiles = schema.getJSONArray(
-                    getString(R.string.schema_profiles_key));
-            if (1 != profiles.length()) {
-                Log.e(getLogCategory(), getLogPrefix(FUNC) +
-                      "ERROR: JSON.Malformed, " +
-                      "Too.Many.Profiles, Time.Travel.Anomaly, " +
-                      "JSON='" + schema);
-                return null;
+            SettingsExporter exporter = new SettingsExporter(context);
+            if (binary) {
+                exporter.exportBinary(outputFile,
+                                      saltKey,
+                                      defaultIterations,
+                                      overrides);
+            } else {
+                exporter.export(outputFile,
+                                saltKey,
+                                defaultIterations,
+                                overrides,
+                                listener);
             }
-            JSONObject defaultProfile = (JSONObject)(profiles.get(0));
+        } catch (IOException e) {
+            // Never the contents, which include the salt key
+            Log.e(getLogCategory(), getLogPrefix(FUNC) +
+                  "ERROR: Caught " + e);
+            return false;
+        }
 
-            if (!(defaultProfile.has(
-                            getString(R.string.schema_profile_name_key)) &&
-                  defaultProfile.has(
-                            getString(R.string.schema_profile_settings_key)) &&
-                  (2 == defaultProfile.length()))) {
-                Log.e(getLogCategory(), getLogPrefix(FUNC) +
-                      "ERROR: JSON.Malformed, " +
-                      "Bad.Profile, " +
-                      "JSON='" + schema);
-                return null;
-            }
-            JSONObject profileSettings = (JSONObject)defaultProfile.get(
-                    getString(R.string.schema_profile_settings_key));
-
-            if (!(profileSettings.has(
-                        getString(R.string.pref_saltKey_key)) &&
-                  profileSettings.has(
-                        getString(R.string.pref_defaultIterations_key)) &&
-                  profileSettings.has(
-                        getString(R.string.pref_customOverrides_key)) &&
-                  (3 == profileSettings.length()))) {
-                Log.e(getLogCategory(), getLogPrefix(FUNC) +
-                      "ERROR: JSON.Malformed, " +
-                      "Bad.Profile.Settings, " +
-                      "JSON='" + schema);
-                return null;
-            }
+        Log.i(getLogCategory(), getLogPrefix(FUNC) +
+              "Exported " + overrides.size() + " overrides");
+        return true;
+    }
 
-            return profileSettings;
-        } catch (JSONException e) {
-            Log.e(getLogCategory(), getLogPrefix(FUNC) +
-                  "ERROR: JSON.Malformed, " +
-                  "JSON='" + schema);
-            e.printStackTrace();
-            return null;
+    /**
+     * @summary Method to show the progress of the export, in a dialog
+     *          shown upon the first report.
+     *          Called on the UI thread.
+     * @return  Does not return a value
+     */
+    private void showExportProgress(final float fraction) {
+        if (null == m_exportProgress) {
+            m_exportProgress = new ProgressDialog(m_activity);
+            m_exportProgress.setProgressStyle(
+                ProgressDialog.STYLE_HORIZONTAL);
+            m_exportProgress.setMessage(EXPORT_SETTINGS_PROGRESS_MESSAGE);
+            m_exportProgress.setCancelable(false);
+            m_exportProgress.show();
+        }
+        m_exportProgress.setProgress(
+            (int)(fraction * m_exportProgress.getMax()));
+    }
+
+    /**
+     * @summary Method to dismiss the progress of the export, if shown.
+     *          Called on the UI thread.
+     * @return  Does not return a value
+     */
+    private void dismissExportProgress() {
+        if (null != m_exportProgress) {
+            m_exportProgress.dismiss();
+            m_exportProgress = null;
         }
     }
 
@@ -572,6 +667,18 @@ public class PrefsHandler implements
     private String              m_logCategory;  /**
                                                   * @brief The log category.
                                                   */
+    private ProgressDialog      m_exportProgress;
+                                                /**
+                                                  * @brief The progress of
+                                                  *        a large export;
+                                                  *        null if none.
+                                                  */
+    private static final ExecutorService s_executor =
+        Executors.newSingleThreadExecutor();    /**
+                                                  * @brief The thread which
+                                                  *        imports and
+                                                  *        exports settings.
+                                                  */
 
     // --------------------------------------------------------------------
     // INNER CLASSES
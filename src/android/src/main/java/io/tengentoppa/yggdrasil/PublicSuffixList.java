@@ -0,0 +1,539 @@
+/**
+ * @file        PublicSuffixList.java
+ * @summary     Source file for the PublicSuffixList class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * @summary The Public Suffix List, as the trie compiled at build time by
+ *          PublicSuffixCompiler, and read in place, e.g., from a mapped
+ *          asset; along with a scanner of URLs for their host, and its
+ *          registrable domain, i.e., its public suffix and one more
+ *          label, as "google.co.uk" for "https://accounts.google.co.uk/".
+ *          The scans and lookups work on the URL itself, and only
+ *          allocate the string they return.
+ *          The app-wide list is loaded lazily, upon first use, by the
+ *          Loader set at startup, or else from the classpath; failing
+ *          both, it is empty, and only the default rule, "*", applies.
+ */
+public final class PublicSuffixList {
+
+    // ====================================================================
+    // PUBLIC METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    // The name of the compiled list, as an asset or resource
+    public static final String  FILENAME        = "public_suffix_list.bin";
+
+    // --------------------------------------------------------------------
+    // CONSTRUCTORS
+
+    /**
+     * @summary The constructor, over a compiled list.
+     * @return  Does not even.
+     * @throws  IOException if the buffer does not hold a compiled list.
+     */
+    public PublicSuffixList(final ByteBuffer trie) throws IOException {
+        if ((trie.limit() < HEADER_LENGTH) ||
+            (MAGIC != trie.getInt(0)) ||
+            (VERSION != trie.getInt(4))) {
+            throw new IOException("PublicSuffixList.Format.Invalid");
+        }
+        final int nodeCount = trie.getInt(8);
+        final int labelsOffset = trie.getInt(12);
+        if ((nodeCount < 1) ||
+            (labelsOffset != HEADER_LENGTH + (NODE_LENGTH * nodeCount)) ||
+            (labelsOffset > trie.limit())) {
+            throw new IOException("PublicSuffixList.Format.Invalid");
+        }
+        m_trie = trie;
+        m_labelsOffset = labelsOffset;
+    }
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to set how the app-wide list is loaded, before its
+     *          first use; e.g., by mapping the asset.
+     * @return  Does not return a value.
+     */
+    public static void setLoader(final Loader loader) {
+        s_loader = loader;
+    }
+
+    /**
+     * @summary Method to get the app-wide list, loading it if need be.
+     * @return  {PublicSuffixList} The list.
+     */
+    public static PublicSuffixList getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * @summary Method to extract the registrable domain of the host of
+     *          a URL, or of a bare host; e.g., "google.co.uk" for
+     *          "https://accounts.google.co.uk/signin".
+     * @return  {String} The registrable domain, lower case; the host
+     *          itself if it is an IP address, or a public suffix, or a
+     *          single label; empty if there is no host.
+     */
+    public String getRegistrableDomain(final String url) {
+        if (null == url) {
+            return "";
+        }
+        final long host = scanHost(url);
+        final int hostStart = (int)(host >>> 32);
+        final int hostEnd = (int)host;
+        if (hostStart == hostEnd) {
+            return "";
+        }
+
+        int start = hostStart;
+        if (!isIpAddress(url, hostStart, hostEnd)) {
+            final int registrableStart =
+                getRegistrableStart(url, hostStart, hostEnd);
+            if (registrableStart >= 0) {
+                start = registrableStart;
+            }
+        }
+        return toLowerCase(url, start, hostEnd);
+    }
+
+    /**
+     * @summary Method to extract the host of a URL, or of a bare host.
+     * @return  {String} The host, lower case; empty if there is none.
+     */
+    public static String getHost(final String url) {
+        if (null == url) {
+            return "";
+        }
+        final long host = scanHost(url);
+        return toLowerCase(url, (int)(host >>> 32), (int)host);
+    }
+
+    /**
+     * @summary Method to check whether a query, such as "gnu.org", or
+     *          "mail.google.com/inbox", looks like the address of a site,
+     *          i.e., whether it is a host name with at least two labels,
+     *          and ends in a listed public suffix, rather than the
+     *          default rule's.
+     * @return  {boolean} True or False.
+     */
+    public boolean isSiteAddress(final String query) {
+        final long host = scanHost(query);
+        final int hostStart = (int)(host >>> 32);
+        final int hostEnd = (int)host;
+        if ((hostStart == hostEnd) ||
+            (labelStart(query, hostStart, hostEnd) == hostStart)) {
+            return false;
+        }
+        for (int i = hostStart; i < hostEnd; ++i) {
+            final char c = query.charAt(i);
+            if (!(Character.isLetterOrDigit(c) || ('-' == c) ||
+                  ('.' == c))) {
+                return false;
+            }
+        }
+        return (getRegistrableStart(query, hostStart, hostEnd) >= 0) &&
+               (findChild(0, query, labelStart(query, hostStart, hostEnd),
+                          hostEnd) >= 0);
+    }
+
+    /**
+     * @summary Method to check whether the host of a URL is itself a
+     *          registrable domain, under a suffix of the ICANN section
+     *          of the list, such as "gnu.org" or "bbc.co.uk"; rather than
+     *          a subdomain, or a site under a hosting platform's suffix,
+     *          such as "user.github.io".
+     * @return  {boolean} True or False.
+     */
+    public boolean isBareDomain(final String url) {
+        if (null == url) {
+            return false;
+        }
+        final long host = scanHost(url);
+        final int hostStart = (int)(host >>> 32);
+        final int hostEnd = (int)host;
+        if ((hostStart == hostEnd) ||
+            isIpAddress(url, hostStart, hostEnd) ||
+            (getRegistrableStart(url, hostStart, hostEnd) != hostStart)) {
+            return false;
+        }
+
+        // Find the rule which matched the suffix, i.e., the last one
+        // along it
+        final int suffixStart = url.indexOf('.', hostStart) + 1;
+        boolean isPrivate = false;
+        int node = 0;
+        int end = hostEnd;
+        while (end > suffixStart) {
+            final int start = labelStart(url, suffixStart, end);
+            final int child = findChild(node, url, start, end);
+            if (child < 0) {
+                break;
+            }
+            node = child;
+            end = ((start > suffixStart) ? (start - 1) : suffixStart);
+
+            final int flags = m_trie.get(nodeOffset(node) + 5);
+            if (0 != (flags & (FLAG_RULE | FLAG_WILDCARD))) {
+                isPrivate = (0 != (flags & FLAG_PRIVATE));
+            }
+        }
+        return !isPrivate;
+    }
+
+    /**
+     * @summary Method to find where the registrable domain of a host
+     *          begins, as per the rules of the list: the longest
+     *          matching rule is the public suffix, a wildcard matches
+     *          any one label, and an exception excludes a label from its
+     *          wildcard; with "*" as the default rule.
+     * @return  {int} The index in the string; -1 if the host is itself a
+     *          public suffix.
+     */
+    public int getRegistrableStart(final CharSequence s,
+                                   final int hostStart,
+                                   final int hostEnd) {
+        // The default rule: the last label is a public suffix
+        int suffixStart = labelStart(s, hostStart, hostEnd);
+        int node = 0;
+        // [hostStart, end) remains to be matched
+        int end = hostEnd;
+        while (end > hostStart) {
+            final int start = labelStart(s, hostStart, end);
+            final int child = findChild(node, s, start, end);
+            if (child < 0) {
+                break;
+            }
+            node = child;
+            end = ((start > hostStart) ? (start - 1) : hostStart);
+
+            final int flags = m_trie.get(nodeOffset(node) + 5);
+            if (0 != (flags & FLAG_RULE)) {
+                suffixStart = start;
+            }
+            if ((0 != (flags & FLAG_WILDCARD)) && (end > hostStart)) {
+                final int nextStart = labelStart(s, hostStart, end);
+                final int exception = findChild(node, s, nextStart, end);
+                if ((exception < 0) ||
+                    (0 == (m_trie.get(nodeOffset(exception) + 5) &
+                           FLAG_EXCEPTION))) {
+                    suffixStart = nextStart;
+                } else {
+                    suffixStart = start;
+                    break;
+                }
+            }
+        }
+
+        if (suffixStart <= hostStart) {
+            return -1;
+        }
+        return labelStart(s, hostStart, suffixStart - 1);
+    }
+
+    // --------------------------------------------------------------------
+    // INTERFACES
+
+    /**
+     * @summary The means of loading the compiled list.
+     */
+    public interface Loader {
+
+        /**
+         * @summary Method to load the compiled list.
+         * @return  {ByteBuffer} The list.
+         */
+        ByteBuffer load() throws IOException;
+    }
+
+    // ====================================================================
+    // PRIVATE METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    private static final String LOG_CATEGORY    = "YGGDRASIL.PSL";
+
+    // The format, as PublicSuffixCompiler writes it
+    private static final int    MAGIC           = 0x5950534c; // "YPSL"
+    private static final int    VERSION         = 1;
+    private static final int    HEADER_LENGTH   = 16;
+    private static final int    NODE_LENGTH     = 12;
+
+    private static final int    FLAG_RULE       = 0x01;
+    private static final int    FLAG_WILDCARD   = 0x02;
+    private static final int    FLAG_EXCEPTION  = 0x04;
+    private static final int    FLAG_PRIVATE    = 0x08;
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to load the app-wide list.
+     * @return  {PublicSuffixList} The list; empty if it cannot be loaded.
+     */
+    private static PublicSuffixList load() {
+        try {
+            final Loader loader = s_loader;
+            ByteBuffer trie =
+                ((null != loader) ? loader.load() : loadResource());
+            if (null != trie) {
+                return new PublicSuffixList(trie);
+            }
+            Logger.e(LOG_CATEGORY, "ERROR: " + FILENAME + " not found");
+        } catch (IOException e) {
+            Logger.e(LOG_CATEGORY, "ERROR: Caught " + e);
+            e.printStackTrace();
+        }
+
+        // Just the root
+        ByteBuffer empty = ByteBuffer.allocate(HEADER_LENGTH + NODE_LENGTH);
+        empty.putInt(MAGIC).putInt(VERSION).putInt(1)
+             .putInt(HEADER_LENGTH + NODE_LENGTH);
+        try {
+            return new PublicSuffixList(empty);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @summary Method to read the compiled list from the classpath.
+     * @return  {ByteBuffer} The list; null if not found.
+     */
+    private static ByteBuffer loadResource() throws IOException {
+        InputStream input =
+            PublicSuffixList.class.getClassLoader()
+                                  .getResourceAsStream(FILENAME);
+        if (null == input) {
+            return null;
+        }
+        try {
+            ByteArrayOutputStream contents = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int count;
+            while ((count = input.read(buffer)) > 0) {
+                contents.write(buffer, 0, count);
+            }
+            return ByteBuffer.wrap(contents.toByteArray());
+        } finally {
+            input.close();
+        }
+    }
+
+    /**
+     * @summary Method to find the host in a URL, skipping the scheme,
+     *          the user information and the port, if any.
+     * @return  {long} The start of the host in the upper half, and its
+     *          end in the lower half.
+     */
+    private static long scanHost(final CharSequence url) {
+        final int length = url.length();
+        int start = 0;
+        // The scheme, if any, ends at the first "://", before any path
+        for (int i = 0; i + 2 < length; ++i) {
+            final char c = url.charAt(i);
+            if ((':' == c) && ('/' == url.charAt(i + 1)) &&
+                ('/' == url.charAt(i + 2))) {
+                start = i + 3;
+                break;
+            }
+            if (('/' == c) || ('?' == c) || ('#' == c)) {
+                break;
+            }
+        }
+
+        int end = start;
+        int portStart = -1;
+        boolean inBrackets = false;
+        while (end < length) {
+            final char c = url.charAt(end);
+            if (('/' == c) || ('?' == c) || ('#' == c) || ('\\' == c)) {
+                break;
+            } else if ('@' == c) {
+                // The user information, if any, precedes the host
+                start = end + 1;
+                portStart = -1;
+            } else if ('[' == c) {
+                inBrackets = true;
+            } else if (']' == c) {
+                inBrackets = false;
+            } else if ((':' == c) && !inBrackets && (portStart < 0)) {
+                portStart = end;
+            }
+            ++end;
+        }
+        if (portStart >= 0) {
+            end = portStart;
+        }
+        // A fully qualified host ends with a dot
+        if ((end > start) && ('.' == url.charAt(end - 1))) {
+            --end;
+        }
+        return (((long)start) << 32) | end;
+    }
+
+    /**
+     * @summary Method to check whether a host is an IPv6 address, in
+     *          brackets, or an IPv4 one, i.e., ends in a numeric label.
+     * @return  {boolean} True or False.
+     */
+    private static boolean isIpAddress(final CharSequence s,
+                                       final int hostStart,
+                                       final int hostEnd) {
+        if ('[' == s.charAt(hostStart)) {
+            return true;
+        }
+        final int start = labelStart(s, hostStart, hostEnd);
+        if (start == hostEnd) {
+            return false;
+        }
+        for (int i = start; i < hostEnd; ++i) {
+            final char c = s.charAt(i);
+            if ((c < '0') || (c > '9')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @summary Method to find the child of a node with the label at
+     *          [start, end), by a binary search of its children, which
+     *          are sorted by label.
+     * @return  {int} The index of the child; -1 if there is none.
+     */
+    private int findChild(final int node,
+                          final CharSequence s,
+                          final int start,
+                          final int end) {
+        final int offset = nodeOffset(node);
+        int low = m_trie.getInt(offset + 8);
+        int high = low + (m_trie.getShort(offset + 6) & 0xffff) - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final int comparison = compareLabel(middle, s, start, end);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @summary Method to compare the label of a node with the label at
+     *          [start, end), ignoring the case of the latter.
+     * @return  {int} Negative, zero, or positive, as the node's label is
+     *          less than, equal to, or greater than the other.
+     */
+    private int compareLabel(final int node,
+                             final CharSequence s,
+                             final int start,
+                             final int end) {
+        final int offset = nodeOffset(node);
+        final int labelOffset = m_labelsOffset + m_trie.getInt(offset);
+        final int labelLength = m_trie.get(offset + 4) & 0xff;
+        final int length = end - start;
+        final int common = Math.min(labelLength, length);
+        for (int i = 0; i < common; ++i) {
+            final int lhs = m_trie.get(labelOffset + i) & 0xff;
+            final int rhs = toLowerCase(s.charAt(start + i));
+            if (lhs != rhs) {
+                return lhs - rhs;
+            }
+        }
+        return labelLength - length;
+    }
+
+    private static int nodeOffset(final int node) {
+        return HEADER_LENGTH + (NODE_LENGTH * node);
+    }
+
+    /**
+     * @summary Method to find the start of the last label in [from, end).
+     * @return  {int} The index.
+     */
+    private static int labelStart(final CharSequence s,
+                                  final int from,
+                                  final int end) {
+        return lastIndexOf(s, '.', from, end) + 1;
+    }
+
+    private static int lastIndexOf(final CharSequence s,
+                                   final char c,
+                                   final int from,
+                                   final int end) {
+        for (int i = end - 1; i >= from; --i) {
+            if (c == s.charAt(i)) {
+                return i;
+            }
+        }
+        return ((from > 0) ? (from - 1) : -1);
+    }
+
+    private static char toLowerCase(final char c) {
+        return (((c >= 'A') && (c <= 'Z')) ? (char)(c + ('a' - 'A')) : c);
+    }
+
+    /**
+     * @summary Method to get a region of a string, lower case,
+     *          copying it only if need be.
+     * @return  {String} The region.
+     */
+    private static String toLowerCase(final String s,
+                                      final int start,
+                                      final int end) {
+        for (int i = start; i < end; ++i) {
+            if (s.charAt(i) != toLowerCase(s.charAt(i))) {
+                return s.substring(start, end).toLowerCase();
+            }
+        }
+        return s.substring(start, end);
+    }
+
+    // --------------------------------------------------------------------
+    // CLASSES
+
+    /**
+     * @summary The lazily loaded app-wide list.
+     */
+    private static final class Holder {
+        static final PublicSuffixList INSTANCE = load();
+    }
+
+    // --------------------------------------------------------------------
+    // DATA MEMBERS
+
+    private static volatile Loader  s_loader;   /** @brief How to load the
+                                                  * app-wide list.
+                                                  */
+    private final ByteBuffer        m_trie;     /** @brief The compiled
+                                                  * list.
+                                                  */
+    private final int               m_labelsOffset;
+                                                /** @brief Where the labels
+                                                  * begin.
+                                                  */
+}
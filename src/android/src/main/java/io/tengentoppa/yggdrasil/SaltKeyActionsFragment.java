@@ -400,6 +400,12 @@ public abstract class SaltKeyActionsFragment extends DialogFragment {
         preferenceEditor.putString(getString(R.string.pref_saltKey_key),
                                    saltKey);
         preferenceEditor.apply();
+
+        // Salts derived from the previous key are now useless;
+        // dispose of them, both in memory and on disk.
+        Crypto.invalidateSaltCache();
+        Crypto.wipeSaltStore();
+
         // On this commit (apply() is an async commit),
         // the onSharedPreferenceChanged handler will be called
         // This may happen AFTER onStart() and onResume(),
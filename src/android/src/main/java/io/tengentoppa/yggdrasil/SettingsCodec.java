@@ -0,0 +1,426 @@
+/**
+ * @file        SettingsCodec.java
+ * @summary     Source file for the SettingsCodec class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * @summary The codec of the compact binary settings format, the
+ *          alternative to the JSON schema for exports with many custom
+ *          overrides. It is read and written in place, over a ByteBuffer,
+ *          e.g., one mapped from the file:
+ *          a header (magic, version, reserved flags); the salt key and
+ *          the default iterations, as length-prefixed UTF-8; the count of
+ *          overrides, and the length of the domain table, which follows;
+ *          then the CRC32 of all of the above.
+ *          The table is sorted by domain, each front coded against the
+ *          previous one, as (length of the shared prefix, length of the
+ *          rest, the rest), followed by flags, the domain of the
+ *          attributes, unless the same or none, and the iterations and
+ *          the truncation, if any. Lengths and numbers are varints.
+ */
+final class SettingsCodec {
+
+    // ====================================================================
+    // PACKAGE METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    static final int            MAGIC           = 0x59475354; // "YGST"
+    static final short          VERSION         = 1;
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to check whether a buffer holds settings in this
+     *          format, rather than JSON; the buffer is left as it was.
+     * @return  {boolean} True if it begins with the magic number.
+     */
+    static boolean isEncoded(final ByteBuffer buffer) {
+        return ((buffer.remaining() >= 4) &&
+                (MAGIC == buffer.duplicate()
+                                .order(ByteOrder.BIG_ENDIAN)
+                                .getInt(buffer.position())));
+    }
+
+    /**
+     * @summary Method to encode the settings.
+     * @return  {ByteBuffer} The encoded settings, ready to be written.
+     */
+    static ByteBuffer encode(
+            final String saltKey,
+            final String defaultIterations,
+            final Map<String, ImmutableAttributes> overrides) {
+        // Sort the overrides, and size the buffer, first
+        final TreeMap<String, ImmutableAttributes> sorted =
+            new TreeMap<String, ImmutableAttributes>(overrides);
+        final byte[] saltKeyBytes = saltKey.getBytes(UTF8);
+        final byte[] defaultIterationsBytes =
+            defaultIterations.getBytes(UTF8);
+        final byte[][] domains = new byte[sorted.size()][];
+        final byte[][] attributesDomains = new byte[sorted.size()][];
+        int tableLength = 0;
+        int i = 0;
+        byte[] previous = EMPTY;
+        for (Map.Entry<String, ImmutableAttributes> entry :
+                 sorted.entrySet()) {
+            final byte[] domain = entry.getKey().getBytes(UTF8);
+            final ImmutableAttributes attributes = entry.getValue();
+            final int shared = sharedPrefixLength(previous, domain);
+            tableLength += varintLength(shared) +
+                           varintLength(domain.length - shared) +
+                           (domain.length - shared) + 1;
+            if ((null != attributes.domain()) &&
+                !attributes.domain().equals(entry.getKey())) {
+                attributesDomains[i] = attributes.domain().getBytes(UTF8);
+                tableLength += varintLength(attributesDomains[i].length) +
+                               attributesDomains[i].length;
+            }
+            if (attributes.hasIterations()) {
+                tableLength += varintLength(attributes.iterations());
+            }
+            if (NO_TRUNCATION != attributes.truncation()) {
+                tableLength += varintLength(attributes.truncation());
+            }
+            domains[i++] = domain;
+            previous = domain;
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocate(
+            HEADER_LENGTH +
+            varintLength(saltKeyBytes.length) + saltKeyBytes.length +
+            varintLength(defaultIterationsBytes.length) +
+            defaultIterationsBytes.length +
+            varintLength(sorted.size()) + varintLength(tableLength) +
+            tableLength + CHECKSUM_LENGTH);
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putShort((short)0);
+        putBytes(buffer, saltKeyBytes);
+        putBytes(buffer, defaultIterationsBytes);
+        putVarint(buffer, sorted.size());
+        putVarint(buffer, tableLength);
+
+        i = 0;
+        previous = EMPTY;
+        for (ImmutableAttributes attributes : sorted.values()) {
+            final byte[] domain = domains[i];
+            final int shared = sharedPrefixLength(previous, domain);
+            putVarint(buffer, shared);
+            putVarint(buffer, domain.length - shared);
+            buffer.put(domain, shared, domain.length - shared);
+
+            int flags = 0;
+            if (null != attributes.domain()) {
+                flags |= ((null != attributesDomains[i]) ?
+                          FLAG_DOMAIN : FLAG_SAME_DOMAIN);
+            }
+            if (attributes.hasIterations()) {
+                flags |= FLAG_ITERATIONS;
+            }
+            if (NO_TRUNCATION != attributes.truncation()) {
+                flags |= FLAG_TRUNCATION;
+            }
+            if (1 != attributes.specialCharsFlag()) {
+                flags |= FLAG_NO_SPECIAL_CHARS;
+            }
+            buffer.put((byte)flags);
+            if (null != attributesDomains[i]) {
+                putBytes(buffer, attributesDomains[i]);
+            }
+            if (attributes.hasIterations()) {
+                putVarint(buffer, attributes.iterations());
+            }
+            if (NO_TRUNCATION != attributes.truncation()) {
+                putVarint(buffer, attributes.truncation());
+            }
+            previous = domain;
+            ++i;
+        }
+
+        buffer.putInt(checksum(buffer, 0, buffer.position()));
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * @summary Method to decode the settings, and stage the overrides;
+     *          the checksum is verified before any are staged.
+     *          The buffer is left as it was.
+     * @return  {Settings} The other settings.
+     * @throws  IOException if the buffer does not hold valid settings.
+     */
+    static Settings decode(final ByteBuffer buffer,
+                           final OverridesIndex.Import overrides)
+        throws IOException {
+        final ByteBuffer input =
+            buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+        try {
+            final int start = input.position();
+            if (!isEncoded(input) ||
+                (input.remaining() < HEADER_LENGTH + CHECKSUM_LENGTH)) {
+                throw malformed("Bad.Header");
+            }
+            input.getInt();
+            if (VERSION != input.getShort()) {
+                throw malformed("Unsupported.Version");
+            }
+            input.getShort();
+
+            final String saltKey = getString(input);
+            final String defaultIterations = getString(input);
+            final int count = getVarint(input);
+            final int tableLength = getVarint(input);
+            if ((count < 0) || (tableLength < 0) ||
+                (tableLength > input.remaining() - CHECKSUM_LENGTH)) {
+                throw malformed("Bad.Domain.Table");
+            }
+            final int tableEnd = input.position() + tableLength;
+            if (input.getInt(tableEnd) !=
+                    checksum(input, start, tableEnd)) {
+                throw malformed("Bad.Checksum");
+            }
+
+            byte[] domain = new byte[64];
+            int domainLength = 0;
+            for (int i = 0; i < count; ++i) {
+                final int shared = getVarint(input);
+                final int rest = getLength(input, tableEnd);
+                if ((shared < 0) || (shared > domainLength)) {
+                    throw malformed("Bad.Domain.Table");
+                }
+                domainLength = shared + rest;
+                if (domainLength > domain.length) {
+                    byte[] grown =
+                        new byte[Math.max(domainLength, domain.length * 2)];
+                    System.arraycopy(domain, 0, grown, 0, shared);
+                    domain = grown;
+                }
+                input.get(domain, shared, rest);
+                final String key =
+                    new String(domain, 0, domainLength, UTF8);
+
+                final int flags = input.get();
+                Attributes attributes = new Attributes();
+                if (0 != (flags & FLAG_DOMAIN)) {
+                    attributes.setDomain(getString(input));
+                } else if (0 != (flags & FLAG_SAME_DOMAIN)) {
+                    attributes.setDomain(key);
+                }
+                if (0 != (flags & FLAG_ITERATIONS)) {
+                    attributes.setIterations(getVarint(input));
+                }
+                if (0 != (flags & FLAG_TRUNCATION)) {
+                    attributes.setTruncation(getVarint(input));
+                }
+                if (0 != (flags & FLAG_NO_SPECIAL_CHARS)) {
+                    attributes.setSpecialCharsFlag(0);
+                }
+                if (input.position() > tableEnd) {
+                    throw malformed("Bad.Domain.Table");
+                }
+                overrides.put(key, attributes);
+            }
+            if ((input.position() != tableEnd) ||
+                (tableEnd + CHECKSUM_LENGTH != input.limit())) {
+                throw malformed("Trailing.Content");
+            }
+            return new Settings(saltKey, defaultIterations);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw malformed("Truncated");
+        }
+    }
+
+    // --------------------------------------------------------------------
+    // CLASSES
+
+    /**
+     * @summary The settings read, in either format, other than the
+     *          overrides.
+     */
+    static final class Settings {
+
+        Settings(final String saltKey, final String defaultIterations) {
+            m_saltKey = saltKey;
+            m_defaultIterations = defaultIterations;
+        }
+
+        /**
+         * @summary Salt Key accessor
+         * @return  {String} The salt key.
+         */
+        String saltKey() {
+            return m_saltKey;
+        }
+
+        /**
+         * @summary Default Iterations accessor
+         * @return  {String} The default iterations, as saved.
+         */
+        String defaultIterations() {
+            return m_defaultIterations;
+        }
+
+        private final String    m_saltKey;
+        private final String    m_defaultIterations;
+    }
+
+    // ====================================================================
+    // PRIVATE METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    // Magic, version, flags
+    private static final int    HEADER_LENGTH           = 8;
+    private static final int    CHECKSUM_LENGTH         = 4;
+
+    // The flags of an entry of the domain table
+    private static final int    FLAG_DOMAIN             = 0x01;
+    private static final int    FLAG_SAME_DOMAIN        = 0x02;
+    private static final int    FLAG_ITERATIONS         = 0x04;
+    private static final int    FLAG_TRUNCATION         = 0x08;
+    private static final int    FLAG_NO_SPECIAL_CHARS   = 0x10;
+
+    private static final int    NO_TRUNCATION           =
+        ImmutableAttributes.NO_TRUNCATION;
+    private static final byte[] EMPTY                   = new byte[0];
+    private static final Charset UTF8   = Charset.forName("UTF-8");
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    private static int sharedPrefixLength(final byte[] a, final byte[] b) {
+        final int length = Math.min(a.length, b.length);
+        int i = 0;
+        while ((i < length) && (a[i] == b[i])) {
+            ++i;
+        }
+        return i;
+    }
+
+    /**
+     * @summary Method to get the length of an unsigned varint, seven bits
+     *          to a byte, lowest first; negative numbers take five bytes.
+     * @return  {int} The length, in bytes.
+     */
+    private static int varintLength(final int value) {
+        int length = 1;
+        for (int rest = value >>> 7; 0 != rest; rest >>>= 7) {
+            ++length;
+        }
+        return length;
+    }
+
+    private static void putVarint(final ByteBuffer buffer, int value) {
+        while (0 != (value & ~0x7f)) {
+            buffer.put((byte)((value & 0x7f) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte)value);
+    }
+
+    private static int getVarint(final ByteBuffer buffer)
+        throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            final byte b = buffer.get();
+            value |= (b & 0x7f) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw malformed("Bad.Varint");
+    }
+
+    private static void putBytes(final ByteBuffer buffer,
+                                 final byte[] bytes) {
+        putVarint(buffer, bytes.length);
+        buffer.put(bytes);
+    }
+
+    /**
+     * @summary Method to get a length, which must not run past the limit
+     *          given, so that nothing is allocated for a corrupt one.
+     * @return  {int} The length.
+     */
+    private static int getLength(final ByteBuffer buffer, final int limit)
+        throws IOException {
+        final int length = getVarint(buffer);
+        if ((length < 0) || (length > limit - buffer.position())) {
+            throw malformed("Bad.Length");
+        }
+        return length;
+    }
+
+    private static String getString(final ByteBuffer buffer)
+        throws IOException {
+        final int length = getLength(buffer, buffer.limit());
+        if (buffer.hasArray()) {
+            final String string =
+                new String(buffer.array(),
+                           buffer.arrayOffset() + buffer.position(),
+                           length,
+                           UTF8);
+            buffer.position(buffer.position() + length);
+            return string;
+        }
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, UTF8);
+    }
+
+    /**
+     * @summary Method to compute the CRC32 of a range of the buffer, in
+     *          place if it is backed by an array, and through a small
+     *          window otherwise, e.g., if mapped.
+     * @return  {int} The checksum.
+     */
+    private static int checksum(final ByteBuffer buffer,
+                                final int start,
+                                final int end) {
+        CRC32 crc = new CRC32();
+        if (buffer.hasArray()) {
+            crc.update(buffer.array(), buffer.arrayOffset() + start,
+                       end - start);
+            return (int)crc.getValue();
+        }
+        final byte[] window = new byte[Math.min(4096, end - start)];
+        final ByteBuffer range = buffer.duplicate();
+        range.limit(end).position(start);
+        while (range.hasRemaining()) {
+            final int length = Math.min(window.length, range.remaining());
+            range.get(window, 0, length);
+            crc.update(window, 0, length);
+        }
+        return (int)crc.getValue();
+    }
+
+    /**
+     * @summary Method to describe a fault in the format, without any of
+     *          the contents.
+     * @return  {IOException} The exception to throw.
+     */
+    private static IOException malformed(final String fault) {
+        return new IOException("Settings.Malformed, " + fault);
+    }
+}
@@ -0,0 +1,253 @@
+/**
+ * @file        SettingsExporter.java
+ * @summary     Source file for the SettingsExporter class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Android
+import android.content.Context;
+import android.util.JsonWriter;
+
+// Standard Java
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.Map;
+
+/**
+ * @summary The writer of exported settings, in the schema which
+ *          SettingsImporter reads, with the custom overrides as a JSON
+ *          string holding an object of encoded attributes by domain,
+ *          as the browser extension, and earlier versions of the app,
+ *          expect; the string is written one domain at a time.
+ *          The binary format of SettingsCodec is exported alike.
+ *          The file is written to a temporary file beside it, synced,
+ *          and renamed over it, so that it is either the previous export
+ *          or the complete new one, never a truncated one.
+ */
+final class SettingsExporter {
+
+    // ====================================================================
+    // PACKAGE METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    static final int            PROGRESS_INTERVAL   = 256;
+
+    // --------------------------------------------------------------------
+    // CONSTRUCTORS
+
+    /**
+     * @summary The constructor, with the keys of the schema.
+     * @return  Does not even.
+     */
+    SettingsExporter(final Context context) {
+        m_profilesKey = context.getString(R.string.schema_profiles_key);
+        m_nameKey = context.getString(R.string.schema_profile_name_key);
+        m_profileName =
+            context.getString(R.string.schema_default_profile_name);
+        m_settingsKey =
+            context.getString(R.string.schema_profile_settings_key);
+        m_saltKeyKey = context.getString(R.string.pref_saltKey_key);
+        m_defaultIterationsKey =
+            context.getString(R.string.pref_defaultIterations_key);
+        m_customOverridesKey =
+            context.getString(R.string.pref_customOverrides_key);
+    }
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to export the settings to a file, atomically.
+     * @return  Does not return a value.
+     * @throws  IOException if the file cannot be written; it is then
+     *          left as it was.
+     */
+    void export(final File file,
+                final String saltKey,
+                final String defaultIterations,
+                final Map<String, ImmutableAttributes> overrides,
+                final Listener listener)
+        throws IOException {
+        final File temporary = new File(file.getPath() + ".tmp");
+        final FileChannel channel =
+            new FileOutputStream(temporary).getChannel();
+        boolean exported = false;
+        try {
+            JsonWriter writer =
+                new JsonWriter(
+                    new BufferedWriter(
+                        Channels.newWriter(channel, "UTF-8"),
+                        BUFFER_SIZE));
+            writer.setIndent(INDENT);
+            write(writer, saltKey, defaultIterations, overrides, listener);
+            writer.flush();
+            channel.force(true);
+            writer.close();
+            if (!temporary.renameTo(file)) {
+                throw new IOException("Rename.Failure");
+            }
+            exported = true;
+        } finally {
+            if (!exported) {
+                channel.close();
+                temporary.delete();
+            }
+        }
+    }
+
+    /**
+     * @summary Method to export the settings to a file, atomically, in
+     *          the binary format of SettingsCodec.
+     * @return  Does not return a value.
+     * @throws  IOException if the file cannot be written; it is then
+     *          left as it was.
+     */
+    void exportBinary(final File file,
+                      final String saltKey,
+                      final String defaultIterations,
+                      final Map<String, ImmutableAttributes> overrides)
+        throws IOException {
+        final ByteBuffer buffer =
+            SettingsCodec.encode(saltKey, defaultIterations, overrides);
+        final File temporary = new File(file.getPath() + ".tmp");
+        final FileChannel channel =
+            new FileOutputStream(temporary).getChannel();
+        boolean exported = false;
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+            channel.close();
+            if (!temporary.renameTo(file)) {
+                throw new IOException("Rename.Failure");
+            }
+            exported = true;
+        } finally {
+            if (!exported) {
+                channel.close();
+                temporary.delete();
+            }
+        }
+    }
+
+    /**
+     * @summary Method to write the settings.
+     * @return  Does not return a value.
+     */
+    void write(final JsonWriter writer,
+               final String saltKey,
+               final String defaultIterations,
+               final Map<String, ImmutableAttributes> overrides,
+               final Listener listener)
+        throws IOException {
+        writer.beginObject();
+        writer.name(m_profilesKey);
+        writer.beginArray();
+        writer.beginObject();
+        writer.name(m_nameKey).value(m_profileName);
+        writer.name(m_settingsKey);
+        writer.beginObject();
+        writer.name(m_saltKeyKey).value(saltKey);
+        writer.name(m_defaultIterationsKey).value(defaultIterations);
+        writer.name(m_customOverridesKey);
+        writeOverrides(writer, overrides, listener);
+        writer.endObject();
+        writer.endObject();
+        writer.endArray();
+        writer.endObject();
+    }
+
+    // --------------------------------------------------------------------
+    // INTERFACES
+
+    /**
+     * @summary The interface for receiving the progress of an export,
+     *          on the thread exporting.
+     */
+    interface Listener {
+
+        /**
+         * @summary Called with the fraction of the overrides written,
+         *          from 0 to 1, every PROGRESS_INTERVAL domains.
+         * @return  Does not return a value.
+         */
+        void onProgress(float fraction);
+
+    }
+
+    // ====================================================================
+    // PRIVATE METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    private static final String INDENT              = "        ";
+    private static final int    BUFFER_SIZE         = 16384;
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to write the custom overrides, as a string value,
+     *          reporting the progress. The overrides may change while
+     *          written, so the count is only an estimate.
+     * @return  Does not return a value.
+     */
+    private static void writeOverrides(
+            final JsonWriter writer,
+            final Map<String, ImmutableAttributes> overrides,
+            final Listener listener)
+        throws IOException {
+        final int size = Math.max(1, overrides.size());
+        int written = 0;
+        StringWriter encodedOverrides = new StringWriter();
+        JsonWriter overridesWriter = new JsonWriter(encodedOverrides);
+        overridesWriter.beginObject();
+        for (Map.Entry<String, ImmutableAttributes> entry :
+                 overrides.entrySet()) {
+            overridesWriter.name(entry.getKey())
+                           .value(AttributesCodec.encode(
+                                      entry.getValue().toAttributes()));
+            ++written;
+            if ((null != listener) && (0 == (written % PROGRESS_INTERVAL))) {
+                listener.onProgress(Math.min(1.0f, (float)written / size));
+            }
+        }
+        overridesWriter.endObject();
+        overridesWriter.close();
+        writer.value(encodedOverrides.toString());
+        if (null != listener) {
+            listener.onProgress(1.0f);
+        }
+    }
+
+    // --------------------------------------------------------------------
+    // DATA MEMBERS
+
+    private final String    m_profilesKey;      /** @brief The keys of the
+                                                  * schema, and of the
+                                                  * settings within.
+                                                  */
+    private final String    m_nameKey;
+    private final String    m_profileName;
+    private final String    m_settingsKey;
+    private final String    m_saltKeyKey;
+    private final String    m_defaultIterationsKey;
+    private final String    m_customOverridesKey;
+}
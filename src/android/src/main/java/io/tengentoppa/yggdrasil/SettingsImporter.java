@@ -0,0 +1,254 @@
+/**
+ * @file        SettingsImporter.java
+ * @summary     Source file for the SettingsImporter class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Android
+import android.content.Context;
+import android.util.JsonReader;
+import android.util.JsonToken;
+
+// Standard Java
+import java.io.IOException;
+import java.io.StringReader;
+
+/**
+ * @summary The reader of exported settings, which streams the schema,
+ *          { "profiles": [ { "name": ..., "settings": { "saltKey": ...,
+ *          "defaultIterations": ..., "customOverrides": ... } } ] },
+ *          validating it as it goes, and feeding the custom overrides
+ *          into an import of the overrides index one domain at a time.
+ *          The overrides are either an object of encoded attributes by
+ *          domain, or, as exported by earlier versions, the same object
+ *          as a string; either is streamed, the string by a reader of
+ *          its own.
+ *          Errors name the part of the schema at fault, never its
+ *          contents, which include the salt key.
+ */
+final class SettingsImporter {
+
+    // ====================================================================
+    // PACKAGE METHODS
+
+    // --------------------------------------------------------------------
+    // CONSTRUCTORS
+
+    /**
+     * @summary The constructor, with the keys of the schema.
+     * @return  Does not even.
+     */
+    SettingsImporter(final Context context) {
+        m_profilesKey = context.getString(R.string.schema_profiles_key);
+        m_nameKey = context.getString(R.string.schema_profile_name_key);
+        m_settingsKey =
+            context.getString(R.string.schema_profile_settings_key);
+        m_saltKeyKey = context.getString(R.string.pref_saltKey_key);
+        m_defaultIterationsKey =
+            context.getString(R.string.pref_defaultIterations_key);
+        m_customOverridesKey =
+            context.getString(R.string.pref_customOverrides_key);
+    }
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to read the settings, and stage the overrides.
+     * @return  {Settings} The other settings.
+     * @throws  IOException if the file cannot be read, or does not hold
+     *          valid settings.
+     */
+    SettingsCodec.Settings read(final JsonReader reader,
+                  final OverridesIndex.Import overrides)
+        throws IOException {
+        try {
+            SettingsCodec.Settings settings = null;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (!m_profilesKey.equals(reader.nextName()) ||
+                    (null != settings)) {
+                    throw malformed(reader, "Bad.Schema");
+                }
+                reader.beginArray();
+                if (!reader.hasNext()) {
+                    throw malformed(reader, "No.Profiles");
+                }
+                settings = readProfile(reader, overrides);
+                if (reader.hasNext()) {
+                    throw malformed(reader,
+                                    "Too.Many.Profiles, Time.Travel.Anomaly");
+                }
+                reader.endArray();
+            }
+            reader.endObject();
+
+            if (null == settings) {
+                throw malformed(reader, "No.Profiles");
+            }
+            if (JsonToken.END_DOCUMENT != reader.peek()) {
+                throw malformed(reader, "Trailing.Content");
+            }
+            return settings;
+        } catch (IllegalStateException e) {
+            // Thrown upon an unexpected token
+            throw malformed(reader, "Unexpected.Token");
+        } catch (NumberFormatException e) {
+            throw malformed(reader, "Bad.Number");
+        }
+    }
+
+    // ====================================================================
+    // PRIVATE METHODS
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    /**
+     * @summary Method to read the profile, with exactly a name and
+     *          settings.
+     * @return  {Settings} The settings.
+     */
+    private SettingsCodec.Settings readProfile(final JsonReader reader,
+                                 final OverridesIndex.Import overrides)
+        throws IOException {
+        boolean hasName = false;
+        SettingsCodec.Settings settings = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            if (m_nameKey.equals(name) && !hasName) {
+                reader.skipValue();
+                hasName = true;
+            } else if (m_settingsKey.equals(name) && (null == settings)) {
+                settings = readSettings(reader, overrides);
+            } else {
+                throw malformed(reader, "Bad.Profile");
+            }
+        }
+        reader.endObject();
+
+        if (!hasName || (null == settings)) {
+            throw malformed(reader, "Bad.Profile");
+        }
+        return settings;
+    }
+
+    /**
+     * @summary Method to read the settings, with exactly the salt key,
+     *          the default iterations and the custom overrides.
+     * @return  {Settings} The settings.
+     */
+    private SettingsCodec.Settings readSettings(final JsonReader reader,
+                                  final OverridesIndex.Import overrides)
+        throws IOException {
+        String saltKey = null;
+        String defaultIterations = null;
+        boolean hasOverrides = false;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            if (m_saltKeyKey.equals(name) && (null == saltKey)) {
+                saltKey = reader.nextString();
+            } else if (m_defaultIterationsKey.equals(name) &&
+                       (null == defaultIterations)) {
+                defaultIterations = reader.nextString();
+            } else if (m_customOverridesKey.equals(name) && !hasOverrides) {
+                readOverrides(reader, overrides);
+                hasOverrides = true;
+            } else {
+                throw malformed(reader, "Bad.Profile.Settings");
+            }
+        }
+        reader.endObject();
+
+        if ((null == saltKey) || (null == defaultIterations) ||
+            !hasOverrides) {
+            throw malformed(reader, "Bad.Profile.Settings");
+        }
+        return new SettingsCodec.Settings(saltKey, defaultIterations);
+    }
+
+    /**
+     * @summary Method to read the custom overrides into the import.
+     * @return  Does not return a value.
+     */
+    private void readOverrides(final JsonReader reader,
+                               final OverridesIndex.Import overrides)
+        throws IOException {
+        final JsonToken token = reader.peek();
+        if (JsonToken.BEGIN_OBJECT == token) {
+            readOverridesObject(reader, overrides);
+        } else if (JsonToken.NULL == token) {
+            reader.nextNull();
+        } else {
+            final String encodedOverrides = reader.nextString();
+            if (encodedOverrides.isEmpty()) {
+                return;
+            }
+            JsonReader nested =
+                new JsonReader(new StringReader(encodedOverrides));
+            try {
+                readOverridesObject(nested, overrides);
+                if (JsonToken.END_DOCUMENT != nested.peek()) {
+                    throw malformed(reader, "Bad.Custom.Overrides");
+                }
+            } catch (IllegalStateException e) {
+                throw malformed(reader, "Bad.Custom.Overrides");
+            } catch (IOException e) {
+                // Not to leak the contents, nor the position within them
+                throw malformed(reader, "Bad.Custom.Overrides");
+            } finally {
+                nested.close();
+            }
+        }
+    }
+
+    /**
+     * @summary Method to stream an object of encoded attributes, by
+     *          domain, into the import.
+     * @return  Does not return a value.
+     */
+    private static void readOverridesObject(final JsonReader reader,
+                                final OverridesIndex.Import overrides)
+        throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String domain = reader.nextName();
+            overrides.put(domain,
+                          AttributesCodec.decode(reader.nextString()));
+        }
+        reader.endObject();
+    }
+
+    /**
+     * @summary Method to describe a fault in the schema, and where it
+     *          lies, without any of the contents.
+     * @return  {IOException} The exception to throw.
+     */
+    private static IOException malformed(final JsonReader reader,
+                                         final String fault) {
+        return new IOException("JSON.Malformed, " + fault +
+                               ", at " + reader.toString());
+    }
+
+    // --------------------------------------------------------------------
+    // DATA MEMBERS
+
+    private final String    m_profilesKey;      /** @brief The keys of the
+                                                  * schema, and of the
+                                                  * settings within.
+                                                  */
+    private final String    m_nameKey;
+    private final String    m_settingsKey;
+    private final String    m_saltKeyKey;
+    private final String    m_defaultIterationsKey;
+    private final String    m_customOverridesKey;
+}
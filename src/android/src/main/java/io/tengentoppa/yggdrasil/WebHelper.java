@@ -23,8 +23,11 @@ public class WebHelper {
      *            but does start with "www." or "www2.",
      *            we add the prefix "https://".
      *          * If it does not start with "www." (or "www2."),
-     *            but does end with one of the common domain names,
-     *            we add the prefix "https://www.".
+     *            but is a host name ending in a public suffix,
+     *            we add the prefix "https://", along with "www."
+     *            for a bare registrable domain, such as "gnu.org" or
+     *            "bbc.co.uk", though not for a site on a hosting
+     *            platform, such as "user.github.io".
      *          * If none of the above is met, we assume a freeform
      *            search string and invoke the preponderance of Google.
      * @return  {String} A loadable url string.
@@ -41,19 +44,46 @@ public class WebHelper {
                    query.startsWith("www2.")) {
             // Will be optimized to StringBuilder
             return "https://" + query;
-        } else if (query.endsWith(".com") ||
-                   query.endsWith(".org") ||
-                   query.endsWith(".net") ||
-                   query.endsWith(".edu") ||
-                   query.endsWith(".gov") ||
-                   query.endsWith(".io")) {
-            return "https://www." + query;
+        } else if (PublicSuffixList.getInstance().isSiteAddress(query)) {
+            return (PublicSuffixList.getInstance().isBareDomain(query) ?
+                    "https://www." : "https://") + query;
         } else {
             // Assume free-form search string. Invoke Google. 
             return getGoogleSearchUrl(query);
         }
     }
 
+    /**
+     * @summary Method to extract the domain from a URL, i.e., its
+     *          domain-subdomain, e.g., "mail.google.com" for
+     *          "https://www.mail.google.com/inbox", as the key of the
+     *          site, and the input to its salt; just as the browser
+     *          extension does, so that a site gets the same password
+     *          either way. The scheme and the path are chopped off,
+     *          along with a leading "www*." or "m.", to identify the
+     *          site across web and mobile, and load balancers.
+     * @return  {String} The domain.
+     */
+    public static String extractDomain(String url) {
+        if (null == url) {
+            return "";
+        }
+
+        int start = url.indexOf("://");
+        start = ((start < 0) ? 0 : (start + "://".length()));
+        int end = url.indexOf('/', start);
+        if (end < 0) {
+            end = url.length();
+        }
+        if (url.startsWith("www", start) || url.startsWith("m.", start)) {
+            final int dot = url.indexOf('.', start);
+            if ((dot >= 0) && (dot < end)) {
+                start = dot + 1;
+            }
+        }
+        return url.substring(start, end);
+    }
+
     /**
      * @summary Method to convert a query string into a Google search URL.
      * @return  {String} A Google search URL.
@@ -18,11 +18,15 @@ import android.content.ClipData;
 import android.content.Context;
 import android.content.SharedPreferences;
 import android.os.Bundle;
+import android.os.Handler;
 import android.support.v4.app.DialogFragment;
 import android.support.v4.app.Fragment;
+import android.support.v4.app.FragmentActivity;
 import android.support.v7.preference.PreferenceManager;
 import android.support.v7.widget.Toolbar;
+import android.text.Editable;
 import android.text.InputType;
+import android.text.TextWatcher;
 import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.Menu;
@@ -36,26 +40,19 @@ import android.widget.CheckBox;
 import android.widget.EditText;
 import android.widget.TextView;
 import android.widget.LinearLayout;
+import android.widget.ProgressBar;
 import android.widget.Toast;
 
 // Standard Java
-import java.io.UnsupportedEncodingException;
 import java.lang.ClassCastException;
 import java.lang.Exception;
 import java.lang.Runnable;
 import java.lang.RuntimeException;
-import java.lang.Thread;
 import java.security.NoSuchAlgorithmException;
 import java.security.Security;
 
-// JSON
-import org.json.JSONException;
-import org.json.JSONObject;
-
 // Spongycastle (Bouncycastle)
 import org.spongycastle.jce.provider.BouncyCastleProvider;
-import org.spongycastle.util.encoders.Hex;
-import org.spongycastle.util.encoders.Base64;
 
 /**
  * @summary The WorkhorseFragment class.
@@ -87,7 +84,61 @@ public abstract class WorkhorseFragment extends DialogFragment {
         this.m_url = "";
         this.m_savedOverrides = null;
         this.m_proposedAttributes = null;
-        this.m_customOverrides = null;
+        this.m_derivation = null;
+        this.m_generation = 0;
+        this.m_speculation = null;
+        this.m_context = null;
+        this.m_handler = new Handler();
+        this.m_speculate = new Runnable() {
+            @Override
+            public void run() {
+                speculateSalt();
+            }
+        };
+        // Re-speculate once the user pauses editing the salt inputs
+        this.m_speculationWatcher = new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence text,
+                                          int start,
+                                          int count,
+                                          int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence text,
+                                      int start,
+                                      int before,
+                                      int count) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable text) {
+                m_handler.removeCallbacks(m_speculate);
+                m_handler.postDelayed(m_speculate,
+                                      SPECULATION_DELAY_MILLIS);
+            }
+        };
+        // A new master password needs a new derivation context
+        this.m_passwordWatcher = new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence text,
+                                          int start,
+                                          int count,
+                                          int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence text,
+                                      int start,
+                                      int before,
+                                      int count) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable text) {
+                closeDerivationContext();
+            }
+        };
 
         // Get the input arguments
         Bundle args = this.getArguments();
@@ -199,6 +250,11 @@ public abstract class WorkhorseFragment extends DialogFragment {
 
         this.deconfigureElements();
 
+        // Nobody will see the result of a derivation still running
+        this.cancelDerivation();
+        this.cancelSpeculation();
+        this.closeDerivationContext();
+
         super.onPause();
     }
 
@@ -267,113 +323,87 @@ public abstract class WorkhorseFragment extends DialogFragment {
         Log.i(getLogCategory(), getLogPrefix(FUNC) +
               "attributes='" + AttributesCodec.encode(attributes) + "'");
 
-        byte[] seedSHA = null;
-        try {
-            seedSHA = Crypto.getSeedSHA(
-                            ((EditText)workhorseFragment.findViewById(
-                                R.id.password))
-                                    .getText().toString());
-            Log.d(getLogCategory(), getLogPrefix(FUNC) +
-                  "seedSHA=" + (new String(Hex.encode(seedSHA),
-                                           UTF8)));
-        } catch (NoSuchAlgorithmException e) {
-            Log.e(getLogCategory(), getLogPrefix(FUNC) +
-                  "ERROR: seedSHA.generation.failure, Caught " + e);
-            e.printStackTrace();
+        // The master password is prepared once per dialog session,
+        // and reused until it is edited.
+        final DerivationContext context =
+            this.getDerivationContext(workhorseFragment, saltKey);
+        if (null == context) {
             return;
-        } catch (UnsupportedEncodingException e) {
-            Log.e(getLogCategory(), getLogPrefix(FUNC) +
-                  "ERROR: Caught " + e);
-            e.printStackTrace();
-            // Continue; no need to quit on logging failure.
         }
 
-        // Do the heavy lifting in a separate thread.
-        // This involves:
+        // Abandon any derivation still running for an earlier request;
+        // its result would be stale.
+        this.cancelDerivation();
+
+        // Do the heavy lifting on the interactive lane of the
+        // derivation executor. This involves:
         // a) generate the salt from the saltKey and the domain,
         // b) generate the proxy password from the salt and the password
-        // Create the new Thread object and start it.
-        final byte[] seedSHACopy = seedSHA;
-        new Thread(new Runnable () {
-            public void run() {
-                // Generate the salt
-                byte[] salt = null;
-                try {
-                    salt = Crypto.generateSalt(attributes.domain(),
-                                               saltKey,
-                                               attributes.iterations());
+        // The executor publishes the progress, and coalesces this
+        // request with any identical one already in flight.
+        final FragmentActivity activity = getActivity();
+        final int generation = ++m_generation;
+        DerivationExecutor.Listener listener =
+            new DerivationExecutor.Listener() {
+                @Override
+                public void onProgress(final float fraction) {
+                    activity.runOnUiThread(new Runnable() {
+                        @Override
+                        public void run() {
+                            showProgress(generation, fraction);
+                        }
+                    });
+                }
+
+                @Override
+                public void onSuccess(final String password) {
                     Log.i(getLogCategory(), getLogPrefix(FUNC) +
-                          "salt=" + (new String(Base64.encode(salt),
-                                                UTF8)));
-                } catch (NoSuchAlgorithmException |
-                         UnsupportedEncodingException e) {
-                    // If an UnsupportedEncodingException occurred,
-                    // it will be due to failure to encode while generating,
-                    // rather than only after in the logging statement above.
-                    // Therefore, treat it with severity.
-                    Log.e(getLogCategory(), getLogPrefix(FUNC) +
-                          "ERROR: Salt.Generation.Failure, Caught " + e);
-                    getActivity().runOnUiThread(new Runnable() {
+                          "password=" + password);
+
+                    // Post the results to the UI thread for manipulation
+                    // (using "runOnUiThread" from the "Activity" class),
+                    // unless they have gone stale in the meantime.
+                    activity.runOnUiThread(new Runnable() {
                         @Override
                         public void run() {
-                            Toast.makeText(
-                                    getActivity().getApplicationContext(),
-                                    SALT_GENERATION_FAILURE_MESSAGE,
-                                    Toast.LENGTH_SHORT).show();
+                            if (!finishDerivation(generation)) {
+                                return;
+                            }
+                            EditText hashField =
+                                (EditText)getView().findViewById(R.id.hash);
+                            hashField.setEnabled(true);
+                            hashField.setText(password,
+                                              TextView.BufferType.EDITABLE);
+                            checkAndSaveOverrides(attributes);
                         }
                     });
-                    e.printStackTrace();
-                    return;
                 }
 
-                // Generate the hash (the "proxy password")
-                String encodedHash = null;
-                try {
-                    encodedHash =
-                        Crypto.generateHash(seedSHACopy,
-                                            salt,
-                                            attributes.iterations(),
-                                            attributes.specialCharsFlag());
-                } catch (UnsupportedEncodingException e) {
+                @Override
+                public void onFailure(final Exception e) {
                     Log.e(getLogCategory(), getLogPrefix(FUNC) +
-                          "ERROR: Hash.Generation.Failure, Caught " + e);
-                    getActivity().runOnUiThread(new Runnable() {
+                          "ERROR: Password.Generation.Failure, Caught " + e);
+                    e.printStackTrace();
+                    activity.runOnUiThread(new Runnable() {
                         @Override
                         public void run() {
-                            Toast.makeText(
-                                    getActivity().getApplicationContext(),
-                                    HASH_GENERATION_FAILURE_MESSAGE,
-                                    Toast.LENGTH_SHORT).show();
+                            if (finishDerivation(generation)) {
+                                Toast.makeText(
+                                        activity.getApplicationContext(),
+                                        PASSWORD_GENERATION_FAILURE_MESSAGE,
+                                        Toast.LENGTH_SHORT).show();
+                            }
                         }
                     });
-                    e.printStackTrace();
-                    return;
                 }
-
-                Log.i(getLogCategory(), getLogPrefix(FUNC) +
-                      "hash=" + encodedHash);
-                final String password =
-                    Crypto.getPasswdStr(encodedHash,
-                                        attributes.truncation(),
-                                        attributes.specialCharsFlag());
-                Log.i(getLogCategory(), getLogPrefix(FUNC) +
-                      "password=" + password);
-
-                // Post the results to the UI thread for manipulation
-                // (using "runOnUiThread" from the "Activity" class)
-                getActivity().runOnUiThread(new Runnable() {
-                    @Override
-                    public void run() {
-                        EditText hashField =
-                            (EditText)getView().findViewById(R.id.hash);
-                        hashField.setEnabled(true);
-                        hashField.setText(password,
-                                          TextView.BufferType.EDITABLE);
-                        checkAndSaveOverrides(attributes);
-                    }
-                });
-            }
-        }).start();
+            };
+
+        m_derivation = DerivationExecutor.getInstance().submit(
+                                context,
+                                attributes,
+                                DerivationExecutor.Priority.INTERACTIVE,
+                                listener);
+        this.showProgress(generation, 0.0f);
     }
 
     // ====================================================================
@@ -394,18 +424,15 @@ public abstract class WorkhorseFragment extends DialogFragment {
                                                     =
         "Please use the custom attributes option sparingly! " +
         "It should only be a last resort.";
-    private static final String ATTRIBUTES_SAVE_FAILURE_MESSAGE
-                                                    =
-        "Alas! Failed to save custom attributes!";
     private static final String ATTRIBUTES_SAVE_SUCCESS_MESSAGE
                                                     =
         "Successfully saved custom attributes!";
-    private static final String SALT_GENERATION_FAILURE_MESSAGE
-                                                    =
-        "Salt generation failure!";
-    private static final String HASH_GENERATION_FAILURE_MESSAGE
+    private static final String PASSWORD_GENERATION_FAILURE_MESSAGE
                                                     =
-        "Hash generation failure!";
+        "Password generation failure!";
+
+    // The pause in editing after which the salt is re-speculated
+    private static final long   SPECULATION_DELAY_MILLIS    = 500;
 
     // --------------------------------------------------------------------
     // METHODS
@@ -453,33 +480,12 @@ public abstract class WorkhorseFragment extends DialogFragment {
              */
 
             /**
-             * @summary 
-             * @return  
+             * @summary Method to extract the domain from the URL, as
+             *          the browser extension does.
+             * @return  {String} The domain.
              */
             public String extractDomain(String url) {
-                String domain = url;
-                if (null == url) {
-                    return "";
-                }
-
-                // Chop off the beginning "http://" or"https://"
-                // or "ftp://" or whatever, if it exists.
-                if (url.contains("://")) {
-                    domain = url.split("://")[1];
-                }
-
-                // Obtain the root of the URL - the domain-subdomain
-                domain = domain.split("/")[0];
-
-                // Chop off the begin "www." or "m."
-                // to uniquely identify across web or mobile.
-                if (domain.startsWith("www.")) {
-                    domain = domain.substring("www.".length(), domain.length());
-                } else if (domain.startsWith("m.")) {
-                    domain = domain.substring("m.".length(), domain.length());
-                }
-
-                return domain;
+                return WebHelper.extractDomain(url);
             }
 
             /**
@@ -683,15 +689,14 @@ public abstract class WorkhorseFragment extends DialogFragment {
         // ----------------------------------------------------------------
         // Saved and Proposed Attributes
 
-        // Obtain the decoded encodedOverridesMap.
-        JSONObject encodedOverridesMap =
-            AttributesCodec.getEncodedOverridesMap(
-                                ingredients.encodedOverrides());
-
-        // Obtain the saved attributes for this domain, if any
-        Attributes savedOverrides =
-            AttributesCodec.getDomainOverrides(domain,
-                                               encodedOverridesMap);
+        // Obtain the saved attributes for this domain, if any, from
+        // the app-wide index, which the activity opens; should it still
+        // be opening, configure the elements again once it is done.
+        OverridesIndex overridesIndex = OverridesIndex.getInstance();
+        if (!overridesIndex.isLoaded()) {
+            this.reconfigureElementsWhenLoaded();
+        }
+        Attributes savedOverrides = overridesIndex.get(domain);
         Log.i(getLogCategory(), getLogPrefix(FUNC) +
               "savedOverrides='" +
               AttributesCodec.encode(savedOverrides) + "'");
@@ -715,15 +720,52 @@ public abstract class WorkhorseFragment extends DialogFragment {
         configurator.configureShowAdvancedCheckBox();
         configurator.configureGenerateButton();
 
-        // Save the saved and proposed attributes,
-        // as well as the customOverrides list,
+        // Save the saved and proposed attributes
         // in the class for recalling later;
         // need to save state here since the next call will be
         // the invocation of a handler via user interaction
         this.m_saltKey = ingredients.saltKey();
         this.m_savedOverrides = savedOverrides;
         this.m_proposedAttributes = proposedAttributes;
-        this.m_customOverrides = encodedOverridesMap;
+
+        // The salt needs neither the master password nor the
+        // "Generate" button; derive it while the user types the former,
+        // and again whenever its inputs are edited
+        this.speculateSalt();
+        ((EditText)getView().findViewById(R.id.domain))
+            .addTextChangedListener(m_speculationWatcher);
+        ((EditText)getView().findViewById(R.id.iterations))
+            .addTextChangedListener(m_speculationWatcher);
+
+        // Derivation context
+        ((EditText)getView().findViewById(R.id.password))
+            .addTextChangedListener(m_passwordWatcher);
+    }
+
+    /**
+     * @summary Method to configure the elements again, with the saved
+     *          overrides, once the index has been opened; unless this
+     *          fragment has been paused meanwhile, or the index was
+     *          never opened.
+     * @return  Does not return a value
+     */
+    private void reconfigureElementsWhenLoaded() {
+        OverridesIndex.getInstance().execute(new Runnable() {
+            @Override
+            public void run() {
+                m_handler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (!isResumed() ||
+                            !OverridesIndex.getInstance().isLoaded()) {
+                            return;
+                        }
+                        deconfigureElements();
+                        configureElements();
+                    }
+                });
+            }
+        });
     }
 
     /**
@@ -742,7 +784,6 @@ public abstract class WorkhorseFragment extends DialogFragment {
         // The salt key 
         String saltKey = "";
         Integer defaultIterations = Attributes.DEFAULT_ITERATIONS;
-        String encodedOverrides = "";
         // Catch all exceptions when reading from SharedPreferences
         try {
             saltKey = sharedPrefs.getString(
@@ -762,10 +803,6 @@ public abstract class WorkhorseFragment extends DialogFragment {
             if (!defaultIterationsStr.isEmpty()) {
                 defaultIterations = Integer.parseInt(defaultIterationsStr);
             }
-            // The encoded customOverrides
-            encodedOverrides = sharedPrefs.getString(
-                    getString(R.string.pref_customOverrides_key),
-                              "");
         } catch (Exception e) {
             Log.e(getLogCategory(), getLogPrefix(FUNC) +
                   "ERROR: Caught " + e);
@@ -773,8 +810,7 @@ public abstract class WorkhorseFragment extends DialogFragment {
         }
 
         Ingredients ingredients = new Ingredients(saltKey,
-                                                  defaultIterations,
-                                                  encodedOverrides);
+                                                  defaultIterations);
         return ingredients;
     }
 
@@ -871,45 +907,169 @@ public abstract class WorkhorseFragment extends DialogFragment {
             return;
         }
 
-        // Add this encoded string to the customOverrides
-        // which, upto this point, could have been null
-        if (null == m_customOverrides) {
-            m_customOverrides = new JSONObject();
+        // Add new or update existing, in the index, which appends it
+        // to the log, or failing a log, saves the stringified JSON to
+        // SharedPreferences; off the UI thread
+        OverridesIndex.getInstance().put(attributes.domain(),
+                                         overridesToSave);
+
+        Toast.makeText(getActivity().getApplicationContext(),
+                       ATTRIBUTES_SAVE_SUCCESS_MESSAGE,
+                       Toast.LENGTH_SHORT).show();
+    }
+
+    /**
+     * @summary Method to show the progress of the current derivation;
+     *          progress from a stale derivation is ignored.
+     *          Called on the UI thread.
+     * @return  Does not return a value
+     */
+    private void showProgress(final int generation, final float fraction) {
+        if ((generation != m_generation) || (null == m_derivation) ||
+            !isAdded()) {
+            return;
+        }
+        ProgressBar progressBar =
+            (ProgressBar)getView().findViewById(R.id.progress);
+        progressBar.setProgress((int)(fraction * progressBar.getMax()));
+        progressBar.setVisibility(View.VISIBLE);
+    }
+
+    /**
+     * @summary Method to retire the current derivation, if it is
+     *          the given one, and hide the progress indicator.
+     *          Called on the UI thread.
+     * @return  {boolean} True if the derivation was current, and its
+     *          result should be shown; False if it has gone stale.
+     */
+    private boolean finishDerivation(final int generation) {
+        if ((generation != m_generation) || (null == m_derivation) ||
+            !isAdded()) {
+            return false;
+        }
+        m_derivation = null;
+        getView().findViewById(R.id.progress).setVisibility(View.GONE);
+        return true;
+    }
+
+    /**
+     * @summary Method to cancel the current derivation, if any,
+     *          and hide the progress indicator.
+     *          Called on the UI thread.
+     * @return  Does not return a value
+     */
+    private void cancelDerivation() {
+        if (null == m_derivation) {
+            return;
+        }
+        m_derivation.cancel();
+        m_derivation = null;
+        if (null != getView()) {
+            getView().findViewById(R.id.progress).setVisibility(View.GONE);
+        }
+    }
+
+    /**
+     * @summary Method to (re)start the speculative derivation of the salt
+     *          for the domain and iterations currently shown, abandoning
+     *          any previous speculation. Called on the UI thread.
+     * @return  Does not return a value
+     */
+    private void speculateSalt() {
+        final String FUNC = "speculateSalt()";
+        this.cancelSpeculation();
+        if ((null == m_saltKey) || (null == getView())) {
+            return;
         }
 
-        // Add new or update existing
+        Attributes attributes = null;
         try {
-            m_customOverrides.put(attributes.domain(),
-                                  encodedOverrides);
-        } catch (JSONException e) {
-            Log.e(getLogCategory(), getLogPrefix(FUNC) +
-                  "ERROR: Caught " + e);
-            Toast.makeText(getActivity().getApplicationContext(),
-                           ATTRIBUTES_SAVE_FAILURE_MESSAGE,
-                           Toast.LENGTH_SHORT).show();
+            attributes = this.getAttributes(getView());
+        } catch (NumberFormatException e) {
+            // Not worth speculating on until the user is done editing
+            return;
+        }
+        if (attributes.domain().isEmpty() || (attributes.iterations() < 1)) {
             return;
         }
 
         Log.i(getLogCategory(), getLogPrefix(FUNC) +
-              "new customOverrides=" + m_customOverrides.toString());
+              "Speculating salt for " + attributes.domain() + "...");
+        m_speculation = DerivationExecutor.getInstance().speculateSalt(
+                                                attributes.domain(),
+                                                m_saltKey,
+                                                attributes.iterations());
+    }
 
-        // Stringify the JSON for saving in the default SharedPreferences
-        String encodedOverridesList = m_customOverrides.toString();
+    /**
+     * @summary Method to abandon the speculative derivation of the salt,
+     *          and any pending restart of it. A derivation that has
+     *          already adopted the speculation is unaffected.
+     *          Called on the UI thread.
+     * @return  Does not return a value
+     */
+    private void cancelSpeculation() {
+        m_handler.removeCallbacks(m_speculate);
+        if (null == m_speculation) {
+            return;
+        }
+        m_speculation.cancel();
+        m_speculation = null;
+    }
 
-        // Save the stringified JSON to SharedPreferences
-        SharedPreferences preferences =
-            PreferenceManager.getDefaultSharedPreferences(
-                                    getActivity().getApplicationContext());
-        SharedPreferences.Editor preferenceEditor = preferences.edit();
-        preferenceEditor.putString(
-                getString(R.string.pref_customOverrides_key),
-                encodedOverridesList);
-        preferenceEditor.apply();
-        // The OnSharedPreferenceChangedHandler will be called
+    /**
+     * @summary Method to get the derivation context of the master
+     *          password shown, creating it if there is none yet.
+     *          Called on the UI thread.
+     * @return  {DerivationContext} The context; null upon failure.
+     */
+    private DerivationContext getDerivationContext(
+                                        final View workhorseFragment,
+                                        final String saltKey) {
+        final String FUNC = "getDerivationContext()";
+        if (null != m_context) {
+            return m_context;
+        }
 
-        Toast.makeText(getActivity().getApplicationContext(),
-                       ATTRIBUTES_SAVE_SUCCESS_MESSAGE,
-                       Toast.LENGTH_SHORT).show();
+        // Straight from the Editable; a String of the password
+        // could never be wiped. The seed SHA stays off the heap,
+        // and is released as soon as the context has its copy; the
+        // context prepares it on the derivation's thread, as the
+        // engine may still be calibrating.
+        SecretBuffer seedSHA = null;
+        try {
+            seedSHA = Crypto.getSeedSecret(
+                            ((EditText)workhorseFragment.findViewById(
+                                R.id.password))
+                                    .getText());
+            m_context = new DerivationContext(seedSHA, saltKey);
+        } catch (NoSuchAlgorithmException e) {
+            Log.e(getLogCategory(), getLogPrefix(FUNC) +
+                  "ERROR: Context.Creation.Failure, Caught " + e);
+            e.printStackTrace();
+            Toast.makeText(getActivity().getApplicationContext(),
+                           PASSWORD_GENERATION_FAILURE_MESSAGE,
+                           Toast.LENGTH_SHORT).show();
+        } finally {
+            if (null != seedSHA) {
+                seedSHA.release();
+            }
+        }
+        return m_context;
+    }
+
+    /**
+     * @summary Method to close the derivation context, if any; a
+     *          derivation still running keeps it until done.
+     *          Called on the UI thread.
+     * @return  Does not return a value
+     */
+    private void closeDerivationContext() {
+        if (null == m_context) {
+            return;
+        }
+        m_context.close();
+        m_context = null;
     }
 
     /**
@@ -941,6 +1101,16 @@ public abstract class WorkhorseFragment extends DialogFragment {
         Button generateButton =
             (Button)getView().findViewById(R.id.generate);
         generateButton.setOnClickListener(null);
+
+        // Salt speculation
+        ((EditText)getView().findViewById(R.id.domain))
+            .removeTextChangedListener(m_speculationWatcher);
+        ((EditText)getView().findViewById(R.id.iterations))
+            .removeTextChangedListener(m_speculationWatcher);
+
+        // Derivation context
+        ((EditText)getView().findViewById(R.id.password))
+            .removeTextChangedListener(m_passwordWatcher);
     }
 
     // --------------------------------------------------------------------
@@ -964,15 +1134,12 @@ public abstract class WorkhorseFragment extends DialogFragment {
         public Ingredients() {
             m_saltKey = "";
             m_defaultIterations = Attributes.DEFAULT_ITERATIONS;
-            m_encodedOverrides = "";
         }
 
         public Ingredients(String saltKey,
-                           Integer defaultIterations,
-                           String encodedOverrides) {
+                           Integer defaultIterations) {
             m_saltKey = saltKey;
             m_defaultIterations = defaultIterations;
-            m_encodedOverrides = encodedOverrides;
         }
 
         // ================================================================
@@ -986,10 +1153,6 @@ public abstract class WorkhorseFragment extends DialogFragment {
             return m_defaultIterations;
         }
 
-        public final String encodedOverrides() {
-            return m_encodedOverrides;
-        }
-
         /**
          * @summary Method to return a textual representation of the
          *          Ingredients object.
@@ -1003,9 +1166,7 @@ public abstract class WorkhorseFragment extends DialogFragment {
                     "saltKey='" +
                     m_saltKey + "', " +
                     "defaultIterations=" +
-                    m_defaultIterations.toString() + ", " +
-                    "customOverrides='" +
-                    m_encodedOverrides + "' ]");
+                    m_defaultIterations.toString() + " ]");
         }
 
         // ================================================================
@@ -1019,16 +1180,11 @@ public abstract class WorkhorseFragment extends DialogFragment {
             m_defaultIterations = defaultIterations;
         }
 
-        public void setEncodedOverrides(String encodedOverrides) {
-            m_encodedOverrides = encodedOverrides;
-        }
-
         // ================================================================
         // Private members
 
         private String  m_saltKey;
         private Integer m_defaultIterations;
-        private String  m_encodedOverrides;
     }
 
     // --------------------------------------------------------------------
@@ -1059,8 +1215,35 @@ public abstract class WorkhorseFragment extends DialogFragment {
                                                   * further unmodified
                                                   * by the user
                                                   */
-    private JSONObject m_customOverrides;  /** @brief The saved JSON
-                                                  * of custom
-                                                  * website attributes
+    private DerivationExecutor.Request m_derivation;
+                                              /** @brief The request for
+                                                  * the derivation
+                                                  * in progress, if any
+                                                  */
+    private int        m_generation;          /** @brief The number of
+                                                  * derivations requested,
+                                                  * to tell stale ones
+                                                  */
+    private DerivationExecutor.Speculation m_speculation;
+                                              /** @brief The speculative
+                                                  * derivation of the salt
+                                                  * in progress, if any
+                                                  */
+    private Handler    m_handler;             /** @brief The UI thread
+                                                  * handler, to debounce
+                                                  * speculation
+                                                  */
+    private Runnable   m_speculate;           /** @brief Restarts the
+                                                  * speculation
+                                                  */
+    private TextWatcher m_speculationWatcher; /** @brief Watches the
+                                                  * salt inputs
+                                                  */
+    private DerivationContext m_context;      /** @brief The derivation
+                                                  * context of the master
+                                                  * password, if prepared
+                                                  */
+    private TextWatcher m_passwordWatcher;    /** @brief Watches the
+                                                  * master password
                                                   */
 }
@@ -14,10 +14,13 @@ package io.tengentoppa.yggdrasil;
 // Android
 import android.content.Context;
 import android.content.Intent;
+import android.content.res.AssetFileDescriptor;
+import android.content.res.AssetManager;
 import android.content.res.Configuration;
 import android.content.SharedPreferences;
 import android.graphics.Typeface;
 import android.net.Uri;
+import android.os.Build;
 import android.os.Bundle;
 import android.provider.Settings;
 import android.support.design.widget.NavigationView;
@@ -40,9 +43,15 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 // Standard Java
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.lang.Boolean;
 import java.lang.RuntimeException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.NoSuchAlgorithmException;
 
 // JSON
 import org.json.JSONArray;
@@ -76,6 +85,9 @@ public abstract class Yggdrasil extends AppCompatActivity {
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
 
+        // Have the core log through the android logger
+        this.setCoreLogSink();
+
         setContentView(R.layout.main_activity);
 
         // Create the navigation drawer
@@ -84,6 +96,18 @@ public abstract class Yggdrasil extends AppCompatActivity {
         // If this is the first launch, create a "Salt Key"
         this.checkAndCreateSaltKey();
 
+        // Open the persistent salt store, off the UI thread
+        this.openSaltStore();
+
+        // Select the fastest PBKDF2 backend
+        this.selectCryptoEngine();
+
+        // Index the saved custom overrides, off the UI thread
+        this.openOverridesIndex();
+
+        // Map the bundled Public Suffix List, upon first use
+        this.setPublicSuffixListLoader();
+
         // Create a "PrefsHandler"
         m_prefsHandler = new PrefsHandler(this,
                                           getLogCategory());
@@ -400,6 +424,13 @@ public abstract class Yggdrasil extends AppCompatActivity {
     // Toast Messages
     private static final String INIT_MESSAGE                            =
         "Initializing...";
+    private static final String OVERRIDES_RECOVERED_MESSAGE             =
+        "The saved site settings could not be read, and were restored " +
+        "from the preferences; the unreadable file was kept as ";
+
+    // The persistent salt store, in the app's private files directory
+    private static final String SALT_STORE_FILENAME                     =
+        "salts.bin";
 
     // --------------------------------------------------------------------
     // METHODS
@@ -497,9 +528,218 @@ public abstract class Yggdrasil extends AppCompatActivity {
         }
     }
 
+    /**
+     * @summary Method to open (creating, mapping and formatting it if
+     *          need be) the persistent salt store off the UI thread, and
+     *          to install it behind Crypto.generateSalt(), unless already
+     *          done by a previous instance of this activity in this
+     *          process. Until then, and should it fail, salts are simply
+     *          recomputed.
+     * @return  Does not return a value
+     */
+    private void openSaltStore() {
+        final String FUNC = "openSaltStore()";
+        if (s_saltStoreOpened) {
+            return;
+        }
+        s_saltStoreOpened = true;
+
+        final Context context = this.getApplicationContext();
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Crypto.setSaltStore(
+                            new SaltStore(new File(context.getFilesDir(),
+                                                   SALT_STORE_FILENAME),
+                                          SaltStore.DEFAULT_SLOTS));
+                } catch (IOException | NoSuchAlgorithmException e) {
+                    Log.e(getLogCategory(), getLogPrefix(FUNC) +
+                          "ERROR: Caught " + e);
+                    e.printStackTrace();
+                }
+            }
+        }).start();
+    }
+
+    /**
+     * @summary Method to install the PBKDF2 backend cached in preferences,
+     *          or else to calibrate and cache one; off the UI thread, as
+     *          even the cached one is checked against the known-answer
+     *          vectors. The cache is keyed to the OS build, since an OS
+     *          update can change which backend is fastest.
+     * @return  Does not return a value.
+     */
+    private void selectCryptoEngine() {
+        final String FUNC = "selectCryptoEngine()";
+        final SharedPreferences sharedPrefs =
+            PreferenceManager.getDefaultSharedPreferences(
+                    this.getApplicationContext());
+        final String engineKey = getString(R.string.pref_cryptoEngine_key);
+        final String buildKey =
+            getString(R.string.pref_cryptoEngineBuild_key);
+
+        final String cachedName =
+            (Build.FINGERPRINT.equals(sharedPrefs.getString(buildKey, null)) ?
+             sharedPrefs.getString(engineKey, null) : null);
+
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                CryptoEngine engine = Crypto.selectEngine(cachedName);
+                Log.i(getLogCategory(), getLogPrefix(FUNC) +
+                      "Selected the '" + engine.name() + "' backend");
+                if (engine.name().equals(cachedName)) {
+                    return;
+                }
+                SharedPreferences.Editor preferenceEditor =
+                    sharedPrefs.edit();
+                preferenceEditor.putString(engineKey, engine.name());
+                preferenceEditor.putString(buildKey, Build.FINGERPRINT);
+                preferenceEditor.apply();
+            }
+        }).start();
+    }
+
+    /**
+     * @summary Method to have the core, which runs on the JVM as well,
+     *          log through android.util.Log, whose priorities Logger's
+     *          mirror.
+     * @return  Does not return a value.
+     */
+    private void setCoreLogSink() {
+        Logger.setSink(new Logger.Sink() {
+            @Override
+            public void log(final int priority,
+                            final String category,
+                            final String message) {
+                Log.println(priority, category, message);
+            }
+        });
+    }
+
+    /**
+     * @summary Method to have the app-wide Public Suffix List mapped from
+     *          the bundled asset (stored uncompressed for the purpose),
+     *          when first used.
+     * @return  Does not return a value.
+     */
+    private void setPublicSuffixListLoader() {
+        // The application's assets, so as not to hold on to the activity
+        final AssetManager assets = this.getApplicationContext().getAssets();
+        PublicSuffixList.setLoader(new PublicSuffixList.Loader() {
+            @Override
+            public ByteBuffer load() throws IOException {
+                AssetFileDescriptor descriptor =
+                    assets.openFd(PublicSuffixList.FILENAME);
+                FileInputStream input = descriptor.createInputStream();
+                try {
+                    // The mapping outlives the descriptor
+                    return input.getChannel().map(
+                            FileChannel.MapMode.READ_ONLY,
+                            descriptor.getStartOffset(),
+                            descriptor.getLength());
+                } finally {
+                    input.close();
+                    descriptor.close();
+                }
+            }
+        });
+    }
+
+    /**
+     * @summary Method to open the app-wide index of the saved custom
+     *          overrides, on its own thread, and to keep it in step with
+     *          the preference, unless already done by a previous
+     *          instance of this activity in this process.
+     * @return  Does not return a value.
+     */
+    private void openOverridesIndex() {
+        if (null != s_overridesListener) {
+            return;
+        }
+
+        final SharedPreferences sharedPrefs =
+            PreferenceManager.getDefaultSharedPreferences(
+                    this.getApplicationContext());
+        final String overridesKey =
+            getString(R.string.pref_customOverrides_key);
+        OverridesIndex.getInstance().open(
+                new File(this.getFilesDir(), OverridesIndex.LOG_FILENAME),
+                sharedPrefs.getString(overridesKey, ""),
+                new OverridesIndex.Preference() {
+                    @Override
+                    public void save(final String encodedOverrides) {
+                        SharedPreferences.Editor preferenceEditor =
+                            sharedPrefs.edit();
+                        preferenceEditor.putString(overridesKey,
+                                                   encodedOverrides);
+                        preferenceEditor.apply();
+                    }
+                });
+
+        // Tell the user if the log was unreadable, and the overrides
+        // restored from the preference, which may be older
+        final Context context = this.getApplicationContext();
+        OverridesIndex.getInstance().execute(new Runnable() {
+            @Override
+            public void run() {
+                final File recovered =
+                    OverridesIndex.getInstance().getRecoveredLog();
+                if (null == recovered) {
+                    return;
+                }
+                runOnUiThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        Toast.makeText(context,
+                                       OVERRIDES_RECOVERED_MESSAGE +
+                                       recovered.getName(),
+                                       Toast.LENGTH_LONG).show();
+                    }
+                });
+            }
+        });
+
+        // Saves through the index go to its log, and leave the
+        // preference alone; anything else reloads it, in the order
+        // changed, since the index applies loads in the order requested.
+        // Preferences only hold their listeners weakly, hence the
+        // static reference.
+        s_overridesListener =
+            new SharedPreferences.OnSharedPreferenceChangeListener() {
+                @Override
+                public void onSharedPreferenceChanged(
+                                        SharedPreferences sharedPreferences,
+                                        String key) {
+                    if (overridesKey.equals(key)) {
+                        OverridesIndex.getInstance().load(
+                                sharedPreferences.getString(key, ""));
+                    }
+                }
+            };
+        sharedPrefs.registerOnSharedPreferenceChangeListener(
+                s_overridesListener);
+    }
+
     // --------------------------------------------------------------------
     // DATA MEMBERS
 
+    private static boolean          s_saltStoreOpened;
+                                                    /**
+                                                      * @brief Whether the
+                                                      * salt store was
+                                                      * opened, or is being;
+                                                      * UI thread only
+                                                      */
+    private static SharedPreferences.OnSharedPreferenceChangeListener
+                                    s_overridesListener;
+                                                    /**
+                                                      * @brief Keeps the
+                                                      * overrides index in
+                                                      * step; app-wide
+                                                      */
+
     protected DrawerLayout          m_drawerLayout; /**
                                                       * @brief The drawer
                                                       * layout
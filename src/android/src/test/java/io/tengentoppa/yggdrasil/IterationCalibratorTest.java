@@ -0,0 +1,64 @@
+/**
+ * @file        IterationCalibratorTest.java
+ * @brief       Source file for the IterationCalibratorTest class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// JUnit Classes
+import org.junit.Test;
+import org.junit.Assert;
+
+/**
+ * @brief   A test class for the methods in the IterationCalibrator class.
+ */
+public class IterationCalibratorTest {
+
+    // ====================================================================
+    // TESTS
+
+    /**
+     * @brief   Tests that the recommendation budgets for two chains,
+     *          and is rounded down to a multiple of the minimum.
+     * @return  Does not even.
+     */
+    @Test
+    public void iterationCalibratorTest_testRecommend_asserts() {
+        // 100k iterations/s over 0.5 s, split over two chains
+        Assert.assertEquals(25000,
+                            IterationCalibrator.recommend(100000, 500));
+        Assert.assertEquals(24000,
+                            IterationCalibrator.recommend(99999, 500));
+    }
+
+    /**
+     * @brief   Tests that the recommendation is clamped.
+     * @return  Does not even.
+     */
+    @Test
+    public void iterationCalibratorTest_testRecommendClamped_asserts() {
+        Assert.assertEquals(IterationCalibrator.MIN_ITERATIONS,
+                            IterationCalibrator.recommend(10, 500));
+        Assert.assertEquals(IterationCalibrator.MAX_ITERATIONS,
+                            IterationCalibrator.recommend(
+                                    Integer.MAX_VALUE, 500));
+    }
+
+    /**
+     * @brief   Tests that a measurement yields a plausible rate.
+     * @return  Does not even.
+     */
+    @Test
+    public void iterationCalibratorTest_testMeasure_asserts() {
+        long rate =
+            IterationCalibrator.measure(new Pbkdf2Sha256CryptoEngine());
+        Assert.assertTrue(rate > 1000);
+    }
+
+}
@@ -0,0 +1,241 @@
+/**
+ * @file        OverridesIndexTest.java
+ * @brief       Source file for the OverridesIndexTest class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.io.File;
+import java.io.RandomAccessFile;
+
+// JUnit Classes
+import org.junit.Test;
+import org.junit.Assert;
+
+/**
+ * @brief   A test class for the methods in the OverridesIndex class.
+ */
+public class OverridesIndexTest {
+
+    // ====================================================================
+    // TESTS
+
+    /**
+     * @brief   Tests lookups before and after loading.
+     * @return  Does not even.
+     */
+    @Test
+    public void overridesIndexTest_testLoad_asserts() throws Exception {
+        OverridesIndex index = new OverridesIndex();
+        Assert.assertFalse(index.isLoaded());
+        Assert.assertFalse(index.get("gnu.org").attributesExist());
+
+        index.load(OVERRIDES);
+        index.await();
+        Assert.assertTrue(index.isLoaded());
+        Assert.assertEquals(2, index.size());
+        Assert.assertEquals(new Attributes("gnu.org", 1000, 12, 1),
+                            index.get("gnu.org"));
+        Assert.assertFalse(index.get("example.org").attributesExist());
+        // The overrides of a domain do not apply to its subdomains
+        Assert.assertFalse(index.get("www.gnu.org").attributesExist());
+
+        // A copy; modifying it leaves the index alone
+        index.get("gnu.org").setIterations(5);
+        Assert.assertEquals(Integer.valueOf(1000),
+                            index.get("gnu.org").iterations());
+
+        // Loads are applied in the order requested
+        index.load("");
+        index.load(OVERRIDES);
+        index.load("");
+        index.await();
+        Assert.assertEquals(0, index.size());
+    }
+
+    /**
+     * @brief   Tests that, failing a log, an update is saved as a string
+     *          which loads back to the same index.
+     * @return  Does not even.
+     */
+    @Test
+    public void overridesIndexTest_testPut_asserts() throws Exception {
+        OverridesIndex index = new OverridesIndex();
+        try {
+            index.put("gnu.org", new Attributes("gnu.org", 1000));
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+
+        // A directory, which cannot be opened as a log
+        File directory = OverridesLogTest.newLogFile();
+        Assert.assertTrue(directory.mkdir());
+        directory.deleteOnExit();
+        final String[] saved = new String[1];
+        index.open(directory,
+                   OVERRIDES,
+                   new OverridesIndex.Preference() {
+                       @Override
+                       public void save(final String encodedOverrides) {
+                           saved[0] = encodedOverrides;
+                       }
+                   });
+        Attributes attributes = new Attributes(null, 2000, -1, 0);
+        index.put("gnu.org", attributes);
+        index.await();
+        Assert.assertEquals(attributes, index.get("gnu.org"));
+        final String encodedOverrides = saved[0];
+        index.put("example.org", new Attributes("example.org", 3000));
+        index.await();
+        Assert.assertEquals(3, index.size());
+
+        OverridesIndex reloaded = new OverridesIndex();
+        reloaded.load(encodedOverrides);
+        reloaded.await();
+        Assert.assertEquals(2, reloaded.size());
+        Assert.assertEquals(attributes, reloaded.get("gnu.org"));
+        Assert.assertEquals(index.get("google.com"),
+                            reloaded.get("google.com"));
+        Assert.assertEquals(index.encode(), saved[0]);
+    }
+
+    /**
+     * @brief   Tests that, upon a failed write, the log is dropped, and
+     *          the overrides are saved as a string instead.
+     * @return  Does not even.
+     */
+    @Test
+    public void overridesIndexTest_testWriteFailure_asserts()
+        throws Exception {
+        // In a directory which does not exist, so cannot be created
+        File file = new File(OverridesLogTest.newLogFile(), "overrides.log");
+        final String[] saved = new String[1];
+        OverridesIndex index = new OverridesIndex();
+        index.open(file,
+                   OVERRIDES,
+                   new OverridesIndex.Preference() {
+                       @Override
+                       public void save(final String encodedOverrides) {
+                           saved[0] = encodedOverrides;
+                       }
+                   });
+        index.await();
+        Assert.assertEquals(2, index.size());
+        Assert.assertNotNull(saved[0]);
+
+        Attributes attributes = new Attributes(null, 2000, -1, 0);
+        index.put("gnu.org", attributes);
+        index.flush();
+        OverridesIndex reloaded = new OverridesIndex();
+        reloaded.load(saved[0]);
+        reloaded.await();
+        Assert.assertEquals(attributes, reloaded.get("gnu.org"));
+    }
+
+    /**
+     * @brief   Tests that the saved string is imported into a new log
+     *          only, and that updates and imports go to the log.
+     * @return  Does not even.
+     */
+    @Test
+    public void overridesIndexTest_testOpen_asserts() throws Exception {
+        File file = OverridesLogTest.newLogFile();
+        try {
+            OverridesIndex index = new OverridesIndex();
+            index.open(file, OVERRIDES, null);
+            // Opened once only
+            index.open(file, "", null);
+            index.await();
+            Assert.assertEquals(2, index.size());
+            Attributes attributes = new Attributes(null, 2000, -1, 0);
+            index.put("gnu.org", attributes);
+            index.flush();
+
+            // The log, rather than the string, is replayed
+            OverridesIndex reopened = new OverridesIndex();
+            reopened.open(file, "", null);
+            reopened.await();
+            Assert.assertEquals(2, reopened.size());
+            Assert.assertEquals(attributes, reopened.get("gnu.org"));
+            Assert.assertEquals(index.encode(), reopened.encode());
+
+            // Loading a different string replaces the log's contents
+            reopened.load("{\"example.org\":\"example.org|3000||\"}");
+            reopened.flush();
+            OverridesIndex imported = new OverridesIndex();
+            imported.open(file, OVERRIDES, null);
+            imported.await();
+            Assert.assertEquals(1, imported.size());
+            Assert.assertEquals(new Attributes("example.org", 3000),
+                                imported.get("example.org"));
+
+            // As does an import
+            OverridesIndex.Import staged = imported.beginImport();
+            staged.put("gnu.org", attributes);
+            staged.commit();
+            imported.flush();
+            reopened = new OverridesIndex();
+            reopened.open(file, OVERRIDES, null);
+            reopened.await();
+            Assert.assertEquals(1, reopened.size());
+            Assert.assertEquals(attributes, reopened.get("gnu.org"));
+        } finally {
+            OverridesLogTest.delete(file);
+        }
+    }
+
+    /**
+     * @brief   Tests that the saved string is imported in place of a log
+     *          which is not valid, and that the log is reported as moved
+     *          aside.
+     * @return  Does not even.
+     */
+    @Test
+    public void overridesIndexTest_testInvalidLog_asserts()
+        throws Exception {
+        File file = OverridesLogTest.newLogFile();
+        try {
+            OverridesIndex index = new OverridesIndex();
+            index.open(file, OVERRIDES, null);
+            index.put("example.org", new Attributes("example.org", 3000));
+            index.flush();
+
+            RandomAccessFile raf = new RandomAccessFile(file, "rw");
+            raf.writeInt(0);
+            raf.close();
+
+            OverridesIndex reopened = new OverridesIndex();
+            reopened.open(file, OVERRIDES, null);
+            reopened.await();
+            Assert.assertTrue(reopened.isLoaded());
+            Assert.assertEquals(2, reopened.size());
+            Assert.assertEquals(Integer.valueOf(1000),
+                                reopened.get("gnu.org").iterations());
+            File aside = new File(file.getPath() + OverridesLog.BAD_SUFFIX);
+            Assert.assertTrue(aside.exists());
+            Assert.assertEquals(aside, reopened.getRecoveredLog());
+            Assert.assertNull(index.getRecoveredLog());
+        } finally {
+            OverridesLogTest.delete(file);
+        }
+    }
+
+    // ===================================================================
+    // PRIVATE MEMBERS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    private static final String     OVERRIDES               =
+        "{\"google.com\":\"google.com|10003||0\"," +
+        "\"gnu.org\":\"gnu.org|1000|12|\"}";
+
+}
@@ -0,0 +1,254 @@
+/**
+ * @file        OverridesLogTest.java
+ * @brief       Source file for the OverridesLogTest class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// JUnit Classes
+import org.junit.Test;
+import org.junit.Assert;
+
+/**
+ * @brief   A test class for the methods in the OverridesLog class.
+ */
+public class OverridesLogTest {
+
+    // ====================================================================
+    // TESTS
+
+    /**
+     * @brief   Tests that a log is only created once written to, so that
+     *          it is new until then.
+     * @return  Does not even.
+     */
+    @Test
+    public void overridesLogTest_testCreation_asserts() throws Exception {
+        File file = newLogFile();
+        try {
+            OverridesLog log = new OverridesLog(file);
+            Assert.assertTrue(log.isNew());
+            log.flush();
+            log.close();
+            Assert.assertFalse(file.exists());
+
+            log = new OverridesLog(file);
+            Assert.assertTrue(log.isNew());
+            log.replaceAll(new LinkedHashMap<String, ImmutableAttributes>());
+            log.close();
+            Assert.assertTrue(file.exists());
+
+            log = new OverridesLog(file);
+            Assert.assertFalse(log.isNew());
+            Assert.assertTrue(log.getReplayed().isEmpty());
+            log.put("gnu.org", GNU);
+            log.close();
+        } finally {
+            delete(file);
+        }
+    }
+
+    /**
+     * @brief   Tests that upserts, including of the defaults, survive a
+     *          reopen.
+     * @return  Does not even.
+     */
+    @Test
+    public void overridesLogTest_testReplay_asserts() throws Exception {
+        File file = newLogFile();
+        try {
+            OverridesLog log = new OverridesLog(file);
+            Assert.assertTrue(log.isNew());
+            Assert.assertTrue(log.getReplayed().isEmpty());
+            log.put("google.com", GOOGLE);
+            log.put("gnu.org", new Attributes("gnu.org", 1000));
+            log.put("gnu.org", GNU);
+            log.put("example.org", new Attributes("example.org", 3000));
+            log.put("example.org", new Attributes());
+            log.close();
+
+            log = new OverridesLog(file);
+            Assert.assertFalse(log.isNew());
+            Assert.assertEquals(5, log.getRecordCount());
+            Map<String, Attributes> replayed = log.getReplayed();
+            Assert.assertEquals(3, replayed.size());
+            Assert.assertEquals(GOOGLE, replayed.get("google.com"));
+            Assert.assertEquals(GNU, replayed.get("gnu.org"));
+            Assert.assertFalse(
+                replayed.get("example.org").attributesExist());
+            log.close();
+        } finally {
+            delete(file);
+        }
+    }
+
+    /**
+     * @brief   Tests that compaction, and a replacement, drop superseded
+     *          records and defaults.
+     * @return  Does not even.
+     */
+    @Test
+    public void overridesLogTest_testCompaction_asserts() throws Exception {
+        File file = newLogFile();
+        try {
+            OverridesLog log = new OverridesLog(file);
+            log.put("google.com", GOOGLE);
+            log.put("example.org", new Attributes());
+            for (int i = 0; i < 100; ++i) {
+                log.put("gnu.org", new Attributes("gnu.org", 1000 + i));
+            }
+            log.put("gnu.org", GNU);
+            log.flush();
+            // Compacted at least once, in whichever batch
+            Assert.assertTrue(log.getRecordCount() < 64);
+            log.close();
+
+            log = new OverridesLog(file);
+            Map<String, Attributes> replayed = log.getReplayed();
+            Assert.assertEquals(2, replayed.size());
+            Assert.assertEquals(GNU, replayed.get("gnu.org"));
+
+            Map<String, ImmutableAttributes> imported =
+                new LinkedHashMap<String, ImmutableAttributes>();
+            imported.put("google.com", ImmutableAttributes.of(GOOGLE));
+            imported.put("example.org", ImmutableAttributes.DEFAULT);
+            log.replaceAll(imported);
+            log.flush();
+            Assert.assertEquals(1, log.getRecordCount());
+            log.close();
+
+            log = new OverridesLog(file);
+            Assert.assertEquals(1, log.getReplayed().size());
+            Assert.assertEquals(GOOGLE,
+                                log.getReplayed().get("google.com"));
+            log.close();
+        } finally {
+            delete(file);
+        }
+    }
+
+    /**
+     * @brief   Tests that a torn record is dropped, and the log kept,
+     *          while a file that is not a log is moved aside, for an
+     *          empty log which is not new.
+     * @return  Does not even.
+     */
+    @Test
+    public void overridesLogTest_testRecovery_asserts() throws Exception {
+        File file = newLogFile();
+        try {
+            OverridesLog log = new OverridesLog(file);
+            log.put("google.com", GOOGLE);
+            log.put("gnu.org", GNU);
+            log.close();
+
+            RandomAccessFile raf = new RandomAccessFile(file, "rw");
+            raf.setLength(raf.length() - 3);
+            raf.close();
+
+            log = new OverridesLog(file);
+            Assert.assertFalse(log.isNew());
+            Assert.assertEquals(1, log.getReplayed().size());
+            Assert.assertEquals(GOOGLE, log.getReplayed().get("google.com"));
+            log.put("gnu.org", GNU);
+            log.close();
+
+            log = new OverridesLog(file);
+            Assert.assertEquals(2, log.getReplayed().size());
+            log.close();
+
+            raf = new RandomAccessFile(file, "rw");
+            raf.writeInt(0);
+            raf.close();
+            final long length = file.length();
+
+            log = new OverridesLog(file);
+            Assert.assertTrue(log.isNew());
+            Assert.assertTrue(log.getReplayed().isEmpty());
+            File aside = new File(file.getPath() + OverridesLog.BAD_SUFFIX);
+            Assert.assertEquals(aside, log.getMovedAside());
+            Assert.assertEquals(length, aside.length());
+            Assert.assertFalse(file.exists());
+            log.put("gnu.org", GNU);
+            log.close();
+
+            log = new OverridesLog(file);
+            Assert.assertFalse(log.isNew());
+            Assert.assertNull(log.getMovedAside());
+            Assert.assertEquals(1, log.getReplayed().size());
+            log.close();
+        } finally {
+            delete(file);
+        }
+    }
+
+    /**
+     * @brief   Tests that a failed write is thrown by flush() and close(),
+     *          and that the log takes no more records after it.
+     * @return  Does not even.
+     */
+    @Test
+    public void overridesLogTest_testWriteFailure_asserts()
+        throws Exception {
+        // In a directory which does not exist, so cannot be created
+        File file = new File(newLogFile(), "overrides.log");
+        OverridesLog log = new OverridesLog(file);
+        Assert.assertTrue(log.isNew());
+        log.put("gnu.org", GNU);
+        try {
+            log.flush();
+            Assert.fail();
+        } catch (IOException e) {
+            // Expected
+        }
+        log.put("google.com", GOOGLE);
+        try {
+            log.close();
+            Assert.fail();
+        } catch (IOException e) {
+            // Expected
+        }
+        log.discard();
+        Assert.assertFalse(file.exists());
+    }
+
+    // ===================================================================
+    // PRIVATE MEMBERS
+
+    // --------------------------------------------------------------------
+    // CONSTANTS
+
+    private static final Attributes GOOGLE                  =
+        new Attributes("google.com", 10003, -1, 0);
+    private static final Attributes GNU                     =
+        new Attributes("gnu.org", 1000, 12, 1);
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    static File newLogFile() throws Exception {
+        File file = File.createTempFile("overrides", ".log");
+        Assert.assertTrue(file.delete());
+        return file;
+    }
+
+    static void delete(final File file) {
+        file.delete();
+        new File(file.getPath() + ".tmp").delete();
+        new File(file.getPath() + OverridesLog.BAD_SUFFIX).delete();
+    }
+
+}
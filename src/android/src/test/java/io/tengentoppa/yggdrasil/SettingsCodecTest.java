@@ -0,0 +1,179 @@
+/**
+ * @file        SettingsCodecTest.java
+ * @brief       Source file for the SettingsCodecTest class
+ *
+ * @author      Manjul Apratim (manjul.apratim@gmail.com)
+ * @date        Oct 17, 2026
+ *
+ * @license     GNU General Public License v3 or Later
+ * @copyright   Manjul Apratim, 2026
+ */
+
+package io.tengentoppa.yggdrasil;
+
+// Standard Java
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+// JUnit Classes
+import org.junit.Test;
+import org.junit.Assert;
+
+/**
+ * @brief   A test class for the methods in the SettingsCodec class.
+ */
+public class SettingsCodecTest {
+
+    // ====================================================================
+    // TESTS
+
+    /**
+     * @brief   Tests that the settings, and every kind of override,
+     *          survive a round trip, through heap and direct buffers.
+     * @return  Does not even.
+     */
+    @Test
+    public void settingsCodecTest_testRoundTrip_asserts()
+        throws Exception {
+        Map<String, ImmutableAttributes> overrides =
+            new HashMap<String, ImmutableAttributes>();
+        put(overrides, "gnu.org", new Attributes("gnu.org", 1000, 12, 0));
+        put(overrides, "mail.gnu.org", new Attributes("gnu.org", 20000));
+        put(overrides, "*.x.com", new Attributes(null, 10003, -1, 0));
+        put(overrides, "y.com", new Attributes("y.com", null, 8));
+        put(overrides, "bücher.de",
+            new Attributes("bücher.de", Integer.MAX_VALUE, 0));
+        put(overrides, "z.net", new Attributes("z.net", -5));
+
+        ByteBuffer encoded =
+            SettingsCodec.encode("sält|\"key\"", "10000", overrides);
+        Assert.assertTrue(SettingsCodec.isEncoded(encoded));
+        Assert.assertEquals(0, encoded.position());
+
+        assertDecoded(encoded, "sält|\"key\"", "10000", overrides);
+        // The buffer is left as it was
+        Assert.assertEquals(0, encoded.position());
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(encoded.remaining());
+        direct.put(encoded.duplicate()).flip();
+        assertDecoded(direct, "sält|\"key\"", "10000", overrides);
+
+        // Without any overrides
+        assertDecoded(
+            SettingsCodec.encode("", "",
+                                 new HashMap<String,
+                                             ImmutableAttributes>()),
+            "", "", new HashMap<String, ImmutableAttributes>());
+    }
+
+    /**
+     * @brief   Tests that domains sharing suffixes of labels, and thus
+     *          prefixes once sorted, are front coded.
+     * @return  Does not even.
+     */
+    @Test
+    public void settingsCodecTest_testFrontCoding_asserts() {
+        Map<String, ImmutableAttributes> overrides =
+            new HashMap<String, ImmutableAttributes>();
+        int domainsLength = 0;
+        for (int i = 0; i < 100; ++i) {
+            final String domain = "accounts.example.com.s" + i;
+            put(overrides, domain, new Attributes(domain, 1000 + i));
+            domainsLength += domain.length();
+        }
+        Assert.assertTrue(
+            SettingsCodec.encode("", "", overrides).remaining() <
+            domainsLength / 2);
+    }
+
+    /**
+     * @brief   Tests that corrupt, truncated or foreign buffers are
+     *          rejected, without staging any overrides.
+     * @return  Does not even.
+     */
+    @Test
+    public void settingsCodecTest_testMalformed_asserts() {
+        Map<String, ImmutableAttributes> overrides =
+            new HashMap<String, ImmutableAttributes>();
+        put(overrides, "gnu.org", new Attributes("gnu.org", 1000, 12, 0));
+        put(overrides, "x.com", new Attributes("x.com", 1000));
+        ByteBuffer encoded = SettingsCodec.encode("salt", "10", overrides);
+
+        // A flipped bit, anywhere
+        for (int i = 8; i < encoded.limit(); ++i) {
+            ByteBuffer corrupt = copy(encoded);
+            corrupt.put(i, (byte)(corrupt.get(i) ^ 0x10));
+            assertMalformed(corrupt);
+        }
+        // Truncated
+        ByteBuffer truncated = copy(encoded);
+        truncated.limit(truncated.limit() - 1);
+        assertMalformed(truncated);
+        truncated.limit(6);
+        assertMalformed(truncated);
+        // Another version
+        ByteBuffer version = copy(encoded);
+        version.putShort(4, (short)(SettingsCodec.VERSION + 1));
+        assertMalformed(version);
+        // JSON
+        ByteBuffer json = ByteBuffer.wrap("{\"profiles\":[]}".getBytes());
+        Assert.assertFalse(SettingsCodec.isEncoded(json));
+        assertMalformed(json);
+        Assert.assertFalse(SettingsCodec.isEncoded(ByteBuffer.allocate(2)));
+    }
+
+    // ===================================================================
+    // PRIVATE MEMBERS
+
+    // --------------------------------------------------------------------
+    // METHODS
+
+    private static void put(final Map<String, ImmutableAttributes> map,
+                            final String domain,
+                            final Attributes attributes) {
+        map.put(domain, ImmutableAttributes.of(attributes));
+    }
+
+    private static ByteBuffer copy(final ByteBuffer buffer) {
+        ByteBuffer copy = ByteBuffer.allocate(buffer.remaining());
+        copy.put(buffer.duplicate()).flip();
+        return copy;
+    }
+
+    private static void assertDecoded(
+            final ByteBuffer encoded,
+            final String saltKey,
+            final String defaultIterations,
+            final Map<String, ImmutableAttributes> overrides)
+        throws Exception {
+        OverridesIndex index = new OverridesIndex();
+        index.load("");
+        OverridesIndex.Import staged = index.beginImport();
+        SettingsCodec.Settings settings =
+            SettingsCodec.decode(encoded, staged);
+        Assert.assertEquals(saltKey, settings.saltKey());
+        Assert.assertEquals(defaultIterations,
+                            settings.defaultIterations());
+        Assert.assertEquals(overrides.size(), staged.size());
+        staged.commit();
+        index.await();
+        Assert.assertEquals(overrides, index.getOverrides());
+    }
+
+    private static void assertMalformed(final ByteBuffer encoded) {
+        OverridesIndex index = new OverridesIndex();
+        index.load("");
+        OverridesIndex.Import staged = index.beginImport();
+        try {
+            SettingsCodec.decode(encoded, staged);
+            Assert.fail();
+        } catch (IOException e) {
+            Assert.assertTrue(
+                e.getMessage().startsWith("Settings.Malformed"));
+        }
+        Assert.assertEquals(0, staged.size());
+    }
+
+}
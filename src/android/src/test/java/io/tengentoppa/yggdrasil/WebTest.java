@@ -79,6 +79,58 @@ public class WebTest {
                                         "https://www.senate.gov"));
     }
 
+    /**
+     * @brief   Tests if queries ending in other public suffixes get
+     *          qualified, bare domains under multi-label suffixes with
+     *          "www.", and subdomains, and sites on hosting platforms,
+     *          without.
+     * @return  Does not even.
+     */
+    @Test
+    public void webTest_testPublicSuffix_assert() {
+        String query = null;
+        query = "bbc.co.uk";
+        Assert.assertTrue(WebHelper.getUrl(query).equals(
+                                        "https://www.bbc.co.uk"));
+        query = "example.com.au";
+        Assert.assertTrue(WebHelper.getUrl(query).equals(
+                                        "https://www.example.com.au"));
+        query = "news.bbc.co.uk";
+        Assert.assertTrue(WebHelper.getUrl(query).equals(
+                                        "https://news.bbc.co.uk"));
+        query = "example.dev";
+        Assert.assertTrue(WebHelper.getUrl(query).equals(
+                                        "https://www.example.dev"));
+        query = "mail.google.com/inbox";
+        Assert.assertTrue(WebHelper.getUrl(query).equals(
+                                        "https://mail.google.com/inbox"));
+        query = "user.github.io";
+        Assert.assertTrue(WebHelper.getUrl(query).equals(
+                                        "https://user.github.io"));
+    }
+
+    /**
+     * @brief   Tests that the domain extracted from a URL is its full
+     *          domain-subdomain, less a leading "www*." or "m.", as the
+     *          browser extension extracts it.
+     * @return  Does not even.
+     */
+    @Test
+    public void webTest_testExtractDomain_assert() {
+        Assert.assertEquals("mail.google.com",
+                            WebHelper.extractDomain(
+                                "https://mail.google.com/mail/u/0"));
+        Assert.assertEquals("google.com",
+                            WebHelper.extractDomain("https://www.google.com"));
+        Assert.assertEquals("accounts.google.co.uk",
+                            WebHelper.extractDomain(
+                                "http://www2.accounts.google.co.uk/x"));
+        Assert.assertEquals("wikipedia.org",
+                            WebHelper.extractDomain("m.wikipedia.org/wiki"));
+        Assert.assertEquals("gnu.org", WebHelper.extractDomain("gnu.org"));
+        Assert.assertEquals("", WebHelper.extractDomain(null));
+    }
+
     /**
      * @brief   Tests if free-form query is converted into a Google search.
      * @return  Does not even.